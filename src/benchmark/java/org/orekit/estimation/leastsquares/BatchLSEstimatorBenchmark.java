@@ -0,0 +1,112 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.RangeRateMeasurementCreator;
+import org.orekit.estimation.measurements.TwoWayRangeMeasurementCreator;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+
+/** Benchmark for {@link BatchLSEstimator} on a fixed range/range-rate dataset.
+ * <p>
+ * The measurements are generated once per trial from the same reference orbit
+ * as the one used in {@code BatchLSEstimatorTest}, and the estimation starts
+ * from a deliberately wrong initial guess so several iterations are performed.
+ * </p>
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BatchLSEstimatorBenchmark {
+
+    /** Indicator for parallel measurements evaluation. */
+    @Param({ "false", "true" })
+    private boolean parallel;
+
+    /** Estimation context. */
+    private Context context;
+
+    /** Measurements. */
+    private List<ObservedMeasurement<?>> measurements;
+
+    /** Set up the context and the measurements.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        measurements = new ArrayList<>();
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new TwoWayRangeMeasurementCreator(context),
+                                                                   1.0, 3.0, 300.0));
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new RangeRateMeasurementCreator(context, false, 0.0),
+                                                                   1.0, 3.0, 300.0));
+    }
+
+    /** Perform one orbit determination.
+     * @return estimated propagators
+     */
+    @Benchmark
+    public Propagator[] estimate() {
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, false,
+                                              1.0e-6, 60.0, 1.0);
+        final BatchLSEstimator estimator = new BatchLSEstimator(new LevenbergMarquardtOptimizer(),
+                                                                propagatorBuilder);
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            estimator.addMeasurement(measurement);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-3);
+        estimator.setMaxIterations(20);
+        estimator.setMaxEvaluations(40);
+        estimator.setEvaluationPool(parallel ? ForkJoinPool.commonPool() : null);
+        return estimator.estimate();
+    }
+
+}
@@ -0,0 +1,126 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.data.DataSource;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.files.ccsds.ndm.ParserBuilder;
+import org.orekit.files.ccsds.ndm.odm.oem.Oem;
+import org.orekit.files.ccsds.ndm.odm.oem.OemParser;
+import org.orekit.files.sp3.SP3;
+import org.orekit.files.sp3.SP3Parser;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for OEM and SP3 ephemeris files parsing.
+ * <p>
+ * Files are read in memory once per trial, so only parsing is measured, not I/O.
+ * </p>
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EphemerisParsingBenchmark {
+
+    /** OEM file content. */
+    private byte[] oemContent;
+
+    /** SP3 file content (uncompressed). */
+    private byte[] sp3Content;
+
+    /** OEM parser. */
+    private OemParser oemParser;
+
+    /** SP3 parser. */
+    private SP3Parser sp3Parser;
+
+    /** Load files in memory.
+     * @exception IOException if files cannot be read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Utils.setDataRoot("regular-data");
+
+        final String oemName = "/ccsds/odm/oem/OEMExample5.txt";
+        oemContent = read(new DataSource(oemName, () -> getClass().getResourceAsStream(oemName)));
+        oemParser  = new ParserBuilder().buildOemParser();
+
+        final String sp3Name = "/sp3/gbm18432.sp3.Z";
+        sp3Content = read(new UnixCompressFilter().filter(new DataSource(sp3Name,
+                                                                         () -> getClass().getResourceAsStream(sp3Name))));
+        final Frame frame = FramesFactory.getITRF(IERSConventions.IERS_2003, true);
+        sp3Parser = new SP3Parser(Constants.EIGEN5C_EARTH_MU, 2, s -> frame);
+
+    }
+
+    /** Parse an OEM file.
+     * @return parsed file
+     */
+    @Benchmark
+    public Oem parseOem() {
+        return oemParser.parseMessage(new DataSource("OEMExample5.txt", () -> new ByteArrayInputStream(oemContent)));
+    }
+
+    /** Parse an SP3 file.
+     * @return parsed file
+     */
+    @Benchmark
+    public SP3 parseSP3() {
+        return sp3Parser.parse(new DataSource("gbm18432.sp3", () -> new ByteArrayInputStream(sp3Content)));
+    }
+
+    /** Read a data source completely.
+     * @param source data source
+     * @return raw content
+     * @exception IOException if source cannot be read
+     */
+    private static byte[] read(final DataSource source) throws IOException {
+        try (InputStream is = source.getOpener().openStreamOnce();
+             ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[4096];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                os.write(buffer, 0, n);
+            }
+            return os.toByteArray();
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+/** Benchmark for {@link GridCachedAttractionModel} on a formation of nearby spacecraft.
+ * <p>
+ * All spacecraft of the formation are within a 1 km cube at the same date, the
+ * benchmark compares direct evaluation with cached evaluation (the cache is
+ * cleared at each iteration, so cells creation cost is amortized over the
+ * iteration as in a real multi-spacecraft run).
+ * </p>
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GridCachedAttractionModelBenchmark {
+
+    /** Degree and order of the gravity field. */
+    @Param({ "30", "69" })
+    private int degree;
+
+    /** Formation states. */
+    private SpacecraftState[] states;
+
+    /** Parameters. */
+    private double[] parameters;
+
+    /** Direct gravity force model. */
+    private HolmesFeatherstoneAttractionModel direct;
+
+    /** Cached gravity force model. */
+    private GridCachedAttractionModel cached;
+
+    /** Set up the gravity field and formation.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        direct = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                       GravityFieldFactory.getNormalizedProvider(degree, degree));
+        cached = new GridCachedAttractionModel(direct, 1000.0, 1.0e-8);
+        final AbsoluteDate date = new AbsoluteDate(2005, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI());
+        parameters = direct.getParameters(date);
+
+        final Vector3D position = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D velocity = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final RandomGenerator random = new Well19937a(0x1f6c3b8e2a5d7094L);
+        states = new SpacecraftState[100];
+        for (int i = 0; i < states.length; ++i) {
+            final Vector3D offset = new Vector3D(500.0 * (2 * random.nextDouble() - 1),
+                                                 500.0 * (2 * random.nextDouble() - 1),
+                                                 500.0 * (2 * random.nextDouble() - 1));
+            states[i] = new SpacecraftState(new CartesianOrbit(new PVCoordinates(position.add(offset), velocity),
+                                                               FramesFactory.getGCRF(), date, direct.getMu()));
+        }
+    }
+
+    /** Reset the cache before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        cached.clearCache();
+    }
+
+    /** Evaluate the whole formation with direct evaluation.
+     * @return sum of accelerations
+     */
+    @Benchmark
+    public Vector3D directFormation() {
+        Vector3D sum = Vector3D.ZERO;
+        for (final SpacecraftState state : states) {
+            sum = sum.add(direct.acceleration(state, parameters));
+        }
+        return sum;
+    }
+
+    /** Evaluate the whole formation with cached evaluation.
+     * @return sum of accelerations
+     */
+    @Benchmark
+    public Vector3D cachedFormation() {
+        Vector3D sum = Vector3D.ZERO;
+        for (final SpacecraftState state : states) {
+            sum = sum.add(cached.acceleration(state, parameters));
+        }
+        return sum;
+    }
+
+}
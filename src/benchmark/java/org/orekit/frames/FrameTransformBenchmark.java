@@ -0,0 +1,103 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link Frame#getTransformTo(Frame, AbsoluteDate)} between GCRF and ITRF.
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameTransformBenchmark {
+
+    /** Number of dates per invocation. */
+    private static final int SAMPLES = 1000;
+
+    /** Sampling step between dates (s). */
+    @Param({ "1.0", "60.0" })
+    private double step;
+
+    /** Inertial frame. */
+    private Frame gcrf;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Sample dates. */
+    private AbsoluteDate[] dates;
+
+    /** Set up the frames.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf = FramesFactory.getGCRF();
+        itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        final AbsoluteDate t0 = new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        dates = new AbsoluteDate[SAMPLES];
+        for (int i = 0; i < SAMPLES; ++i) {
+            dates[i] = t0.shiftedBy(step * i);
+        }
+    }
+
+    /** Compute GCRF to ITRF transforms.
+     * @return last transform
+     */
+    @Benchmark
+    public Transform getTransformTo() {
+        Transform t = null;
+        for (final AbsoluteDate date : dates) {
+            t = gcrf.getTransformTo(itrf, date);
+        }
+        return t;
+    }
+
+    /** Compute GCRF to ITRF static transforms.
+     * @return last transform
+     */
+    @Benchmark
+    public StaticTransform getStaticTransformTo() {
+        StaticTransform t = null;
+        for (final AbsoluteDate date : dates) {
+            t = gcrf.getStaticTransformTo(itrf, date);
+        }
+        return t;
+    }
+
+}
@@ -0,0 +1,108 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+/** Benchmark for {@link TLEPropagator}, both near Earth (SGP4) and deep space (SDP4).
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TLEPropagatorBenchmark {
+
+    /** Number of dates per invocation. */
+    private static final int SAMPLES = 1440;
+
+    /** Orbit regime. */
+    @Param({ "SGP4", "SDP4" })
+    private String model;
+
+    /** Propagator. */
+    private TLEPropagator propagator;
+
+    /** Sample dates. */
+    private AbsoluteDate[] dates;
+
+    /** Set up the propagator.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        final TLE tle;
+        if ("SGP4".equals(model)) {
+            // ISS
+            tle = new TLE("1 25544U 98067A   21035.14486477  .00001026  00000-0  26816-4 0  9998",
+                          "2 25544  51.6455 280.5869 0002384 279.1055 260.6895 15.48941813 25236");
+        } else {
+            // GPS
+            tle = new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                          "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153");
+        }
+        propagator = TLEPropagator.selectExtrapolator(tle);
+        dates      = new AbsoluteDate[SAMPLES];
+        for (int i = 0; i < SAMPLES; ++i) {
+            dates[i] = tle.getDate().shiftedBy(60.0 * i);
+        }
+    }
+
+    /** Propagate to one day of one minute sampled dates.
+     * @return last state
+     */
+    @Benchmark
+    public SpacecraftState propagate() {
+        SpacecraftState state = null;
+        for (final AbsoluteDate date : dates) {
+            state = propagator.propagate(date);
+        }
+        return state;
+    }
+
+    /** Get TEME coordinates at one day of one minute sampled dates.
+     * @return last coordinates
+     */
+    @Benchmark
+    public PVCoordinates getPVCoordinates() {
+        PVCoordinates pv = null;
+        for (final AbsoluteDate date : dates) {
+            pv = propagator.getPVCoordinates(date);
+        }
+        return pv;
+    }
+
+}
@@ -0,0 +1,127 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link SlopeAdaptiveInterval} on ground station visibility.
+ * <p>
+ * The benchmark compares a constant 10s max check interval with a slope
+ * adaptive interval between 10s and 600s, for a one day LEO propagation.
+ * </p>
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlopeAdaptiveIntervalBenchmark {
+
+    /** Initial orbit. */
+    private Orbit orbit;
+
+    /** Detector with constant max check interval. */
+    private ElevationDetector constant;
+
+    /** Detector with slope adaptive max check interval. */
+    private ElevationDetector adaptive;
+
+    /** Set up the orbit and detectors.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Utils.setDataRoot("regular-data");
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final TopocentricFrame topo = new TopocentricFrame(earth,
+                                                           new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                             FastMath.toRadians(1.44),
+                                                                             0.0),
+                                                           "Toulouse");
+        constant = new ElevationDetector(topo).
+                   withConstantElevation(FastMath.toRadians(5.0)).
+                   withMaxCheck(10.0).
+                   withThreshold(1.0e-6).
+                   withHandler(new ContinueOnEvent());
+        adaptive = constant.withSlopeAdaptiveMaxCheck(10.0, 600.0);
+        orbit = new KeplerianOrbit(7.2e6, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(90.0), FastMath.toRadians(30.0), 0.0,
+                                   PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2023, 11, 15, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+    /** Propagate with constant max check interval.
+     * @return number of detected events
+     */
+    @Benchmark
+    public int constantMaxCheck() {
+        return propagate(constant);
+    }
+
+    /** Propagate with slope adaptive max check interval.
+     * @return number of detected events
+     */
+    @Benchmark
+    public int adaptiveMaxCheck() {
+        return propagate(adaptive);
+    }
+
+    /** Propagate for one day.
+     * @param detector detector to use
+     * @return number of detected events
+     */
+    private int propagate(final EventDetector detector) {
+        final Propagator   propagator = new KeplerianPropagator(orbit);
+        final EventsLogger logger     = new EventsLogger();
+        propagator.addEventDetector(logger.monitorDetector(detector));
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents().size();
+    }
+
+}
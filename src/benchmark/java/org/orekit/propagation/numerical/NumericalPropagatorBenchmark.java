@@ -0,0 +1,125 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link NumericalPropagator} with {@link HolmesFeatherstoneAttractionModel}.
+ * <p>
+ * The gravity field is the GRIM4-S4 field from the test resources, truncated
+ * at the benchmarked degree and order (the field is complete up to degree 69).
+ * </p>
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumericalPropagatorBenchmark {
+
+    /** Degree and order of the gravity field. */
+    @Param({ "8", "30", "69" })
+    private int degree;
+
+    /** Initial state. */
+    private SpacecraftState initialState;
+
+    /** Gravity force model. */
+    private HolmesFeatherstoneAttractionModel gravity;
+
+    /** Propagator. */
+    private NumericalPropagator propagator;
+
+    /** Set up the gravity field and initial state.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        final NormalizedSphericalHarmonicsProvider provider =
+                        GravityFieldFactory.getNormalizedProvider(degree, degree);
+        gravity = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                        provider);
+        final Orbit orbit = new KeplerianOrbit(7200000.0, 0.001, FastMath.toRadians(98.0),
+                                               FastMath.toRadians(90.0), FastMath.toRadians(30.0),
+                                               0.0, PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                               new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                               provider.getMu());
+        initialState = new SpacecraftState(orbit);
+    }
+
+    /** Reset the propagator before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        final double[][] tolerances = NumericalPropagator.tolerances(0.001, initialState.getOrbit(), OrbitType.CARTESIAN);
+        propagator = new NumericalPropagator(new DormandPrince853Integrator(0.001, 300.0, tolerances[0], tolerances[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(gravity);
+        propagator.setInitialState(initialState);
+    }
+
+    /** Propagate over one orbital period.
+     * @return final state
+     */
+    @Benchmark
+    public SpacecraftState propagateOneOrbit() {
+        propagator.resetInitialState(initialState);
+        return propagator.propagate(initialState.getDate().shiftedBy(initialState.getKeplerianPeriod()));
+    }
+
+    /** Evaluate the gravity acceleration only.
+     * @return acceleration
+     */
+    @Benchmark
+    public Vector3D acceleration() {
+        return gravity.acceleration(initialState, gravity.getParameters(initialState.getDate()));
+    }
+
+}
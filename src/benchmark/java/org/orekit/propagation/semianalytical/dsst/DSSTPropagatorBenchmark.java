@@ -0,0 +1,120 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.EquinoctialOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.PropagationType;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTThirdBody;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link DSSTPropagator}.
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DSSTPropagatorBenchmark {
+
+    /** Type of the output orbit. */
+    @Param({ "MEAN", "OSCULATING" })
+    private PropagationType type;
+
+    /** Initial state. */
+    private SpacecraftState initialState;
+
+    /** Gravity field. */
+    private UnnormalizedSphericalHarmonicsProvider provider;
+
+    /** Earth frame. */
+    private Frame itrf;
+
+    /** Propagator. */
+    private DSSTPropagator propagator;
+
+    /** Set up the gravity field and initial state.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        provider = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        itrf     = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final KeplerianOrbit orbit = new KeplerianOrbit(7200000.0, 0.001, FastMath.toRadians(98.0),
+                                                        FastMath.toRadians(90.0), FastMath.toRadians(30.0),
+                                                        0.0, PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                                        new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                                        provider.getMu());
+        initialState = new SpacecraftState(new EquinoctialOrbit(orbit), 1000.0);
+    }
+
+    /** Reset the propagator before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        final double[][] tol = DSSTPropagator.tolerances(1.0, initialState.getOrbit());
+        propagator = new DSSTPropagator(new DormandPrince853Integrator(600.0, 86400.0, tol[0], tol[1]), type);
+        propagator.addForceModel(new DSSTZonal(provider));
+        propagator.addForceModel(new DSSTTesseral(itrf, Constants.WGS84_EARTH_ANGULAR_VELOCITY, provider));
+        propagator.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getSun(), provider.getMu()));
+        propagator.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getMoon(), provider.getMu()));
+        propagator.setInitialState(initialState, PropagationType.MEAN);
+    }
+
+    /** Propagate over one day.
+     * @return final state
+     */
+    @Benchmark
+    public SpacecraftState propagateOneDay() {
+        propagator.setInitialState(initialState, PropagationType.MEAN);
+        return propagator.propagate(initialState.getDate().shiftedBy(Constants.JULIAN_DAY));
+    }
+
+}
@@ -0,0 +1,127 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.shorttermencounter.probability.twod;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmark for {@link ShortTermEncounter2DPOCBatchEvaluator}.
+ * <p>
+ * Throughput is reported in encounters per second, for one-by-one sequential
+ * evaluation and for batch parallel evaluation.
+ * </p>
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortTermEncounter2DPOCBatchEvaluatorBenchmark {
+
+    /** Number of encounters per invocation. */
+    private static final int ENCOUNTERS = 10000;
+
+    /** Method type. */
+    @Param({ "LAAS_2015", "ALFANO_2005", "PATERA_2005", "ALFRIEND_1999", "CHAN_1997" })
+    private ShortTermEncounter2DPOCMethodType type;
+
+    /** Method for sequential evaluation. */
+    private ShortTermEncounter2DPOCMethod method;
+
+    /** Batch evaluator. */
+    private ShortTermEncounter2DPOCBatchEvaluator evaluator;
+
+    /** Projected positions along x-axis. */
+    private double[] xm;
+
+    /** Projected positions along y-axis. */
+    private double[] ym;
+
+    /** Standard deviations along x-axis. */
+    private double[] sigmaX;
+
+    /** Standard deviations along y-axis. */
+    private double[] sigmaY;
+
+    /** Combined radii. */
+    private double[] radius;
+
+    /** Probabilities of collision. */
+    private double[] probabilities;
+
+    /** Set up random encounters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        method        = type.getMethod();
+        evaluator     = new ShortTermEncounter2DPOCBatchEvaluator(type);
+        xm            = new double[ENCOUNTERS];
+        ym            = new double[ENCOUNTERS];
+        sigmaX        = new double[ENCOUNTERS];
+        sigmaY        = new double[ENCOUNTERS];
+        radius        = new double[ENCOUNTERS];
+        probabilities = new double[ENCOUNTERS];
+        final RandomGenerator random = new Well19937a(0x41c7e29b05d36f8aL);
+        for (int i = 0; i < ENCOUNTERS; ++i) {
+            xm[i]     = 1000.0 * (2 * random.nextDouble() - 1);
+            ym[i]     = 1000.0 * (2 * random.nextDouble() - 1);
+            sigmaX[i] = 10.0 + 500.0 * random.nextDouble();
+            sigmaY[i] = 10.0 + 100.0 * random.nextDouble();
+            radius[i] = 5.0 + 15.0 * random.nextDouble();
+        }
+    }
+
+    /** Evaluate encounters one by one in the benchmark thread.
+     * @return probabilities of collision
+     */
+    @Benchmark
+    @OperationsPerInvocation(ENCOUNTERS)
+    public double[] sequential() {
+        for (int i = 0; i < ENCOUNTERS; ++i) {
+            probabilities[i] = method.compute(xm[i], ym[i], sigmaX[i], sigmaY[i], radius[i]).getValue();
+        }
+        return probabilities;
+    }
+
+    /** Evaluate encounters as one parallel batch.
+     * @return probabilities of collision
+     */
+    @Benchmark
+    @OperationsPerInvocation(ENCOUNTERS)
+    public double[] batch() {
+        evaluator.compute(xm, ym, sigmaX, sigmaY, radius, probabilities);
+        return probabilities;
+    }
+
+}
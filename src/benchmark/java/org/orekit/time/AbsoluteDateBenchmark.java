@@ -0,0 +1,163 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+
+/** Benchmark for {@link AbsoluteDate} arithmetic and UTC conversions.
+ * @since 12.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AbsoluteDateBenchmark {
+
+    /** Number of dates per invocation. */
+    private static final int SAMPLES = 1000;
+
+    /** UTC time scale. */
+    private UTCScale utc;
+
+    /** Sample dates. */
+    private AbsoluteDate[] dates;
+
+    /** Sample date components. */
+    private DateTimeComponents[] components;
+
+    /** Sample strings. */
+    private String[] strings;
+
+    /** Set up the sample dates.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        utc = TimeScalesFactory.getUTC();
+        // the samples span several leap seconds
+        final AbsoluteDate t0 = new AbsoluteDate(1990, 1, 1, 0, 0, 0.0, utc);
+        final double step = 30 * 365.25 * 86400.0 / SAMPLES;
+        dates      = new AbsoluteDate[SAMPLES];
+        components = new DateTimeComponents[SAMPLES];
+        strings    = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; ++i) {
+            dates[i]      = t0.shiftedBy(step * i + 0.001 * i);
+            components[i] = dates[i].getComponents(utc);
+            strings[i]    = dates[i].toString(utc);
+        }
+    }
+
+    /** Shift dates.
+     * @return accumulated offset
+     */
+    @Benchmark
+    public double shiftedBy() {
+        double sum = 0;
+        for (final AbsoluteDate date : dates) {
+            sum += date.shiftedBy(12.345).durationFrom(AbsoluteDate.J2000_EPOCH);
+        }
+        return sum;
+    }
+
+    /** Compute durations between dates.
+     * @return accumulated durations
+     */
+    @Benchmark
+    public double durationFrom() {
+        double sum = 0;
+        for (int i = 1; i < dates.length; ++i) {
+            sum += dates[i].durationFrom(dates[i - 1]);
+        }
+        return sum;
+    }
+
+    /** Compute UTC offsets.
+     * @return accumulated offsets
+     */
+    @Benchmark
+    public double offsetFromTAI() {
+        double sum = 0;
+        for (final AbsoluteDate date : dates) {
+            sum += utc.offsetFromTAI(date);
+        }
+        return sum;
+    }
+
+    /** Convert dates to UTC components.
+     * @return last components
+     */
+    @Benchmark
+    public DateTimeComponents getComponents() {
+        DateTimeComponents dtc = null;
+        for (final AbsoluteDate date : dates) {
+            dtc = date.getComponents(utc);
+        }
+        return dtc;
+    }
+
+    /** Build dates from UTC components.
+     * @return last date
+     */
+    @Benchmark
+    public AbsoluteDate fromComponents() {
+        AbsoluteDate date = null;
+        for (final DateTimeComponents dtc : components) {
+            date = new AbsoluteDate(dtc, utc);
+        }
+        return date;
+    }
+
+    /** Parse ISO-8601 UTC strings.
+     * @return last date
+     */
+    @Benchmark
+    public AbsoluteDate parse() {
+        AbsoluteDate date = null;
+        for (final String s : strings) {
+            date = new AbsoluteDate(s, utc);
+        }
+        return date;
+    }
+
+    /** Format dates as ISO-8601 UTC strings.
+     * @return total length
+     */
+    @Benchmark
+    public int format() {
+        int length = 0;
+        for (final AbsoluteDate date : dates) {
+            length += date.toString(utc).length();
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,385 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.time.AbsoluteDate;
+
+/** Binary cache for parsed data.
+ * <p>
+ * Parsing large text data files like Earth Orientation Parameters, leap seconds
+ * or gravity fields may take a significant part of application startup. This
+ * class stores parsed data in compiled binary files (one file per data set),
+ * that are memory-mapped when read back by subsequent runs, thus avoiding
+ * parsing altogether.
+ * </p>
+ * <p>
+ * Each cache file records the checksums of the source files used to build it.
+ * Before using a cache file, all files matching the same supported names are
+ * read (but not parsed) to compute their checksums. If any file has changed,
+ * appeared or disappeared, the cache file is considered stale, data are parsed
+ * again and the cache file is rewritten. Cache files are written atomically,
+ * so several processes may share the same cache directory.
+ * </p>
+ * <p>
+ * The cache is only an optimization: if a cache file is missing, corrupted or
+ * cannot be written, data are simply parsed from the source files.
+ * </p>
+ * @see LazyLoadedDataContext#setBinaryCache(BinaryDataCache)
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class BinaryDataCache {
+
+    /** Magic number at start of cache files ("ORKC"). */
+    private static final int MAGIC = 0x4F524B43;
+
+    /** Cache files format version. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Suffix for cache files. */
+    private static final String SUFFIX = ".bin";
+
+    /** Directory containing cache files. */
+    private final Path directory;
+
+    /** Simple constructor.
+     * @param directory directory containing cache files (will be created if needed)
+     */
+    public BinaryDataCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /** Get the directory containing cache files.
+     * @return directory containing cache files
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** Get data from the cache, or compute and store them.
+     * @param key key identifying the data set (for example data type and conventions)
+     * @param loader loader providing the source files
+     * @param compute function parsing the data from source files and encoding them
+     * (may return null if data cannot be cached, in which case nothing is stored)
+     * @return cached or computed data, or null if {@code compute} returned null
+     */
+    public DoubleBuffer getOrCompute(final String key, final AbstractSelfFeedingLoader loader,
+                                     final Supplier<double[]> compute) {
+        return getOrCompute(key, loader.getDataProvidersManager(),
+                            Collections.singletonList(loader.getSupportedNames()),
+                            compute);
+    }
+
+    /** Get data from the cache, or compute and store them.
+     * @param key key identifying the data set (for example data type and conventions)
+     * @param manager provider for source files
+     * @param supportedNames regular expressions for source files names
+     * @param compute function parsing the data from source files and encoding them
+     * (may return null if data cannot be cached, in which case nothing is stored)
+     * @return cached or computed data, or null if {@code compute} returned null
+     */
+    public DoubleBuffer getOrCompute(final String key, final DataProvidersManager manager,
+                                     final List<String> supportedNames,
+                                     final Supplier<double[]> compute) {
+        return getOrCompute(key, supportedNames, checksums(manager, supportedNames), compute);
+    }
+
+    /** Get data from the cache, or compute and store them.
+     * <p>
+     * This method is intended for callers that remember the checksums of their
+     * source files between calls, in order to avoid reading all files each time.
+     * </p>
+     * @param key key identifying the data set (for example data type and conventions)
+     * @param supportedNames regular expressions for source files names
+     * @param checksums checksums of the source files, as returned by {@link
+     * #checksums(DataProvidersManager, List)}
+     * @param compute function parsing the data from source files and encoding them
+     * (may return null if data cannot be cached, in which case nothing is stored)
+     * @return cached or computed data, or null if {@code compute} returned null
+     */
+    public DoubleBuffer getOrCompute(final String key, final List<String> supportedNames,
+                                     final List<String> checksums,
+                                     final Supplier<double[]> compute) {
+
+        if (checksums.isEmpty()) {
+            // no source files, we let the parser handle the error
+            final double[] computed = compute.get();
+            return computed == null ? null : DoubleBuffer.wrap(computed);
+        }
+
+        final Path file = directory.resolve(fileName(key, supportedNames));
+        final DoubleBuffer cached = read(file, supportedNames, checksums);
+        if (cached != null) {
+            return cached;
+        }
+
+        final double[] computed = compute.get();
+        if (computed == null) {
+            return null;
+        }
+        write(file, supportedNames, checksums, computed);
+        return DoubleBuffer.wrap(computed);
+
+    }
+
+    /** Encode a date as two doubles, without loss of accuracy.
+     * @param payload array where to put the date
+     * @param index index of the first element to set
+     * @param date date to encode
+     * @return index of the element following the encoded date
+     * @see #getDate(DoubleBuffer)
+     */
+    public static int putDate(final double[] payload, final int index, final AbsoluteDate date) {
+        final double       integral = FastMath.rint(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH));
+        final AbsoluteDate rounded  = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(integral);
+        payload[index]     = integral;
+        payload[index + 1] = date.durationFrom(rounded);
+        return index + 2;
+    }
+
+    /** Decode a date encoded by {@link #putDate(double[], int, AbsoluteDate)}.
+     * @param buffer buffer positioned at the start of the encoded date
+     * @return decoded date
+     */
+    public static AbsoluteDate getDate(final DoubleBuffer buffer) {
+        final double integral   = buffer.get();
+        final double fractional = buffer.get();
+        return AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(integral).shiftedBy(fractional);
+    }
+
+    /** Compute the checksums of all source files.
+     * <p>
+     * All files matching the supported names are read (but not parsed).
+     * </p>
+     * @param manager provider for source files
+     * @param supportedNames regular expressions for source files names
+     * @return sorted checksums, one string per file (empty if there are no source files)
+     */
+    public List<String> checksums(final DataProvidersManager manager, final List<String> supportedNames) {
+        final List<String> checksums = new ArrayList<>();
+        for (final String names : supportedNames) {
+            manager.feed(names, new DataLoader() {
+
+                /** {@inheritDoc} */
+                @Override
+                public boolean stillAcceptsData() {
+                    return true;
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void loadData(final InputStream input, final String name) throws IOException {
+                    final CRC32  crc    = new CRC32();
+                    final byte[] bytes  = new byte[65536];
+                    long         length = 0;
+                    for (int n = input.read(bytes); n >= 0; n = input.read(bytes)) {
+                        crc.update(bytes, 0, n);
+                        length += n;
+                    }
+                    checksums.add(name + ' ' + length + ' ' + Long.toHexString(crc.getValue()));
+                }
+
+            });
+        }
+        Collections.sort(checksums);
+        return checksums;
+    }
+
+    /** Build the cache file name.
+     * @param key key identifying the data set
+     * @param supportedNames regular expressions for source files names
+     * @return cache file name
+     */
+    private String fileName(final String key, final List<String> supportedNames) {
+        return key.replaceAll("[^A-Za-z0-9._-]", "_") + '-' +
+               Integer.toHexString(supportedNames.hashCode()) + SUFFIX;
+    }
+
+    /** Read a cache file.
+     * @param file cache file
+     * @param supportedNames regular expressions for source files names
+     * @param checksums checksums of current source files
+     * @return cached data, or null if file does not exist, is stale or corrupted
+     */
+    private DoubleBuffer read(final Path file, final List<String> supportedNames,
+                              final List<String> checksums) {
+
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            // the mapping remains valid after the channel has been closed
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION ||
+                !supportedNames.equals(readStrings(buffer)) ||
+                !checksums.equals(readStrings(buffer))) {
+                return null;
+            }
+
+            final int size = buffer.getInt();
+            buffer.position(align(buffer.position()));
+            final ByteBuffer payload = buffer.slice();
+            if (payload.remaining() != size * Double.BYTES) {
+                return null;
+            }
+            return payload.asDoubleBuffer();
+
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            // corrupted file, it will be overwritten
+            return null;
+        }
+
+    }
+
+    /** Write a cache file.
+     * @param file cache file
+     * @param supportedNames regular expressions for source files names
+     * @param checksums checksums of source files
+     * @param payload data to write
+     */
+    private void write(final Path file, final List<String> supportedNames,
+                       final List<String> checksums, final double[] payload) {
+
+        Path tmp = null;
+        try {
+
+            // prepare header
+            final List<byte[]> names = encode(supportedNames);
+            final List<byte[]> sums  = encode(checksums);
+            int headerSize = 4 * Integer.BYTES;
+            for (final byte[] b : names) {
+                headerSize += Integer.BYTES + b.length;
+            }
+            for (final byte[] b : sums) {
+                headerSize += Integer.BYTES + b.length;
+            }
+            headerSize = align(headerSize + Integer.BYTES);
+
+            final ByteBuffer buffer = ByteBuffer.allocate(headerSize + payload.length * Double.BYTES);
+            buffer.putInt(MAGIC);
+            buffer.putInt(FORMAT_VERSION);
+            writeStrings(buffer, names);
+            writeStrings(buffer, sums);
+            buffer.putInt(payload.length);
+            buffer.position(headerSize);
+            buffer.asDoubleBuffer().put(payload);
+            buffer.rewind();
+
+            // write to a temporary file first, so other processes never see partial files
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException amnse) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } catch (IOException ioe) {
+            // the cache is only an optimization, failing to write it is not an error
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // nothing to do
+                }
+            }
+        }
+
+    }
+
+    /** Align a position to doubles boundaries.
+     * @param position position to align
+     * @return aligned position
+     */
+    private static int align(final int position) {
+        return ((position + Double.BYTES - 1) / Double.BYTES) * Double.BYTES;
+    }
+
+    /** Encode strings.
+     * @param strings strings to encode
+     * @return encoded strings
+     */
+    private static List<byte[]> encode(final List<String> strings) {
+        final List<byte[]> encoded = new ArrayList<>(strings.size());
+        for (final String s : strings) {
+            encoded.add(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return encoded;
+    }
+
+    /** Write encoded strings.
+     * @param buffer buffer where to write
+     * @param encoded encoded strings
+     */
+    private static void writeStrings(final ByteBuffer buffer, final List<byte[]> encoded) {
+        buffer.putInt(encoded.size());
+        for (final byte[] b : encoded) {
+            buffer.putInt(b.length);
+            buffer.put(b);
+        }
+    }
+
+    /** Read strings.
+     * @param buffer buffer where to read
+     * @return read strings, or null if buffer is corrupted
+     */
+    private static List<String> readStrings(final ByteBuffer buffer) {
+        final int n = buffer.getInt();
+        if (n < 0 || n > buffer.remaining()) {
+            return null;
+        }
+        final List<String> strings = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            final int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return null;
+            }
+            final byte[] b = new byte[length];
+            buffer.get(b);
+            strings.add(new String(b, StandardCharsets.UTF_8));
+        }
+        return strings;
+    }
+
+}
@@ -65,6 +65,26 @@ public class LazyLoadedDataContext implements DataContext {
         // time.
     }
 
+    /**
+     * Set the binary cache for parsed Earth Orientation Parameters, UTC-TAI offsets
+     * and gravity fields.
+     * <p>
+     * This is a convenience method setting the same cache for {@link
+     * LazyLoadedEop#setBinaryCache(BinaryDataCache) EOP}, {@link
+     * LazyLoadedTimeScales#setBinaryCache(BinaryDataCache) time scales} and {@link
+     * LazyLoadedGravityFields#setBinaryCache(BinaryDataCache) gravity fields}.
+     * It must be called before these data are first used.
+     * </p>
+     *
+     * @param binaryCache binary cache for parsed data (null to disable caching)
+     * @since 12.1
+     */
+    public void setBinaryCache(final BinaryDataCache binaryCache) {
+        eop.setBinaryCache(binaryCache);
+        timeScales.setBinaryCache(binaryCache);
+        gravityFields.setBinaryCache(binaryCache);
+    }
+
     /**
      * Get the provider of auxiliary data for this data context.
      *
@@ -910,7 +910,10 @@ public enum OrekitMessages implements Localizable {
     INVALID_SATELLITE_ID("invalid satellite id {0}"),
 
     /** WRONG_EOP_INTERPOLATION_DEGREE. */
-    WRONG_EOP_INTERPOLATION_DEGREE("EOP interpolation degree must be of the form 4k-1, got {0}");
+    WRONG_EOP_INTERPOLATION_DEGREE("EOP interpolation degree must be of the form 4k-1, got {0}"),
+
+    /** NON_SIMULTANEOUS_MEASUREMENTS. */
+    NON_SIMULTANEOUS_MEASUREMENTS("measurements are not simultaneous: {0} and {1}");
 
     /** Base name of the resource bundle in classpath. */
     private static final String RESOURCE_BASE_NAME = "assets/org/orekit/localization/OrekitMessages";
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.ArrayRealVector;
@@ -47,6 +48,7 @@ import org.orekit.time.ChronologicalComparator;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
 import org.orekit.utils.ParameterDriversList.DelegatingDriver;
+import org.orekit.utils.RangeAction;
 import org.orekit.utils.TimeSpanMap.Span;
 import org.orekit.utils.TimeSpanMap;
 
@@ -128,6 +130,36 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
     /** Model function Jacobian. */
     private RealMatrix jacobian;
 
+    /** Number of columns of the Jacobian.
+     * @since 12.1
+     */
+    private final int nbColumns;
+
+    /** Indicator for sparse Jacobian.
+     * @since 12.1
+     */
+    private boolean sparseJacobian;
+
+    /** Number of rows of the Jacobian.
+     * @since 12.1
+     */
+    private final int nbRows;
+
+    /** Consumer for streamed evaluations (null if residuals and Jacobian are stored).
+     * @since 12.1
+     */
+    private EvaluationConsumer consumer;
+
+    /** Pool for parallel measurements evaluation (null for evaluation during propagation).
+     * @since 12.1
+     */
+    private ForkJoinPool pool;
+
+    /** Measurements waiting for parallel evaluation.
+     * @since 12.1
+     */
+    private final List<DeferredEvaluation> deferred;
+
     /**
      * Constructor.
      * @param propagatorBuilders builders to use for propagation
@@ -149,6 +181,8 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
         this.evaluations                     = new IdentityHashMap<>(measurements.size());
         this.observer                        = observer;
         this.harvesters                      = new MatricesHarvester[builders.length];
+        this.pool                            = null;
+        this.deferred                        = new ArrayList<>();
 
         // allocate vector and matrix
         int rows = 0;
@@ -212,9 +246,13 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
             }
         }
 
-        // Initialize point and value
-        value    = new ArrayRealVector(rows);
-        jacobian = MatrixUtils.createRealMatrix(rows, columns);
+        // Value and Jacobian are allocated lazily
+        value          = null;
+        jacobian       = null;
+        nbRows         = rows;
+        nbColumns      = columns;
+        sparseJacobian = false;
+        consumer       = null;
 
         // Decide whether the propagation will be done forward or backward.
         // Minimize the duration between first measurement treated and orbit determination date
@@ -250,6 +288,89 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
         this.iterationsCounter = iterationsCounter;
     }
 
+    /** Set the pool for parallel measurements evaluation.
+     * <p>
+     * By default (i.e. when pool is null), measurements are evaluated one at a
+     * time in the propagation step handler. When a pool is set, the step handler
+     * only stores the interpolated states and their partial derivatives, and all
+     * measurements (including their modifiers) are evaluated in parallel once
+     * propagation is completed. In this case, measurements and modifiers must be
+     * safe to use from several threads simultaneously.
+     * </p>
+     * @param pool pool for parallel measurements evaluation (null for
+     * evaluation during propagation)
+     * @since 12.1
+     */
+    public void setEvaluationPool(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Get the pool for parallel measurements evaluation.
+     * @return pool for parallel measurements evaluation (null for
+     * evaluation during propagation)
+     * @since 12.1
+     */
+    public ForkJoinPool getEvaluationPool() {
+        return pool;
+    }
+
+    /** Set the Jacobian representation.
+     * <p>
+     * In multi-satellites orbit determination, each measurement depends only on a
+     * few parameters, so most Jacobian entries are zero. Setting this flag to true
+     * replaces the default dense Jacobian by a {@link SparseJacobian}, which stores
+     * only non-zero entries and is reset in time proportional to its number of rows.
+     * </p>
+     * @param sparseJacobian if true, a {@link SparseJacobian} is used
+     * @since 12.1
+     */
+    public void setSparseJacobian(final boolean sparseJacobian) {
+        if (sparseJacobian != this.sparseJacobian) {
+            this.sparseJacobian = sparseJacobian;
+            this.jacobian       = null;
+        }
+    }
+
+    /** Check if a sparse Jacobian representation is used.
+     * @return true if a {@link SparseJacobian} is used
+     * @since 12.1
+     */
+    public boolean isSparseJacobian() {
+        return sparseJacobian;
+    }
+
+    /** Set a consumer for streamed evaluations.
+     * <p>
+     * When a consumer is set, the residuals and Jacobian of the whole problem are
+     * not stored at all, each measurement rows are passed to the consumer as soon
+     * as the measurement has been evaluated, and the {@link #value(RealVector)}
+     * method returns null vector and matrix.
+     * </p>
+     * @param consumer consumer for streamed evaluations (null to store residuals
+     * and Jacobian)
+     * @since 12.1
+     */
+    void setEvaluationConsumer(final EvaluationConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+    /** Get the number of columns of the Jacobian.
+     * @return number of columns of the Jacobian
+     * @since 12.1
+     */
+    int getNbColumns() {
+        return nbColumns;
+    }
+
+    /** Get the Jacobian column of an estimated measurement parameter value.
+     * @param spanName name of the span of the parameter driver
+     * @return column of the parameter value, or -1 if parameter is not estimated
+     * @since 12.1
+     */
+    int getMeasurementParameterColumn(final String spanName) {
+        return measurementParameterColumns.getOrDefault(spanName, -1);
+    }
+
     /** Return the forward propagation flag.
      * @return the forward propagation flag
      */
@@ -289,10 +410,25 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
 
         // Reset value and Jacobian
         evaluations.clear();
-        value.set(0.0);
-        for (int i = 0; i < jacobian.getRowDimension(); ++i) {
-            for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
-                jacobian.setEntry(i, j, 0.0);
+        deferred.clear();
+        if (consumer != null) {
+            // residuals and Jacobian are streamed, they are not stored
+            value    = null;
+            jacobian = null;
+        } else if (jacobian == null) {
+            value    = new ArrayRealVector(nbRows);
+            jacobian = sparseJacobian ?
+                       new SparseJacobian(nbRows, nbColumns) :
+                       MatrixUtils.createRealMatrix(nbRows, nbColumns);
+        } else if (jacobian instanceof SparseJacobian) {
+            value.set(0.0);
+            ((SparseJacobian) jacobian).clear();
+        } else {
+            value.set(0.0);
+            for (int i = 0; i < jacobian.getRowDimension(); ++i) {
+                for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
+                    jacobian.setEntry(i, j, 0.0);
+                }
             }
         }
 
@@ -305,6 +441,23 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
             parallelizer.propagate(lastDate.shiftedBy(+1.0), firstDate.shiftedBy(-1.0));
         }
 
+        if (!deferred.isEmpty()) {
+            // evaluate measurements and fill up Jacobian rows in parallel,
+            // each measurement has its own rows so there are no conflicts
+            final EstimatedMeasurement<?>[] estimated = new EstimatedMeasurement<?>[deferred.size()];
+            pool.invoke(new RangeAction(0, estimated.length, i -> {
+                final DeferredEvaluation evaluation = deferred.get(i);
+                estimated[i] = evaluation.getObserved().estimate(getIterationsCount(), getEvaluationsCount(),
+                                                                 evaluation.getStates());
+                fillRows(value, jacobian, evaluation.getIndex(), estimated[i],
+                         evaluation.getStms(), evaluation.getJacobians());
+            }));
+            for (final EstimatedMeasurement<?> evaluation : estimated) {
+                evaluations.put(evaluation.getObservedMeasurement(), evaluation);
+            }
+            deferred.clear();
+        }
+
         observer.modelCalled(orbits, evaluations);
 
         return new Pair<RealVector, RealMatrix>(value, jacobian);
@@ -425,13 +578,67 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
      * @param evaluation measurement evaluation
      */
     public void fetchEvaluatedMeasurement(final int index, final EstimatedMeasurement<?> evaluation) {
+        if (consumer == null) {
+            evaluations.put(evaluation.getObservedMeasurement(), evaluation);
+            fillRows(value, jacobian, index, evaluation, null, null);
+        } else {
+            // stream the measurement rows
+            final int            dimension = evaluation.getObservedMeasurement().getDimension();
+            final RealVector     residuals = new ArrayRealVector(dimension);
+            final SparseJacobian rows      = new SparseJacobian(dimension, nbColumns);
+            fillRows(residuals, rows, 0, evaluation, null, null);
+            consumer.accept(evaluation, residuals, rows);
+        }
+    }
+
+    /** Store a measurement for deferred parallel evaluation.
+     * <p>
+     * The partial derivatives of the states are harvested immediately, as
+     * harvesters may depend on propagation progress and are not thread-safe.
+     * </p>
+     * @param index index of the measurement first component
+     * @param observed observed measurement
+     * @param states interpolated states at measurement date
+     * @since 12.1
+     */
+    void deferEvaluation(final int index, final ObservedMeasurement<?> observed, final SpacecraftState[] states) {
+        final RealMatrix[] stms      = new RealMatrix[states.length];
+        final RealMatrix[] jacobians = new RealMatrix[states.length];
+        for (int k = 0; k < states.length; ++k) {
+            final int p = observed.getSatellites().get(k).getPropagatorIndex();
+            if (getSelectedOrbitalParametersDriversForBuilder(p).getNbParams() > 0) {
+                stms[k] = harvesters[p].getStateTransitionMatrix(states[k]);
+            }
+            if (getSelectedPropagationDriversForBuilder(p).getNbParams() > 0) {
+                jacobians[k] = harvesters[p].getParametersJacobian(states[k]);
+            }
+        }
+        deferred.add(new DeferredEvaluation(index, observed, states, stms, jacobians));
+    }
+
+    /** Fill up residuals and Jacobian rows for one evaluated measurement.
+     * <p>
+     * This method only writes the rows belonging to the measurement, so it
+     * can be called in parallel for different measurements.
+     * </p>
+     * @param residuals vector where to put weighted residuals
+     * @param rows matrix where to put weighted Jacobian rows
+     * @param index index of the measurement first component
+     * @param evaluation measurement evaluation
+     * @param stms state transition matrices for all states (if null, they
+     * will be retrieved from harvesters)
+     * @param jacobians Jacobians with respect to propagation parameters for
+     * all states (if null, they will be retrieved from harvesters)
+     */
+    private void fillRows(final RealVector residuals, final RealMatrix rows,
+                          final int index, final EstimatedMeasurement<?> evaluation,
+                          final RealMatrix[] stms, final RealMatrix[] jacobians) {
 
         // States and observed measurement
         final SpacecraftState[]      evaluationStates    = evaluation.getStates();
         final ObservedMeasurement<?> observedMeasurement = evaluation.getObservedMeasurement();
 
         // compute weighted residuals
-        evaluations.put(observedMeasurement, evaluation);
         if (evaluation.getStatus() == EstimatedMeasurement.Status.REJECTED) {
             return;
         }
@@ -441,7 +648,7 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
         final double[] sigma     = observedMeasurement.getTheoreticalStandardDeviation();
         final double[] weight    = evaluation.getObservedMeasurement().getBaseWeight();
         for (int i = 0; i < evaluated.length; ++i) {
-            value.setEntry(index + i, weight[i] * (evaluated[i] - observed[i]) / sigma[i]);
+            residuals.setEntry(index + i, weight[i] * (evaluated[i] - observed[i]) / sigma[i]);
         }
 
         for (int k = 0; k < evaluationStates.length; ++k) {
@@ -462,14 +669,16 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
             final ParameterDriversList selectedOrbitalDrivers = getSelectedOrbitalParametersDriversForBuilder(p);
             final int nbOrbParams = selectedOrbitalDrivers.getNbParams();
             if (nbOrbParams > 0) {
-                final RealMatrix dYdY0 = harvesters[p].getStateTransitionMatrix(evaluationStates[k]);
+                final RealMatrix dYdY0 = stms == null ?
+                                         harvesters[p].getStateTransitionMatrix(evaluationStates[k]) :
+                                         stms[k];
                 final RealMatrix dMdY0 = dMdY.multiply(dYdY0);
                 for (int i = 0; i < dMdY0.getRowDimension(); ++i) {
                     for (int j = orbitsStartColumns[p]; j < orbitsEndColumns[p]; ++j) {
                         final ParameterDriver driver =
                                         selectedOrbitalDrivers.getDrivers().get(j - orbitsStartColumns[p]);
                         final double partial = dMdY0.getEntry(i, orbitsJacobianColumns[j]);
-                        jacobian.setEntry(index + i, j,
+                        rows.setEntry(index + i, j,
                                           weight[i] * partial / sigma[i] * driver.getScale());
                     }
                 }
@@ -479,7 +688,9 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
             final ParameterDriversList selectedPropagationDrivers = getSelectedPropagationDriversForBuilder(p);
             final int nbParams = selectedPropagationDrivers.getNbParams();
             if (nbParams > 0) {
-                final RealMatrix dYdPp = harvesters[p].getParametersJacobian(evaluationStates[k]);
+                final RealMatrix dYdPp = jacobians == null ?
+                                         harvesters[p].getParametersJacobian(evaluationStates[k]) :
+                                         jacobians[k];
                 final RealMatrix dMdPp = dMdY.multiply(dYdPp);
 
                 for (int i = 0; i < dMdPp.getRowDimension(); ++i) {
@@ -491,7 +702,7 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
                         final TimeSpanMap<String> delegatingNameSpanMap = delegating.getNamesSpanMap();
                         // get point entry for each span (for each estimated value), point is sorted
                         for (Span<String> currentNameSpan = delegatingNameSpanMap.getFirstSpan(); currentNameSpan != null; currentNameSpan = currentNameSpan.next()) {
-                            jacobian.addToEntry(index + i, propagationParameterColumns.get(currentNameSpan.getData()),
+                            rows.addToEntry(index + i, propagationParameterColumns.get(currentNameSpan.getData()),
                                     weight[i] * dMdPp.getEntry(i, col++) / sigma[i] * delegating.getScale());
                         }
                     }
@@ -504,7 +715,7 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
                 for (Span<String> span = driver.getNamesSpanMap().getFirstSpan(); span != null; span = span.next()) {
                     final double[] aMPm = evaluation.getParameterDerivatives(driver, span.getStart());
                     for (int i = 0; i < aMPm.length; ++i) {
-                        jacobian.setEntry(index + i, measurementParameterColumns.get(span.getData()),
+                        rows.setEntry(index + i, measurementParameterColumns.get(span.getData()),
                                           weight[i] * aMPm[i] / sigma[i] * driver.getScale());
                     }
                 }
@@ -546,7 +757,7 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
             Collections.reverse(precompensated);
         }
 
-        return new MeasurementHandler(this, precompensated);
+        return new MeasurementHandler(this, precompensated, pool != null && consumer == null);
 
     }
 
@@ -564,4 +775,95 @@ public abstract class AbstractBatchLSModel implements MultivariateJacobianFuncti
         return evaluationsCounter.getCount();
     }
 
+    /** Consumer for streamed evaluations.
+     * @since 12.1
+     */
+    interface EvaluationConsumer {
+
+        /** Consume one evaluated measurement.
+         * <p>
+         * Residuals are computed as estimated minus observed values,
+         * both residuals and Jacobian rows are weighted.
+         * </p>
+         * @param evaluation evaluated measurement
+         * @param residuals weighted residuals
+         * @param rows weighted Jacobian rows
+         */
+        void accept(EstimatedMeasurement<?> evaluation, RealVector residuals, SparseJacobian rows);
+
+    }
+
+    /** Container for measurements waiting for parallel evaluation.
+     * @since 12.1
+     */
+    private static class DeferredEvaluation {
+
+        /** Index of the measurement first component. */
+        private final int index;
+
+        /** Observed measurement. */
+        private final ObservedMeasurement<?> observed;
+
+        /** Interpolated states at measurement date. */
+        private final SpacecraftState[] states;
+
+        /** State transition matrices. */
+        private final RealMatrix[] stms;
+
+        /** Jacobians with respect to propagation parameters. */
+        private final RealMatrix[] jacobians;
+
+        /** Simple constructor.
+         * @param index index of the measurement first component
+         * @param observed observed measurement
+         * @param states interpolated states at measurement date
+         * @param stms state transition matrices
+         * @param jacobians Jacobians with respect to propagation parameters
+         */
+        DeferredEvaluation(final int index, final ObservedMeasurement<?> observed, final SpacecraftState[] states,
+                           final RealMatrix[] stms, final RealMatrix[] jacobians) {
+            this.index     = index;
+            this.observed  = observed;
+            this.states    = states;
+            this.stms      = stms;
+            this.jacobians = jacobians;
+        }
+
+        /** Get the index of the measurement first component.
+         * @return index of the measurement first component
+         */
+        int getIndex() {
+            return index;
+        }
+
+        /** Get the observed measurement.
+         * @return observed measurement
+         */
+        ObservedMeasurement<?> getObserved() {
+            return observed;
+        }
+
+        /** Get the interpolated states.
+         * @return interpolated states at measurement date
+         */
+        SpacecraftState[] getStates() {
+            return states;
+        }
+
+        /** Get the state transition matrices.
+         * @return state transition matrices
+         */
+        RealMatrix[] getStms() {
+            return stms;
+        }
+
+        /** Get the Jacobians with respect to propagation parameters.
+         * @return Jacobians with respect to propagation parameters
+         */
+        RealMatrix[] getJacobians() {
+            return jacobians;
+        }
+
+    }
+
 }
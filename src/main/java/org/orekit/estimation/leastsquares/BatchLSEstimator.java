@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -104,6 +105,16 @@ public class BatchLSEstimator {
     /** Counter for the iterations. */
     private Incrementor iterationsCounter;
 
+    /** Pool for parallel measurements evaluation (null for evaluation during propagation).
+     * @since 12.1
+     */
+    private ForkJoinPool evaluationPool;
+
+    /** Indicator for sparse Jacobian.
+     * @since 12.1
+     */
+    private boolean sparseJacobian;
+
     /** Simple constructor.
      * <p>
      * If multiple {@link PropagatorBuilder propagator builders} are set up,
@@ -133,6 +144,8 @@ public class BatchLSEstimator {
         this.observer                       = null;
         this.estimations                    = null;
         this.orbits                         = new Orbit[builders.length];
+        this.evaluationPool                 = null;
+        this.sparseJacobian                 = false;
 
         setParametersConvergenceThreshold(Double.NaN);
 
@@ -154,6 +167,51 @@ public class BatchLSEstimator {
         this.observer = observer;
     }
 
+    /** Set the pool for parallel measurements evaluation.
+     * <p>
+     * By default, measurements are evaluated sequentially during orbit propagation.
+     * For large measurements sets, it is possible to only store the interpolated
+     * states and their partial derivatives during propagation, and to evaluate
+     * measurements (including their modifiers) in parallel afterwards, using the
+     * specified pool. In this case, measurements and modifiers must be safe to use
+     * from several threads simultaneously.
+     * </p>
+     * @param evaluationPool pool for parallel measurements evaluation
+     * (null for sequential evaluation during propagation)
+     * @see AbstractBatchLSModel#setEvaluationPool(ForkJoinPool)
+     * @since 12.1
+     */
+    public void setEvaluationPool(final ForkJoinPool evaluationPool) {
+        this.evaluationPool = evaluationPool;
+    }
+
+    /** Set the Jacobian representation.
+     * <p>
+     * By default, the Jacobian of the least squares problem is a dense matrix.
+     * For multi-satellites orbit determination with many parameters, most entries
+     * are zero and a {@link SparseJacobian} can be used instead to save memory.
+     * </p>
+     * <p>
+     * The memory is saved only if the optimizer does not convert the Jacobian to a
+     * dense matrix, which is what {@link
+     * org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer
+     * Levenberg-Marquardt} and {@link
+     * org.hipparchus.optim.nonlinear.vector.leastsquares.GaussNewtonOptimizer Gauss-Newton}
+     * optimizers do with their regular decomposers (forming the normal equations within
+     * the optimizer also accesses all entries, including the zero ones). The optimizer
+     * must therefore be a Gauss-Newton optimizer that does not form the normal equations
+     * itself but delegates this to a {@link NormalEquationsDecomposer}, which uses only
+     * the stored entries:
+     * {@code new GaussNewtonOptimizer(new NormalEquationsDecomposer(new QRDecomposer(1.0e-11)), false)}.
+     * </p>
+     * @param sparseJacobian if true, a {@link SparseJacobian} is used
+     * @see AbstractBatchLSModel#setSparseJacobian(boolean)
+     * @since 12.1
+     */
+    public void setSparseJacobian(final boolean sparseJacobian) {
+        this.sparseJacobian = sparseJacobian;
+    }
+
     /** Add a measurement.
      * @param measurement measurement to add
      */
@@ -436,6 +494,8 @@ public class BatchLSEstimator {
             }
         };
         final AbstractBatchLSModel model = builders[0].buildLeastSquaresModel(builders, measurements, estimatedMeasurementsParameters, modelObserver);
+        model.setEvaluationPool(evaluationPool);
+        model.setSparseJacobian(sparseJacobian);
 
         lsBuilder.model(model);
 
@@ -39,6 +39,11 @@ class MeasurementHandler implements MultiSatStepHandler {
     /** Underlying measurements. */
     private final List<PreCompensation> precompensated;
 
+    /** Indicator for deferred evaluation.
+     * @since 12.1
+     */
+    private final boolean deferred;
+
     /** Number of the next measurement. */
     private int number;
 
@@ -48,10 +53,14 @@ class MeasurementHandler implements MultiSatStepHandler {
     /** Simple constructor.
      * @param model least squares model
      * @param precompensated underlying measurements
+     * @param deferred if true, measurements evaluation is deferred to the model,
+     * the handler only picks up the interpolated states (since 12.1)
      */
-    MeasurementHandler(final AbstractBatchLSModel model, final List<PreCompensation> precompensated) {
+    MeasurementHandler(final AbstractBatchLSModel model, final List<PreCompensation> precompensated,
+                       final boolean deferred) {
         this.model          = model;
         this.precompensated = precompensated;
+        this.deferred       = deferred;
     }
 
     /** {@inheritDoc} */
@@ -86,12 +95,17 @@ class MeasurementHandler implements MultiSatStepHandler {
                 final ObservableSatellite satellite = observed.getSatellites().get(i);
                 states[i] = interpolators.get(satellite.getPropagatorIndex()).getInterpolatedState(next.getDate());
             }
-            final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
-                                                                        model.getEvaluationsCount(),
-                                                                        states);
-
-            // fetch the evaluated measurement to the estimator
-            model.fetchEvaluatedMeasurement(index, estimated);
+            if (deferred) {
+                // let the model evaluate the measurement later on
+                model.deferEvaluation(index, observed, states);
+            } else {
+                final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
+                                                                            model.getEvaluationsCount(),
+                                                                            states);
+
+                // fetch the evaluated measurement to the estimator
+                model.fetchEvaluatedMeasurement(index, estimated);
+            }
 
             // prepare handling of next measurement
             ++number;
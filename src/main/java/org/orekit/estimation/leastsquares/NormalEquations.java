@@ -0,0 +1,336 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Accumulator for least squares normal equations.
+ * <p>
+ * This class accumulates the normal matrix J<sup>T</sup>J and the right hand side
+ * J<sup>T</sup>r incrementally, one Jacobian row at a time, where J is the weighted
+ * Jacobian and r the weighted residuals. Memory is proportional to the square of
+ * the number of parameters and does not depend on the number of measurements. When
+ * rows are sparse, only their non-zero entries are used, so the cost of adding a
+ * row is proportional to the square of its number of non-zero entries.
+ * </p>
+ * <p>
+ * If residuals are computed as observed minus estimated values, the Gauss-Newton
+ * correction δ to apply to the parameters is the solution of N δ = J<sup>T</sup>r.
+ * </p>
+ * <p>
+ * The equations can be {@link #grow(int) grown} to take new parameters into account
+ * and parameters can be {@link #eliminate(int) eliminated} by Schur complement,
+ * which allows handling parameters that only affect a small subset of the rows
+ * without keeping them in the equations for the whole accumulation.
+ * </p>
+ * @see SparseJacobian
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class NormalEquations {
+
+    /** Number of parameters. */
+    private int dimension;
+
+    /** Upper triangular part of the normal matrix. */
+    private double[][] normal;
+
+    /** Right hand side. */
+    private double[] rhs;
+
+    /** Sum of squared residuals. */
+    private double squaredResiduals;
+
+    /** Number of accumulated rows. */
+    private long rows;
+
+    /** Simple constructor.
+     * @param dimension number of parameters
+     */
+    public NormalEquations(final int dimension) {
+        if (dimension < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     dimension, 1);
+        }
+        this.dimension        = dimension;
+        this.normal           = new double[dimension][dimension];
+        this.rhs              = new double[dimension];
+        this.squaredResiduals = 0.0;
+        this.rows             = 0;
+    }
+
+    /** Reset the accumulator.
+     */
+    public void clear() {
+        for (final double[] row : normal) {
+            Arrays.fill(row, 0.0);
+        }
+        Arrays.fill(rhs, 0.0);
+        squaredResiduals = 0.0;
+        rows             = 0;
+    }
+
+    /** Get the number of parameters.
+     * @return number of parameters
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /** Grow the equations to take new parameters into account.
+     * <p>
+     * The new parameters are appended after the existing ones, with
+     * zero coefficients in the normal matrix and the right hand side.
+     * </p>
+     * @param newDimension new number of parameters
+     */
+    public void grow(final int newDimension) {
+        if (newDimension < dimension) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     newDimension, dimension);
+        }
+        final double[][] grownNormal = new double[newDimension][newDimension];
+        for (int i = 0; i < dimension; ++i) {
+            System.arraycopy(normal[i], i, grownNormal[i], i, dimension - i);
+        }
+        normal    = grownNormal;
+        rhs       = Arrays.copyOf(rhs, newDimension);
+        dimension = newDimension;
+    }
+
+    /** Eliminate one parameter using Schur complement.
+     * <p>
+     * The equations are updated so their solution for the remaining parameters is
+     * unchanged, then the row and column of the eliminated parameter are reset to
+     * zero, so its index can be reused for another parameter. The correction of the
+     * eliminated parameter can be recovered by back substitution once the other
+     * parameters have been solved for: δ<sub>k</sub> = (b<sub>k</sub> - ∑<sub>i≠k</sub>
+     * N<sub>k,i</sub> δ<sub>i</sub>) / N<sub>k,k</sub>, so the corresponding elements
+     * must be retrieved using {@link #getNormalElement(int, int)} and {@link
+     * #getRightHandSideElement(int)} <em>before</em> calling this method.
+     * </p>
+     * <p>
+     * If the parameter is not observed at all (i.e. N<sub>k,k</sub> = 0), it is
+     * simply removed.
+     * </p>
+     * @param k index of the parameter to eliminate
+     */
+    public void eliminate(final int k) {
+
+        final double pivot = normal[k][k];
+        if (pivot > 0) {
+
+            // gather parameters coupled with the eliminated one
+            final int[]    coupled      = new int[dimension];
+            final double[] coefficients = new double[dimension];
+            int n = 0;
+            for (int i = 0; i < dimension; ++i) {
+                if (i != k) {
+                    final double nki = getNormalElement(k, i);
+                    if (nki != 0.0) {
+                        coupled[n]        = i;
+                        coefficients[n++] = nki;
+                    }
+                }
+            }
+
+            // Schur complement
+            for (int p = 0; p < n; ++p) {
+                final double   factor = coefficients[p] / pivot;
+                final int      ip     = coupled[p];
+                final double[] np     = normal[ip];
+                for (int q = p; q < n; ++q) {
+                    // coupled indices are sorted, so we remain in the upper triangular part
+                    np[coupled[q]] -= factor * coefficients[q];
+                }
+                rhs[ip] -= factor * rhs[k];
+            }
+
+        }
+
+        // release the index
+        for (int i = 0; i < k; ++i) {
+            normal[i][k] = 0.0;
+        }
+        Arrays.fill(normal[k], k, dimension, 0.0);
+        rhs[k] = 0.0;
+
+    }
+
+    /** Get the number of accumulated rows.
+     * @return number of accumulated rows
+     */
+    public long getRowsCount() {
+        return rows;
+    }
+
+    /** Get the sum of squared residuals.
+     * @return sum of squared weighted residuals
+     */
+    public double getSquaredResiduals() {
+        return squaredResiduals;
+    }
+
+    /** Add a dense Jacobian row.
+     * @param row weighted Jacobian row
+     * @param residual weighted residual
+     */
+    public void addRow(final double[] row, final double residual) {
+        checkDimension(row.length);
+        for (int i = 0; i < dimension; ++i) {
+            final double ji = row[i];
+            if (ji != 0.0) {
+                final double[] ni = normal[i];
+                for (int j = i; j < dimension; ++j) {
+                    ni[j] += ji * row[j];
+                }
+                rhs[i] += ji * residual;
+            }
+        }
+        squaredResiduals += residual * residual;
+        ++rows;
+    }
+
+    /** Add a sparse Jacobian row.
+     * @param columns columns indices of the non-zero entries (in any order, but without duplicates)
+     * @param values values of the non-zero entries of the weighted Jacobian row
+     * @param nonZeros number of non-zero entries to use in the arrays
+     * @param residual weighted residual
+     */
+    public void addRow(final int[] columns, final double[] values, final int nonZeros, final double residual) {
+        for (int k = 0; k < nonZeros; ++k) {
+            final int      ck = columns[k];
+            final double   vk = values[k];
+            final double[] nk = normal[ck];
+            for (int l = k; l < nonZeros; ++l) {
+                final int cl = columns[l];
+                if (ck <= cl) {
+                    nk[cl] += vk * values[l];
+                } else {
+                    normal[cl][ck] += vk * values[l];
+                }
+            }
+            rhs[ck] += vk * residual;
+        }
+        squaredResiduals += residual * residual;
+        ++rows;
+    }
+
+    /** Add all rows of a Jacobian.
+     * <p>
+     * If the Jacobian is a {@link SparseJacobian}, only its stored entries are used.
+     * </p>
+     * @param jacobian weighted Jacobian
+     * @param residuals weighted residuals
+     */
+    public void addRows(final RealMatrix jacobian, final RealVector residuals) {
+        checkDimension(jacobian.getColumnDimension());
+        if (jacobian instanceof SparseJacobian) {
+            final SparseJacobian sparse  = (SparseJacobian) jacobian;
+            int[]                columns = new int[0];
+            double[]             values  = new double[0];
+            for (int i = 0; i < sparse.getRowDimension(); ++i) {
+                final int n = sparse.getNonZeros(i);
+                if (n > columns.length) {
+                    columns = new int[n];
+                    values  = new double[n];
+                }
+                for (int k = 0; k < n; ++k) {
+                    columns[k] = sparse.getStoredColumn(i, k);
+                    values[k]  = sparse.getStoredValue(i, k);
+                }
+                addRow(columns, values, n, residuals.getEntry(i));
+            }
+        } else {
+            for (int i = 0; i < jacobian.getRowDimension(); ++i) {
+                addRow(jacobian.getRow(i), residuals.getEntry(i));
+            }
+        }
+    }
+
+    /** Add equations accumulated by another instance.
+     * <p>
+     * This method is typically used to merge accumulators filled by different threads.
+     * </p>
+     * @param other other accumulator
+     */
+    public void add(final NormalEquations other) {
+        checkDimension(other.dimension);
+        for (int i = 0; i < dimension; ++i) {
+            for (int j = i; j < dimension; ++j) {
+                normal[i][j] += other.normal[i][j];
+            }
+            rhs[i] += other.rhs[i];
+        }
+        squaredResiduals += other.squaredResiduals;
+        rows             += other.rows;
+    }
+
+    /** Get the normal matrix.
+     * @return normal matrix J<sup>T</sup>J (a new symmetric matrix is built at each call)
+     */
+    public RealMatrix getNormalMatrix() {
+        final RealMatrix n = MatrixUtils.createRealMatrix(dimension, dimension);
+        for (int i = 0; i < dimension; ++i) {
+            for (int j = i; j < dimension; ++j) {
+                n.setEntry(i, j, normal[i][j]);
+                n.setEntry(j, i, normal[i][j]);
+            }
+        }
+        return n;
+    }
+
+    /** Get one element of the normal matrix.
+     * @param i row index
+     * @param j column index
+     * @return element N<sub>i,j</sub> of the normal matrix
+     */
+    public double getNormalElement(final int i, final int j) {
+        return i <= j ? normal[i][j] : normal[j][i];
+    }
+
+    /** Get one element of the right hand side.
+     * @param i index
+     * @return element i of the right hand side
+     */
+    public double getRightHandSideElement(final int i) {
+        return rhs[i];
+    }
+
+    /** Get the right hand side.
+     * @return right hand side J<sup>T</sup>r (a new vector is built at each call)
+     */
+    public RealVector getRightHandSide() {
+        return MatrixUtils.createRealVector(rhs.clone());
+    }
+
+    /** Check dimension consistency.
+     * @param d dimension to check
+     */
+    private void checkDimension(final int d) {
+        if (d != dimension) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, d, dimension);
+        }
+    }
+
+}
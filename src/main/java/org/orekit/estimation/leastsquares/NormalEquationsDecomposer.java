@@ -0,0 +1,168 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.MatrixDecomposer;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+
+/** Matrix decomposer solving least squares problems through {@link NormalEquations normal equations}.
+ * <p>
+ * This decomposer is intended to be used with a {@link
+ * org.hipparchus.optim.nonlinear.vector.leastsquares.GaussNewtonOptimizer Gauss-Newton}
+ * optimizer set up <em>without</em> forming the normal equations itself, i.e.
+ * {@code new GaussNewtonOptimizer(new NormalEquationsDecomposer(new QRDecomposer(1.0e-11)), false)}.
+ * The optimizer then hands the weighted Jacobian J directly to this decomposer, which
+ * accumulates J<sup>T</sup>J row by row using only the stored entries when J is a
+ * {@link SparseJacobian}, and delegates the decomposition of the small square normal
+ * matrix to another decomposer. The Jacobian is therefore never converted to a dense
+ * array, contrary to what happens when the optimizer forms the normal equations itself
+ * or when the Jacobian is decomposed directly.
+ * </p>
+ * @see BatchLSEstimator#setSparseJacobian(boolean)
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class NormalEquationsDecomposer implements MatrixDecomposer {
+
+    /** Decomposer for the normal matrix. */
+    private final MatrixDecomposer normalDecomposer;
+
+    /** Simple constructor.
+     * @param normalDecomposer decomposer to use for the normal matrix
+     */
+    public NormalEquationsDecomposer(final MatrixDecomposer normalDecomposer) {
+        this.normalDecomposer = normalDecomposer;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DecompositionSolver decompose(final RealMatrix a) {
+        final NormalEquations equations = new NormalEquations(a.getColumnDimension());
+        equations.addRows(a, new ArrayRealVector(a.getRowDimension()));
+        return new Solver(a, normalDecomposer.decompose(equations.getNormalMatrix()));
+    }
+
+    /** Solver using normal equations. */
+    private static class Solver implements DecompositionSolver {
+
+        /** Decomposed matrix. */
+        private final RealMatrix a;
+
+        /** Solver for the normal matrix. */
+        private final DecompositionSolver normalSolver;
+
+        /** Simple constructor.
+         * @param a decomposed matrix
+         * @param normalSolver solver for the normal matrix
+         */
+        Solver(final RealMatrix a, final DecompositionSolver normalSolver) {
+            this.a            = a;
+            this.normalSolver = normalSolver;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            return normalSolver.solve(transposeOperate(b));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            final RealMatrix x = MatrixUtils.createRealMatrix(a.getColumnDimension(), b.getColumnDimension());
+            for (int j = 0; j < b.getColumnDimension(); ++j) {
+                x.setColumnVector(j, solve(b.getColumnVector(j)));
+            }
+            return x;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            return normalSolver.isNonSingular();
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The pseudo-inverse (A<sup>T</sup>A)<sup>-1</sup>A<sup>T</sup> is computed by
+         * multiplying the inverse of the normal matrix by A<sup>T</sup>, using only the
+         * stored entries when A is a {@link SparseJacobian}, so no matrix with one row
+         * and one column per measurement is ever built.
+         * </p>
+         */
+        @Override
+        public RealMatrix getInverse() {
+            final RealMatrix normalInverse = normalSolver.getInverse();
+            if (a instanceof SparseJacobian) {
+                final SparseJacobian sparse = (SparseJacobian) a;
+                final double[][]     nInv   = normalInverse.getData();
+                final double[][]     pseudo = new double[nInv.length][sparse.getRowDimension()];
+                for (int i = 0; i < sparse.getRowDimension(); ++i) {
+                    for (int k = 0; k < sparse.getNonZeros(i); ++k) {
+                        final int    c = sparse.getStoredColumn(i, k);
+                        final double v = sparse.getStoredValue(i, k);
+                        for (int r = 0; r < nInv.length; ++r) {
+                            pseudo[r][i] += nInv[r][c] * v;
+                        }
+                    }
+                }
+                return new Array2DRowRealMatrix(pseudo, false);
+            } else {
+                return normalInverse.multiplyTransposed(a);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return a.getRowDimension();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return a.getColumnDimension();
+        }
+
+        /** Compute A<sup>T</sup>b.
+         * @param b vector to multiply
+         * @return A<sup>T</sup>b
+         */
+        private RealVector transposeOperate(final RealVector b) {
+            if (a instanceof SparseJacobian) {
+                final SparseJacobian sparse = (SparseJacobian) a;
+                final RealVector     atb    = new ArrayRealVector(sparse.getColumnDimension());
+                for (int i = 0; i < sparse.getRowDimension(); ++i) {
+                    final double bi = b.getEntry(i);
+                    for (int k = 0; k < sparse.getNonZeros(i); ++k) {
+                        atb.addToEntry(sparse.getStoredColumn(i, k), sparse.getStoredValue(i, k) * bi);
+                    }
+                }
+                return atb;
+            } else {
+                return a.preMultiply(b);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,253 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.linear.AbstractRealMatrix;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+
+/** Sparse Jacobian matrix for orbit determination.
+ * <p>
+ * In multi-satellites orbit determination, each measurement depends only on
+ * the orbital and propagation parameters of the satellites it involves and on
+ * a few measurements parameters (biases, station offsets...). The Jacobian is
+ * therefore mostly made of zeros. This matrix stores only the non-zero entries
+ * of each row, as sorted column indices and associated values, so memory is
+ * proportional to the number of non-zero entries.
+ * </p>
+ * <p>
+ * Rows are independent from each other, so different rows can be set up
+ * concurrently by different threads.
+ * </p>
+ * @see NormalEquations
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class SparseJacobian extends AbstractRealMatrix {
+
+    /** Initial capacity of rows. */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Number of rows. */
+    private final int rowDimension;
+
+    /** Number of columns. */
+    private final int columnDimension;
+
+    /** Columns indices of non-zero entries, for each row. */
+    private final int[][] indices;
+
+    /** Values of non-zero entries, for each row. */
+    private final double[][] values;
+
+    /** Number of non-zero entries, for each row. */
+    private final int[] sizes;
+
+    /** Create a matrix with all entries set to zero.
+     * @param rowDimension number of rows
+     * @param columnDimension number of columns
+     */
+    public SparseJacobian(final int rowDimension, final int columnDimension) {
+        super(rowDimension, columnDimension);
+        this.rowDimension    = rowDimension;
+        this.columnDimension = columnDimension;
+        this.indices         = new int[rowDimension][];
+        this.values          = new double[rowDimension][];
+        this.sizes           = new int[rowDimension];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rowDimension;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columnDimension;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SparseJacobian createMatrix(final int rows, final int columns) {
+        return new SparseJacobian(rows, columns);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SparseJacobian copy() {
+        final SparseJacobian copy = new SparseJacobian(rowDimension, columnDimension);
+        for (int i = 0; i < rowDimension; ++i) {
+            if (indices[i] != null) {
+                copy.indices[i] = indices[i].clone();
+                copy.values[i]  = values[i].clone();
+                copy.sizes[i]   = sizes[i];
+            }
+        }
+        return copy;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int k = search(row, column);
+        return k < 0 ? 0.0 : values[row][k];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int k = search(row, column);
+        if (k >= 0) {
+            values[row][k] = value;
+        } else if (value != 0.0) {
+            insert(row, -(k + 1), column, value);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment) {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int k = search(row, column);
+        if (k >= 0) {
+            values[row][k] += increment;
+        } else if (increment != 0.0) {
+            insert(row, -(k + 1), column, increment);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v) {
+        if (v.length != columnDimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columnDimension);
+        }
+        final double[] out = new double[rowDimension];
+        for (int i = 0; i < rowDimension; ++i) {
+            double sum = 0;
+            for (int k = 0; k < sizes[i]; ++k) {
+                sum += values[i][k] * v[indices[i][k]];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix transpose() {
+        final SparseJacobian transposed = new SparseJacobian(columnDimension, rowDimension);
+        for (int i = 0; i < rowDimension; ++i) {
+            for (int k = 0; k < sizes[i]; ++k) {
+                // rows are scanned in increasing order, so insertion is always at end
+                transposed.addToEntry(indices[i][k], i, values[i][k]);
+            }
+        }
+        return transposed;
+    }
+
+    /** Reset all entries to zero.
+     * <p>
+     * Allocated storage is preserved, so rows can be filled up again
+     * without additional allocations.
+     * </p>
+     */
+    public void clear() {
+        Arrays.fill(sizes, 0);
+    }
+
+    /** Get the number of stored entries in a row.
+     * @param row row index
+     * @return number of stored entries in the row
+     */
+    public int getNonZeros(final int row) {
+        MatrixUtils.checkRowIndex(this, row);
+        return sizes[row];
+    }
+
+    /** Get the column index of a stored entry.
+     * @param row row index
+     * @param k index of the stored entry in the row, between 0 and
+     * {@link #getNonZeros(int) getNonZeros(row)} - 1
+     * @return column index of the entry
+     */
+    public int getStoredColumn(final int row, final int k) {
+        return indices[row][k];
+    }
+
+    /** Get the value of a stored entry.
+     * @param row row index
+     * @param k index of the stored entry in the row, between 0 and
+     * {@link #getNonZeros(int) getNonZeros(row)} - 1
+     * @return value of the entry
+     */
+    public double getStoredValue(final int row, final int k) {
+        return values[row][k];
+    }
+
+    /** Get the total number of stored entries.
+     * @return total number of stored entries
+     */
+    public long getTotalNonZeros() {
+        long total = 0;
+        for (final int size : sizes) {
+            total += size;
+        }
+        return total;
+    }
+
+    /** Search for an entry in a row.
+     * @param row row index
+     * @param column column index
+     * @return index of the entry if it is stored, or (-(insertion point) - 1) if not stored
+     */
+    private int search(final int row, final int column) {
+        return indices[row] == null ? -1 : Arrays.binarySearch(indices[row], 0, sizes[row], column);
+    }
+
+    /** Insert a new entry in a row.
+     * @param row row index
+     * @param k insertion point
+     * @param column column index
+     * @param value value of the entry
+     */
+    private void insert(final int row, final int k, final int column, final double value) {
+        final int size = sizes[row];
+        if (indices[row] == null) {
+            indices[row] = new int[INITIAL_CAPACITY];
+            values[row]  = new double[INITIAL_CAPACITY];
+        } else if (size == indices[row].length) {
+            indices[row] = Arrays.copyOf(indices[row], 2 * size);
+            values[row]  = Arrays.copyOf(values[row],  2 * size);
+        }
+        System.arraycopy(indices[row], k, indices[row], k + 1, size - k);
+        System.arraycopy(values[row],  k, values[row],  k + 1, size - k);
+        indices[row][k] = column;
+        values[row][k]  = value;
+        sizes[row]      = size + 1;
+    }
+
+}
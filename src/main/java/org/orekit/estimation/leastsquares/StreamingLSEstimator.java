@@ -0,0 +1,659 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Incrementor;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.estimation.measurements.EstimatedMeasurement;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.PropagatorBuilder;
+import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.ParameterDriversList;
+import org.orekit.utils.ParameterDriversList.DelegatingDriver;
+import org.orekit.utils.TimeSpanMap.Span;
+
+/** Streaming Gauss-Newton least squares estimator for orbit determination.
+ * <p>
+ * Contrary to {@link BatchLSEstimator}, this estimator never stores the residuals
+ * vector nor the Jacobian of the whole problem. At each iteration, measurements
+ * are evaluated during propagation and their weighted Jacobian rows are folded
+ * on the fly into normal equations, so memory depends on the number of estimated
+ * parameters and not on the number of measurements. This allows processing very
+ * long arcs with millions of measurements.
+ * </p>
+ * <p>
+ * Some measurements parameters only affect a small part of the arc (typically
+ * phase ambiguities, which are constant only between cycle slips). Such parameters
+ * can be declared as {@link #addLocalParameter(ParameterDriver) local parameters}.
+ * They enter the normal equations when the first measurement depending on them is
+ * processed and they are eliminated (by Schur complement) as soon as the last
+ * measurement depending on them has been processed. Their corrections are recovered
+ * by back substitution once the reduced system has been solved. The size of the
+ * normal equations is therefore the number of global parameters plus the largest
+ * number of simultaneously active local parameters.
+ * </p>
+ * <p>
+ * As the residuals are not stored, outlier filtering based on previous iterations
+ * residuals and signal transit time pre-compensation are not available in this
+ * estimator.
+ * </p>
+ * @see NormalEquations
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class StreamingLSEstimator {
+
+    /** Default threshold for QR decomposition singularity. */
+    private static final double SINGULARITY_THRESHOLD = 1.0e-11;
+
+    /** Builders for propagator. */
+    private final PropagatorBuilder[] builders;
+
+    /** Measurements. */
+    private final List<ObservedMeasurement<?>> measurements;
+
+    /** Local parameters. */
+    private final List<ParameterDriver> localParameters;
+
+    /** Maximum number of iterations. */
+    private int maxIterations;
+
+    /** Convergence threshold on normalized parameters. */
+    private double convergenceThreshold;
+
+    /** Last orbits. */
+    private Orbit[] orbits;
+
+    /** Counter for the iterations. */
+    private Incrementor iterationsCounter;
+
+    /** Counter for the evaluations. */
+    private Incrementor evaluationsCounter;
+
+    /** Root mean square of the weighted residuals at last iteration. */
+    private double rms;
+
+    /** Largest number of simultaneously active local parameters at last iteration. */
+    private int maxActiveLocalParameters;
+
+    /** Simple constructor.
+     * @param propagatorBuilder builders to use for propagation
+     */
+    public StreamingLSEstimator(final PropagatorBuilder... propagatorBuilder) {
+        this.builders                 = propagatorBuilder;
+        this.measurements             = new ArrayList<>();
+        this.localParameters          = new ArrayList<>();
+        this.maxIterations            = 10;
+        this.convergenceThreshold     = 1.0e-3;
+        this.orbits                   = new Orbit[builders.length];
+        this.iterationsCounter        = new Incrementor(maxIterations);
+        this.evaluationsCounter       = new Incrementor(maxIterations);
+        this.rms                      = Double.NaN;
+        this.maxActiveLocalParameters = 0;
+    }
+
+    /** Add a measurement.
+     * @param measurement measurement to add
+     */
+    public void addMeasurement(final ObservedMeasurement<?> measurement) {
+        measurements.add(measurement);
+    }
+
+    /** Declare a measurement parameter as local.
+     * <p>
+     * Local parameters are eliminated from the normal equations as soon as the
+     * last measurement depending on them has been processed. The parameter is
+     * taken into account only if it is {@link ParameterDriver#isSelected() selected}
+     * for estimation.
+     * </p>
+     * @param driver driver for the local parameter
+     */
+    public void addLocalParameter(final ParameterDriver driver) {
+        localParameters.add(driver);
+    }
+
+    /** Set the maximum number of iterations.
+     * @param maxIterations maximum number of iterations (one propagation per iteration)
+     */
+    public void setMaxIterations(final int maxIterations) {
+        if (maxIterations < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxIterations, 1);
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    /** Set convergence threshold.
+     * <p>
+     * Convergence is considered to have been reached when the corrections of all
+     * estimated parameters {@link ParameterDriver#getNormalizedValue() normalized
+     * values} are smaller than the threshold.
+     * </p>
+     * @param convergenceThreshold convergence threshold on normalized parameters
+     * @see BatchLSEstimator#setParametersConvergenceThreshold(double)
+     */
+    public void setParametersConvergenceThreshold(final double convergenceThreshold) {
+        this.convergenceThreshold = convergenceThreshold;
+    }
+
+    /** Get the orbital parameters supported by this estimator.
+     * @param estimatedOnly if true, only estimated parameters are returned
+     * @return orbital parameters supported by this estimator
+     * @see BatchLSEstimator#getOrbitalParametersDrivers(boolean)
+     */
+    public ParameterDriversList getOrbitalParametersDrivers(final boolean estimatedOnly) {
+        final ParameterDriversList estimated = new ParameterDriversList();
+        for (int i = 0; i < builders.length; ++i) {
+            final String suffix = builders.length > 1 ? "[" + i + "]" : null;
+            for (final DelegatingDriver delegating : builders[i].getOrbitalParametersDrivers().getDrivers()) {
+                if (delegating.isSelected() || !estimatedOnly) {
+                    for (final ParameterDriver driver : delegating.getRawDrivers()) {
+                        if (suffix != null && !driver.getName().endsWith(suffix)) {
+                            driver.setName(driver.getName() + suffix);
+                        }
+                        estimated.add(driver);
+                    }
+                }
+            }
+        }
+        return estimated;
+    }
+
+    /** Get the propagator parameters supported by this estimator.
+     * @param estimatedOnly if true, only estimated parameters are returned
+     * @return propagator parameters supported by this estimator
+     */
+    public ParameterDriversList getPropagatorParametersDrivers(final boolean estimatedOnly) {
+        final ParameterDriversList estimated = new ParameterDriversList();
+        for (PropagatorBuilder builder : builders) {
+            for (final DelegatingDriver delegating : builder.getPropagationParametersDrivers().getDrivers()) {
+                if (delegating.isSelected() || !estimatedOnly) {
+                    for (final ParameterDriver driver : delegating.getRawDrivers()) {
+                        estimated.add(driver);
+                    }
+                }
+            }
+        }
+        return estimated;
+    }
+
+    /** Get the measurements parameters supported by this estimator (including measurements and modifiers).
+     * @param estimatedOnly if true, only estimated parameters are returned
+     * @return measurements parameters supported by this estimator
+     */
+    public ParameterDriversList getMeasurementsParametersDrivers(final boolean estimatedOnly) {
+        final ParameterDriversList parameters =  new ParameterDriversList();
+        for (final  ObservedMeasurement<?> measurement : measurements) {
+            for (final ParameterDriver driver : measurement.getParametersDrivers()) {
+                if (!estimatedOnly || driver.isSelected()) {
+                    parameters.add(driver);
+                }
+            }
+        }
+        parameters.sort();
+        return parameters;
+    }
+
+    /** Estimate the orbital, propagation and measurements parameters.
+     * <p>
+     * The estimated parameters are available using {@link #getOrbitalParametersDrivers(boolean)},
+     * {@link #getPropagatorParametersDrivers(boolean)} and {@link #getMeasurementsParametersDrivers(boolean)}.
+     * </p>
+     * @return propagators configured with estimated orbits as initial states, and all
+     * propagators estimated parameters also set
+     */
+    public Propagator[] estimate() {
+
+        // set reference date for all parameters that lack one (including the not estimated parameters)
+        final List<ParameterDriver> all = new ArrayList<>();
+        all.addAll(getOrbitalParametersDrivers(false).getDrivers());
+        all.addAll(getPropagatorParametersDrivers(false).getDrivers());
+        all.addAll(getMeasurementsParametersDrivers(false).getDrivers());
+        for (final ParameterDriver driver : all) {
+            if (driver.getReferenceDate() == null) {
+                driver.setReferenceDate(builders[0].getInitialOrbitDate());
+            }
+        }
+
+        // get all estimated parameters
+        final ParameterDriversList estimatedOrbitalParameters      = getOrbitalParametersDrivers(true);
+        final ParameterDriversList estimatedPropagatorParameters   = getPropagatorParametersDrivers(true);
+        final ParameterDriversList estimatedMeasurementsParameters = getMeasurementsParametersDrivers(true);
+
+        // create start point
+        final double[] point = new double[estimatedOrbitalParameters.getNbValuesToEstimate() +
+                                          estimatedPropagatorParameters.getNbValuesToEstimate() +
+                                          estimatedMeasurementsParameters.getNbValuesToEstimate()];
+        int index = 0;
+        for (final ParameterDriversList list : Arrays.asList(estimatedOrbitalParameters,
+                                                             estimatedPropagatorParameters,
+                                                             estimatedMeasurementsParameters)) {
+            for (final ParameterDriver driver : list.getDrivers()) {
+                for (Span<Double> span = driver.getValueSpanMap().getFirstSpan(); span != null; span = span.next()) {
+                    point[index++] = driver.getNormalizedValue(span.getStart());
+                }
+            }
+        }
+
+        // set up the model
+        final AbstractBatchLSModel model =
+                        builders[0].buildLeastSquaresModel(builders, measurements, estimatedMeasurementsParameters,
+                                                           (newOrbits, newEstimations) -> orbits = newOrbits);
+        iterationsCounter  = new Incrementor(maxIterations);
+        evaluationsCounter = new Incrementor(maxIterations);
+        model.setIterationsCounter(iterationsCounter);
+        model.setEvaluationsCounter(evaluationsCounter);
+
+        // identify local parameters columns, and count the measurements depending on them
+        final Map<String, Integer> localColumns = new HashMap<>();
+        for (final ParameterDriver driver : localParameters) {
+            if (driver.isSelected()) {
+                for (Span<String> span = driver.getNamesSpanMap().getFirstSpan(); span != null; span = span.next()) {
+                    final int column = model.getMeasurementParameterColumn(span.getData());
+                    if (column >= 0) {
+                        localColumns.put(span.getData(), column);
+                    }
+                }
+            }
+        }
+        final int[] dependingMeasurements = new int[model.getNbColumns()];
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            if (measurement.isEnabled()) {
+                forEachLocalColumn(measurement, localColumns, column -> ++dependingMeasurements[column]);
+            }
+        }
+
+        try {
+            while (true) {
+
+                iterationsCounter.increment();
+                evaluationsCounter.increment();
+
+                // stream all measurements into normal equations
+                final Accumulator accumulator = new Accumulator(dependingMeasurements, localColumns);
+                model.setEvaluationConsumer(accumulator);
+                model.value(new ArrayRealVector(point, false));
+
+                // solve and update parameters
+                final double[] correction = accumulator.solve();
+                double maxCorrection = 0;
+                for (int i = 0; i < point.length; ++i) {
+                    point[i]     += correction[i];
+                    maxCorrection = FastMath.max(maxCorrection, FastMath.abs(correction[i]));
+                }
+                rms                      = accumulator.getRMS();
+                maxActiveLocalParameters = accumulator.getMaxActive();
+
+                if (maxCorrection <= convergenceThreshold) {
+                    break;
+                }
+
+            }
+        } catch (MathRuntimeException mrte) {
+            throw new OrekitException(mrte);
+        }
+
+        // set the measurements parameters to their estimated values
+        index = estimatedOrbitalParameters.getNbValuesToEstimate() +
+                estimatedPropagatorParameters.getNbValuesToEstimate();
+        for (final ParameterDriver driver : estimatedMeasurementsParameters.getDrivers()) {
+            for (Span<Double> span = driver.getValueSpanMap().getFirstSpan(); span != null; span = span.next()) {
+                driver.setNormalizedValue(point[index++], span.getStart());
+            }
+        }
+
+        // create new configured propagators with all estimated parameters
+        return model.createPropagators(new ArrayRealVector(point, false));
+
+    }
+
+    /** Get the last estimated orbits.
+     * @return last estimated orbits
+     */
+    public Orbit[] getOrbits() {
+        return orbits.clone();
+    }
+
+    /** Get the number of iterations used for last estimation.
+     * @return number of iterations used for last estimation
+     */
+    public int getIterationsCount() {
+        return iterationsCounter.getCount();
+    }
+
+    /** Get the number of evaluations used for last estimation.
+     * @return number of evaluations used for last estimation
+     */
+    public int getEvaluationsCount() {
+        return evaluationsCounter.getCount();
+    }
+
+    /** Get the root mean square of the weighted residuals at last iteration.
+     * @return root mean square of the weighted residuals at last iteration
+     */
+    public double getRMS() {
+        return rms;
+    }
+
+    /** Get the largest number of simultaneously active local parameters at last iteration.
+     * @return largest number of simultaneously active local parameters at last iteration
+     */
+    public int getMaxActiveLocalParameters() {
+        return maxActiveLocalParameters;
+    }
+
+    /** Apply an action to all local parameters columns a measurement depends on.
+     * @param measurement measurement to consider
+     * @param localColumns map from local parameters names to columns
+     * @param action action to apply
+     */
+    private static void forEachLocalColumn(final ObservedMeasurement<?> measurement,
+                                           final Map<String, Integer> localColumns,
+                                           final IntConsumer action) {
+        for (final ParameterDriver driver : measurement.getParametersDrivers()) {
+            if (driver.isSelected()) {
+                for (Span<String> span = driver.getNamesSpanMap().getFirstSpan(); span != null; span = span.next()) {
+                    final Integer column = localColumns.get(span.getData());
+                    if (column != null) {
+                        action.accept(column);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Accumulator for normal equations with local parameters elimination. */
+    private static class Accumulator implements AbstractBatchLSModel.EvaluationConsumer {
+
+        /** Number of global parameters. */
+        private final int nbGlobal;
+
+        /** Mapping from model columns to normal equations indices (-1 for local parameters). */
+        private final int[] globalIndices;
+
+        /** Mapping from global indices to model columns. */
+        private final int[] globalColumns;
+
+        /** Number of measurements still to be processed, for each local parameter column. */
+        private final int[] remaining;
+
+        /** Map from local parameters names to columns. */
+        private final Map<String, Integer> localColumns;
+
+        /** Normal equations indices of active local parameters, per model column. */
+        private final Map<Integer, Integer> active;
+
+        /** Free normal equations indices for local parameters. */
+        private final Deque<Integer> free;
+
+        /** Eliminated local parameters, in elimination order. */
+        private final List<Elimination> eliminations;
+
+        /** Normal equations. */
+        private final NormalEquations equations;
+
+        /** Number of used normal equations indices. */
+        private int used;
+
+        /** Largest number of simultaneously active local parameters. */
+        private int maxActive;
+
+        /** Simple constructor.
+         * @param dependingMeasurements number of measurements depending on each model column
+         * @param localColumns map from local parameters names to columns
+         */
+        Accumulator(final int[] dependingMeasurements, final Map<String, Integer> localColumns) {
+
+            this.remaining     = dependingMeasurements.clone();
+            this.localColumns  = localColumns;
+            this.globalIndices = new int[dependingMeasurements.length];
+            Arrays.fill(globalIndices, -1);
+            int n = 0;
+            for (int column = 0; column < globalIndices.length; ++column) {
+                if (!localColumns.containsValue(column)) {
+                    globalIndices[column] = n++;
+                }
+            }
+            this.nbGlobal      = n;
+            this.globalColumns = new int[nbGlobal];
+            for (int column = 0; column < globalIndices.length; ++column) {
+                if (globalIndices[column] >= 0) {
+                    globalColumns[globalIndices[column]] = column;
+                }
+            }
+
+            this.active       = new HashMap<>();
+            this.free         = new ArrayDeque<>();
+            this.eliminations = new ArrayList<>();
+            this.equations    = new NormalEquations(FastMath.max(1, nbGlobal));
+            this.used         = nbGlobal;
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void accept(final EstimatedMeasurement<?> evaluation, final RealVector residuals,
+                           final SparseJacobian rows) {
+
+            if (evaluation.getStatus() != EstimatedMeasurement.Status.REJECTED) {
+                for (int i = 0; i < rows.getRowDimension(); ++i) {
+
+                    // map the non-zero entries to normal equations indices
+                    final int      nnz     = rows.getNonZeros(i);
+                    final int[]    indices = new int[nnz];
+                    final double[] values  = new double[nnz];
+                    for (int k = 0; k < nnz; ++k) {
+                        indices[k] = index(rows.getStoredColumn(i, k));
+                        values[k]  = rows.getStoredValue(i, k);
+                    }
+
+                    // residuals are estimated minus observed, we need observed minus estimated
+                    equations.addRow(indices, values, nnz, -residuals.getEntry(i));
+
+                }
+            }
+
+            // eliminate local parameters that will not be used anymore
+            forEachLocalColumn(evaluation.getObservedMeasurement(), localColumns, column -> {
+                if (--remaining[column] == 0) {
+                    eliminate(column);
+                }
+            });
+
+        }
+
+        /** Get the normal equations index of a model column.
+         * @param column model column
+         * @return normal equations index
+         */
+        private int index(final int column) {
+            if (globalIndices[column] >= 0) {
+                return globalIndices[column];
+            }
+            Integer i = active.get(column);
+            if (i == null) {
+                // first time this local parameter is used
+                i = free.isEmpty() ? allocate() : free.pop();
+                active.put(column, i);
+                maxActive = FastMath.max(maxActive, active.size());
+            }
+            return i;
+        }
+
+        /** Allocate a new normal equations index.
+         * @return allocated index
+         */
+        private int allocate() {
+            if (used == equations.getDimension()) {
+                equations.grow(FastMath.max(used + 1, nbGlobal + 2 * (used - nbGlobal)));
+            }
+            return used++;
+        }
+
+        /** Eliminate a local parameter using Schur complement.
+         * @param column model column of the local parameter
+         */
+        private void eliminate(final int column) {
+
+            final Integer k = active.remove(column);
+            if (k == null) {
+                // the parameter was never used (all depending measurements were rejected)
+                return;
+            }
+
+            final double pivot = equations.getNormalElement(k, k);
+            if (pivot > 0) {
+
+                // store coupling with the parameters still in the equations, for back substitution
+                final int[]    columns      = new int[nbGlobal + active.size()];
+                final double[] coefficients = new double[columns.length];
+                for (int i = 0; i < nbGlobal; ++i) {
+                    columns[i]      = globalColumns[i];
+                    coefficients[i] = equations.getNormalElement(k, i);
+                }
+                int n = nbGlobal;
+                for (final Map.Entry<Integer, Integer> entry : active.entrySet()) {
+                    columns[n]        = entry.getKey();
+                    coefficients[n++] = equations.getNormalElement(k, entry.getValue());
+                }
+                eliminations.add(new Elimination(column, pivot, equations.getRightHandSideElement(k),
+                                                 columns, coefficients));
+
+            }
+
+            // Schur complement, and release the index
+            equations.eliminate(k);
+            free.push(k);
+
+        }
+
+        /** Solve the normal equations.
+         * @return corrections for all model columns
+         */
+        double[] solve() {
+
+            // eliminate local parameters that are still active
+            for (final Integer column : new ArrayList<>(active.keySet())) {
+                eliminate(column);
+            }
+
+            final double[] correction = new double[globalIndices.length];
+            if (nbGlobal > 0) {
+                // only global parameters remain, all other indices are zero
+                final RealMatrix n = equations.getNormalMatrix().getSubMatrix(0, nbGlobal - 1, 0, nbGlobal - 1);
+                final RealVector x = new QRDecomposition(n, SINGULARITY_THRESHOLD).
+                                     getSolver().
+                                     solve(equations.getRightHandSide().getSubVector(0, nbGlobal));
+                for (int i = 0; i < nbGlobal; ++i) {
+                    correction[globalColumns[i]] = x.getEntry(i);
+                }
+            }
+
+            // back substitution for local parameters, in reverse elimination order
+            for (int i = eliminations.size() - 1; i >= 0; --i) {
+                eliminations.get(i).substitute(correction);
+            }
+
+            return correction;
+
+        }
+
+        /** Get the root mean square of the weighted residuals.
+         * @return root mean square of the weighted residuals
+         */
+        double getRMS() {
+            return FastMath.sqrt(equations.getSquaredResiduals() / equations.getRowsCount());
+        }
+
+        /** Get the largest number of simultaneously active local parameters.
+         * @return largest number of simultaneously active local parameters
+         */
+        int getMaxActive() {
+            return maxActive;
+        }
+
+    }
+
+    /** Record of a local parameter elimination. */
+    private static class Elimination {
+
+        /** Model column of the eliminated parameter. */
+        private final int column;
+
+        /** Diagonal element of the normal matrix. */
+        private final double pivot;
+
+        /** Right hand side element. */
+        private final double rhs;
+
+        /** Model columns of the parameters coupled with the eliminated one. */
+        private final int[] columns;
+
+        /** Coupling coefficients. */
+        private final double[] coefficients;
+
+        /** Simple constructor.
+         * @param column model column of the eliminated parameter
+         * @param pivot diagonal element of the normal matrix
+         * @param rhs right hand side element
+         * @param columns model columns of the parameters coupled with the eliminated one
+         * @param coefficients coupling coefficients
+         */
+        Elimination(final int column, final double pivot, final double rhs,
+                    final int[] columns, final double[] coefficients) {
+            this.column       = column;
+            this.pivot        = pivot;
+            this.rhs          = rhs;
+            this.columns      = columns;
+            this.coefficients = coefficients;
+        }
+
+        /** Compute the correction of the eliminated parameter.
+         * @param correction corrections for all model columns (the corrections of
+         * coupled parameters must already be available, the correction of the
+         * eliminated parameter will be set)
+         */
+        void substitute(final double[] correction) {
+            double sum = rhs;
+            for (int i = 0; i < columns.length; ++i) {
+                sum -= coefficients[i] * correction[columns[i]];
+            }
+            correction[column] = sum / pivot;
+        }
+
+    }
+
+}
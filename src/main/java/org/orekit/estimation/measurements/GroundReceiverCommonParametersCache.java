@@ -0,0 +1,186 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.TimeSpanMap.Span;
+
+/** Cache for common parameters shared by ground receiver measurements.
+ * <p>
+ * When several measurements (for example range, range-rate and angles) are
+ * performed by the same ground station at the same date, the station transforms,
+ * the spacecraft state gradient and the downlink light time solution are identical
+ * for all of them. This cache allows to compute them only once per evaluation.
+ * </p>
+ * <p>
+ * Caches are created for one evaluation only, by {@link #start(List)} and {@link
+ * #stop(List)} which are called by {@link MultiplexedMeasurement} around the evaluation
+ * of its underlying measurements. They are registered in a thread-local map, so they
+ * are visible only from the thread performing the multiplexed evaluation. The measurements
+ * themselves are not modified: they can belong to several multiplexed measurements and
+ * they can be evaluated by themselves concurrently in other threads, in which case they
+ * compute their common parameters by themselves. The derivatives indices used for common
+ * parameters with derivatives are the union of the indices of all grouped measurements,
+ * each measurement picking up only the derivatives it needs.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+class GroundReceiverCommonParametersCache {
+
+    /** Caches active in the current thread, for each measurement. */
+    private static final ThreadLocal<Map<GroundReceiverMeasurement<?>, GroundReceiverCommonParametersCache>> ACTIVE =
+                    ThreadLocal.withInitial(IdentityHashMap::new);
+
+    /** Measurements sharing the common parameters. */
+    private final List<GroundReceiverMeasurement<?>> measurements;
+
+    /** Spacecraft state for which common parameters have been computed. */
+    private SpacecraftState cachedState;
+
+    /** Cached common parameters without derivatives. */
+    private GroundReceiverCommonParametersWithoutDerivatives without;
+
+    /** Cached common parameters with derivatives. */
+    private GroundReceiverCommonParametersWithDerivatives with;
+
+    /** Simple constructor.
+     * @param measurements measurements sharing the common parameters
+     * (they must all have the same station and date)
+     */
+    private GroundReceiverCommonParametersCache(final List<GroundReceiverMeasurement<?>> measurements) {
+        this.measurements = measurements;
+    }
+
+    /** Start sharing common parameters in the current thread.
+     * <p>
+     * Measurements that already share common parameters in the current thread
+     * (for example in nested multiplexed measurements) keep their current cache.
+     * </p>
+     * @param groups groups of measurements sharing common parameters
+     * @return caches created, to be passed to {@link #stop(List)}
+     */
+    static List<GroundReceiverCommonParametersCache> start(final List<List<GroundReceiverMeasurement<?>>> groups) {
+        final Map<GroundReceiverMeasurement<?>, GroundReceiverCommonParametersCache> active = ACTIVE.get();
+        final List<GroundReceiverCommonParametersCache> caches = new ArrayList<>(groups.size());
+        for (final List<GroundReceiverMeasurement<?>> group : groups) {
+            final GroundReceiverCommonParametersCache cache = new GroundReceiverCommonParametersCache(group);
+            for (final GroundReceiverMeasurement<?> measurement : group) {
+                active.putIfAbsent(measurement, cache);
+            }
+            caches.add(cache);
+        }
+        return caches;
+    }
+
+    /** Stop sharing common parameters in the current thread.
+     * @param caches caches created by {@link #start(List)}
+     */
+    static void stop(final List<GroundReceiverCommonParametersCache> caches) {
+        final Map<GroundReceiverMeasurement<?>, GroundReceiverCommonParametersCache> active = ACTIVE.get();
+        for (final GroundReceiverCommonParametersCache cache : caches) {
+            for (final GroundReceiverMeasurement<?> measurement : cache.measurements) {
+                active.remove(measurement, cache);
+            }
+        }
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+        }
+    }
+
+    /** Get the cache active for a measurement in the current thread.
+     * @param measurement measurement to check
+     * @return cache active for the measurement, or null if measurement
+     * does not share common parameters in the current thread
+     */
+    static GroundReceiverCommonParametersCache getActiveCache(final GroundReceiverMeasurement<?> measurement) {
+        return ACTIVE.get().get(measurement);
+    }
+
+    /** Get common parameters without derivatives.
+     * @param state orbital state at measurement date
+     * @param computer function computing the common parameters if they are not cached yet
+     * @return common parameters
+     */
+    GroundReceiverCommonParametersWithoutDerivatives
+        getWithout(final SpacecraftState state,
+                   final Function<SpacecraftState, GroundReceiverCommonParametersWithoutDerivatives> computer) {
+        checkState(state);
+        if (without == null) {
+            without = computer.apply(state);
+        }
+        return without;
+    }
+
+    /** Get common parameters with derivatives.
+     * @param state orbital state at measurement date
+     * @param computer function computing the common parameters from state and
+     * derivatives indices if they are not cached yet
+     * @return common parameters
+     */
+    GroundReceiverCommonParametersWithDerivatives
+        getWith(final SpacecraftState state,
+                final BiFunction<SpacecraftState, Map<String, Integer>, GroundReceiverCommonParametersWithDerivatives> computer) {
+        checkState(state);
+        if (with == null) {
+            // gather the derivatives indices of all grouped measurements
+            final Map<String, Integer> indices = new HashMap<>();
+            int nbParams = 6;
+            for (final GroundReceiverMeasurement<?> measurement : measurements) {
+                for (final ParameterDriver driver : measurement.getParametersDrivers()) {
+                    if (driver.isSelected()) {
+                        for (Span<String> span = driver.getNamesSpanMap().getFirstSpan(); span != null; span = span.next()) {
+                            if (!indices.containsKey(span.getData())) {
+                                indices.put(span.getData(), nbParams++);
+                            }
+                        }
+                    }
+                }
+            }
+            with = computer.apply(state, indices);
+        }
+        return with;
+    }
+
+    /** Check cached data correspond to a state.
+     * @param state orbital state at measurement date
+     */
+    private void checkState(final SpacecraftState state) {
+        if (state != cachedState) {
+            clear();
+            cachedState = state;
+        }
+    }
+
+    /** Clear cached data.
+     */
+    private void clear() {
+        cachedState = null;
+        without     = null;
+        with        = null;
+    }
+
+}
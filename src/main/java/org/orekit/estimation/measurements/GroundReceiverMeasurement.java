@@ -24,6 +24,7 @@ import org.hipparchus.analysis.differentiation.Gradient;
 import org.hipparchus.analysis.differentiation.GradientField;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
 import org.orekit.frames.FieldTransform;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Transform;
@@ -136,6 +137,21 @@ public abstract class GroundReceiverMeasurement<T extends GroundReceiverMeasurem
      * @return common parameters
      */
     protected GroundReceiverCommonParametersWithoutDerivatives computeCommonParametersWithout(final SpacecraftState state) {
+        final GroundReceiverCommonParametersCache cache = GroundReceiverCommonParametersCache.getActiveCache(this);
+        if (cache != null) {
+            // common parameters are shared with co-timed measurements from the same station
+            return cache.getWithout(state, this::doComputeCommonParametersWithout);
+        } else {
+            return doComputeCommonParametersWithout(state);
+        }
+    }
+
+    /** Compute common estimation parameters.
+     * @param state orbital state at measurement date
+     * @return common parameters
+     * @since 12.1
+     */
+    private GroundReceiverCommonParametersWithoutDerivatives doComputeCommonParametersWithout(final SpacecraftState state) {
 
         // Coordinates of the spacecraft
         final TimeStampedPVCoordinates pva = state.getPVCoordinates();
@@ -176,6 +192,13 @@ public abstract class GroundReceiverMeasurement<T extends GroundReceiverMeasurem
      * @return common parameters
      */
     protected GroundReceiverCommonParametersWithDerivatives computeCommonParametersWithDerivatives(final SpacecraftState state) {
+
+        final GroundReceiverCommonParametersCache cache = GroundReceiverCommonParametersCache.getActiveCache(this);
+        if (cache != null) {
+            // common parameters are shared with co-timed measurements from the same station
+            return cache.getWith(state, this::doComputeCommonParametersWithDerivatives);
+        }
+
         int nbParams = 6;
         final Map<String, Integer> indices = new HashMap<>();
         for (ParameterDriver driver : getParametersDrivers()) {
@@ -185,6 +208,23 @@ public abstract class GroundReceiverMeasurement<T extends GroundReceiverMeasurem
                 }
             }
         }
+        return doComputeCommonParametersWithDerivatives(state, indices);
+
+    }
+
+    /** Compute common estimation parameters.
+     * @param state orbital state at measurement date
+     * @param indices derivatives indices map (the first 6 indices are reserved
+     * for spacecraft position and velocity)
+     * @return common parameters
+     * @since 12.1
+     */
+    private GroundReceiverCommonParametersWithDerivatives doComputeCommonParametersWithDerivatives(final SpacecraftState state,
+                                                                                                   final Map<String, Integer> indices) {
+        int nbParams = 6;
+        for (final int index : indices.values()) {
+            nbParams = FastMath.max(nbParams, index + 1);
+        }
         final FieldVector3D<Gradient> zero = FieldVector3D.getZero(GradientField.getField(nbParams));
 
         // Coordinates of the spacecraft expressed as a gradient
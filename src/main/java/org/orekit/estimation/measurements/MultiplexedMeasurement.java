@@ -35,6 +35,15 @@ import org.orekit.utils.TimeSpanMap.Span;
  * <p>
  * Date comes from the first measurement, observed and estimated
  * values result from gathering all underlying measurements values.
+ * </p>
+ * <p>
+ * Since 12.1, when several underlying {@link GroundReceiverMeasurement ground
+ * receiver measurements} are performed by the same station at the same date
+ * (for example range, range-rate and angles), the station transforms, the
+ * spacecraft state gradient and the downlink light time solution are computed
+ * only once per evaluation and shared by all these measurements. The sharing
+ * is confined to the thread performing the multiplexed evaluation and does not
+ * modify the underlying measurements.
  *
  * @author Luc Maisonobe
  * @since 10.1
@@ -66,6 +75,11 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
     /** States mapping. */
     private final int[][] mapping;
 
+    /** Groups of co-timed ground receiver measurements sharing common parameters.
+     * @since 12.1
+     */
+    private final List<List<GroundReceiverMeasurement<?>>> commonParametersGroups;
+
     /** Simple constructor.
      * @param measurements measurements to multiplex
      * @since 10.1
@@ -114,6 +128,14 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
             }
         }
 
+        // identify co-timed ground receiver measurements that can share common parameters
+        this.commonParametersGroups = new ArrayList<>();
+        for (final List<GroundReceiverMeasurement<?>> group : groupCoTimed(measurements)) {
+            if (group.size() > 1) {
+                commonParametersGroups.add(group);
+            }
+        }
+
     }
 
     /** Get the underlying measurements.
@@ -151,29 +173,35 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
         // loop over all multiplexed measurements
         estimatedMeasurementsWithoutDerivatives.clear();
         int index = 0;
-        for (int i = 0; i < observedMeasurements.size(); ++i) {
+        final List<GroundReceiverCommonParametersCache> caches =
+                        GroundReceiverCommonParametersCache.start(commonParametersGroups);
+        try {
+            for (int i = 0; i < observedMeasurements.size(); ++i) {
+
+                // filter states involved in the current measurement
+                final SpacecraftState[] filteredStates = new SpacecraftState[mapping[i].length];
+                for (int j = 0; j < mapping[i].length; ++j) {
+                    filteredStates[j] = states[mapping[i][j]];
+                }
 
-            // filter states involved in the current measurement
-            final SpacecraftState[] filteredStates = new SpacecraftState[mapping[i].length];
-            for (int j = 0; j < mapping[i].length; ++j) {
-                filteredStates[j] = states[mapping[i][j]];
-            }
+                // perform evaluation
+                final EstimatedMeasurementBase<?> eI = observedMeasurements.get(i).estimateWithoutDerivatives(iteration, evaluation, filteredStates);
+                estimatedMeasurementsWithoutDerivatives.add(eI);
 
-            // perform evaluation
-            final EstimatedMeasurementBase<?> eI = observedMeasurements.get(i).estimateWithoutDerivatives(iteration, evaluation, filteredStates);
-            estimatedMeasurementsWithoutDerivatives.add(eI);
+                // extract results
+                final double[] valueI = eI.getEstimatedValue();
+                System.arraycopy(valueI, 0, value, index, valueI.length);
+                index += valueI.length;
 
-            // extract results
-            final double[] valueI = eI.getEstimatedValue();
-            System.arraycopy(valueI, 0, value, index, valueI.length);
-            index += valueI.length;
+                // extract states
+                final SpacecraftState[] statesI = eI.getStates();
+                for (int j = 0; j < mapping[i].length; ++j) {
+                    evaluationStates[mapping[i][j]] = statesI[j];
+                }
 
-            // extract states
-            final SpacecraftState[] statesI = eI.getStates();
-            for (int j = 0; j < mapping[i].length; ++j) {
-                evaluationStates[mapping[i][j]] = statesI[j];
             }
-
+        } finally {
+            GroundReceiverCommonParametersCache.stop(caches);
         }
 
         // create multiplexed estimation
@@ -201,29 +229,35 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
         // loop over all multiplexed measurements
         estimatedMeasurements.clear();
         int index = 0;
-        for (int i = 0; i < observedMeasurements.size(); ++i) {
+        final List<GroundReceiverCommonParametersCache> caches =
+                        GroundReceiverCommonParametersCache.start(commonParametersGroups);
+        try {
+            for (int i = 0; i < observedMeasurements.size(); ++i) {
+
+                // filter states involved in the current measurement
+                final SpacecraftState[] filteredStates = new SpacecraftState[mapping[i].length];
+                for (int j = 0; j < mapping[i].length; ++j) {
+                    filteredStates[j] = states[mapping[i][j]];
+                }
 
-            // filter states involved in the current measurement
-            final SpacecraftState[] filteredStates = new SpacecraftState[mapping[i].length];
-            for (int j = 0; j < mapping[i].length; ++j) {
-                filteredStates[j] = states[mapping[i][j]];
-            }
+                // perform evaluation
+                final EstimatedMeasurement<?> eI = observedMeasurements.get(i).estimate(iteration, evaluation, filteredStates);
+                estimatedMeasurements.add(eI);
 
-            // perform evaluation
-            final EstimatedMeasurement<?> eI = observedMeasurements.get(i).estimate(iteration, evaluation, filteredStates);
-            estimatedMeasurements.add(eI);
+                // extract results
+                final double[] valueI = eI.getEstimatedValue();
+                System.arraycopy(valueI, 0, value, index, valueI.length);
+                index += valueI.length;
 
-            // extract results
-            final double[] valueI = eI.getEstimatedValue();
-            System.arraycopy(valueI, 0, value, index, valueI.length);
-            index += valueI.length;
+                // extract states
+                final SpacecraftState[] statesI = eI.getStates();
+                for (int j = 0; j < mapping[i].length; ++j) {
+                    evaluationStates[mapping[i][j]] = statesI[j];
+                }
 
-            // extract states
-            final SpacecraftState[] statesI = eI.getStates();
-            for (int j = 0; j < mapping[i].length; ++j) {
-                evaluationStates[mapping[i][j]] = statesI[j];
             }
-
+        } finally {
+            GroundReceiverCommonParametersCache.stop(caches);
         }
 
         // create multiplexed estimation
@@ -308,6 +342,35 @@ public class MultiplexedMeasurement extends AbstractMeasurement<MultiplexedMeasu
 
     }
 
+    /** Group ground receiver measurements performed by the same station at the same date.
+     * @param measurements measurements to group
+     * @return groups of co-timed ground receiver measurements
+     * @since 12.1
+     */
+    private static List<List<GroundReceiverMeasurement<?>>> groupCoTimed(final List<ObservedMeasurement<?>> measurements) {
+        final List<List<GroundReceiverMeasurement<?>>> groups = new ArrayList<>();
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            if (measurement instanceof GroundReceiverMeasurement) {
+                final GroundReceiverMeasurement<?> grm = (GroundReceiverMeasurement<?>) measurement;
+                List<GroundReceiverMeasurement<?>> selected = null;
+                for (final List<GroundReceiverMeasurement<?>> group : groups) {
+                    final GroundReceiverMeasurement<?> first = group.get(0);
+                    if (first.getStation() == grm.getStation() && first.getDate().equals(grm.getDate()) &&
+                        first.getSatellites().get(0).getPropagatorIndex() == grm.getSatellites().get(0).getPropagatorIndex()) {
+                        selected = group;
+                        break;
+                    }
+                }
+                if (selected == null) {
+                    selected = new ArrayList<>();
+                    groups.add(selected);
+                }
+                selected.add(grm);
+            }
+        }
+        return groups;
+    }
+
     /** Multiplex measurements data.
      * @param measurements measurements to multiplex
      * @param extractor data extraction function
@@ -17,12 +17,17 @@
 package org.orekit.estimation.sequential;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.filtering.kalman.ProcessEstimate;
 import org.hipparchus.filtering.kalman.extended.ExtendedKalmanFilter;
 import org.hipparchus.linear.MatrixDecomposer;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.estimation.measurements.MultiplexedMeasurement;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.analytical.BrouwerLyddanePropagator;
@@ -130,6 +135,20 @@ public class KalmanEstimator extends AbstractKalmanEstimator {
         this.observer = observer;
     }
 
+    /** Set the pool for parallel prediction.
+     * <p>
+     * When a pool is set, the reference trajectories of the various propagators
+     * are propagated in parallel between measurements. This is useful for
+     * constellations with many satellites. It requires that propagators do not
+     * share non thread-safe objects (force models with caches for example).
+     * </p>
+     * @param predictionPool pool for parallel prediction (null for sequential prediction)
+     * @since 12.1
+     */
+    public void setPredictionPool(final ForkJoinPool predictionPool) {
+        processModel.setPredictionPool(predictionPool);
+    }
+
     /** Process a single measurement.
      * <p>
      * Update the filter with the new measurement by calling the estimate method.
@@ -150,6 +169,43 @@ public class KalmanEstimator extends AbstractKalmanEstimator {
         }
     }
 
+    /** Process a batch of simultaneous measurements in one update.
+     * <p>
+     * The measurements are {@link MultiplexedMeasurement multiplexed} together,
+     * so the propagators are predicted only once and the filter performs a single
+     * correction for the whole batch. Measurements from the same ground station
+     * also share their common geometry computation.
+     * </p>
+     * <p>
+     * The covariance prediction is still performed on the full state, even when
+     * the batch involves several uncorrelated satellites: the filter computes
+     * Φ P Φ<sup>T</sup> with the complete error state transition matrix and does
+     * not exploit the block-diagonal structure such problems may have. Block-wise
+     * covariance prediction is out of scope of this method.
+     * </p>
+     * @param simultaneousMeasurements the simultaneous measurements to process
+     * (must not be empty, and all measurements must have the same date)
+     * @return estimated propagators
+     * @since 12.1
+     */
+    public Propagator[] estimationStep(final List<ObservedMeasurement<?>> simultaneousMeasurements) {
+
+        if (simultaneousMeasurements.isEmpty()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, 0, 1);
+        }
+        final AbsoluteDate date = simultaneousMeasurements.get(0).getDate();
+        for (final ObservedMeasurement<?> measurement : simultaneousMeasurements) {
+            if (!measurement.getDate().equals(date)) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.NON_SIMULTANEOUS_MEASUREMENTS,
+                                                         date, measurement.getDate());
+            }
+        }
+
+        return estimationStep(simultaneousMeasurements.size() == 1 ?
+                              simultaneousMeasurements.get(0) :
+                              new MultiplexedMeasurement(simultaneousMeasurements));
+    }
+
     /** Process several measurements.
      * @param observedMeasurements the measurements to process in <em>chronologically sorted</em> order
      * @return estimated propagators
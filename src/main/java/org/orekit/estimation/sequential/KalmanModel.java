@@ -22,6 +22,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
 
 import org.hipparchus.filtering.kalman.ProcessEstimate;
 import org.hipparchus.filtering.kalman.extended.NonLinearEvolution;
@@ -42,6 +44,7 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
 import org.orekit.utils.ParameterDriversList.DelegatingDriver;
+import org.orekit.utils.RangeAction;
 
 /** Class defining the process model dynamics to use with a {@link KalmanEstimator}.
  * @author Romain Gerbaud
@@ -124,6 +127,11 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
     /** Corrected measurement. */
     private EstimatedMeasurement<?> correctedMeasurement;
 
+    /** Pool for parallel prediction of independent propagators (null for sequential prediction).
+     * @since 12.1
+     */
+    private ForkJoinPool predictionPool;
+
     /** Kalman process model constructor.
      * @param propagatorBuilders propagators builders used to evaluate the orbits.
      * @param covarianceMatricesProviders providers for covariance matrices
@@ -141,6 +149,7 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
         this.currentMeasurementNumber        = 0;
         this.referenceDate                   = propagatorBuilders.get(0).getInitialOrbitDate();
         this.currentDate                     = referenceDate;
+        this.predictionPool                  = null;
 
         final Map<String, Integer> orbitalParameterColumns = new HashMap<>(6 * builders.size());
         orbitsStartColumns      = new int[builders.size()];
@@ -320,6 +329,29 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
 
     }
 
+    /** Set the pool for parallel prediction.
+     * <p>
+     * When a pool is set, the reference trajectories of the various propagators
+     * are propagated in parallel to the measurement date, and their state transition
+     * matrices are harvested in parallel too. This is useful for constellations with
+     * many satellites. It requires that propagators do not share non thread-safe
+     * objects (force models with caches for example).
+     * </p>
+     * @param predictionPool pool for parallel prediction (null for sequential prediction)
+     * @since 12.1
+     */
+    public void setPredictionPool(final ForkJoinPool predictionPool) {
+        this.predictionPool = predictionPool;
+    }
+
+    /** Get the pool for parallel prediction.
+     * @return pool for parallel prediction (null for sequential prediction)
+     * @since 12.1
+     */
+    public ForkJoinPool getPredictionPool() {
+        return predictionPool;
+    }
+
     /** Update the reference trajectories using the propagators as input.
      * @param propagators The new propagators to use
      */
@@ -518,7 +550,24 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
         // Initialize to the proper size identity matrix
         final RealMatrix stm = MatrixUtils.createRealIdentityMatrix(correctedEstimate.getState().getDimension());
 
+        // harvest the Jacobians of all orbits (each propagator is independent from the other ones)
+        final RealMatrix[] dYdY0 = new RealMatrix[predictedSpacecraftStates.length];
+        final RealMatrix[] dYdPp = new RealMatrix[predictedSpacecraftStates.length];
+        forEachPropagator(k -> {
+            if (estimatedOrbitalParameters[k].getNbParams() > 0) {
+                // Reset reference (for example compute short periodic terms in DSST)
+                harvesters[k].setReferenceState(predictedSpacecraftStates[k]);
+                dYdY0[k] = harvesters[k].getStateTransitionMatrix(predictedSpacecraftStates[k]);
+            }
+            if (estimatedPropagationParameters[k].getNbParams() > 0) {
+                dYdPp[k] = harvesters[k].getParametersJacobian(predictedSpacecraftStates[k]);
+            }
+        });
+
         // loop over all orbits
+        // as orbits are independent, the STM is block-diagonal, and outside of the
+        // orbits blocks it is identity, so normalization is only needed for the blocks
+        // normalized(STM)ij = STMij*Sj/Si
         for (int k = 0; k < predictedSpacecraftStates.length; ++k) {
 
             // Indexes
@@ -527,16 +576,11 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
             // Derivatives of the state vector with respect to initial state vector
             final int nbOrbParams = estimatedOrbitalParameters[k].getNbParams();
             if (nbOrbParams > 0) {
-
-                // Reset reference (for example compute short periodic terms in DSST)
-                harvesters[k].setReferenceState(predictedSpacecraftStates[k]);
-
-                final RealMatrix dYdY0 = harvesters[k].getStateTransitionMatrix(predictedSpacecraftStates[k]);
-
                 // Fill upper left corner (dY/dY0)
-                for (int i = 0; i < dYdY0.getRowDimension(); ++i) {
+                for (int i = 0; i < dYdY0[k].getRowDimension(); ++i) {
                     for (int j = 0; j < nbOrbParams; ++j) {
-                        stm.setEntry(indK[i], indK[j], dYdY0.getEntry(i, j));
+                        stm.setEntry(indK[i], indK[j],
+                                     dYdY0[k].getEntry(i, j) * scale[indK[j]] / scale[indK[i]]);
                     }
                 }
             }
@@ -544,27 +588,17 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
             // Derivatives of the state vector with respect to propagation parameters
             final int nbParams = estimatedPropagationParameters[k].getNbParams();
             if (nbParams > 0) {
-                final RealMatrix dYdPp = harvesters[k].getParametersJacobian(predictedSpacecraftStates[k]);
-
                 // Fill 1st row, 2nd column (dY/dPp)
-                for (int i = 0; i < dYdPp.getRowDimension(); ++i) {
+                for (int i = 0; i < dYdPp[k].getRowDimension(); ++i) {
                     for (int j = 0; j < nbParams; ++j) {
-                        stm.setEntry(indK[i], indK[j + 6], dYdPp.getEntry(i, j));
+                        stm.setEntry(indK[i], indK[j + 6],
+                                     dYdPp[k].getEntry(i, j) * scale[indK[j + 6]] / scale[indK[i]]);
                     }
                 }
-
             }
 
         }
 
-        // Normalization of the STM
-        // normalized(STM)ij = STMij*Sj/Si
-        for (int i = 0; i < scale.length; i++) {
-            for (int j = 0; j < scale.length; j++ ) {
-                stm.setEntry(i, j, stm.getEntry(i, j) * scale[j] / scale[i]);
-            }
-        }
-
         // Return the error state transition matrix
         return stm;
 
@@ -816,17 +850,20 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
         // Predicted state is initialized to previous estimated state
         final RealVector predictedState = correctedEstimate.getState().copy();
 
-        // Orbital parameters counter
-        int jOrb = 0;
-
-        for (int k = 0; k < predictedSpacecraftStates.length; ++k) {
-
-            // Propagate the reference trajectory to measurement date
+        // Propagate the reference trajectories to measurement date
+        // (each propagator is independent from the other ones)
+        forEachPropagator(k -> {
             predictedSpacecraftStates[k] = referenceTrajectories[k].propagate(date);
 
             // Update the builder with the predicted orbit
             // This updates the orbital drivers with the values of the predicted orbit
             builders.get(k).resetOrbit(predictedSpacecraftStates[k].getOrbit());
+        });
+
+        // Orbital parameters counter
+        int jOrb = 0;
+
+        for (int k = 0; k < predictedSpacecraftStates.length; ++k) {
 
             // The orbital parameters in the state vector are replaced with their predicted values
             // The propagation & measurement parameters are not changed by the prediction (i.e. the propagation)
@@ -844,6 +881,20 @@ public class KalmanModel implements KalmanEstimation, NonLinearProcess<Measureme
 
     }
 
+    /** Apply an action to all propagators indices, in parallel if a pool has been set.
+     * @param action action to apply to each propagator index
+     * @since 12.1
+     */
+    private void forEachPropagator(final IntConsumer action) {
+        if (predictionPool == null || predictedSpacecraftStates.length < 2) {
+            for (int k = 0; k < predictedSpacecraftStates.length; ++k) {
+                action.accept(k);
+            }
+        } else {
+            predictionPool.invoke(new RangeAction(0, predictedSpacecraftStates.length, action));
+        }
+    }
+
     /** Update the estimated parameters after the correction phase of the filter.
      * The min/max allowed values are handled by the parameter themselves.
      */
@@ -0,0 +1,200 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.nio.DoubleBuffer;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.data.BinaryDataCache;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.EphemerisArchive.ArchivedSegment;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.AbstractAnalyticalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TabulatedHermiteInterpolator;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** A {@link BoundedPropagator} interpolating an {@link ArchivedSegment} in place.
+ * <p>
+ * As for {@link EphemerisSegmentPropagator}, {@link #getPVCoordinates(AbsoluteDate, Frame)}
+ * is implemented without using the {@link #propagate(AbsoluteDate)} methods.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+class ArchivedSegmentPropagator extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** Archived segment. */
+    private final ArchivedSegment segment;
+
+    /** Mapped samples data. */
+    private final DoubleBuffer data;
+
+    /** Number of doubles per sample. */
+    private final int stride;
+
+    /** Number of derivatives orders available in samples. */
+    private final int orders;
+
+    /** Number of samples. */
+    private final int size;
+
+    /** Inertial frame used for creating orbits. */
+    private final Frame inertialFrame;
+
+    /** Frame of the ephemeris data. */
+    private final Frame ephemerisFrame;
+
+    /** First date of the segment. */
+    private final AbsoluteDate minDate;
+
+    /** Last date of the segment. */
+    private final AbsoluteDate maxDate;
+
+    /** Create a propagator from an archived segment.
+     * @param segment archived segment
+     * @param attitudeProvider provider for attitude computation
+     */
+    ArchivedSegmentPropagator(final ArchivedSegment segment, final AttitudeProvider attitudeProvider) {
+        super(attitudeProvider);
+        this.segment        = segment;
+        this.data           = segment.getData();
+        this.stride         = segment.getStride();
+        this.orders         = segment.getAvailableDerivatives().getMaxOrder() + 1;
+        this.size           = segment.getSize();
+        this.inertialFrame  = segment.getInertialFrame();
+        this.ephemerisFrame = segment.getFrame();
+        this.minDate        = segment.getStart();
+        this.maxDate        = segment.getStop();
+        super.resetInitialState(getInitialState());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame frame) {
+        final TimeStampedPVCoordinates point = interpolate(date);
+        return frame == ephemerisFrame ? point : ephemerisFrame.getTransformTo(frame, date).transformPVCoordinates(point);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Orbit propagateOrbit(final AbsoluteDate date) {
+        return new CartesianOrbit(getPVCoordinates(date, inertialFrame), inertialFrame, segment.getMu());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return minDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return maxDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double getMass(final AbsoluteDate date) {
+        return DEFAULT_MASS;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState getInitialState() {
+        return basicPropagate(getMinDate());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void resetInitialState(final SpacecraftState state) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** Interpolate the mapped samples.
+     * @param date interpolation date
+     * @return interpolated coordinates, in ephemeris frame
+     */
+    private TimeStampedPVCoordinates interpolate(final AbsoluteDate date) {
+
+        // encode the date the same way samples dates are encoded
+        final double[] encoded = new double[EphemerisArchiveWriter.DATE_SIZE];
+        BinaryDataCache.putDate(encoded, 0, date);
+
+        if (durationFrom(0, encoded) > 0) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE,
+                                      date, minDate, maxDate, minDate.durationFrom(date));
+        }
+        if (durationFrom(size - 1, encoded) < 0) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER,
+                                      date, minDate, maxDate, date.durationFrom(maxDate));
+        }
+
+        // find the last sample before or at interpolation date
+        int low  = 0;
+        int high = size - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (durationFrom(middle, encoded) <= 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        final int      points  = FastMath.min(segment.getInterpolationSamples(), size);
+        final int      start   = TabulatedHermiteInterpolator.firstNode(low, size, points);
+        final double[] offsets = new double[points];
+        for (int j = 0; j < points; ++j) {
+            offsets[j] = durationFrom(start + j, encoded);
+        }
+
+        final double[] out = new double[9];
+        TabulatedHermiteInterpolator.interpolate(offsets, data, start, stride,
+                                                 EphemerisArchiveWriter.DATE_SIZE, 3, orders, out);
+        return new TimeStampedPVCoordinates(date,
+                                            new Vector3D(out[0], out[1], out[2]),
+                                            new Vector3D(out[3], out[4], out[5]),
+                                            new Vector3D(out[6], out[7], out[8]));
+
+    }
+
+    /** Compute the duration between a sample and an encoded date.
+     * @param index index of the sample
+     * @param encoded encoded date
+     * @return duration between sample and encoded date
+     */
+    private double durationFrom(final int index, final double[] encoded) {
+        final int base = index * stride;
+        return (data.get(base) - encoded[0]) + (data.get(base + 1) - encoded[1]);
+    }
+
+}
@@ -0,0 +1,342 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.FrameAlignedProvider;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Frames;
+import org.orekit.frames.Predefined;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Reader for binary ephemeris archives.
+ * <p>
+ * The archive file is memory-mapped, so ephemerides are not loaded into the heap:
+ * each segment is accessed in place when its {@link ArchivedSegment#getPropagator()
+ * propagator} interpolates it. As the mapped data are only read using absolute
+ * accesses, one archive can be shared between threads, each thread creating its own
+ * propagators (this is cheap, as propagators only reference the shared mapped data).
+ * </p>
+ * @see EphemerisArchiveWriter
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class EphemerisArchive {
+
+    /** Segments, indexed by identifier. */
+    private final Map<String, ArchivedSegment> segments;
+
+    /** Open an archive, using the {@link DataContext#getDefault() default data context}.
+     * @param file archive file
+     * @throws IOException if file cannot be read
+     * @see #EphemerisArchive(Path, Frames)
+     */
+    @DefaultDataContext
+    public EphemerisArchive(final Path file) throws IOException {
+        this(file, DataContext.getDefault().getFrames());
+    }
+
+    /** Open an archive.
+     * @param file archive file
+     * @param frames frames to use for resolving the frames names
+     * @throws IOException if file cannot be read
+     */
+    public EphemerisArchive(final Path file, final Frames frames) throws IOException {
+
+        final Map<String, ArchivedSegment> map = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            // the mappings remain valid after the channel has been closed
+            final ByteBuffer prefix = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                                                  FastMath.min(channel.size(), 3 * Integer.BYTES));
+            if (prefix.remaining() < 3 * Integer.BYTES || prefix.getInt() != EphemerisArchiveWriter.MAGIC) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT, file);
+            }
+            final int version = prefix.getInt();
+            if (version != EphemerisArchiveWriter.FORMAT_VERSION) {
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_FILE_FORMAT_VERSION,
+                                          version, file, EphemerisArchiveWriter.FORMAT_VERSION);
+            }
+            final int headerSize = prefix.getInt();
+            if (headerSize < 4 * Integer.BYTES || headerSize > channel.size()) {
+                throw new OrekitException(OrekitMessages.CORRUPTED_FILE, file);
+            }
+
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 3 * Integer.BYTES,
+                                                  headerSize - 3 * Integer.BYTES);
+            final int nbSegments = header.getInt();
+            for (int i = 0; i < nbSegments; ++i) {
+                final String id                   = readString(header);
+                final String frameName            = readString(header);
+                final double mu                   = header.getDouble();
+                final int    interpolationSamples = header.getInt();
+                final int    order                = header.getInt();
+                final int    size                 = header.getInt();
+                final long   offset               = header.getLong();
+                if (id == null || frameName == null || order < 1 || order > 3 || size < 1 ||
+                    offset < headerSize ||
+                    offset + (long) size * (EphemerisArchiveWriter.DATE_SIZE + 3 * order) * Double.BYTES >
+                    channel.size()) {
+                    throw new OrekitException(OrekitMessages.CORRUPTED_FILE, file);
+                }
+                final DoubleBuffer data =
+                                channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                                            (long) size * (EphemerisArchiveWriter.DATE_SIZE + 3 * order) * Double.BYTES).
+                                asDoubleBuffer();
+                map.put(id, new ArchivedSegment(id, resolve(frameName, frames), mu, interpolationSamples,
+                                                CartesianDerivativesFilter.getFilter(order - 1), size, data));
+            }
+
+        } catch (BufferUnderflowException bue) {
+            throw new OrekitException(bue, OrekitMessages.CORRUPTED_FILE, file);
+        }
+
+        this.segments = Collections.unmodifiableMap(map);
+
+    }
+
+    /** Get the archived segments.
+     * @return unmodifiable map of archived segments, indexed by identifier
+     */
+    public Map<String, ArchivedSegment> getSegments() {
+        return segments;
+    }
+
+    /** Read a string.
+     * @param buffer buffer where to read
+     * @return read string, or null if buffer is corrupted
+     */
+    private static String readString(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        final byte[] b = new byte[length];
+        buffer.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /** Resolve a frame name.
+     * @param name frame name
+     * @param frames frames to use for resolving the frames names
+     * @return resolved frame
+     */
+    private static Frame resolve(final String name, final Frames frames) {
+        for (final Predefined predefined : Predefined.values()) {
+            if (predefined.getName().equals(name)) {
+                return frames.getFrame(predefined);
+            }
+        }
+        throw new OrekitException(OrekitMessages.FRAME_NOT_ATTACHED, name);
+    }
+
+    /** Archived ephemeris segment.
+     * <p>
+     * The segment data remain in the memory-mapped archive file. {@link #getCoordinates()}
+     * copies them into the heap, it is intended for conversion purposes only, the
+     * {@link #getPropagator() propagators} interpolate the data in place.
+     * </p>
+     */
+    public static class ArchivedSegment implements EphemerisSegment<TimeStampedPVCoordinates> {
+
+        /** Segment identifier. */
+        private final String id;
+
+        /** Frame of the coordinates. */
+        private final Frame frame;
+
+        /** Central attraction coefficient. */
+        private final double mu;
+
+        /** Number of samples to use in interpolation. */
+        private final int interpolationSamples;
+
+        /** Derivatives available in samples. */
+        private final CartesianDerivativesFilter filter;
+
+        /** Number of samples. */
+        private final int size;
+
+        /** Mapped samples data. */
+        private final DoubleBuffer data;
+
+        /** Simple constructor.
+         * @param id segment identifier
+         * @param frame frame of the coordinates
+         * @param mu central attraction coefficient
+         * @param interpolationSamples number of samples to use in interpolation
+         * @param filter derivatives available in samples
+         * @param size number of samples
+         * @param data mapped samples data
+         */
+        ArchivedSegment(final String id, final Frame frame, final double mu, final int interpolationSamples,
+                        final CartesianDerivativesFilter filter, final int size, final DoubleBuffer data) {
+            this.id                   = id;
+            this.frame                = frame;
+            this.mu                   = mu;
+            this.interpolationSamples = interpolationSamples;
+            this.filter               = filter;
+            this.size                 = size;
+            this.data                 = data;
+        }
+
+        /** Get the segment identifier.
+         * @return segment identifier
+         */
+        public String getId() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public double getMu() {
+            return mu;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Frame getFrame() {
+            return frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getInterpolationSamples() {
+            return interpolationSamples;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CartesianDerivativesFilter getAvailableDerivatives() {
+            return filter;
+        }
+
+        /** Get the number of samples.
+         * @return number of samples
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * This method copies all samples into the heap.
+         * </p>
+         */
+        @Override
+        public List<TimeStampedPVCoordinates> getCoordinates() {
+            final List<TimeStampedPVCoordinates> coordinates = new ArrayList<>(size);
+            final int stride = getStride();
+            for (int i = 0; i < size; ++i) {
+                final int base = i * stride + EphemerisArchiveWriter.DATE_SIZE;
+                coordinates.add(new TimeStampedPVCoordinates(getDate(i),
+                                                             vector(base),
+                                                             filter.getMaxOrder() > 0 ? vector(base + 3) : Vector3D.ZERO,
+                                                             filter.getMaxOrder() > 1 ? vector(base + 6) : Vector3D.ZERO));
+            }
+            return coordinates;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStart() {
+            return getDate(0);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate getStop() {
+            return getDate(size - 1);
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The propagator interpolates the memory-mapped data in place.
+         * </p>
+         */
+        @Override
+        public BoundedPropagator getPropagator() {
+            return getPropagator(new FrameAlignedProvider(getInertialFrame()));
+        }
+
+        /** {@inheritDoc}
+         * <p>
+         * The propagator interpolates the memory-mapped data in place.
+         * </p>
+         */
+        @Override
+        public BoundedPropagator getPropagator(final AttitudeProvider attitudeProvider) {
+            return new ArchivedSegmentPropagator(this, attitudeProvider);
+        }
+
+        /** Get the number of doubles per sample.
+         * @return number of doubles per sample
+         */
+        int getStride() {
+            return EphemerisArchiveWriter.DATE_SIZE + 3 * (filter.getMaxOrder() + 1);
+        }
+
+        /** Get the mapped samples data.
+         * @return mapped samples data
+         */
+        DoubleBuffer getData() {
+            return data;
+        }
+
+        /** Get the date of one sample.
+         * @param index index of the sample
+         * @return date of the sample
+         */
+        AbsoluteDate getDate(final int index) {
+            final int base = index * getStride();
+            return AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(data.get(base)).shiftedBy(data.get(base + 1));
+        }
+
+        /** Build a vector from mapped data.
+         * @param base index of the first component
+         * @return vector
+         */
+        private Vector3D vector(final int base) {
+            return new Vector3D(data.get(base), data.get(base + 1), data.get(base + 2));
+        }
+
+    }
+
+}
@@ -0,0 +1,220 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.data.BinaryDataCache;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Predefined;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Writer for binary ephemeris archives.
+ * <p>
+ * The archive format is designed for random access interpolation without loading
+ * the data into the heap: each segment is stored as fixed-stride samples (date and
+ * position, optionally velocity and acceleration) after an index header. Archives
+ * are read by {@link EphemerisArchive}.
+ * </p>
+ * <p>
+ * Frames are stored by name, so only {@link Predefined predefined} frames can be
+ * used, other frames are rejected when segments are added. As each segment is mapped
+ * in memory as one buffer, segments are limited to 2 GiB, i.e. about 24 million samples
+ * with position, velocity and acceleration.
+ * </p>
+ * @see EphemerisArchive
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class EphemerisArchiveWriter {
+
+    /** Magic number at start of archive files ("ORKE"). */
+    static final int MAGIC = 0x4F524B45;
+
+    /** Archive files format version. */
+    static final int FORMAT_VERSION = 1;
+
+    /** Number of doubles used to store a date. */
+    static final int DATE_SIZE = 2;
+
+    /** Number of doubles written at once. */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** Segments to write. */
+    private final Map<String, EphemerisSegment<? extends TimeStampedPVCoordinates>> segments;
+
+    /** Simple constructor.
+     */
+    public EphemerisArchiveWriter() {
+        this.segments = new LinkedHashMap<>();
+    }
+
+    /** Add a segment to the archive.
+     * <p>
+     * Segments from ephemeris files with several segments per satellite must be
+     * added with different identifiers.
+     * </p>
+     * @param id segment identifier (replaces any segment previously added with the same identifier)
+     * @param segment segment to add
+     * @exception OrekitIllegalArgumentException if segment frame is not a {@link Predefined
+     * predefined} frame, or if segment is too large
+     */
+    public void addSegment(final String id, final EphemerisSegment<? extends TimeStampedPVCoordinates> segment) {
+        checkPredefined(segment.getFrame());
+        final int  order = segment.getAvailableDerivatives().getMaxOrder() + 1;
+        final long bytes = (long) segment.getCoordinates().size() * (DATE_SIZE + 3 * order) * Double.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                     bytes, Integer.MAX_VALUE);
+        }
+        segments.put(id, segment);
+    }
+
+    /** Check a frame can be resolved by name when the archive is read.
+     * @param frame frame to check
+     * @exception OrekitIllegalArgumentException if frame is not a {@link Predefined predefined} frame
+     */
+    private static void checkPredefined(final Frame frame) {
+        for (final Predefined predefined : Predefined.values()) {
+            if (predefined.getName().equals(frame.getName())) {
+                return;
+            }
+        }
+        throw new OrekitIllegalArgumentException(OrekitMessages.FRAME_NOT_ATTACHED, frame.getName());
+    }
+
+    /** Write the archive.
+     * @param file archive file (overwritten if it already exists)
+     * @throws IOException if file cannot be written
+     */
+    public void write(final Path file) throws IOException {
+
+        // prepare header
+        final Map<String, byte[]> ids    = new LinkedHashMap<>();
+        final Map<String, byte[]> frames = new LinkedHashMap<>();
+        int headerSize = 4 * Integer.BYTES;
+        for (final Map.Entry<String, EphemerisSegment<? extends TimeStampedPVCoordinates>> entry : segments.entrySet()) {
+            final byte[] id    = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            final byte[] frame = entry.getValue().getFrame().getName().getBytes(StandardCharsets.UTF_8);
+            ids.put(entry.getKey(), id);
+            frames.put(entry.getKey(), frame);
+            headerSize += Integer.BYTES + id.length + Integer.BYTES + frame.length +
+                          Double.BYTES + 3 * Integer.BYTES + Long.BYTES;
+        }
+        headerSize = align(headerSize);
+
+        final ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.putInt(headerSize);
+        header.putInt(segments.size());
+        long offset = headerSize;
+        for (final Map.Entry<String, EphemerisSegment<? extends TimeStampedPVCoordinates>> entry : segments.entrySet()) {
+            final EphemerisSegment<? extends TimeStampedPVCoordinates> segment = entry.getValue();
+            final byte[] id    = ids.get(entry.getKey());
+            final byte[] frame = frames.get(entry.getKey());
+            final int    size  = segment.getCoordinates().size();
+            final int    order = segment.getAvailableDerivatives().getMaxOrder() + 1;
+            header.putInt(id.length);
+            header.put(id);
+            header.putInt(frame.length);
+            header.put(frame);
+            header.putDouble(segment.getMu());
+            header.putInt(segment.getInterpolationSamples());
+            header.putInt(order);
+            header.putInt(size);
+            header.putLong(offset);
+            offset += (long) size * (DATE_SIZE + 3 * order) * Double.BYTES;
+        }
+        header.rewind();
+
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+
+            writeFully(channel, header);
+
+            // write samples
+            final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE * Double.BYTES);
+            final double[]   date  = new double[DATE_SIZE];
+            for (final EphemerisSegment<? extends TimeStampedPVCoordinates> segment : segments.values()) {
+                final int order = segment.getAvailableDerivatives().getMaxOrder() + 1;
+                final List<? extends TimeStampedPVCoordinates> coordinates = segment.getCoordinates();
+                for (final TimeStampedPVCoordinates pv : coordinates) {
+                    if (chunk.remaining() < (DATE_SIZE + 3 * order) * Double.BYTES) {
+                        chunk.flip();
+                        writeFully(channel, chunk);
+                        chunk.clear();
+                    }
+                    BinaryDataCache.putDate(date, 0, pv.getDate());
+                    chunk.putDouble(date[0]);
+                    chunk.putDouble(date[1]);
+                    chunk.putDouble(pv.getPosition().getX());
+                    chunk.putDouble(pv.getPosition().getY());
+                    chunk.putDouble(pv.getPosition().getZ());
+                    if (order > 1) {
+                        chunk.putDouble(pv.getVelocity().getX());
+                        chunk.putDouble(pv.getVelocity().getY());
+                        chunk.putDouble(pv.getVelocity().getZ());
+                    }
+                    if (order > 2) {
+                        chunk.putDouble(pv.getAcceleration().getX());
+                        chunk.putDouble(pv.getAcceleration().getY());
+                        chunk.putDouble(pv.getAcceleration().getZ());
+                    }
+                }
+            }
+            chunk.flip();
+            writeFully(channel, chunk);
+
+        }
+
+    }
+
+    /** Write a buffer completely.
+     * @param channel channel where to write
+     * @param buffer buffer to write
+     * @throws IOException if buffer cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Align a position to doubles boundaries.
+     * @param position position to align
+     * @return aligned position
+     */
+    static int align(final int position) {
+        return ((position + Double.BYTES - 1) / Double.BYTES) * Double.BYTES;
+    }
+
+}
@@ -0,0 +1,389 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hipparchus.CalculusFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.ForceModel;
+import org.orekit.frames.StaticTransform;
+import org.orekit.propagation.FieldSpacecraftState;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+
+/** Cache for {@link HolmesFeatherstoneAttractionModel} evaluations at nearby positions.
+ * <p>
+ * This force model wraps a {@link HolmesFeatherstoneAttractionModel} and splits
+ * the space around the central body in cubic cells aligned with the body frame.
+ * The first time a cell is visited, the gradient and Hessian of the non-central
+ * part of the gravity field are computed at the cell center, and the acceleration
+ * for all positions in the cell is then approximated by a first order Taylor
+ * expansion. This is intended for applications that evaluate a high degree field
+ * many times in a small region, like formation flying or multi-start orbit
+ * determination.
+ * </p>
+ * <p>
+ * When a cell is created, the expansion is checked against direct evaluations at
+ * the cell corners (the leading error term is quadratic, so checking one corner
+ * of each pair of opposite corners is sufficient). If the error exceeds the
+ * tolerance, the cell is flagged and all evaluations in it fall back to the direct
+ * computation, so reducing the cell size is needed to benefit from the cache in
+ * regions where the field varies quickly. Creating a cell costs about six direct
+ * evaluations, the cache is therefore worth it only when cells are visited many times.
+ * </p>
+ * <p>
+ * As the field is static in the body frame, cells remain valid as long as the
+ * date does not differ from the cell date by more than a configurable time shift
+ * (which can be set to a few hours or days if the harmonics are not time-dependent),
+ * and the central attraction coefficient is unchanged. The cache is thread-safe.
+ * Field-based accelerations (used for partial derivatives) are not cached.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class GridCachedAttractionModel implements ForceModel {
+
+    /** Default maximum number of cells. */
+    public static final int DEFAULT_MAX_CELLS = 100000;
+
+    /** Number of bits used to pack each cell index in the key. */
+    private static final int BITS = 21;
+
+    /** Mask for packing cell indices. */
+    private static final long MASK = (1L << BITS) - 1;
+
+    /** Underlying gravity field model. */
+    private final HolmesFeatherstoneAttractionModel model;
+
+    /** Cells size (m). */
+    private final double cellSize;
+
+    /** Tolerance on acceleration (m/s²). */
+    private final double tolerance;
+
+    /** Maximum time shift between a cell date and evaluation date (s). */
+    private final double maxTimeShift;
+
+    /** Maximum number of cells. */
+    private final int maxCells;
+
+    /** Cells. */
+    private final ConcurrentHashMap<Long, Cell> cells;
+
+    /** Number of evaluations served by Taylor expansions. */
+    private final LongAdder hits;
+
+    /** Number of evaluations that required direct computation. */
+    private final LongAdder misses;
+
+    /** Number of created cells. */
+    private final LongAdder created;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses a zero time shift (i.e. cells are reused only at the exact
+     * same date) and a maximum of {@link #DEFAULT_MAX_CELLS} cells.
+     * </p>
+     * @param model underlying gravity field model
+     * @param cellSize cells size (m)
+     * @param tolerance tolerance on acceleration (m/s²)
+     */
+    public GridCachedAttractionModel(final HolmesFeatherstoneAttractionModel model,
+                                     final double cellSize, final double tolerance) {
+        this(model, cellSize, tolerance, 0.0, DEFAULT_MAX_CELLS);
+    }
+
+    /** Simple constructor.
+     * @param model underlying gravity field model
+     * @param cellSize cells size (m)
+     * @param tolerance tolerance on acceleration (m/s²)
+     * @param maxTimeShift maximum time shift between a cell date and evaluation date (s)
+     * @param maxCells maximum number of cells (the cache is cleared when this size is reached)
+     */
+    public GridCachedAttractionModel(final HolmesFeatherstoneAttractionModel model,
+                                     final double cellSize, final double tolerance,
+                                     final double maxTimeShift, final int maxCells) {
+        if (cellSize <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     cellSize, 0);
+        }
+        if (tolerance < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     tolerance, 0);
+        }
+        if (maxTimeShift < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxTimeShift, 0);
+        }
+        if (maxCells < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxCells, 1);
+        }
+        this.model        = model;
+        this.cellSize     = cellSize;
+        this.tolerance    = tolerance;
+        this.maxTimeShift = maxTimeShift;
+        this.maxCells     = maxCells;
+        this.cells        = new ConcurrentHashMap<>();
+        this.hits         = new LongAdder();
+        this.misses       = new LongAdder();
+        this.created      = new LongAdder();
+    }
+
+    /** Get the underlying gravity field model.
+     * @return underlying gravity field model
+     */
+    public HolmesFeatherstoneAttractionModel getModel() {
+        return model;
+    }
+
+    /** Get the number of evaluations served by Taylor expansions.
+     * @return number of evaluations served by Taylor expansions
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Get the number of evaluations that required direct computation.
+     * <p>
+     * These are evaluations in cells that did not meet the tolerance.
+     * </p>
+     * @return number of evaluations that required direct computation
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** Get the number of created cells.
+     * @return number of created cells
+     */
+    public long getCreatedCells() {
+        return created.sum();
+    }
+
+    /** Clear the cache.
+     */
+    public void clearCache() {
+        cells.clear();
+        hits.reset();
+        misses.reset();
+        created.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean dependsOnPositionOnly() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D acceleration(final SpacecraftState s, final double[] parameters) {
+
+        final double mu = parameters[0];
+
+        // get the position in body frame
+        final AbsoluteDate date             = s.getDate();
+        final StaticTransform fromBodyFrame = model.getBodyFrame().getStaticTransformTo(s.getFrame(), date);
+        final Vector3D position             = fromBodyFrame.getInverse().transformPosition(s.getPosition());
+
+        // look for a suitable cell
+        final long ix  = (long) FastMath.floor(position.getX() / cellSize);
+        final long iy  = (long) FastMath.floor(position.getY() / cellSize);
+        final long iz  = (long) FastMath.floor(position.getZ() / cellSize);
+        final Long key = ((ix & MASK) << (2 * BITS)) | ((iy & MASK) << BITS) | (iz & MASK);
+        Cell cell = cells.get(key);
+        if (cell == null || !cell.matches(ix, iy, iz, date, mu, maxTimeShift)) {
+            // create a new cell
+            cell = createCell(ix, iy, iz, date, mu);
+            created.increment();
+            if (cells.size() >= maxCells) {
+                cells.clear();
+            }
+            cells.put(key, cell);
+        }
+
+        final double[] g;
+        if (cell.accurate) {
+            hits.increment();
+            g = cell.expand(position);
+        } else {
+            misses.increment();
+            g = model.gradient(date, position, mu);
+        }
+
+        return fromBodyFrame.transformVector(new Vector3D(g[0], g[1], g[2]));
+
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Field-based accelerations are not cached, they are delegated to the underlying model.
+     * </p>
+     */
+    @Override
+    public <T extends CalculusFieldElement<T>> FieldVector3D<T> acceleration(final FieldSpacecraftState<T> s,
+                                                                             final T[] parameters) {
+        return model.acceleration(s, parameters);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ParameterDriver> getParametersDrivers() {
+        return model.getParametersDrivers();
+    }
+
+    /** Create a cell.
+     * @param ix cell index along X
+     * @param iy cell index along Y
+     * @param iz cell index along Z
+     * @param date cell date
+     * @param mu central attraction coefficient
+     * @return new cell
+     */
+    private Cell createCell(final long ix, final long iy, final long iz,
+                            final AbsoluteDate date, final double mu) {
+
+        final Vector3D center = new Vector3D((ix + 0.5) * cellSize, (iy + 0.5) * cellSize, (iz + 0.5) * cellSize);
+        final HolmesFeatherstoneAttractionModel.GradientHessian gh = model.gradientHessian(date, center, mu);
+        final Cell cell = new Cell(ix, iy, iz, date, mu, center, gh.getGradient(), gh.getHessian());
+
+        // check expansion at one corner of each pair of opposite corners
+        final double h = 0.5 * cellSize;
+        final double[][] offsets = {
+            { h, h, h }, { h, h, -h }, { h, -h, h }, { -h, h, h }
+        };
+        boolean accurate = true;
+        for (final double[] offset : offsets) {
+            final Vector3D corner    = new Vector3D(center.getX() + offset[0],
+                                                    center.getY() + offset[1],
+                                                    center.getZ() + offset[2]);
+            final double[] direct    = model.gradient(date, corner, mu);
+            final double[] expanded  = cell.expand(corner);
+            final double   error     = FastMath.sqrt((direct[0] - expanded[0]) * (direct[0] - expanded[0]) +
+                                                     (direct[1] - expanded[1]) * (direct[1] - expanded[1]) +
+                                                     (direct[2] - expanded[2]) * (direct[2] - expanded[2]));
+            if (!(error <= tolerance)) {
+                accurate = false;
+                break;
+            }
+        }
+        cell.accurate = accurate;
+
+        return cell;
+
+    }
+
+    /** Cell containing a local expansion of the gravity field. */
+    private static class Cell {
+
+        /** Cell index along X. */
+        private final long ix;
+
+        /** Cell index along Y. */
+        private final long iy;
+
+        /** Cell index along Z. */
+        private final long iz;
+
+        /** Expansion date. */
+        private final AbsoluteDate date;
+
+        /** Central attraction coefficient. */
+        private final double mu;
+
+        /** Expansion point. */
+        private final Vector3D center;
+
+        /** Gradient at expansion point. */
+        private final double[] gradient;
+
+        /** Hessian at expansion point. */
+        private final double[][] hessian;
+
+        /** Indicator for expansion meeting the tolerance.
+         * <p>
+         * This field is set only before the cell is published in the cache.
+         * </p>
+         */
+        private boolean accurate;
+
+        /** Simple constructor.
+         * @param ix cell index along X
+         * @param iy cell index along Y
+         * @param iz cell index along Z
+         * @param date expansion date
+         * @param mu central attraction coefficient
+         * @param center expansion point
+         * @param gradient gradient at expansion point
+         * @param hessian Hessian at expansion point
+         */
+        Cell(final long ix, final long iy, final long iz, final AbsoluteDate date, final double mu,
+             final Vector3D center, final double[] gradient, final double[][] hessian) {
+            this.ix       = ix;
+            this.iy       = iy;
+            this.iz       = iz;
+            this.date     = date;
+            this.mu       = mu;
+            this.center   = center;
+            this.gradient = gradient;
+            this.hessian  = hessian;
+        }
+
+        /** Check if the cell can be used.
+         * @param otherIx cell index along X
+         * @param otherIy cell index along Y
+         * @param otherIz cell index along Z
+         * @param otherDate evaluation date
+         * @param otherMu central attraction coefficient
+         * @param maxTimeShift maximum time shift between cell date and evaluation date (s)
+         * @return true if the cell can be used
+         */
+        private boolean matches(final long otherIx, final long otherIy, final long otherIz,
+                                final AbsoluteDate otherDate, final double otherMu,
+                                final double maxTimeShift) {
+            return otherIx == ix && otherIy == iy && otherIz == iz &&
+                   Double.compare(otherMu, mu) == 0 &&
+                   FastMath.abs(otherDate.durationFrom(date)) <= maxTimeShift;
+        }
+
+        /** Evaluate the first order expansion.
+         * @param position position in body frame
+         * @return approximated gradient of the non-central part of the gravity field
+         */
+        private double[] expand(final Vector3D position) {
+            final double dx = position.getX() - center.getX();
+            final double dy = position.getY() - center.getY();
+            final double dz = position.getZ() - center.getZ();
+            return new double[] {
+                gradient[0] + hessian[0][0] * dx + hessian[0][1] * dy + hessian[0][2] * dz,
+                gradient[1] + hessian[1][0] * dx + hessian[1][1] * dy + hessian[1][2] * dz,
+                gradient[2] + hessian[2][0] * dx + hessian[2][1] * dy + hessian[2][2] * dz
+            };
+        }
+
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.orekit.forces.gravity;
 
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -109,6 +110,11 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
     /** Scaled sectorial Pbar<sub>m,m</sub>/u<sup>m</sup> &times; 2<sup>-SCALING</sup>. */
     private final double[] sectorial;
 
+    /** Thread-confined workspaces.
+     * @since 12.1
+     */
+    private final ThreadLocal<Workspace> workspaces;
+
     /** Creates a new instance.
      * @param centralBodyFrame rotating body frame
      * @param provider provider for spherical harmonics
@@ -157,6 +163,18 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
             sectorial[m] = FastMath.sqrt((2 * m + 1) / (2.0 * m)) * sectorial[m - 1];
         }
 
+        // scratch arrays are allocated once per thread and reused across calls
+        final int order = provider.getMaxOrder();
+        workspaces = ThreadLocal.withInitial(() -> new Workspace(degree, order));
+
+    }
+
+    /** Get the central body frame.
+     * @return central body frame
+     * @since 12.1
+     */
+    public Frame getBodyFrame() {
+        return bodyFrame;
     }
 
     /** {@inheritDoc} */
@@ -211,10 +229,11 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2 = new double[degree + 1];
-        double[] pnm0Plus1 = new double[degree + 1];
-        double[] pnm0      = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace workspace = workspaces.get().reset();
+        double[] pnm0Plus2 = workspace.pnm0Plus2;
+        double[] pnm0Plus1 = workspace.pnm0Plus1;
+        double[] pnm0      = workspace.pnm0;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -232,10 +251,10 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(x / rho, y / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(x / rho, y / rho, workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -285,16 +304,36 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
      * @return gradient of the non-central part of the gravity field
      */
     public double[] gradient(final AbsoluteDate date, final Vector3D position, final double mu) {
+        final double[] cartesianGradient = new double[3];
+        gradient(date, position, mu, cartesianGradient);
+        return cartesianGradient;
+    }
+
+    /** Compute the gradient of the non-central part of the gravity field.
+     * <p>
+     * This method does not allocate any array, it uses scratch arrays confined
+     * to the calling thread and writes the result in a caller-provided buffer.
+     * </p>
+     * @param date current date
+     * @param position position at which gravity field is desired in body frame
+     * @param mu central attraction coefficient to use
+     * @param cartesianGradient buffer where the Cartesian gradient of the non-central
+     * part of the gravity field is stored (must have at least 3 elements)
+     * @since 12.1
+     */
+    public void gradient(final AbsoluteDate date, final Vector3D position, final double mu,
+                         final double[] cartesianGradient) {
 
         final int degree = provider.getMaxDegree();
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        final double[] pnm1 = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace workspace = workspaces.get().reset();
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        final double[] pnm1 = workspace.pnm1;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -312,15 +351,15 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(x / rho, y / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(x / rho, y / rho, workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[] gradient = new double[3];
+        final double[] gradient = workspace.sphericalGradient;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms with derivatives
@@ -388,7 +427,19 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
         gradient[2]      *= muOr;
 
         // convert gradient from spherical to Cartesian
-        return new SphericalCoordinates(position).toCartesianGradient(gradient);
+        // (same computation as SphericalCoordinates.toCartesianGradient, without allocation)
+        final double rhoR2   = rho * r2;
+        final double dRdX    = x / r;
+        final double dRdY    = y / r;
+        final double dRdZ    = z / r;
+        final double dThdX   = -y / rho2;
+        final double dThdY   = x / rho2;
+        final double dPhidX  = x * z / rhoR2;
+        final double dPhidY  = y * z / rhoR2;
+        final double dPhidZ  = -rho / r2;
+        cartesianGradient[0] = gradient[0] * dRdX + gradient[1] * dThdX + gradient[2] * dPhidX;
+        cartesianGradient[1] = gradient[0] * dRdY + gradient[1] * dThdY + gradient[2] * dPhidY;
+        cartesianGradient[2] = gradient[0] * dRdZ                       + gradient[2] * dPhidZ;
 
     }
 
@@ -542,19 +593,20 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
      * @param mu central attraction coefficient to use
      * @return gradient and hessian of the non-central part of the gravity field
      */
-    private GradientHessian gradientHessian(final AbsoluteDate date, final Vector3D position, final double mu) {
+    GradientHessian gradientHessian(final AbsoluteDate date, final Vector3D position, final double mu) {
 
         final int degree = provider.getMaxDegree();
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        double[] pnm1Plus1  = new double[degree + 1];
-        double[] pnm1       = new double[degree + 1];
-        final double[] pnm2 = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace workspace = workspaces.get().reset();
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        double[] pnm1Plus1  = workspace.pnm1Plus1;
+        double[] pnm1       = workspace.pnm1;
+        final double[] pnm2 = workspace.pnm2;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -572,10 +624,10 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(x / rho, y / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(x / rho, y / rho, workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -687,8 +739,81 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
 
     }
 
+    /** Thread-confined scratch arrays, sized to the provider maximum degree and order.
+     * @since 12.1
+     */
+    private static class Workspace {
+
+        /** Column for scaled P<sub>n,m+2</sub>/u<sup>m+2</sup>. */
+        private final double[] pnm0Plus2;
+
+        /** Column for scaled P<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm0Plus1;
+
+        /** Column for scaled P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm0;
+
+        /** Column for scaled dP<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm1Plus1;
+
+        /** Column for scaled dP<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm1;
+
+        /** Column for scaled d²P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm2;
+
+        /** Powers (a/r)<sup>n</sup>. */
+        private final double[] aOrN;
+
+        /** cos(m &times; λ) in row 0 and sin(m &times; λ) in row 1. */
+        private final double[][] cosSin;
+
+        /** Gradient in spherical coordinates. */
+        private final double[] sphericalGradient;
+
+        /** Gradient in Cartesian coordinates. */
+        private final double[] cartesianGradient;
+
+        /** Simple constructor.
+         * @param degree maximal degree
+         * @param order maximal order
+         */
+        Workspace(final int degree, final int order) {
+            pnm0Plus2         = new double[degree + 1];
+            pnm0Plus1         = new double[degree + 1];
+            pnm0              = new double[degree + 1];
+            pnm1Plus1         = new double[degree + 1];
+            pnm1              = new double[degree + 1];
+            pnm2              = new double[degree + 1];
+            aOrN              = new double[degree + 1];
+            cosSin            = new double[2][order + 1];
+            sphericalGradient = new double[3];
+            cartesianGradient = new double[3];
+        }
+
+        /** Reset the recursion columns and accumulators.
+         * <p>
+         * Some elements of the recursion columns are read before being written
+         * (multiplied by zero coefficients), so they are reset to avoid leftovers
+         * from a previous call (which may be NaN) polluting the results.
+         * </p>
+         * @return this workspace
+         */
+        Workspace reset() {
+            Arrays.fill(pnm0Plus2, 0.0);
+            Arrays.fill(pnm0Plus1, 0.0);
+            Arrays.fill(pnm0,      0.0);
+            Arrays.fill(pnm1Plus1, 0.0);
+            Arrays.fill(pnm1,      0.0);
+            Arrays.fill(pnm2,      0.0);
+            Arrays.fill(sphericalGradient, 0.0);
+            return this;
+        }
+
+    }
+
     /** Container for gradient and Hessian. */
-    private static class GradientHessian {
+    static class GradientHessian {
 
         /** Gradient. */
         private final double[] gradient;
@@ -724,14 +849,14 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
 
     }
 
-    /** Compute a/r powers array.
+    /** Fill a/r powers array.
      * @param aOr a/r
+     * @param aOrN array to fill, with {@code provider.getMaxDegree() + 1} elements
      * @return array containing (a/r)<sup>n</sup>
      */
-    private double[] createDistancePowersArray(final double aOr) {
+    private double[] fillDistancePowersArray(final double aOr, final double[] aOrN) {
 
         // initialize array
-        final double[] aOrN = new double[provider.getMaxDegree() + 1];
         aOrN[0] = 1;
         if (provider.getMaxDegree() > 0) {
             aOrN[1] = aOr;
@@ -772,16 +897,17 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
 
     }
 
-    /** Compute longitude cosines and sines.
+    /** Fill longitude cosines and sines.
      * @param cosLambda cos(λ)
      * @param sinLambda sin(λ)
+     * @param cosSin arrays to fill, with 2 rows of {@code provider.getMaxOrder() + 1} elements
      * @return array containing cos(m &times; λ) in row 0
      * and sin(m &times; λ) in row 1
      */
-    private double[][] createCosSinArrays(final double cosLambda, final double sinLambda) {
+    private double[][] fillCosSinArrays(final double cosLambda, final double sinLambda,
+                                        final double[][] cosSin) {
 
         // initialize arrays
-        final double[][] cosSin = new double[2][provider.getMaxOrder() + 1];
         cosSin[0][0] = 1;
         cosSin[1][0] = 0;
         if (provider.getMaxOrder() > 0) {
@@ -1052,7 +1178,9 @@ public class HolmesFeatherstoneAttractionModel implements ForceModel, TideSystem
         final Vector3D position       = toBodyFrame.transformPosition(s.getPosition());
 
         // gradient of the non-central part of the gravity field
-        return fromBodyFrame.transformVector(new Vector3D(gradient(date, position, mu)));
+        final double[] g = workspaces.get().cartesianGradient;
+        gradient(date, position, mu, g);
+        return fromBodyFrame.transformVector(new Vector3D(g[0], g[1], g[2]));
 
     }
 
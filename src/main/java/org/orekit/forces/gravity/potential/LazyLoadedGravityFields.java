@@ -16,11 +16,13 @@
  */
 package org.orekit.forces.gravity.potential;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.hipparchus.util.FastMath;
+import org.orekit.data.BinaryDataCache;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
@@ -57,6 +59,16 @@ public class LazyLoadedGravityFields implements GravityFields {
     /** Time scale for parsing dates. */
     private final TimeScale timeScale;
 
+    /** Binary cache for parsed gravity fields (null if parsed data are not cached).
+     * @since 12.1
+     */
+    private BinaryDataCache binaryCache;
+
+    /** Checksums of the gravity field files, for the current readers (null if not computed yet).
+     * @since 12.1
+     */
+    private List<String> checksums;
+
     /**
      * Create a factory for gravity fields that uses the given data manager to load the
      * gravity field files.
@@ -79,6 +91,7 @@ public class LazyLoadedGravityFields implements GravityFields {
     public void addPotentialCoefficientsReader(final PotentialCoefficientsReader reader) {
         synchronized (readers) {
             readers.add(reader);
+            checksums = null;
         }
     }
 
@@ -99,6 +112,7 @@ public class LazyLoadedGravityFields implements GravityFields {
             readers.add(new SHMFormatReader(GravityFieldFactory.SHM_FILENAME, false, timeScale));
             readers.add(new EGMFormatReader(GravityFieldFactory.EGM_FILENAME, false));
             readers.add(new GRGSFormatReader(GravityFieldFactory.GRGS_FILENAME, false, timeScale));
+            checksums = null;
         }
     }
 
@@ -109,6 +123,7 @@ public class LazyLoadedGravityFields implements GravityFields {
     public void clearPotentialCoefficientsReaders() {
         synchronized (readers) {
             readers.clear();
+            checksums = null;
         }
     }
 
@@ -198,6 +213,36 @@ public class LazyLoadedGravityFields implements GravityFields {
         }
     }
 
+    /** Set the binary cache for parsed gravity fields.
+     * <p>
+     * When a cache is set, the constant gravity fields built by the {@link
+     * #getNormalizedProvider(int, int) getNormalizedProvider}, {@link
+     * #getUnnormalizedProvider(int, int) getUnnormalizedProvider} methods and their
+     * constant counterparts are stored in the cache (one cache file per degree, order
+     * and normalization) and read back from it as long as the source files are unchanged.
+     * Fields with time-dependent parts are never cached. The checksums of the source
+     * files are computed only once for a given set of readers, so changes in gravity
+     * field files while the application is running are not detected.
+     * </p>
+     * @param binaryCache binary cache for parsed gravity fields (null to disable caching)
+     * @since 12.1
+     */
+    public void setBinaryCache(final BinaryDataCache binaryCache) {
+        synchronized (readers) {
+            this.binaryCache = binaryCache;
+        }
+    }
+
+    /** Get the binary cache for parsed gravity fields.
+     * @return binary cache for parsed gravity fields (null if caching is disabled)
+     * @since 12.1
+     */
+    public BinaryDataCache getBinaryCache() {
+        synchronized (readers) {
+            return binaryCache;
+        }
+    }
+
     /** Read a gravity field coefficients provider from the first supported file.
      * <p>
      * If no {@link PotentialCoefficientsReader} has been added by calling {@link
@@ -250,10 +295,7 @@ public class LazyLoadedGravityFields implements GravityFields {
     public NormalizedSphericalHarmonicsProvider getConstantNormalizedProvider(final int degree, final int order,
                                                                               final AbsoluteDate freezingDate) {
         final RawSphericalHarmonicsProvider provider;
-        synchronized (readers) {
-            final PotentialCoefficientsReader reader = readGravityField(degree, order);
-            provider = reader.getProvider(true, degree, order);
-        }
+        provider = getRawProvider(true, degree, order);
         final ConstantSphericalHarmonics frozen = new ConstantSphericalHarmonics(freezingDate, provider);
         return new WrappingNormalizedProvider(frozen);
     }
@@ -272,10 +314,7 @@ public class LazyLoadedGravityFields implements GravityFields {
     public NormalizedSphericalHarmonicsProvider getNormalizedProvider(final int degree,
                                                                       final int order) {
         final RawSphericalHarmonicsProvider provider;
-        synchronized (readers) {
-            final PotentialCoefficientsReader reader = readGravityField(degree, order);
-            provider = reader.getProvider(true, degree, order);
-        }
+        provider = getRawProvider(true, degree, order);
         return new WrappingNormalizedProvider(provider);
     }
 
@@ -293,10 +332,7 @@ public class LazyLoadedGravityFields implements GravityFields {
     public UnnormalizedSphericalHarmonicsProvider getConstantUnnormalizedProvider(final int degree, final int order,
                                                                                   final AbsoluteDate freezingDate) {
         final RawSphericalHarmonicsProvider provider;
-        synchronized (readers) {
-            final PotentialCoefficientsReader reader = readGravityField(degree, order);
-            provider = reader.getProvider(false, degree, order);
-        }
+        provider = getRawProvider(false, degree, order);
         final ConstantSphericalHarmonics frozen = new ConstantSphericalHarmonics(freezingDate, provider);
         return new WrappingUnnormalizedProvider(frozen);
     }
@@ -315,11 +351,92 @@ public class LazyLoadedGravityFields implements GravityFields {
     public UnnormalizedSphericalHarmonicsProvider getUnnormalizedProvider(final int degree,
                                                                           final int order) {
         final RawSphericalHarmonicsProvider provider;
+        provider = getRawProvider(false, degree, order);
+        return new WrappingUnnormalizedProvider(provider);
+    }
+
+    /** Get a raw provider, using the binary cache if possible.
+     * @param wantNormalized if true, the raw provider must provide normalized coefficients,
+     * otherwise it will provide un-normalized coefficients
+     * @param degree maximal degree
+     * @param order maximal order
+     * @return raw provider
+     * @since 12.1
+     */
+    private RawSphericalHarmonicsProvider getRawProvider(final boolean wantNormalized,
+                                                         final int degree, final int order) {
         synchronized (readers) {
-            final PotentialCoefficientsReader reader = readGravityField(degree, order);
-            provider = reader.getProvider(false, degree, order);
+
+            if (binaryCache == null) {
+                return readGravityField(degree, order).getProvider(wantNormalized, degree, order);
+            }
+
+            if (readers.isEmpty()) {
+                addDefaultPotentialCoefficientsReaders();
+            }
+            final List<String> supportedNames = new ArrayList<>(readers.size());
+            for (final PotentialCoefficientsReader reader : readers) {
+                supportedNames.add(reader.getSupportedNames());
+            }
+            if (checksums == null || checksums.isEmpty()) {
+                // reading all matching files is expensive, it is done only once for the current readers
+                checksums = binaryCache.checksums(dataProvidersManager, supportedNames);
+            }
+
+            final RawSphericalHarmonicsProvider[] parsed = new RawSphericalHarmonicsProvider[1];
+            final DoubleBuffer buffer =
+                            binaryCache.getOrCompute("gravity-" + (wantNormalized ? "normalized-" : "unnormalized-") +
+                                                     degree + '-' + order,
+                                                     supportedNames, checksums,
+                                                     () -> {
+                                                         parsed[0] = readGravityField(degree, order).
+                                                                     getProvider(wantNormalized, degree, order);
+                                                         return parsed[0] instanceof ConstantSphericalHarmonics ?
+                                                                encode(parsed[0]) : null;
+                                                     });
+            if (parsed[0] != null) {
+                // the field has just been parsed
+                return parsed[0];
+            }
+
+            // decode the field
+            final double      ae         = buffer.get();
+            final double      mu         = buffer.get();
+            final TideSystem  tideSystem = TideSystem.values()[(int) buffer.get()];
+            final Flattener   flattener  = new Flattener((int) buffer.get(), (int) buffer.get());
+            final double[]    rawC       = new double[flattener.arraySize()];
+            final double[]    rawS       = new double[flattener.arraySize()];
+            buffer.get(rawC);
+            buffer.get(rawS);
+            return new ConstantSphericalHarmonics(ae, mu, tideSystem, flattener, rawC, rawS);
+
         }
-        return new WrappingUnnormalizedProvider(provider);
+    }
+
+    /** Encode a constant gravity field for binary cache.
+     * @param provider constant provider
+     * @return encoded field
+     * @since 12.1
+     */
+    private static double[] encode(final RawSphericalHarmonicsProvider provider) {
+        final Flattener flattener = new Flattener(provider.getMaxDegree(), provider.getMaxOrder());
+        final int       size      = flattener.arraySize();
+        final double[]  payload   = new double[5 + 2 * size];
+        payload[0] = provider.getAe();
+        payload[1] = provider.getMu();
+        payload[2] = provider.getTideSystem().ordinal();
+        payload[3] = flattener.getDegree();
+        payload[4] = flattener.getOrder();
+        final RawSphericalHarmonicsProvider.RawSphericalHarmonics harmonics =
+                        provider.onDate(AbsoluteDate.ARBITRARY_EPOCH);
+        for (int n = 0; n <= flattener.getDegree(); ++n) {
+            for (int m = 0; m <= FastMath.min(n, flattener.getOrder()); ++m) {
+                final int index = flattener.index(n, m);
+                payload[5 + index]        = harmonics.getRawCnm(n, m);
+                payload[5 + size + index] = harmonics.getRawSnm(n, m);
+            }
+        }
+        return payload;
     }
 
     /**
@@ -48,6 +48,8 @@ import org.orekit.time.FieldAbsoluteDate;
  * fixed transforms, using {@link FixedTransformProvider} is sufficient. For varying
  * transforms (time-dependent or telemetry-based for example), it may be useful to define
  * specific implementations of {@link TransformProvider transform provider}.</p>
+ * <p>Transforms between frames can optionally be memoized per thread, see
+ * {@link TransformMemoizer}.</p>
  *
  * @author Guylaine Prat
  * @author Luc Maisonobe
@@ -243,6 +245,19 @@ public class Frame implements Serializable {
      * @return transform from the instance to the destination frame
      */
     public Transform getTransformTo(final Frame destination, final AbsoluteDate date) {
+        if (date != null && this != destination && TransformMemoizer.isEnabled()) {
+            return TransformMemoizer.get(this, destination, TransformMemoizer.Kind.TRANSFORM, date, false,
+                                         () -> computeTransformTo(destination, date));
+        }
+        return computeTransformTo(destination, date);
+    }
+
+    /** Compute the transform from the instance to another frame.
+     * @param destination destination frame to which we want to transform vectors
+     * @param date the date (can be null if it is sure than no date dependent frame is used)
+     * @return transform from the instance to the destination frame
+     */
+    private Transform computeTransformTo(final Frame destination, final AbsoluteDate date) {
         return getTransformTo(
                 destination,
                 Transform.IDENTITY,
@@ -258,7 +273,21 @@ public class Frame implements Serializable {
      * @return transform from the instance to the destination frame
      */
     public <T extends CalculusFieldElement<T>> FieldTransform<T> getTransformTo(final Frame destination, final FieldAbsoluteDate<T> date) {
+        if (date != null && this != destination && TransformMemoizer.isEnabled()) {
+            return TransformMemoizer.get(this, destination, TransformMemoizer.Kind.FIELD_TRANSFORM, date, true,
+                                         () -> computeTransformTo(destination, date));
+        }
+        return computeTransformTo(destination, date);
+    }
 
+    /** Compute the transform from the instance to another frame.
+     * @param destination destination frame to which we want to transform vectors
+     * @param date the date (can be null if it is sure than no date dependent frame is used)
+     * @param <T> the type of the field elements
+     * @return transform from the instance to the destination frame
+     */
+    private <T extends CalculusFieldElement<T>> FieldTransform<T> computeTransformTo(final Frame destination,
+                                                                                    final FieldAbsoluteDate<T> date) {
         return getTransformTo(destination,
                               FieldTransform.getIdentity(date.getField()),
                               frame -> frame.getTransformProvider().getTransform(date),
@@ -283,6 +312,22 @@ public class Frame implements Serializable {
      */
     public StaticTransform getStaticTransformTo(final Frame destination,
                                                 final AbsoluteDate date) {
+        if (date != null && this != destination && TransformMemoizer.isEnabled()) {
+            return TransformMemoizer.get(this, destination, TransformMemoizer.Kind.STATIC_TRANSFORM, date, false,
+                                         () -> computeStaticTransformTo(destination, date));
+        }
+        return computeStaticTransformTo(destination, date);
+    }
+
+    /** Compute the static portion of the transform from the instance to another frame.
+     * @param destination destination frame to which we want to transform
+     *                    vectors
+     * @param date        the date (can be null if it is sure than no date
+     *                    dependent frame is used)
+     * @return static transform from the instance to the destination frame
+     */
+    private StaticTransform computeStaticTransformTo(final Frame destination,
+                                                     final AbsoluteDate date) {
         return getTransformTo(
                 destination,
                 StaticTransform.getIdentity(),
@@ -317,16 +362,32 @@ public class Frame implements Serializable {
             // If date field is Zero, then use the un-fielded version for performances
             return FieldStaticTransform.of(date, getStaticTransformTo(destination, date.toAbsoluteDate()));
 
+        } else if (this != destination && TransformMemoizer.isEnabled()) {
+            // Use classic fielded function, with memoization
+            return TransformMemoizer.get(this, destination, TransformMemoizer.Kind.FIELD_STATIC_TRANSFORM, date, true,
+                                         () -> computeStaticTransformTo(destination, date));
         } else {
             // Use classic fielded function
-            return getTransformTo(destination,
-                                  FieldStaticTransform.getIdentity(date.getField()),
-                                  frame -> frame.getTransformProvider().getStaticTransform(date),
-                                  (t1, t2) -> FieldStaticTransform.compose(date, t1, t2),
-                                  FieldStaticTransform::getInverse);
+            return computeStaticTransformTo(destination, date);
         }
     }
 
+    /** Compute the static portion of the transform from the instance to another frame.
+     * @param <T>         type of the elements
+     * @param destination destination frame to which we want to transform
+     *                    vectors
+     * @param date        the date
+     * @return static transform from the instance to the destination frame
+     */
+    private <T extends CalculusFieldElement<T>> FieldStaticTransform<T> computeStaticTransformTo(final Frame destination,
+                                                                                                final FieldAbsoluteDate<T> date) {
+        return getTransformTo(destination,
+                              FieldStaticTransform.getIdentity(date.getField()),
+                              frame -> frame.getTransformProvider().getStaticTransform(date),
+                              (t1, t2) -> FieldStaticTransform.compose(date, t1, t2),
+                              FieldStaticTransform::getInverse);
+    }
+
     /**
      * Generic get transform method that builds the transform from {@code this}
      * to {@code destination}.
@@ -31,6 +31,9 @@ import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
 import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
+import org.orekit.utils.TimeStampedCache;
+import org.orekit.utils.TimeStampedCacheType;
 
 /** Transform provider using thread-safe interpolation on transforms sample.
  * <p>
@@ -40,6 +43,10 @@ import org.orekit.utils.GenericTimeStampedCache;
  * derivatives can be used, the derivatives will be added appropriately
  * by the interpolation process.
  * </p>
+ * <p>
+ * The type of the underlying {@link TimeStampedCache time-stamped cache} is
+ * selected at construction from {@link OrekitConfiguration#getTimeStampedCacheType()}.
+ * </p>
  * @see GenericTimeStampedCache
  * @see ShiftingTransformProvider
  * @author Luc Maisonobe
@@ -61,8 +68,20 @@ public class InterpolatingTransformProvider implements TransformProvider {
     /** Grid points time step. */
     private final double step;
 
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Time interval above which a new slot is created. */
+    private final double newSlotInterval;
+
+    /** Type of the caches. */
+    private final transient TimeStampedCacheType cacheType;
+
     /** Cache for sample points. */
-    private final transient GenericTimeStampedCache<Transform> cache;
+    private final transient TimeStampedCache<Transform> cache;
 
     /** Field caches for sample points. */
     // we use Object as the value of fieldCaches because despite numerous attempts,
@@ -92,11 +111,15 @@ public class InterpolatingTransformProvider implements TransformProvider {
         this.rawProvider = rawProvider;
         this.cFilter     = cFilter;
         this.aFilter     = aFilter;
-        this.step        = step;
-        this.cache       = new GenericTimeStampedCache<Transform>(gridPoints, maxSlots, maxSpan, newSlotInterval,
-                                                                  new TransformGenerator(gridPoints,
-                                                                                         rawProvider,
-                                                                                         step));
+        this.step            = step;
+        this.maxSlots        = maxSlots;
+        this.maxSpan         = maxSpan;
+        this.newSlotInterval = newSlotInterval;
+        this.cacheType       = OrekitConfiguration.getTimeStampedCacheType();
+        this.cache           = cacheType.createCache(gridPoints, maxSlots, maxSpan, newSlotInterval,
+                                                     new TransformGenerator(gridPoints,
+                                                                            rawProvider,
+                                                                            step));
         this.fieldCaches = new HashMap<>();
     }
 
@@ -135,18 +158,15 @@ public class InterpolatingTransformProvider implements TransformProvider {
     @Override
     public <T extends CalculusFieldElement<T>> FieldTransform<T> getTransform(final FieldAbsoluteDate<T> date) {
         @SuppressWarnings("unchecked")
-        GenericTimeStampedCache<FieldTransform<T>> fieldCache =
-            (GenericTimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
+        TimeStampedCache<FieldTransform<T>> fieldCache =
+            (TimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
         if (fieldCache == null) {
             fieldCache =
-                new GenericTimeStampedCache<FieldTransform<T>>(cache.getMaxNeighborsSize(),
-                                                               cache.getMaxSlots(),
-                                                               cache.getMaxSpan(),
-                                                               cache.getNewSlotQuantumGap(),
-                                                               new FieldTransformGenerator<>(date.getField(),
-                                                                                             cache.getMaxNeighborsSize(),
-                                                                                             rawProvider,
-                                                                                             step));
+                cacheType.createCache(cache.getMaxNeighborsSize(), maxSlots, maxSpan, newSlotInterval,
+                                      new FieldTransformGenerator<>(date.getField(),
+                                                                    cache.getMaxNeighborsSize(),
+                                                                    rawProvider,
+                                                                    step));
             fieldCaches.put(date.getField(), fieldCache);
         }
 
@@ -168,7 +188,7 @@ public class InterpolatingTransformProvider implements TransformProvider {
     private Object writeReplace() {
         return new DTO(rawProvider, cFilter.getMaxOrder(), aFilter.getMaxOrder(),
                        cache.getMaxNeighborsSize(), step,
-                       cache.getMaxSlots(), cache.getMaxSpan(), cache.getNewSlotQuantumGap());
+                       maxSlots, maxSpan, newSlotInterval);
     }
 
     /** Internal class used only for serialization. */
@@ -16,6 +16,7 @@
  */
 package org.orekit.frames;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -24,9 +25,14 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.function.Supplier;
 
+import org.orekit.data.BinaryDataCache;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
 import org.orekit.time.ChronologicalComparator;
+import org.orekit.time.DateComponents;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeScales;
 import org.orekit.utils.Constants;
@@ -47,6 +53,11 @@ import org.orekit.utils.IERSConventions;
  */
 public class LazyLoadedEop {
 
+    /** Number of doubles used to encode one entry in binary cache.
+     * @since 12.1
+     */
+    private static final int ENCODED_ENTRY_SIZE = 13;
+
     /** Provides access to the EOP data files. */
     private final DataProvidersManager dataProvidersManager;
     /** Loaders for Earth Orientation parameters. */
@@ -57,6 +68,10 @@ public class LazyLoadedEop {
      * @since 12.0
      */
     private int interpolationDegree;
+    /** Binary cache for parsed EOP (null if parsed data are not cached).
+     * @since 12.1
+     */
+    private BinaryDataCache binaryCache;
 
     /**
      * Create a new instance for loading EOP data from multiple {@link
@@ -295,6 +310,31 @@ public class LazyLoadedEop {
         this.interpolationDegree = interpolationDegree;
     }
 
+    /**
+     * Set the binary cache for parsed EOP.
+     * <p>
+     * When a cache is set, EOP parsed by loaders extending {@link AbstractEopLoader}
+     * (which include all default loaders) are stored in the cache and read back from
+     * it as long as the source files are unchanged. Other loaders are not affected.
+     * </p>
+     *
+     * @param binaryCache binary cache for parsed EOP (null to disable caching)
+     * @since 12.1
+     */
+    public void setBinaryCache(final BinaryDataCache binaryCache) {
+        this.binaryCache = binaryCache;
+    }
+
+    /**
+     * Get the binary cache for parsed EOP.
+     *
+     * @return binary cache for parsed EOP (null if caching is disabled)
+     * @since 12.1
+     */
+    public BinaryDataCache getBinaryCache() {
+        return binaryCache;
+    }
+
     /**
      * Get Earth Orientation Parameters history.
      * <p>
@@ -334,8 +374,9 @@ public class LazyLoadedEop {
             if (eopHistoryLoaders.containsKey(conventions)) {
                 for (final EopHistoryLoader loader : eopHistoryLoaders.get(conventions)) {
                     try {
-                        loader.fillHistory(conventions.getNutationCorrectionConverter(timeScales),
-                                           data);
+                        fillHistory(loader, conventions,
+                                    conventions.getNutationCorrectionConverter(timeScales),
+                                    data);
                     } catch (OrekitException oe) {
                         pendingException = oe;
                     }
@@ -354,4 +395,87 @@ public class LazyLoadedEop {
 
     }
 
+    /** Fill EOP history, using the binary cache if possible.
+     * @param loader loader for EOP history
+     * @param conventions conventions for which EOP history is requested
+     * @param converter converter to use for nutation corrections
+     * @param history history to fill up
+     * @since 12.1
+     */
+    private void fillHistory(final EopHistoryLoader loader, final IERSConventions conventions,
+                             final IERSConventions.NutationCorrectionConverter converter,
+                             final SortedSet<EOPEntry> history) {
+
+        if (binaryCache == null || !(loader instanceof AbstractEopLoader)) {
+            loader.fillHistory(converter, history);
+            return;
+        }
+
+        // dates depend on UTC-TAI history, which may change independently of EOP files,
+        // so only day and time within UTC day are cached, dates are rebuilt from current UTC
+        final TimeScale utc = ((AbstractEopLoader) loader).getUtc();
+        final DoubleBuffer buffer =
+                        binaryCache.getOrCompute("eop-" + conventions.name() + '-' + loader.getClass().getSimpleName(),
+                                                 (AbstractEopLoader) loader,
+                                                 () -> {
+                                                     final SortedSet<EOPEntry> loaded =
+                                                                     new TreeSet<>(new ChronologicalComparator());
+                                                     loader.fillHistory(converter, loaded);
+                                                     return encode(loaded, utc);
+                                                 });
+
+        // decode entries
+        final ITRFVersion[] versions = ITRFVersion.values();
+        while (buffer.hasRemaining()) {
+            final int          mjd   = (int) buffer.get();
+            final int          day   = (int) buffer.get();
+            final double       sec   = buffer.get();
+            final AbsoluteDate date  = new AbsoluteDate(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, day),
+                                                        new TimeComponents(sec), utc);
+            final double       dt    = buffer.get();
+            final double       lod   = buffer.get();
+            final double       x     = buffer.get();
+            final double       y     = buffer.get();
+            final double       xRate = buffer.get();
+            final double       yRate = buffer.get();
+            final double       ddPsi = buffer.get();
+            final double       ddEps = buffer.get();
+            final double       dx    = buffer.get();
+            final double       dy    = buffer.get();
+            final int          code  = (int) buffer.get();
+            final ITRFVersion  itrf  = code < 0 ? null : versions[code];
+            history.add(new EOPEntry(mjd, dt, lod, x, y, xRate, yRate, ddPsi, ddEps, dx, dy, itrf, date));
+        }
+
+    }
+
+    /** Encode EOP entries for binary cache.
+     * @param entries entries to encode
+     * @param utc UTC time scale used to build entries dates
+     * @return encoded entries
+     * @since 12.1
+     */
+    private static double[] encode(final SortedSet<EOPEntry> entries, final TimeScale utc) {
+        final double[] payload = new double[ENCODED_ENTRY_SIZE * entries.size()];
+        int index = 0;
+        for (final EOPEntry entry : entries) {
+            final DateTimeComponents components = entry.getDate().getComponents(utc);
+            payload[index++] = entry.getMjd();
+            payload[index++] = components.getDate().getMJD();
+            payload[index++] = components.getTime().getSecondsInUTCDay();
+            payload[index++] = entry.getUT1MinusUTC();
+            payload[index++] = entry.getLOD();
+            payload[index++] = entry.getX();
+            payload[index++] = entry.getY();
+            payload[index++] = entry.getXRate();
+            payload[index++] = entry.getYRate();
+            payload[index++] = entry.getDdPsi();
+            payload[index++] = entry.getDdEps();
+            payload[index++] = entry.getDx();
+            payload[index++] = entry.getDy();
+            payload[index++] = entry.getITRFType() == null ? -1 : entry.getITRFType().ordinal();
+        }
+        return payload;
+    }
+
 }
@@ -29,11 +29,18 @@ import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
 import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
+import org.orekit.utils.TimeStampedCache;
+import org.orekit.utils.TimeStampedCacheType;
 
 /** Transform provider using thread-safe shifts on transforms sample.
  * <p>
  * The shifts take derivatives into account, up to user specified order.
  * </p>
+ * <p>
+ * The type of the underlying {@link TimeStampedCache time-stamped cache} is
+ * selected at construction from {@link OrekitConfiguration#getTimeStampedCacheType()}.
+ * </p>
  * @see GenericTimeStampedCache
  * @see InterpolatingTransformProvider
  * @since 7.1
@@ -47,8 +54,20 @@ public class ShiftingTransformProvider implements TransformProvider {
     /** First level cache. */
     private final InterpolatingTransformProvider interpolatingProvider;
 
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Time interval above which a new slot is created. */
+    private final double newSlotInterval;
+
+    /** Type of the caches. */
+    private final transient TimeStampedCacheType cacheType;
+
     /** Cache for sample points. */
-    private final transient GenericTimeStampedCache<Transform> cache;
+    private final transient TimeStampedCache<Transform> cache;
 
     /** Field caches for sample points. */
     // we use Object as the value of fieldCaches because despite numerous attempts,
@@ -92,10 +111,14 @@ public class ShiftingTransformProvider implements TransformProvider {
     private ShiftingTransformProvider(final InterpolatingTransformProvider interpolatingProvider,
                                      final int maxSlots, final double maxSpan, final double newSlotInterval) {
         this.interpolatingProvider = interpolatingProvider;
-        this.cache = new GenericTimeStampedCache<Transform>(2, maxSlots, maxSpan, newSlotInterval,
-                                                            new TransformGenerator(2,
-                                                                                   interpolatingProvider,
-                                                                                   interpolatingProvider.getStep()));
+        this.maxSlots              = maxSlots;
+        this.maxSpan               = maxSpan;
+        this.newSlotInterval       = newSlotInterval;
+        this.cacheType             = OrekitConfiguration.getTimeStampedCacheType();
+        this.cache                 = cacheType.createCache(2, maxSlots, maxSpan, newSlotInterval,
+                                                           new TransformGenerator(2,
+                                                                                  interpolatingProvider,
+                                                                                  interpolatingProvider.getStep()));
         this.fieldCaches = new HashMap<>();
     }
 
@@ -142,18 +165,15 @@ public class ShiftingTransformProvider implements TransformProvider {
     /** {@inheritDoc} */
     public <T extends CalculusFieldElement<T>> FieldTransform<T> getTransform(final FieldAbsoluteDate<T> date) {
         @SuppressWarnings("unchecked")
-        GenericTimeStampedCache<FieldTransform<T>> fieldCache =
-            (GenericTimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
+        TimeStampedCache<FieldTransform<T>> fieldCache =
+            (TimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
         if (fieldCache == null) {
             fieldCache =
-                new GenericTimeStampedCache<FieldTransform<T>>(cache.getMaxNeighborsSize(),
-                                                               cache.getMaxSlots(),
-                                                               cache.getMaxSpan(),
-                                                               cache.getNewSlotQuantumGap(),
-                                                               new FieldTransformGenerator<>(date.getField(),
-                                                                                             cache.getMaxNeighborsSize(),
-                                                                                             interpolatingProvider,
-                                                                                             interpolatingProvider.getStep()));
+                cacheType.createCache(cache.getMaxNeighborsSize(), maxSlots, maxSpan, newSlotInterval,
+                                      new FieldTransformGenerator<>(date.getField(),
+                                                                    cache.getMaxNeighborsSize(),
+                                                                    interpolatingProvider,
+                                                                    interpolatingProvider.getStep()));
             fieldCaches.put(date.getField(), fieldCache);
         }
 
@@ -169,18 +189,15 @@ public class ShiftingTransformProvider implements TransformProvider {
     @Override
     public <T extends CalculusFieldElement<T>> FieldStaticTransform<T> getStaticTransform(final FieldAbsoluteDate<T> date) {
         @SuppressWarnings("unchecked")
-        GenericTimeStampedCache<FieldTransform<T>> fieldCache =
-            (GenericTimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
+        TimeStampedCache<FieldTransform<T>> fieldCache =
+            (TimeStampedCache<FieldTransform<T>>) fieldCaches.get(date.getField());
         if (fieldCache == null) {
             fieldCache =
-                new GenericTimeStampedCache<FieldTransform<T>>(cache.getMaxNeighborsSize(),
-                                                               cache.getMaxSlots(),
-                                                               cache.getMaxSpan(),
-                                                               cache.getNewSlotQuantumGap(),
-                                                               new FieldTransformGenerator<>(date.getField(),
-                                                                                             cache.getMaxNeighborsSize(),
-                                                                                             interpolatingProvider,
-                                                                                             interpolatingProvider.getStep()));
+                cacheType.createCache(cache.getMaxNeighborsSize(), maxSlots, maxSpan, newSlotInterval,
+                                      new FieldTransformGenerator<>(date.getField(),
+                                                                    cache.getMaxNeighborsSize(),
+                                                                    interpolatingProvider,
+                                                                    interpolatingProvider.getStep()));
             fieldCaches.put(date.getField(), fieldCache);
         }
 
@@ -202,7 +219,7 @@ public class ShiftingTransformProvider implements TransformProvider {
      */
     private Object writeReplace() {
         return new DTO(interpolatingProvider,
-                       cache.getMaxSlots(), cache.getMaxSpan(), cache.getNewSlotQuantumGap());
+                       maxSlots, maxSpan, newSlotInterval);
     }
 
     /** Internal class used only for serialization. */
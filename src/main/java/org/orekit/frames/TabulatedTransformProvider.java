@@ -0,0 +1,520 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.CalculusFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldRotation;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.AngularCoordinates;
+import org.orekit.utils.FieldAngularCoordinates;
+import org.orekit.utils.FieldPVCoordinates;
+import org.orekit.utils.PVCoordinates;
+
+/** Transform provider using transforms precomputed on a uniform grid over a fixed time span.
+ * <p>
+ * The transforms between two frames (for example GCRF and ITRF) are computed once at
+ * construction on a regular grid and stored in a flat primitive array. Transforms at
+ * intermediate dates are then computed by cubic Hermite interpolation between the two
+ * surrounding grid points, which are found in constant time. Quaternions are interpolated
+ * using their time derivatives, translations using velocities, and both rotation and
+ * translation accelerations are interpolated linearly.
+ * </p>
+ * <p>
+ * Once built, instances are immutable and can be shared between threads. They can be
+ * used to build a frame equivalent to the tabulated one over the time span, for example
+ * {@code new Frame(gcrf, provider, "tabulated ITRF")}. As the tabulated data are self
+ * contained, instances can also be serialized and deserialized without needing Earth
+ * Orientation Parameters, which allows worker processes to start quickly.
+ * </p>
+ * <p>
+ * Attempting to get a transform outside of the tabulated time span triggers an exception.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class TabulatedTransformProvider implements TransformProvider {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20231115L;
+
+    /** Number of doubles stored for each grid point. */
+    private static final int STRIDE = 20;
+
+    /** Offset of quaternion in grid point data. */
+    private static final int Q = 0;
+
+    /** Offset of quaternion derivative in grid point data. */
+    private static final int Q_DOT = 4;
+
+    /** Offset of rotation acceleration in grid point data. */
+    private static final int ROTATION_ACCELERATION = 8;
+
+    /** Offset of translation in grid point data. */
+    private static final int TRANSLATION = 11;
+
+    /** Offset of velocity in grid point data. */
+    private static final int VELOCITY = 14;
+
+    /** Offset of acceleration in grid point data. */
+    private static final int ACCELERATION = 17;
+
+    /** Number of intervals checked when validating accuracy. */
+    private static final int CHECKED_INTERVALS = 16;
+
+    /** Maximum number of step reductions when validating accuracy. */
+    private static final int MAX_STEP_REDUCTIONS = 8;
+
+    /** Start of the tabulated span. */
+    private final AbsoluteDate start;
+
+    /** End of the tabulated span. */
+    private final AbsoluteDate end;
+
+    /** Duration of the tabulated span. */
+    private final double span;
+
+    /** Grid step. */
+    private final double step;
+
+    /** Number of grid points. */
+    private final int points;
+
+    /** Grid points data. */
+    private final double[] data;
+
+    /** Simple constructor.
+     * <p>
+     * The grid starts at {@code start} and its last point is at or after {@code end}.
+     * </p>
+     * @param from frame from which transforms are computed (i.e. parent frame when
+     * the provider is used to build a frame)
+     * @param to frame to which transforms are computed
+     * @param start start of the tabulated span
+     * @param end end of the tabulated span
+     * @param step grid step (s)
+     */
+    public TabulatedTransformProvider(final Frame from, final Frame to,
+                                      final AbsoluteDate start, final AbsoluteDate end,
+                                      final double step) {
+
+        final double duration = end.durationFrom(start);
+        if (duration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     duration, 0);
+        }
+        if (step <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0);
+        }
+
+        this.start  = start;
+        this.step   = step;
+        this.points = FastMath.max(2, (int) FastMath.ceil(duration / step) + 1);
+        this.end    = start.shiftedBy((points - 1) * step);
+        this.span   = this.end.durationFrom(start);
+        this.data   = new double[points * STRIDE];
+
+        for (int i = 0; i < points; ++i) {
+
+            final Transform transform = from.getTransformTo(to, start.shiftedBy(i * step));
+            final int       k         = i * STRIDE;
+
+            // quaternion, keeping sign consistent with previous grid point
+            final Rotation r = transform.getRotation();
+            double q0 = r.getQ0();
+            double q1 = r.getQ1();
+            double q2 = r.getQ2();
+            double q3 = r.getQ3();
+            if (i > 0 &&
+                q0 * data[k - STRIDE + Q]     + q1 * data[k - STRIDE + Q + 1] +
+                q2 * data[k - STRIDE + Q + 2] + q3 * data[k - STRIDE + Q + 3] < 0) {
+                q0 = -q0;
+                q1 = -q1;
+                q2 = -q2;
+                q3 = -q3;
+            }
+            data[k + Q]     = q0;
+            data[k + Q + 1] = q1;
+            data[k + Q + 2] = q2;
+            data[k + Q + 3] = q3;
+
+            // quaternion time derivative
+            final Vector3D omega = transform.getRotationRate();
+            data[k + Q_DOT]     = 0.5 * (-q1 * omega.getX() - q2 * omega.getY() - q3 * omega.getZ());
+            data[k + Q_DOT + 1] = 0.5 * ( q0 * omega.getX() - q3 * omega.getY() + q2 * omega.getZ());
+            data[k + Q_DOT + 2] = 0.5 * ( q3 * omega.getX() + q0 * omega.getY() - q1 * omega.getZ());
+            data[k + Q_DOT + 3] = 0.5 * (-q2 * omega.getX() + q1 * omega.getY() + q0 * omega.getZ());
+
+            store(transform.getRotationAcceleration(), k + ROTATION_ACCELERATION);
+            store(transform.getTranslation(),          k + TRANSLATION);
+            store(transform.getVelocity(),             k + VELOCITY);
+            store(transform.getAcceleration(),         k + ACCELERATION);
+
+        }
+
+    }
+
+    /** Build a provider with a grid step selected to meet an angular accuracy target.
+     * <p>
+     * The step is first estimated from the rotation rate, assuming a uniform rotation,
+     * and then reduced until interpolation errors at the middle of several intervals
+     * spread over the span are below the accuracy target. The step is reduced at most
+     * {@value #MAX_STEP_REDUCTIONS} times, so unreachable targets still lead to a finite
+     * table.
+     * </p>
+     * @param from frame from which transforms are computed (i.e. parent frame when
+     * the provider is used to build a frame)
+     * @param to frame to which transforms are computed
+     * @param start start of the tabulated span
+     * @param end end of the tabulated span
+     * @param angularAccuracy angular accuracy target (rad)
+     * @return provider meeting the accuracy target
+     */
+    public static TabulatedTransformProvider withAccuracy(final Frame from, final Frame to,
+                                                          final AbsoluteDate start, final AbsoluteDate end,
+                                                          final double angularAccuracy) {
+
+        if (angularAccuracy <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     angularAccuracy, 0);
+        }
+
+        // for a uniform rotation, cubic Hermite interpolation error on
+        // the rotation angle is about (ω h)⁴ / 3072
+        final double duration = end.durationFrom(start);
+        double omega = 0;
+        for (int i = 0; i <= 2; ++i) {
+            final Transform transform = from.getTransformTo(to, start.shiftedBy(0.5 * i * duration));
+            omega = FastMath.max(omega, transform.getRotationRate().getNorm());
+        }
+        double step = omega == 0 ? duration : FastMath.min(duration, FastMath.sqrt(FastMath.sqrt(3072 * angularAccuracy)) / omega);
+
+        TabulatedTransformProvider provider = new TabulatedTransformProvider(from, to, start, end, step);
+        for (int i = 0; i < MAX_STEP_REDUCTIONS && !provider.checkAccuracy(from, to, angularAccuracy); ++i) {
+            step    *= 0.5;
+            provider = new TabulatedTransformProvider(from, to, start, end, step);
+        }
+        return provider;
+
+    }
+
+    /** Check interpolation accuracy at the middle of several intervals.
+     * @param from frame from which transforms are computed
+     * @param to frame to which transforms are computed
+     * @param angularAccuracy angular accuracy target (rad)
+     * @return true if accuracy target is met
+     */
+    private boolean checkAccuracy(final Frame from, final Frame to, final double angularAccuracy) {
+        final int intervals = points - 1;
+        final int checks    = FastMath.min(CHECKED_INTERVALS, intervals);
+        for (int j = 0; j < checks; ++j) {
+            final int          interval = (int) (((long) j * (intervals - 1)) / FastMath.max(1, checks - 1));
+            final AbsoluteDate date     = start.shiftedBy((interval + 0.5) * step);
+            final Rotation     expected = from.getTransformTo(to, date).getRotation();
+            final Rotation     actual   = getStaticTransform(date).getRotation();
+            if (Rotation.distance(expected, actual) > angularAccuracy) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Get the start of the tabulated span.
+     * @return start of the tabulated span
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Get the end of the tabulated span.
+     * <p>
+     * The end is the last grid point, it may be slightly after the end date
+     * specified at construction.
+     * </p>
+     * @return end of the tabulated span
+     */
+    public AbsoluteDate getEnd() {
+        return end;
+    }
+
+    /** Get the grid step.
+     * @return grid step (s)
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /** Get the number of grid points.
+     * @return number of grid points
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Transform getTransform(final AbsoluteDate date) {
+
+        final double dt = date.durationFrom(start);
+        final int    k0 = index(date, dt) * STRIDE;
+        final int    k1 = k0 + STRIDE;
+
+        // cubic Hermite basis functions and their derivatives
+        final double s   = (dt - (k0 / STRIDE) * step) / step;
+        final double s2  = s * s;
+        final double s3  = s2 * s;
+        final double h00 = 2 * s3 - 3 * s2 + 1;
+        final double h10 = (s3 - 2 * s2 + s) * step;
+        final double h01 = 3 * s2 - 2 * s3;
+        final double h11 = (s3 - s2) * step;
+        final double d00 = 6 * (s2 - s) / step;
+        final double d10 = 3 * s2 - 4 * s + 1;
+        final double d01 = -d00;
+        final double d11 = 3 * s2 - 2 * s;
+
+        // interpolated quaternion and its derivative
+        double q0    = hermite(k0, k1, Q,     Q_DOT,     h00, h10, h01, h11);
+        double q1    = hermite(k0, k1, Q + 1, Q_DOT + 1, h00, h10, h01, h11);
+        double q2    = hermite(k0, k1, Q + 2, Q_DOT + 2, h00, h10, h01, h11);
+        double q3    = hermite(k0, k1, Q + 3, Q_DOT + 3, h00, h10, h01, h11);
+        double q0Dot = hermite(k0, k1, Q,     Q_DOT,     d00, d10, d01, d11);
+        double q1Dot = hermite(k0, k1, Q + 1, Q_DOT + 1, d00, d10, d01, d11);
+        double q2Dot = hermite(k0, k1, Q + 2, Q_DOT + 2, d00, d10, d01, d11);
+        double q3Dot = hermite(k0, k1, Q + 3, Q_DOT + 3, d00, d10, d01, d11);
+        final double inv = 1.0 / FastMath.sqrt(q0 * q0 + q1 * q1 + q2 * q2 + q3 * q3);
+        q0    *= inv;
+        q1    *= inv;
+        q2    *= inv;
+        q3    *= inv;
+        q0Dot *= inv;
+        q1Dot *= inv;
+        q2Dot *= inv;
+        q3Dot *= inv;
+
+        final AngularCoordinates angular =
+                        new AngularCoordinates(new Rotation(q0, q1, q2, q3, false),
+                                               new Vector3D(2 * (-q1 * q0Dot + q0 * q1Dot + q3 * q2Dot - q2 * q3Dot),
+                                                            2 * (-q2 * q0Dot - q3 * q1Dot + q0 * q2Dot + q1 * q3Dot),
+                                                            2 * (-q3 * q0Dot + q2 * q1Dot - q1 * q2Dot + q0 * q3Dot)),
+                                               linear(k0, k1, ROTATION_ACCELERATION, s));
+
+        final PVCoordinates cartesian =
+                        new PVCoordinates(new Vector3D(hermite(k0, k1, TRANSLATION,     VELOCITY,     h00, h10, h01, h11),
+                                                       hermite(k0, k1, TRANSLATION + 1, VELOCITY + 1, h00, h10, h01, h11),
+                                                       hermite(k0, k1, TRANSLATION + 2, VELOCITY + 2, h00, h10, h01, h11)),
+                                          new Vector3D(hermite(k0, k1, TRANSLATION,     VELOCITY,     d00, d10, d01, d11),
+                                                       hermite(k0, k1, TRANSLATION + 1, VELOCITY + 1, d00, d10, d01, d11),
+                                                       hermite(k0, k1, TRANSLATION + 2, VELOCITY + 2, d00, d10, d01, d11)),
+                                          linear(k0, k1, ACCELERATION, s));
+
+        return new Transform(date, cartesian, angular);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public StaticTransform getStaticTransform(final AbsoluteDate date) {
+
+        final double dt = date.durationFrom(start);
+        final int    k0 = index(date, dt) * STRIDE;
+        final int    k1 = k0 + STRIDE;
+
+        // cubic Hermite basis functions
+        final double s   = (dt - (k0 / STRIDE) * step) / step;
+        final double s2  = s * s;
+        final double s3  = s2 * s;
+        final double h00 = 2 * s3 - 3 * s2 + 1;
+        final double h10 = (s3 - 2 * s2 + s) * step;
+        final double h01 = 3 * s2 - 2 * s3;
+        final double h11 = (s3 - s2) * step;
+
+        final Rotation rotation = new Rotation(hermite(k0, k1, Q,     Q_DOT,     h00, h10, h01, h11),
+                                               hermite(k0, k1, Q + 1, Q_DOT + 1, h00, h10, h01, h11),
+                                               hermite(k0, k1, Q + 2, Q_DOT + 2, h00, h10, h01, h11),
+                                               hermite(k0, k1, Q + 3, Q_DOT + 3, h00, h10, h01, h11),
+                                               true);
+        final Vector3D translation = new Vector3D(hermite(k0, k1, TRANSLATION,     VELOCITY,     h00, h10, h01, h11),
+                                                  hermite(k0, k1, TRANSLATION + 1, VELOCITY + 1, h00, h10, h01, h11),
+                                                  hermite(k0, k1, TRANSLATION + 2, VELOCITY + 2, h00, h10, h01, h11));
+
+        return StaticTransform.of(date, translation, rotation);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends CalculusFieldElement<T>> FieldTransform<T> getTransform(final FieldAbsoluteDate<T> date) {
+
+        final T   dt = date.durationFrom(start);
+        final int k0 = index(date.toAbsoluteDate(), dt.getReal()) * STRIDE;
+        final int k1 = k0 + STRIDE;
+
+        // cubic Hermite basis functions and their derivatives
+        final T s   = dt.subtract((k0 / STRIDE) * step).divide(step);
+        final T s2  = s.multiply(s);
+        final T s3  = s2.multiply(s);
+        final T h00 = s3.multiply(2).subtract(s2.multiply(3)).add(1);
+        final T h10 = s3.subtract(s2.multiply(2)).add(s).multiply(step);
+        final T h01 = s2.multiply(3).subtract(s3.multiply(2));
+        final T h11 = s3.subtract(s2).multiply(step);
+        final T d00 = s2.subtract(s).multiply(6.0 / step);
+        final T d10 = s2.multiply(3).subtract(s.multiply(4)).add(1);
+        final T d01 = d00.negate();
+        final T d11 = s2.multiply(3).subtract(s.multiply(2));
+
+        // interpolated quaternion and its derivative
+        T q0    = hermite(k0, k1, Q,     Q_DOT,     h00, h10, h01, h11);
+        T q1    = hermite(k0, k1, Q + 1, Q_DOT + 1, h00, h10, h01, h11);
+        T q2    = hermite(k0, k1, Q + 2, Q_DOT + 2, h00, h10, h01, h11);
+        T q3    = hermite(k0, k1, Q + 3, Q_DOT + 3, h00, h10, h01, h11);
+        T q0Dot = hermite(k0, k1, Q,     Q_DOT,     d00, d10, d01, d11);
+        T q1Dot = hermite(k0, k1, Q + 1, Q_DOT + 1, d00, d10, d01, d11);
+        T q2Dot = hermite(k0, k1, Q + 2, Q_DOT + 2, d00, d10, d01, d11);
+        T q3Dot = hermite(k0, k1, Q + 3, Q_DOT + 3, d00, d10, d01, d11);
+        final T inv = q0.multiply(q0).add(q1.multiply(q1)).add(q2.multiply(q2)).add(q3.multiply(q3)).sqrt().reciprocal();
+        q0    = q0.multiply(inv);
+        q1    = q1.multiply(inv);
+        q2    = q2.multiply(inv);
+        q3    = q3.multiply(inv);
+        q0Dot = q0Dot.multiply(inv);
+        q1Dot = q1Dot.multiply(inv);
+        q2Dot = q2Dot.multiply(inv);
+        q3Dot = q3Dot.multiply(inv);
+
+        final FieldVector3D<T> rate =
+                        new FieldVector3D<>(q0.multiply(q1Dot).subtract(q1.multiply(q0Dot)).add(q3.multiply(q2Dot)).subtract(q2.multiply(q3Dot)).multiply(2),
+                                            q0.multiply(q2Dot).subtract(q2.multiply(q0Dot)).add(q1.multiply(q3Dot)).subtract(q3.multiply(q1Dot)).multiply(2),
+                                            q0.multiply(q3Dot).subtract(q3.multiply(q0Dot)).add(q2.multiply(q1Dot)).subtract(q1.multiply(q2Dot)).multiply(2));
+        final FieldAngularCoordinates<T> angular =
+                        new FieldAngularCoordinates<>(new FieldRotation<>(q0, q1, q2, q3, false), rate,
+                                                      linear(k0, k1, ROTATION_ACCELERATION, s));
+
+        final FieldPVCoordinates<T> cartesian =
+                        new FieldPVCoordinates<>(new FieldVector3D<>(hermite(k0, k1, TRANSLATION,     VELOCITY,     h00, h10, h01, h11),
+                                                                     hermite(k0, k1, TRANSLATION + 1, VELOCITY + 1, h00, h10, h01, h11),
+                                                                     hermite(k0, k1, TRANSLATION + 2, VELOCITY + 2, h00, h10, h01, h11)),
+                                                 new FieldVector3D<>(hermite(k0, k1, TRANSLATION,     VELOCITY,     d00, d10, d01, d11),
+                                                                     hermite(k0, k1, TRANSLATION + 1, VELOCITY + 1, d00, d10, d01, d11),
+                                                                     hermite(k0, k1, TRANSLATION + 2, VELOCITY + 2, d00, d10, d01, d11)),
+                                                 linear(k0, k1, ACCELERATION, s));
+
+        return new FieldTransform<>(date, new FieldTransform<>(date, cartesian), new FieldTransform<>(date, angular));
+
+    }
+
+    /** Get the index of the grid interval containing a date.
+     * @param date date
+     * @param dt offset of date with respect to start
+     * @return index of the grid point at start of the interval containing date
+     */
+    private int index(final AbsoluteDate date, final double dt) {
+        if (dt < 0) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE,
+                                      date, start, end, -dt);
+        }
+        if (dt > span) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER,
+                                      date, start, end, dt - span);
+        }
+        return FastMath.min((int) FastMath.floor(dt / step), points - 2);
+    }
+
+    /** Store a vector in grid point data.
+     * @param v vector to store
+     * @param k index of first component
+     */
+    private void store(final Vector3D v, final int k) {
+        data[k]     = v.getX();
+        data[k + 1] = v.getY();
+        data[k + 2] = v.getZ();
+    }
+
+    /** Compute a cubic Hermite combination.
+     * @param k0 index of first grid point data
+     * @param k1 index of second grid point data
+     * @param value offset of value within grid point data
+     * @param derivative offset of derivative within grid point data
+     * @param w0 weight of first value
+     * @param wd0 weight of first derivative
+     * @param w1 weight of second value
+     * @param wd1 weight of second derivative
+     * @return combined value
+     */
+    private double hermite(final int k0, final int k1, final int value, final int derivative,
+                           final double w0, final double wd0, final double w1, final double wd1) {
+        return w0 * data[k0 + value] + wd0 * data[k0 + derivative] +
+               w1 * data[k1 + value] + wd1 * data[k1 + derivative];
+    }
+
+    /** Compute a cubic Hermite combination.
+     * @param <T> type of the field elements
+     * @param k0 index of first grid point data
+     * @param k1 index of second grid point data
+     * @param value offset of value within grid point data
+     * @param derivative offset of derivative within grid point data
+     * @param w0 weight of first value
+     * @param wd0 weight of first derivative
+     * @param w1 weight of second value
+     * @param wd1 weight of second derivative
+     * @return combined value
+     */
+    private <T extends CalculusFieldElement<T>> T hermite(final int k0, final int k1, final int value, final int derivative,
+                                                          final T w0, final T wd0, final T w1, final T wd1) {
+        return w0.multiply(data[k0 + value]).add(wd0.multiply(data[k0 + derivative])).
+               add(w1.multiply(data[k1 + value])).add(wd1.multiply(data[k1 + derivative]));
+    }
+
+    /** Compute a linear interpolation of a vector.
+     * @param k0 index of first grid point data
+     * @param k1 index of second grid point data
+     * @param offset offset of vector within grid point data
+     * @param s normalized position within interval
+     * @return interpolated vector
+     */
+    private Vector3D linear(final int k0, final int k1, final int offset, final double s) {
+        final double c = 1 - s;
+        return new Vector3D(c * data[k0 + offset]     + s * data[k1 + offset],
+                            c * data[k0 + offset + 1] + s * data[k1 + offset + 1],
+                            c * data[k0 + offset + 2] + s * data[k1 + offset + 2]);
+    }
+
+    /** Compute a linear interpolation of a vector.
+     * @param <T> type of the field elements
+     * @param k0 index of first grid point data
+     * @param k1 index of second grid point data
+     * @param offset offset of vector within grid point data
+     * @param s normalized position within interval
+     * @return interpolated vector
+     */
+    private <T extends CalculusFieldElement<T>> FieldVector3D<T> linear(final int k0, final int k1, final int offset,
+                                                                        final T s) {
+        final T c = s.negate().add(1);
+        return new FieldVector3D<>(c.multiply(data[k0 + offset]).add(s.multiply(data[k1 + offset])),
+                                   c.multiply(data[k0 + offset + 1]).add(s.multiply(data[k1 + offset + 1])),
+                                   c.multiply(data[k0 + offset + 2]).add(s.multiply(data[k1 + offset + 2])));
+    }
+
+}
@@ -0,0 +1,273 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Opt-in memoization of transforms between frames.
+ * <p>
+ * When enabled, {@link Frame#getTransformTo(Frame, org.orekit.time.AbsoluteDate)},
+ * {@link Frame#getStaticTransformTo(Frame, org.orekit.time.AbsoluteDate)} and their
+ * field counterparts look up a small per-thread least recently used cache keyed by
+ * source frame, destination frame and date before walking the frames tree. This
+ * avoids recomputing the same transform when several force models, attitude providers
+ * or event detectors request it at the same date within one derivatives evaluation.
+ * </p>
+ * <p>
+ * Regular dates are compared using {@link org.orekit.time.AbsoluteDate#equals(Object)}.
+ * Field dates are compared by identity, as two field dates with the same value may
+ * carry different derivatives; this is sufficient to share transforms between all
+ * models that use the date of the same {@link org.orekit.propagation.FieldSpacecraftState}.
+ * </p>
+ * <p>
+ * Memoization is disabled by default. It must not be enabled when frames are
+ * modified during computation, for example {@link UpdatableFrame} instances updated
+ * between calls at the same date, unless {@link #clearThreadCache()} is called
+ * after each update.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class TransformMemoizer {
+
+    /** Default number of transforms memoized per thread. */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /** Indicator for enabled memoization. */
+    private static volatile boolean enabled;
+
+    /** Number of transforms memoized per thread. */
+    private static volatile int capacity = DEFAULT_CAPACITY;
+
+    /** Number of hits. */
+    private static final LongAdder HITS = new LongAdder();
+
+    /** Number of misses. */
+    private static final LongAdder MISSES = new LongAdder();
+
+    /** Per-thread caches. */
+    private static final ThreadLocal<LRUCache> CACHES = ThreadLocal.withInitial(LRUCache::new);
+
+    /** Private constructor.
+     * <p>This class is a utility class, it should neither have a public
+     * nor a default constructor. This private constructor prevents
+     * the compiler from generating one automatically.</p>
+     */
+    private TransformMemoizer() {
+    }
+
+    /** Enable or disable memoization.
+     * <p>
+     * Disabling memoization also clears the cache of the calling thread.
+     * </p>
+     * @param enable if true, transforms will be memoized
+     */
+    public static void setEnabled(final boolean enable) {
+        enabled = enable;
+        if (!enable) {
+            clearThreadCache();
+        }
+    }
+
+    /** Check if memoization is enabled.
+     * @return true if memoization is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Set the number of transforms memoized per thread.
+     * @param transforms number of transforms memoized per thread
+     */
+    public static void setCapacity(final int transforms) {
+        if (transforms < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, transforms, 1);
+        }
+        capacity = transforms;
+    }
+
+    /** Get the number of transforms memoized per thread.
+     * @return number of transforms memoized per thread
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /** Get the number of requests served from memoized transforms, for all threads.
+     * @return number of requests served from memoized transforms
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /** Get the number of requests that needed a transform computation, for all threads.
+     * @return number of requests that needed a transform computation
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /** Reset the hits and misses counters.
+     */
+    public static void resetCounters() {
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    /** Clear the memoized transforms of the calling thread.
+     */
+    public static void clearThreadCache() {
+        CACHES.get().clear();
+    }
+
+    /** Get a transform, either from the calling thread cache or by computing it.
+     * @param <T> type of the transform
+     * @param source source frame
+     * @param destination destination frame
+     * @param kind kind of transform
+     * @param date date of the transform (must not be null)
+     * @param fieldDate if true, date is compared by identity instead of equality
+     * @param computer transform computer to call if the transform is not memoized
+     * @return transform from source to destination
+     */
+    static <T> T get(final Frame source, final Frame destination, final Kind kind,
+                     final Object date, final boolean fieldDate, final Supplier<T> computer) {
+
+        final LRUCache cache = CACHES.get();
+        final Key      key   = new Key(source, destination, kind, date, fieldDate);
+
+        @SuppressWarnings("unchecked")
+        T transform = (T) cache.get(key);
+        if (transform == null) {
+            MISSES.increment();
+            transform = computer.get();
+            cache.put(key, transform);
+        } else {
+            HITS.increment();
+        }
+
+        return transform;
+
+    }
+
+    /** Kinds of memoized transforms. */
+    enum Kind {
+
+        /** {@link Transform}. */
+        TRANSFORM,
+
+        /** {@link StaticTransform}. */
+        STATIC_TRANSFORM,
+
+        /** {@link FieldTransform}. */
+        FIELD_TRANSFORM,
+
+        /** {@link FieldStaticTransform}. */
+        FIELD_STATIC_TRANSFORM;
+
+    }
+
+    /** Least recently used cache. */
+    private static class LRUCache extends LinkedHashMap<Key, Object> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20231115L;
+
+        /** Simple constructor.
+         */
+        LRUCache() {
+            super(2 * DEFAULT_CAPACITY, 0.75f, true);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+            return size() > capacity;
+        }
+
+    }
+
+    /** Key for memoized transforms. */
+    private static class Key {
+
+        /** Source frame. */
+        private final Frame source;
+
+        /** Destination frame. */
+        private final Frame destination;
+
+        /** Kind of transform. */
+        private final Kind kind;
+
+        /** Date. */
+        private final Object date;
+
+        /** Indicator for dates compared by identity. */
+        private final boolean identity;
+
+        /** Pre-computed hash code. */
+        private final int hash;
+
+        /** Simple constructor.
+         * @param source source frame
+         * @param destination destination frame
+         * @param kind kind of transform
+         * @param date date
+         * @param identity if true, dates are compared by identity
+         */
+        Key(final Frame source, final Frame destination, final Kind kind,
+            final Object date, final boolean identity) {
+            this.source      = source;
+            this.destination = destination;
+            this.kind        = kind;
+            this.date        = date;
+            this.identity    = identity;
+            final int dateHash = identity ? System.identityHashCode(date) : date.hashCode();
+            this.hash        = ((System.identityHashCode(source) * 31 +
+                                 System.identityHashCode(destination)) * 31 +
+                                kind.ordinal()) * 31 + dateHash;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return source == key.source && destination == key.destination && kind == key.kind &&
+                       (identity ? date == key.date : date.equals(key.date));
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+}
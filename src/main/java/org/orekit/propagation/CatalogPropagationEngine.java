@@ -0,0 +1,208 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.propagation.conversion.PropagatorBuilder;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.RangeAction;
+
+/** Engine for propagating large catalogs of independent objects in parallel.
+ * <p>
+ * Each object of the catalog is represented by a supplier that builds its propagator.
+ * Propagators are built and run in the worker threads of a {@link ForkJoinPool}, so
+ * idle workers steal pending objects from busy ones and the load remains balanced even
+ * when objects have very different computation costs (for example TLE and numerical
+ * propagators mixed in the same catalog). The number of threads depends only on the
+ * pool, not on the catalog size.
+ * </p>
+ * <p>
+ * Results are not stored: positions-velocities at each date of the output grid are
+ * streamed to a {@link CatalogPropagationHandler handler} as soon as they are computed.
+ * Failure of one object (for example a decayed TLE) is reported to the handler and
+ * does not prevent the other objects from being propagated.
+ * </p>
+ * <p>
+ * The suppliers must build independent propagators, as they will be used concurrently.
+ * For numerical propagators, output dates should be in chronological order, so each
+ * propagation continues from the previous output date.
+ * </p>
+ * @see PropagatorsParallelizer
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class CatalogPropagationEngine {
+
+    /** Pool running the propagations. */
+    private final ForkJoinPool pool;
+
+    /** Frame in which positions-velocities are provided. */
+    private final Frame outputFrame;
+
+    /** Maximum number of objects processed by one task without splitting. */
+    private final int granularity;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses the {@link ForkJoinPool#commonPool() common pool}
+     * and does not group objects in tasks.
+     * </p>
+     * @param outputFrame frame in which positions-velocities are provided
+     */
+    public CatalogPropagationEngine(final Frame outputFrame) {
+        this(ForkJoinPool.commonPool(), outputFrame, 1);
+    }
+
+    /** Simple constructor.
+     * @param pool pool running the propagations
+     * @param outputFrame frame in which positions-velocities are provided
+     * @param granularity maximum number of objects processed by one task without
+     * splitting (larger values reduce scheduling overhead for very cheap propagators)
+     */
+    public CatalogPropagationEngine(final ForkJoinPool pool, final Frame outputFrame,
+                                    final int granularity) {
+        if (granularity < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     granularity, 1);
+        }
+        this.pool        = pool;
+        this.outputFrame = outputFrame;
+        this.granularity = granularity;
+    }
+
+    /** Create catalog objects from Two-Line Elements.
+     * @param tles Two-Line Elements
+     * @param teme TEME frame
+     * @return catalog objects, building one SGP4/SDP4 propagator per TLE
+     */
+    public static List<Supplier<? extends Propagator>> fromTLEs(final List<TLE> tles, final Frame teme) {
+        final List<Supplier<? extends Propagator>> objects = new ArrayList<>(tles.size());
+        for (final TLE tle : tles) {
+            objects.add(() -> TLEPropagator.selectExtrapolator(tle, teme));
+        }
+        return objects;
+    }
+
+    /** Create catalog objects from propagator builders.
+     * <p>
+     * Each propagator is built using the selected normalized parameters of its builder.
+     * As building propagators may change the builder state, builders must not be shared
+     * between catalog objects.
+     * </p>
+     * @param builders propagators builders
+     * @return catalog objects, building one propagator per builder
+     */
+    public static List<Supplier<? extends Propagator>> fromBuilders(final List<? extends PropagatorBuilder> builders) {
+        final List<Supplier<? extends Propagator>> objects = new ArrayList<>(builders.size());
+        for (final PropagatorBuilder builder : builders) {
+            objects.add(() -> builder.buildPropagator(builder.getSelectedNormalizedParameters()));
+        }
+        return objects;
+    }
+
+    /** Get the frame in which positions-velocities are provided.
+     * @return frame in which positions-velocities are provided
+     */
+    public Frame getOutputFrame() {
+        return outputFrame;
+    }
+
+    /** Propagate all objects of a catalog.
+     * <p>
+     * This method blocks until all objects have been processed.
+     * </p>
+     * @param objects catalog objects, as suppliers for their propagators
+     * @param dates output dates grid
+     * @param handler handler for streamed results
+     * @return number of objects whose propagation failed
+     */
+    public int propagate(final List<Supplier<? extends Propagator>> objects,
+                         final List<AbsoluteDate> dates,
+                         final CatalogPropagationHandler handler) {
+        final Context context = new Context(objects, dates, handler, outputFrame);
+        pool.invoke(new RangeAction(0, objects.size(), granularity, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                context.propagateObject(i);
+            }
+        }));
+        return context.failures.get();
+    }
+
+    /** Context shared by all tasks of one propagation. */
+    private static class Context {
+
+        /** Catalog objects. */
+        private final List<Supplier<? extends Propagator>> objects;
+
+        /** Output dates grid. */
+        private final List<AbsoluteDate> dates;
+
+        /** Handler for streamed results. */
+        private final CatalogPropagationHandler handler;
+
+        /** Frame in which positions-velocities are provided. */
+        private final Frame outputFrame;
+
+        /** Failures counter. */
+        private final AtomicInteger failures;
+
+        /** Simple constructor.
+         * @param objects catalog objects
+         * @param dates output dates grid
+         * @param handler handler for streamed results
+         * @param outputFrame frame in which positions-velocities are provided
+         */
+        Context(final List<Supplier<? extends Propagator>> objects, final List<AbsoluteDate> dates,
+                final CatalogPropagationHandler handler, final Frame outputFrame) {
+            this.objects     = objects;
+            this.dates       = dates;
+            this.handler     = handler;
+            this.outputFrame = outputFrame;
+            this.failures    = new AtomicInteger();
+        }
+
+        /** Propagate one object, isolating its failures.
+         * @param index index of the object in the catalog
+         */
+        private void propagateObject(final int index) {
+            boolean success = false;
+            try {
+                final Propagator propagator = objects.get(index).get();
+                for (final AbsoluteDate date : dates) {
+                    handler.handleState(index, propagator.getPVCoordinates(date, outputFrame));
+                }
+                success = true;
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                handler.handleFailure(index, e);
+            }
+            handler.objectCompleted(index, success);
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Handler for results streamed by {@link CatalogPropagationEngine}.
+ * <p>
+ * Methods of this interface are called concurrently from the worker threads
+ * of the engine, so implementations must be thread-safe. For each object,
+ * the states are provided in the order of the output dates grid, followed by
+ * a single call to {@link #objectCompleted(int, boolean)}.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public interface CatalogPropagationHandler {
+
+    /** Handle one state.
+     * @param index index of the object in the catalog
+     * @param pv position-velocity of the object, in the output frame of the engine
+     */
+    void handleState(int index, TimeStampedPVCoordinates pv);
+
+    /** Handle a propagation failure.
+     * <p>
+     * Failures are isolated: they stop propagation of the failing object only.
+     * States already handled for this object remain valid. The default
+     * implementation does nothing.
+     * </p>
+     * @param index index of the object in the catalog
+     * @param failure exception that stopped propagation of the object
+     */
+    default void handleFailure(final int index, final RuntimeException failure) {
+        // nothing by default
+    }
+
+    /** Notify that processing of one object is completed.
+     * <p>
+     * This method is intended for progress monitoring. The default implementation
+     * does nothing.
+     * </p>
+     * @param index index of the object in the catalog
+     * @param success if true, all states have been handled for this object
+     */
+    default void objectCompleted(final int index, final boolean success) {
+        // nothing by default
+    }
+
+}
@@ -24,11 +24,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.propagation.sampling.MultiSatFixedStepHandler;
 import org.orekit.propagation.sampling.MultiSatStepHandler;
 import org.orekit.propagation.sampling.MultisatStepNormalizer;
@@ -50,12 +52,26 @@ import org.orekit.time.AbsoluteDate;
  * variables, so separate instances for each propagator must be set up.
  * </p>
  * <p>
- * This class <em>will</em> create new threads for running the propagators.
+ * This class <em>will</em> create new threads for running the propagators,
+ * unless an {@link ExecutorService executor service} is provided at construction.
  * It adds a new {@link MultiSatStepHandler global step handler} to manage
  * the steps all at once, in addition to the existing individual step
  * handlers that are preserved.
  * </p>
  * <p>
+ * As each propagator remains blocked in its own task between steps, the executor
+ * service must be able to run all propagators concurrently. By default, a fixed
+ * thread pool with one platform thread per propagator is created for each call to
+ * {@link #propagate(AbsoluteDate, AbsoluteDate) propagate} and shut down afterwards.
+ * When thousands of propagators are managed, for example for synchronized conjunction
+ * screening, callers running on Java 21 or later should rather provide an executor
+ * service running each task in a virtual thread (i.e. {@code
+ * Executors.newVirtualThreadPerTaskExecutor()}). Blocked propagators then only consume
+ * a small amount of memory, and the number of operating system threads is bounded by
+ * the number of carrier threads, which depends on the number of cores and not on the
+ * number of propagators. Provided executor services are not shut down by the parallelizer.
+ * </p>
+ * <p>
  * All propagators remain independent of each other (they don't even know
  * they are managed by the parallelizer) and advance their simulation
  * time following their own algorithm. The parallelizer will block them
@@ -112,6 +128,9 @@ public class PropagatorsParallelizer {
     /** Global step handler. */
     private final MultiSatStepHandler globalHandler;
 
+    /** Executor service provided by caller (null if a thread pool must be created at each propagation). */
+    private final ExecutorService executorService;
+
     /** Simple constructor.
      * @param propagators list of propagators to use
      * @param globalHandler global handler for managing all spacecrafts
@@ -119,8 +138,25 @@ public class PropagatorsParallelizer {
      */
     public PropagatorsParallelizer(final List<Propagator> propagators,
                                    final MultiSatStepHandler globalHandler) {
-        this.propagators = propagators;
-        this.globalHandler = globalHandler;
+        this(propagators, globalHandler, null);
+    }
+
+    /** Simple constructor.
+     * @param propagators list of propagators to use
+     * @param globalHandler global handler for managing all spacecrafts
+     * simultaneously
+     * @param executorService executor service for running the propagators, it must be
+     * able to run all propagators concurrently and will not be shut down by the parallelizer
+     * (if null, a fixed thread pool with one thread per propagator will be created
+     * and shut down at each propagation)
+     * @since 12.1
+     */
+    public PropagatorsParallelizer(final List<Propagator> propagators,
+                                   final MultiSatStepHandler globalHandler,
+                                   final ExecutorService executorService) {
+        this.propagators     = propagators;
+        this.globalHandler   = globalHandler;
+        this.executorService = executorService;
     }
 
     /** Simple constructor.
@@ -133,8 +169,25 @@ public class PropagatorsParallelizer {
     public PropagatorsParallelizer(final List<Propagator> propagators,
                                    final double h,
                                    final MultiSatFixedStepHandler globalHandler) {
-        this.propagators   = propagators;
-        this.globalHandler = new MultisatStepNormalizer(h, globalHandler);
+        this(propagators, h, globalHandler, null);
+    }
+
+    /** Simple constructor.
+     * @param propagators list of propagators to use
+     * @param h fixed time step (sign is not used)
+     * @param globalHandler global handler for managing all spacecrafts
+     * simultaneously
+     * @param executorService executor service for running the propagators, it must be
+     * able to run all propagators concurrently and will not be shut down by the parallelizer
+     * (if null, a fixed thread pool with one thread per propagator will be created
+     * and shut down at each propagation)
+     * @since 12.1
+     */
+    public PropagatorsParallelizer(final List<Propagator> propagators,
+                                   final double h,
+                                   final MultiSatFixedStepHandler globalHandler,
+                                   final ExecutorService executorService) {
+        this(propagators, new MultisatStepNormalizer(h, globalHandler), executorService);
     }
 
     /** Get an unmodifiable list of the underlying mono-satellite propagators.
@@ -159,91 +212,111 @@ public class PropagatorsParallelizer {
 
         final double sign = FastMath.copySign(1.0, target.durationFrom(start));
 
-        // start all propagators in concurrent threads
-        final ExecutorService            executorService = Executors.newFixedThreadPool(propagators.size());
-        final List<PropagatorMonitoring> monitors        = new ArrayList<>(propagators.size());
-        for (final Propagator propagator : propagators) {
-            final PropagatorMonitoring monitor = new PropagatorMonitoring(propagator, start, target, executorService);
-            monitor.waitFirstStepCompletion();
-            monitors.add(monitor);
-        }
-
-        // main loop
-        AbsoluteDate previousDate = start;
-        final List<SpacecraftState> initialStates = new ArrayList<>(monitors.size());
-        for (final PropagatorMonitoring monitor : monitors) {
-            initialStates.add(monitor.parameters.initialState);
-        }
-        globalHandler.init(initialStates, target);
-        for (boolean isLast = false; !isLast;) {
-
-            // select the earliest ending propagator, according to propagation direction
-            PropagatorMonitoring selected = null;
-            AbsoluteDate selectedStepEnd  = null;
-            for (PropagatorMonitoring monitor : monitors) {
-                final AbsoluteDate stepEnd = monitor.parameters.interpolator.getCurrentState().getDate();
-                if (selected == null || sign * selectedStepEnd.durationFrom(stepEnd) > 0) {
-                    selected        = monitor;
-                    selectedStepEnd = stepEnd;
-                }
+        // start all propagators in concurrent tasks
+        final ExecutorService service;
+        if (executorService == null) {
+            service = Executors.newFixedThreadPool(propagators.size());
+        } else {
+            if (executorService instanceof ThreadPoolExecutor &&
+                ((ThreadPoolExecutor) executorService).getMaximumPoolSize() < propagators.size()) {
+                // propagators would wait forever for threads held by other blocked propagators
+                throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                         ((ThreadPoolExecutor) executorService).getMaximumPoolSize(),
+                                                         propagators.size());
             }
-
-            // restrict steps to a common time range
-            for (PropagatorMonitoring monitor : monitors) {
-                final OrekitStepInterpolator interpolator  = monitor.parameters.interpolator;
-                final SpacecraftState        previousState = interpolator.getInterpolatedState(previousDate);
-                final SpacecraftState        currentState  = interpolator.getInterpolatedState(selectedStepEnd);
-                monitor.restricted                         = interpolator.restrictStep(previousState, currentState);
+            service = executorService;
+        }
+        final List<PropagatorMonitoring> monitors = new ArrayList<>(propagators.size());
+        final List<SpacecraftState> finalStates;
+        try {
+
+            for (final Propagator propagator : propagators) {
+                final PropagatorMonitoring monitor = new PropagatorMonitoring(propagator, start, target, service);
+                monitors.add(monitor);
+                monitor.waitFirstStepCompletion();
             }
 
-            // handle all states at once
-            final List<OrekitStepInterpolator> interpolators = new ArrayList<>(monitors.size());
+            // main loop
+            AbsoluteDate previousDate = start;
+            final List<SpacecraftState> initialStates = new ArrayList<>(monitors.size());
             for (final PropagatorMonitoring monitor : monitors) {
-                interpolators.add(monitor.restricted);
+                initialStates.add(monitor.parameters.initialState);
             }
-            globalHandler.handleStep(interpolators);
+            globalHandler.init(initialStates, target);
+            for (boolean isLast = false; !isLast;) {
 
-            if (selected.parameters.finalState == null) {
-                // step handler can still provide new results
-                // this will wait until either handleStep or finish are called
-                selected.retrieveNextParameters();
-            } else {
-                // this was the last step
-                isLast = true;
-                /* For NumericalPropagators :
-                 * After reaching the finalState with the selected monitor,
-                 * we need to do the step with all remaining monitors to reach the target time.
-                 * This also triggers the StoringStepHandler, producing ephemeris.
-                 */
+                // select the earliest ending propagator, according to propagation direction
+                PropagatorMonitoring selected = null;
+                AbsoluteDate selectedStepEnd  = null;
                 for (PropagatorMonitoring monitor : monitors) {
-                    if (monitor != selected) {
-                        monitor.retrieveNextParameters();
+                    final AbsoluteDate stepEnd = monitor.parameters.interpolator.getCurrentState().getDate();
+                    if (selected == null || sign * selectedStepEnd.durationFrom(stepEnd) > 0) {
+                        selected        = monitor;
+                        selectedStepEnd = stepEnd;
                     }
                 }
-            }
 
-            previousDate = selectedStepEnd;
+                // restrict steps to a common time range
+                for (PropagatorMonitoring monitor : monitors) {
+                    final OrekitStepInterpolator interpolator  = monitor.parameters.interpolator;
+                    final SpacecraftState        previousState = interpolator.getInterpolatedState(previousDate);
+                    final SpacecraftState        currentState  = interpolator.getInterpolatedState(selectedStepEnd);
+                    monitor.restricted                         = interpolator.restrictStep(previousState, currentState);
+                }
 
-        }
+                // handle all states at once
+                final List<OrekitStepInterpolator> interpolators = new ArrayList<>(monitors.size());
+                for (final PropagatorMonitoring monitor : monitors) {
+                    interpolators.add(monitor.restricted);
+                }
+                globalHandler.handleStep(interpolators);
+
+                if (selected.parameters.finalState == null) {
+                    // step handler can still provide new results
+                    // this will wait until either handleStep or finish are called
+                    selected.retrieveNextParameters();
+                } else {
+                    // this was the last step
+                    isLast = true;
+                    /* For NumericalPropagators :
+                     * After reaching the finalState with the selected monitor,
+                     * we need to do the step with all remaining monitors to reach the target time.
+                     * This also triggers the StoringStepHandler, producing ephemeris.
+                     */
+                    for (PropagatorMonitoring monitor : monitors) {
+                        if (monitor != selected) {
+                            monitor.retrieveNextParameters();
+                        }
+                    }
+                }
 
-        // stop all remaining propagators
-        executorService.shutdownNow();
+                previousDate = selectedStepEnd;
 
-        // extract the final states
-        final List<SpacecraftState> finalStates = new ArrayList<>(monitors.size());
-        for (PropagatorMonitoring monitor : monitors) {
-            try {
-                finalStates.add(monitor.future.get());
-            } catch (InterruptedException | ExecutionException e) {
+            }
+
+            // stop all remaining propagators
+            stopAll(monitors, service);
+
+            // extract the final states
+            finalStates = new ArrayList<>(monitors.size());
+            for (PropagatorMonitoring monitor : monitors) {
+                try {
+                    finalStates.add(monitor.future.get());
+                } catch (InterruptedException | ExecutionException e) {
 
-                // sort out if exception was intentional or not
-                monitor.manageException(e);
+                    // sort out if exception was intentional or not
+                    monitor.manageException(e);
 
-                // this propagator was intentionally stopped,
-                // we retrieve the final state from the last available interpolator
-                finalStates.add(monitor.parameters.interpolator.getInterpolatedState(previousDate));
+                    // this propagator was intentionally stopped,
+                    // we retrieve the final state from the last available interpolator
+                    finalStates.add(monitor.parameters.interpolator.getInterpolatedState(previousDate));
 
+                }
             }
+
+        } finally {
+            // make sure no task remains blocked, even if propagation failed
+            stopAll(monitors, service);
         }
 
         globalHandler.finish(finalStates);
@@ -252,6 +325,20 @@ public class PropagatorsParallelizer {
 
     }
 
+    /** Stop all propagators that are still running.
+     * @param monitors monitors for the propagators
+     * @param service executor service running the propagators
+     */
+    private void stopAll(final List<PropagatorMonitoring> monitors, final ExecutorService service) {
+        for (final PropagatorMonitoring monitor : monitors) {
+            monitor.stop();
+        }
+        if (service != executorService) {
+            // the thread pool was created specifically for this propagation
+            service.shutdownNow();
+        }
+    }
+
     /** Local exception to stop propagators. */
     private static class PropagatorStoppingException extends OrekitException {
 
@@ -265,6 +352,12 @@ public class PropagatorsParallelizer {
             super(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
         }
 
+        /** Simple constructor for propagators stopped on request.
+         */
+        PropagatorStoppingException() {
+            super(LocalizedCoreFormats.SIMPLE_MESSAGE, "propagation stopped");
+        }
+
     }
 
     /** Local class for handling single propagator steps. */
@@ -310,12 +403,18 @@ public class PropagatorsParallelizer {
         /** Queue for passing step handling parameters. */
         private final SynchronousQueue<ParametersContainer> queue;
 
+        /** Monitor of the propagator. */
+        private final PropagatorMonitoring monitor;
+
         /** Simple constructor.
          * @param queue queue for passing step handling parameters
+         * @param monitor monitor of the propagator
          */
-        MultiplePropagatorsHandler(final SynchronousQueue<ParametersContainer> queue) {
+        MultiplePropagatorsHandler(final SynchronousQueue<ParametersContainer> queue,
+                                   final PropagatorMonitoring monitor) {
             this.previous = new ParametersContainer(null, null, null);
             this.queue    = queue;
+            this.monitor  = monitor;
         }
 
         /** Hand off container to parallelizer.
@@ -323,8 +422,15 @@ public class PropagatorsParallelizer {
          */
         private void handOff(final ParametersContainer container) {
             try {
+                if (monitor.stopped) {
+                    throw new PropagatorStoppingException();
+                }
                 previous = container;
                 queue.put(previous);
+                if (monitor.stopped) {
+                    // the container was just drained by the parallelizer
+                    throw new PropagatorStoppingException();
+                }
             } catch (InterruptedException ie) {
                 // use a dedicated exception to stop thread almost gracefully
                 throw new PropagatorStoppingException(ie);
@@ -393,6 +499,12 @@ public class PropagatorsParallelizer {
         /** Interpolator restricted to time range shared with other propagators. */
         private OrekitStepInterpolator restricted;
 
+        /** Indicator for started propagation task. */
+        private volatile boolean started;
+
+        /** Indicator for stop request. */
+        private volatile boolean stopped;
+
         /** Simple constructor.
          * @param propagator managed propagator
          * @param start start date from which orbit state should be propagated
@@ -411,13 +523,40 @@ public class PropagatorsParallelizer {
             clearMultiplePropagatorsHandler(propagator);
 
             // Add MultiplePropagatorsHandler step handler
-            propagator.getMultiplexer().add(new MultiplePropagatorsHandler(queue));
+            propagator.getMultiplexer().add(new MultiplePropagatorsHandler(queue, this));
 
             // start the propagator
-            future = executorService.submit(() -> propagator.propagate(start, target));
+            future = executorService.submit(() -> {
+                started = true;
+                return propagator.propagate(start, target);
+            });
 
         }
 
+        /** Stop the propagator if it is still running.
+         * <p>
+         * The propagator is not interrupted, as it may run in a thread from
+         * an executor service that is shared with other tasks. The queue is
+         * rather drained until the propagator step handler notices the stop
+         * request, which occurs at its next step at most.
+         * </p>
+         */
+        public void stop() {
+            stopped = true;
+            if (!started) {
+                // the task has not been started yet, prevent it from running
+                future.cancel(false);
+            }
+            try {
+                while (!future.isDone()) {
+                    queue.poll(MAX_WAIT, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            }
+        }
+
         /** Wait completion of first step.
          */
         public void waitFirstStepCompletion() {
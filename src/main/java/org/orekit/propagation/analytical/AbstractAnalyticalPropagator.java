@@ -40,6 +40,7 @@ import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.EphemerisGenerator;
 import org.orekit.propagation.MatricesHarvester;
 import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EvaluationContext;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.events.EventState;
 import org.orekit.propagation.events.EventState.EventOccurrence;
@@ -79,6 +80,11 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
     /** Event steps. */
     private final Collection<EventState<?>> eventsStates;
 
+    /** Context shared by event detectors.
+     * @since 12.1
+     */
+    private final EvaluationContext evaluationContext;
+
     /** Build a new instance.
      * @param attitudeProvider provider for attitude computation
      */
@@ -89,6 +95,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         lastPropagationEnd   = AbsoluteDate.FUTURE_INFINITY;
         statesInitialized    = false;
         eventsStates         = new ArrayList<>();
+        evaluationContext    = new EvaluationContext();
     }
 
     /** {@inheritDoc} */
@@ -99,7 +106,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
     /** {@inheritDoc} */
     public <T extends EventDetector> void addEventDetector(final T detector) {
-        eventsStates.add(new EventState<>(detector));
+        eventsStates.add(new EventState<>(detector, evaluationContext));
     }
 
     /** {@inheritDoc} */
@@ -192,6 +199,8 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         final SpacecraftState  current    = interpolator.getCurrentState();
         OrekitStepInterpolator restricted = interpolator;
 
+        // quantities memoized for previous steps are not needed anymore
+        evaluationContext.clear();
 
         // initialize the events states if needed
         if (!statesInitialized) {
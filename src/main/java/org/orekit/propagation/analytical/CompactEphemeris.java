@@ -0,0 +1,514 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.Attitude;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.attitudes.FrameAlignedProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.EphemerisFile.EphemerisSegment;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.SpacecraftStateInterpolator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.PackedDateArray;
+import org.orekit.utils.AbsolutePVCoordinates;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.TabulatedHermiteInterpolator;
+import org.orekit.utils.TimeStampedAngularCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Memory-efficient ephemeris for dense tabulated data.
+ * <p>
+ * {@link Ephemeris} and ephemeris files keep one {@link SpacecraftState} or one
+ * {@link TimeStampedPVCoordinates} per sample, each one referencing several other
+ * objects. For dense ephemerides of large constellations, this overhead dominates
+ * memory consumption. This class stores the same data in a few primitive arrays
+ * (dates in a {@link PackedDateArray}, position-velocity-acceleration, mass and
+ * optionally attitude in heap {@link DoubleBuffer} blocks), and interpolates them
+ * without building intermediate lists or sample objects.
+ * </p>
+ * <p>
+ * Position-velocity-acceleration are interpolated using Hermite interpolation with
+ * the derivatives selected by a {@link CartesianDerivativesFilter} (so using only
+ * positions reduces to Lagrange interpolation), as {@link
+ * org.orekit.utils.TimeStampedPVCoordinatesHermiteInterpolator} does. Mass and
+ * attitude components are interpolated using Lagrange interpolation, attitude
+ * quaternions being normalized after interpolation.
+ * </p>
+ * <p>
+ * Orbits are always rebuilt as {@link CartesianOrbit Cartesian orbits}, and
+ * additional states and covariances are not stored.
+ * </p>
+ * @see Ephemeris
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class CompactEphemeris extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** Number of components stored for each attitude sample (quaternion, rate, acceleration). */
+    private static final int ATTITUDE_STRIDE = 10;
+
+    /** Dates of the samples. */
+    private final PackedDateArray dates;
+
+    /** Number of points to use in interpolation. */
+    private final int interpolationPoints;
+
+    /** Filter for derivatives from the sample to use in interpolation. */
+    private final CartesianDerivativesFilter filter;
+
+    /** Number of Cartesian derivatives orders stored (1 for P, 2 for PV, 3 for PVA). */
+    private final int orders;
+
+    /** Position-velocity-acceleration samples, 3 * {@link #orders} components per sample. */
+    private final DoubleBuffer pva;
+
+    /** Mass samples (null if mass is constant). */
+    private final DoubleBuffer masses;
+
+    /** Attitude samples (null if attitude is not stored). */
+    private final DoubleBuffer attitudes;
+
+    /** Reference frame for attitudes (null if attitude is not stored). */
+    private final Frame attitudeFrame;
+
+    /** Frame in which position-velocity-acceleration are stored. */
+    private final Frame frame;
+
+    /** Inertial frame used for creating orbits. */
+    private final Frame inertialFrame;
+
+    /** Central attraction coefficient. */
+    private final double mu;
+
+    /** Indicator for orbit-defined states. */
+    private final boolean orbitDefined;
+
+    /** Build an ephemeris from tabulated states, using all available derivatives.
+     * <p>
+     * Attitudes are stored and interpolated.
+     * </p>
+     * @param states tabulated states, in chronological order
+     * @param interpolationPoints number of points to use in interpolation
+     */
+    public CompactEphemeris(final List<SpacecraftState> states, final int interpolationPoints) {
+        this(states, interpolationPoints, CartesianDerivativesFilter.USE_PVA, null);
+    }
+
+    /** Build an ephemeris from tabulated states.
+     * <p>
+     * If {@code attitudeProvider} is null, attitudes from the tabulated states are stored
+     * and interpolated, otherwise they are ignored and the provider is used.
+     * </p>
+     * @param states tabulated states, in chronological order
+     * @param interpolationPoints number of points to use in interpolation
+     * @param filter filter for derivatives from the sample to use in interpolation
+     * @param attitudeProvider attitude law to use (null to use tabulated attitudes)
+     */
+    public CompactEphemeris(final List<SpacecraftState> states, final int interpolationPoints,
+                            final CartesianDerivativesFilter filter, final AttitudeProvider attitudeProvider) {
+
+        super(attitudeProvider);
+        checkSample(states.size(), interpolationPoints);
+        SpacecraftStateInterpolator.checkStatesDefinitionsConsistency(states);
+
+        final SpacecraftState s0 = states.get(0);
+        this.dates               = new PackedDateArray(states.size());
+        this.interpolationPoints = interpolationPoints;
+        this.filter              = filter;
+        this.orders              = filter.getMaxOrder() + 1;
+        this.pva                 = DoubleBuffer.allocate(3 * orders * states.size());
+        this.masses              = DoubleBuffer.allocate(states.size());
+        this.frame               = s0.getFrame();
+        this.inertialFrame       = frame.isPseudoInertial() ? frame : Frame.getRoot();
+        this.mu                  = s0.isOrbitDefined() ? s0.getMu() : Double.NaN;
+        this.orbitDefined        = s0.isOrbitDefined();
+        if (attitudeProvider == null) {
+            this.attitudes     = DoubleBuffer.allocate(ATTITUDE_STRIDE * states.size());
+            this.attitudeFrame = s0.getAttitude().getReferenceFrame();
+        } else {
+            this.attitudes     = null;
+            this.attitudeFrame = null;
+        }
+
+        for (int i = 0; i < states.size(); ++i) {
+            final SpacecraftState state = states.get(i);
+            add(i, state.getPVCoordinates(frame));
+            masses.put(i, state.getMass());
+            if (attitudes != null) {
+                storeAttitude(i, state.getAttitude().withReferenceFrame(attitudeFrame).getOrientation());
+            }
+        }
+
+        super.resetInitialState(getInitialState());
+
+    }
+
+    /** Build a compact version of an ephemeris.
+     * <p>
+     * The same number of interpolation points and the same attitude provider are used.
+     * </p>
+     * @param ephemeris ephemeris to convert
+     */
+    public CompactEphemeris(final Ephemeris ephemeris) {
+        this(ephemeris.getStates(), ephemeris.getStateInterpolator().getNbInterpolationPoints(),
+             CartesianDerivativesFilter.USE_PVA, ephemeris.getAttitudeProvider());
+    }
+
+    /** Build a compact version of an ephemeris file segment.
+     * <p>
+     * As for {@link EphemerisSegment#getPropagator()}, attitude is aligned with the
+     * segment inertial frame.
+     * </p>
+     * @param segment ephemeris file segment to convert
+     */
+    public CompactEphemeris(final EphemerisSegment<? extends TimeStampedPVCoordinates> segment) {
+        this(segment, new FrameAlignedProvider(segment.getInertialFrame()));
+    }
+
+    /** Build a compact version of an ephemeris file segment.
+     * <p>
+     * As for {@link EphemerisSegment#getPropagator(AttitudeProvider)}, the number of
+     * interpolation points and derivatives used are the ones specified in the segment.
+     * Segments of a complete satellite ephemeris can be combined using
+     * {@link AggregateBoundedPropagator}.
+     * </p>
+     * @param segment ephemeris file segment to convert
+     * @param attitudeProvider attitude law to use
+     */
+    public CompactEphemeris(final EphemerisSegment<? extends TimeStampedPVCoordinates> segment,
+                            final AttitudeProvider attitudeProvider) {
+
+        super(attitudeProvider);
+        final List<? extends TimeStampedPVCoordinates> coordinates = segment.getCoordinates();
+        checkSample(coordinates.size(), segment.getInterpolationSamples());
+
+        this.dates               = new PackedDateArray(coordinates.size());
+        this.interpolationPoints = segment.getInterpolationSamples();
+        this.filter              = segment.getAvailableDerivatives();
+        this.orders              = filter.getMaxOrder() + 1;
+        this.pva                 = DoubleBuffer.allocate(3 * orders * coordinates.size());
+        this.masses              = null;
+        this.attitudes           = null;
+        this.attitudeFrame       = null;
+        this.frame               = segment.getFrame();
+        this.inertialFrame       = segment.getInertialFrame();
+        this.mu                  = segment.getMu();
+        this.orbitDefined        = true;
+
+        for (int i = 0; i < coordinates.size(); ++i) {
+            add(i, coordinates.get(i));
+        }
+
+        super.resetInitialState(getInitialState());
+
+    }
+
+    /** Get the number of samples.
+     * @return number of samples
+     */
+    public int getSize() {
+        return dates.size();
+    }
+
+    /** Get the number of points used in interpolation.
+     * @return number of points used in interpolation
+     */
+    public int getInterpolationPoints() {
+        return interpolationPoints;
+    }
+
+    /** Get the derivatives used in interpolation.
+     * @return derivatives used in interpolation
+     */
+    public CartesianDerivativesFilter getAvailableDerivatives() {
+        return filter;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return dates.get(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return dates.get(dates.size() - 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return orbitDefined ? inertialFrame : frame;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame outputFrame) {
+        final TimeStampedPVCoordinates pv = interpolatePV(date, new Nodes(date));
+        return outputFrame == frame ? pv : frame.getTransformTo(outputFrame, date).transformPVCoordinates(pv);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState basicPropagate(final AbsoluteDate date) {
+
+        final Nodes                    nodes = new Nodes(date);
+        final TimeStampedPVCoordinates pv    = interpolatePV(date, nodes);
+        final double                   m     = interpolateMass(nodes);
+
+        if (orbitDefined) {
+            final Orbit orbit = new CartesianOrbit(frame == inertialFrame ?
+                                                   pv :
+                                                   frame.getTransformTo(inertialFrame, date).transformPVCoordinates(pv),
+                                                   inertialFrame, mu);
+            final Attitude attitude = attitudes == null ?
+                                      getAttitudeProvider().getAttitude(orbit, date, inertialFrame) :
+                                      interpolateAttitude(date, nodes);
+            return new SpacecraftState(orbit, attitude, m);
+        } else {
+            final AbsolutePVCoordinates absPva = new AbsolutePVCoordinates(frame, pv);
+            final Attitude attitude = attitudes == null ?
+                                      getAttitudeProvider().getAttitude(absPva, date, frame) :
+                                      interpolateAttitude(date, nodes);
+            return new SpacecraftState(absPva, attitude, m);
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Orbit propagateOrbit(final AbsoluteDate date) {
+        return basicPropagate(date).getOrbit();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected double getMass(final AbsoluteDate date) {
+        return interpolateMass(new Nodes(date));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState getInitialState() {
+        return basicPropagate(getMinDate());
+    }
+
+    /**
+     * Try (and fail) to reset the initial state.
+     * <p>
+     * This method always throws an exception, as ephemerides cannot be reset.
+     * </p>
+     *
+     * @param state new initial state to consider
+     */
+    @Override
+    public void resetInitialState(final SpacecraftState state) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward) {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** Check sample size.
+     * @param size sample size
+     * @param points number of points to use in interpolation
+     */
+    private static void checkSample(final int size, final int points) {
+        if (size < FastMath.max(1, points)) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_DATA, size);
+        }
+    }
+
+    /** Store a position-velocity-acceleration sample.
+     * @param index index of the sample
+     * @param pv position-velocity-acceleration (in storage frame)
+     */
+    private void add(final int index, final TimeStampedPVCoordinates pv) {
+        if (index > 0 && dates.durationFrom(index - 1, pv.getDate()) >= 0) {
+            final AbsoluteDate previous = dates.get(index - 1);
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES,
+                                                     previous, pv.getDate(), previous.durationFrom(pv.getDate()));
+        }
+        dates.add(pv.getDate());
+        final int base = 3 * orders * index;
+        storeVector(base, pv.getPosition());
+        if (orders > 1) {
+            storeVector(base + 3, pv.getVelocity());
+        }
+        if (orders > 2) {
+            storeVector(base + 6, pv.getAcceleration());
+        }
+    }
+
+    /** Store a vector in the position-velocity-acceleration samples.
+     * @param base index of the first component
+     * @param v vector to store
+     */
+    private void storeVector(final int base, final Vector3D v) {
+        pva.put(base,     v.getX());
+        pva.put(base + 1, v.getY());
+        pva.put(base + 2, v.getZ());
+    }
+
+    /** Store an attitude sample.
+     * @param index index of the sample
+     * @param ac angular coordinates (in attitude reference frame)
+     */
+    private void storeAttitude(final int index, final TimeStampedAngularCoordinates ac) {
+        final int      base     = ATTITUDE_STRIDE * index;
+        final Rotation rotation = ac.getRotation();
+        double         sign     = 1.0;
+        if (index > 0 &&
+            rotation.getQ0() * attitudes.get(base - ATTITUDE_STRIDE)     +
+            rotation.getQ1() * attitudes.get(base - ATTITUDE_STRIDE + 1) +
+            rotation.getQ2() * attitudes.get(base - ATTITUDE_STRIDE + 2) +
+            rotation.getQ3() * attitudes.get(base - ATTITUDE_STRIDE + 3) < 0) {
+            // ensure quaternions continuity, so they can be interpolated component-wise
+            sign = -1.0;
+        }
+        attitudes.put(base,     sign * rotation.getQ0());
+        attitudes.put(base + 1, sign * rotation.getQ1());
+        attitudes.put(base + 2, sign * rotation.getQ2());
+        attitudes.put(base + 3, sign * rotation.getQ3());
+        final Vector3D rate = ac.getRotationRate();
+        attitudes.put(base + 4, rate.getX());
+        attitudes.put(base + 5, rate.getY());
+        attitudes.put(base + 6, rate.getZ());
+        final Vector3D acceleration = ac.getRotationAcceleration();
+        attitudes.put(base + 7, acceleration.getX());
+        attitudes.put(base + 8, acceleration.getY());
+        attitudes.put(base + 9, acceleration.getZ());
+    }
+
+    /** Interpolate position-velocity-acceleration.
+     * @param date interpolation date
+     * @param nodes interpolation nodes
+     * @return interpolated position-velocity-acceleration (in storage frame)
+     */
+    private TimeStampedPVCoordinates interpolatePV(final AbsoluteDate date, final Nodes nodes) {
+        final double[] out = new double[9];
+        nodes.interpolate(pva, 3 * orders, 0, 3, orders, out);
+        return new TimeStampedPVCoordinates(date,
+                                            new Vector3D(out[0], out[1], out[2]),
+                                            new Vector3D(out[3], out[4], out[5]),
+                                            new Vector3D(out[6], out[7], out[8]));
+    }
+
+    /** Interpolate mass.
+     * @param nodes interpolation nodes
+     * @return interpolated mass
+     */
+    private double interpolateMass(final Nodes nodes) {
+        if (masses == null) {
+            return DEFAULT_MASS;
+        }
+        final double[] out = new double[3];
+        nodes.interpolate(masses, 1, 0, 1, 1, out);
+        return out[0];
+    }
+
+    /** Interpolate attitude.
+     * @param date interpolation date
+     * @param nodes interpolation nodes
+     * @return interpolated attitude
+     */
+    private Attitude interpolateAttitude(final AbsoluteDate date, final Nodes nodes) {
+        final double[] q = new double[12];
+        nodes.interpolate(attitudes, ATTITUDE_STRIDE, 0, 4, 1, q);
+        final double[] rate = new double[9];
+        nodes.interpolate(attitudes, ATTITUDE_STRIDE, 4, 3, 1, rate);
+        final double[] acceleration = new double[9];
+        nodes.interpolate(attitudes, ATTITUDE_STRIDE, 7, 3, 1, acceleration);
+        return new Attitude(date, attitudeFrame,
+                            new Rotation(q[0], q[1], q[2], q[3], true),
+                            new Vector3D(rate[0], rate[1], rate[2]),
+                            new Vector3D(acceleration[0], acceleration[1], acceleration[2]));
+    }
+
+    /** Interpolation nodes. */
+    private class Nodes {
+
+        /** Index of the first sample. */
+        private final int start;
+
+        /** Offsets of the samples with respect to interpolation date. */
+        private final double[] offsets;
+
+        /** Select the interpolation nodes around a date.
+         * @param date interpolation date
+         */
+        Nodes(final AbsoluteDate date) {
+
+            final int size = dates.size();
+            if (dates.durationFrom(0, date) > 0) {
+                final AbsoluteDate minDate = getMinDate();
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE,
+                                          date, minDate, getMaxDate(), minDate.durationFrom(date));
+            }
+            if (dates.durationFrom(size - 1, date) < 0) {
+                final AbsoluteDate maxDate = getMaxDate();
+                throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER,
+                                          date, getMinDate(), maxDate, date.durationFrom(maxDate));
+            }
+
+            // center the interpolation points around the date
+            int index = dates.binarySearch(date);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            start = TabulatedHermiteInterpolator.firstNode(index, size, interpolationPoints);
+
+            offsets = new double[interpolationPoints];
+            for (int j = 0; j < interpolationPoints; ++j) {
+                offsets[j] = dates.durationFrom(start + j, date);
+            }
+
+        }
+
+        /** Interpolate tabulated components.
+         * @param data tabulated data
+         * @param stride number of elements per sample in {@code data}
+         * @param first index of the first component within sample block
+         * @param dim number of components
+         * @param k number of derivatives orders available in samples
+         * @param out placeholder for values, first derivatives and second derivatives
+         */
+        void interpolate(final DoubleBuffer data, final int stride, final int first,
+                         final int dim, final int k, final double[] out) {
+            TabulatedHermiteInterpolator.interpolate(offsets, data, start, stride, first, dim, k, out);
+        }
+
+    }
+
+}
@@ -40,6 +40,7 @@ import org.orekit.time.TimeStampedPair;
 import org.orekit.utils.DoubleArrayDictionary;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -454,6 +455,14 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
         return null;
     }
 
+    /** Get the tabulated states.
+     * @return unmodifiable view of the tabulated states
+     * @since 12.1
+     */
+    public List<SpacecraftState> getStates() {
+        return Collections.unmodifiableList(states);
+    }
+
     /** Get state interpolator.
      * @return state interpolator
      */
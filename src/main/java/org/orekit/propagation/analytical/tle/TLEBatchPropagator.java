@@ -0,0 +1,489 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.SinCos;
+import org.orekit.attitudes.FrameAlignedProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.ParameterDriver;
+
+/** Batch propagator for large catalogs of Two-Line Elements.
+ * <p>
+ * This class evaluates many TLE at once, using the same model as {@link SGP4}.
+ * All coefficients computed at initialization are stored in primitive arrays
+ * (one array per coefficient, indexed by object), and positions-velocities are
+ * written into caller-provided buffers, without building any intermediate orbit,
+ * state or coordinates object. This allows evaluating millions of states per second
+ * without putting pressure on the garbage collector.
+ * </p>
+ * <p>
+ * Buffers contain Cartesian coordinates in the TEME frame, in meters and meters
+ * per second, stored as consecutive (x, y, z) triplets. Results are the same as the
+ * ones of {@link TLEPropagator#getPVCoordinates(AbsoluteDate)} up to floating point
+ * rounding.
+ * </p>
+ * <p>
+ * Deep space objects (period longer than 225 minutes) and TLE with time-dependent
+ * B* coefficient do not use the batch model. They are delegated to regular {@link
+ * TLEPropagator} instances, which are slower and allocate temporary objects. If
+ * computation fails for one object (typically when its eccentricity becomes too large
+ * after decay), its coordinates are set to NaN and other objects are not affected.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe if some objects are delegated.
+ * </p>
+ * @see TLEPropagator
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class TLEBatchPropagator {
+
+    /** Number of objects. */
+    private final int size;
+
+    /** TLE epochs. */
+    private final AbsoluteDate[] epochs;
+
+    /** Delegated propagators (null for objects using the batch model). */
+    private final TLEPropagator[] delegated;
+
+    /** Perigee below 220 km indicators. */
+    private final boolean[] lessThan220;
+
+    // CHECKSTYLE: stop JavadocVariable check
+    private final double[] meanAnomaly;
+    private final double[] perigeeArgument;
+    private final double[] raan;
+    private final double[] e0;
+    private final double[] i0;
+    private final double[] bStar;
+    private final double[] a0dp;
+    private final double[] xn0dp;
+    private final double[] cosi0;
+    private final double[] sini0;
+    private final double[] eta;
+    private final double[] xmdot;
+    private final double[] omgdot;
+    private final double[] xnodot;
+    private final double[] xnodcf;
+    private final double[] c1;
+    private final double[] c4;
+    private final double[] c5;
+    private final double[] t2cof;
+    private final double[] t3cof;
+    private final double[] t4cof;
+    private final double[] t5cof;
+    private final double[] d2;
+    private final double[] d3;
+    private final double[] d4;
+    private final double[] delM0;
+    private final double[] sinM0;
+    private final double[] omgcof;
+    private final double[] xmcof;
+    // CHECKSTYLE: resume JavadocVariable check
+
+    /** Simple constructor.
+     * @param tles Two-Line Elements to propagate
+     * @param teme TEME frame (used only for delegated objects)
+     */
+    public TLEBatchPropagator(final List<TLE> tles, final Frame teme) {
+
+        size            = tles.size();
+        epochs          = new AbsoluteDate[size];
+        delegated       = new TLEPropagator[size];
+        lessThan220     = new boolean[size];
+        meanAnomaly     = new double[size];
+        perigeeArgument = new double[size];
+        raan            = new double[size];
+        e0              = new double[size];
+        i0              = new double[size];
+        bStar           = new double[size];
+        a0dp            = new double[size];
+        xn0dp           = new double[size];
+        cosi0           = new double[size];
+        sini0           = new double[size];
+        eta             = new double[size];
+        xmdot           = new double[size];
+        omgdot          = new double[size];
+        xnodot          = new double[size];
+        xnodcf          = new double[size];
+        c1              = new double[size];
+        c4              = new double[size];
+        c5              = new double[size];
+        t2cof           = new double[size];
+        t3cof           = new double[size];
+        t4cof           = new double[size];
+        t5cof           = new double[size];
+        d2              = new double[size];
+        d3              = new double[size];
+        d4              = new double[size];
+        delM0           = new double[size];
+        sinM0           = new double[size];
+        omgcof          = new double[size];
+        xmcof           = new double[size];
+
+        for (int k = 0; k < size; ++k) {
+
+            final TLE           tle        = tles.get(k);
+            final TLEPropagator propagator =
+                            TLEPropagator.selectExtrapolator(tle, FrameAlignedProvider.of(teme),
+                                                             TLEPropagator.DEFAULT_MASS, teme);
+            epochs[k] = tle.getDate();
+
+            if (propagator instanceof SGP4 && hasConstantBStar(tle)) {
+                // extract the coefficients shared by all TLE propagators
+                meanAnomaly[k]     = tle.getMeanAnomaly();
+                perigeeArgument[k] = tle.getPerigeeArgument();
+                raan[k]            = tle.getRaan();
+                e0[k]              = tle.getE();
+                i0[k]              = tle.getI();
+                bStar[k]           = tle.getBStar();
+                a0dp[k]            = propagator.a0dp;
+                xn0dp[k]           = propagator.xn0dp;
+                cosi0[k]           = propagator.cosi0;
+                sini0[k]           = propagator.sini0;
+                eta[k]             = propagator.eta;
+                xmdot[k]           = propagator.xmdot;
+                omgdot[k]          = propagator.omgdot;
+                xnodot[k]          = propagator.xnodot;
+                xnodcf[k]          = propagator.xnodcf;
+                c1[k]              = propagator.c1;
+                c4[k]              = propagator.c4;
+                t2cof[k]           = propagator.t2cof;
+                initializeSGP4(k, propagator);
+            } else {
+                delegated[k] = propagator;
+            }
+
+        }
+
+    }
+
+    /** Check if the B* coefficient of a TLE is constant.
+     * @param tle TLE to check
+     * @return true if B* coefficient is constant
+     */
+    private static boolean hasConstantBStar(final TLE tle) {
+        for (final ParameterDriver driver : tle.getParametersDrivers()) {
+            if (TLE.B_STAR.equals(driver.getName()) && driver.getNbOfValues() > 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Compute the coefficients specific to SGP4.
+     * <p>
+     * This replicates {@link SGP4#sxpInitialize()}.
+     * </p>
+     * @param k index of the object
+     * @param propagator propagator holding the common coefficients
+     */
+    private void initializeSGP4(final int k, final TLEPropagator propagator) {
+
+        lessThan220[k] = propagator.perige < 220;
+        if (!lessThan220[k]) {
+            final SinCos scM0 = FastMath.sinCos(meanAnomaly[k]);
+            final double c1sq = c1[k] * c1[k];
+            double delM = 1.0 + eta[k] * scM0.cos();
+            delM *= delM * delM;
+            delM0[k] = delM;
+            d2[k] = 4 * a0dp[k] * propagator.tsi * c1sq;
+            final double temp = d2[k] * propagator.tsi * c1[k] / 3.0;
+            d3[k] = (17 * a0dp[k] + propagator.s4) * temp;
+            d4[k] = 0.5 * temp * a0dp[k] * propagator.tsi * (221 * a0dp[k] + 31 * propagator.s4) * c1[k];
+            t3cof[k] = d2[k] + 2 * c1sq;
+            t4cof[k] = 0.25 * (3 * d3[k] + c1[k] * (12 * d2[k] + 10 * c1sq));
+            t5cof[k] = 0.2 * (3 * d4[k] + 12 * c1[k] * d3[k] + 6 * d2[k] * d2[k] + 15 * c1sq * (2 * d2[k] + c1sq));
+            sinM0[k] = scM0.sin();
+            if (e0[k] < 1e-4) {
+                omgcof[k] = 0.;
+                xmcof[k]  = 0.;
+            } else  {
+                final double c3 = propagator.coef * propagator.tsi * TLEConstants.A3OVK2 * xn0dp[k] *
+                                  TLEConstants.NORMALIZED_EQUATORIAL_RADIUS * sini0[k] / e0[k];
+                xmcof[k]  = -TLEConstants.TWO_THIRD * propagator.coef * bStar[k] *
+                            TLEConstants.NORMALIZED_EQUATORIAL_RADIUS / propagator.eeta;
+                omgcof[k] = bStar[k] * c3 * FastMath.cos(perigeeArgument[k]);
+            }
+        }
+
+        c5[k] = 2 * propagator.coef1 * a0dp[k] * propagator.beta02 *
+                (1 + 2.75 * (propagator.etasq + propagator.eeta) + propagator.eeta * propagator.etasq);
+
+    }
+
+    /** Get the number of objects.
+     * @return number of objects
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Check if an object is delegated to a regular {@link TLEPropagator}.
+     * @param index index of the object
+     * @return true if the object is delegated to a regular propagator
+     */
+    public boolean isDelegated(final int index) {
+        return delegated[index] != null;
+    }
+
+    /** Propagate all objects to the same date.
+     * @param date target date
+     * @param positions buffer where positions are stored (m), must have at least 3 × {@link #getSize()} elements
+     * @param velocities buffer where velocities are stored (m/s), must have at least 3 × {@link #getSize()} elements
+     * @return number of objects for which computation failed
+     */
+    public int propagate(final AbsoluteDate date, final double[] positions, final double[] velocities) {
+        int failures = 0;
+        for (int k = 0; k < size; ++k) {
+            if (!compute(k, date, positions, velocities, 3 * k)) {
+                ++failures;
+            }
+        }
+        return failures;
+    }
+
+    /** Propagate one object to several dates.
+     * @param index index of the object
+     * @param dates target dates
+     * @param positions buffer where positions are stored (m), must have at least 3 × dates.length elements
+     * @param velocities buffer where velocities are stored (m/s), must have at least 3 × dates.length elements
+     * @return number of dates for which computation failed
+     */
+    public int propagate(final int index, final AbsoluteDate[] dates,
+                         final double[] positions, final double[] velocities) {
+        int failures = 0;
+        for (int j = 0; j < dates.length; ++j) {
+            if (!compute(index, dates[j], positions, velocities, 3 * j)) {
+                ++failures;
+            }
+        }
+        return failures;
+    }
+
+    /** Compute position-velocity of one object.
+     * @param k index of the object
+     * @param date target date
+     * @param positions buffer where positions are stored (m)
+     * @param velocities buffer where velocities are stored (m/s)
+     * @param offset index of first component in buffers
+     * @return true if computation succeeded
+     */
+    private boolean compute(final int k, final AbsoluteDate date,
+                            final double[] positions, final double[] velocities, final int offset) {
+        try {
+            if (delegated[k] == null) {
+                sgp4(k, date.durationFrom(epochs[k]) / 60.0, positions, velocities, offset);
+            } else {
+                final PVCoordinates pv = delegated[k].getPVCoordinates(date);
+                positions[offset]      = pv.getPosition().getX();
+                positions[offset + 1]  = pv.getPosition().getY();
+                positions[offset + 2]  = pv.getPosition().getZ();
+                velocities[offset]     = pv.getVelocity().getX();
+                velocities[offset + 1] = pv.getVelocity().getY();
+                velocities[offset + 2] = pv.getVelocity().getZ();
+            }
+            return true;
+        } catch (OrekitException oe) {
+            for (int j = 0; j < 3; ++j) {
+                positions[offset + j]  = Double.NaN;
+                velocities[offset + j] = Double.NaN;
+            }
+            return false;
+        }
+    }
+
+    /** Evaluate SGP4 model for one object.
+     * <p>
+     * This replicates {@link SGP4#sxpPropagate(double)} and
+     * {@link TLEPropagator#getPVCoordinates(AbsoluteDate)} using only local variables.
+     * </p>
+     * @param k index of the object
+     * @param tSince the offset from initial epoch (min)
+     * @param positions buffer where positions are stored (m)
+     * @param velocities buffer where velocities are stored (m/s)
+     * @param offset index of first component in buffers
+     */
+    private void sgp4(final int k, final double tSince,
+                      final double[] positions, final double[] velocities, final int offset) {
+
+        // Update for secular gravity and atmospheric drag.
+        final double xmdf   = meanAnomaly[k] + xmdot[k] * tSince;
+        final double omgadf = perigeeArgument[k] + omgdot[k] * tSince;
+        final double xn0ddf = raan[k] + xnodot[k] * tSince;
+        double omega = omgadf;
+        double xmp = xmdf;
+        final double tsq = tSince * tSince;
+        final double xnode = xn0ddf + xnodcf[k] * tsq;
+        double tempa = 1 - c1[k] * tSince;
+        double tempe = bStar[k] * c4[k] * tSince;
+        double templ = t2cof[k] * tsq;
+
+        if (!lessThan220[k]) {
+            final double delomg = omgcof[k] * tSince;
+            double delm = 1. + eta[k] * FastMath.cos(xmdf);
+            delm = xmcof[k] * (delm * delm * delm - delM0[k]);
+            final double temp = delomg + delm;
+            xmp = xmdf + temp;
+            omega = omgadf - temp;
+            final double tcube = tsq * tSince;
+            final double tfour = tSince * tcube;
+            tempa = tempa - d2[k] * tsq - d3[k] * tcube - d4[k] * tfour;
+            tempe = tempe + bStar[k] * c5[k] * (FastMath.sin(xmp) - sinM0[k]);
+            templ = templ + t3cof[k] * tcube + tfour * (t4cof[k] + tSince * t5cof[k]);
+        }
+
+        final double a = a0dp[k] * tempa * tempa;
+
+        // A highly arbitrary lower limit on e,  of 1e-6:
+        final double e = FastMath.max(e0[k] - tempe, 1e-6);
+
+        final double xl = xmp + omega + xnode + xn0dp[k] * templ;
+
+        // Sine and cosine of final perigee argument
+        final SinCos scOmega = FastMath.sinCos(omega);
+
+        // Long period periodics
+        final double axn = e * scOmega.cos();
+        double temp = 1.0 / (a * (1.0 - e * e));
+        final double xlcof = 0.125 * TLEConstants.A3OVK2 * sini0[k] * (3.0 + 5.0 * cosi0[k]) / (1.0 + cosi0[k]);
+        final double aycof = 0.25 * TLEConstants.A3OVK2 * sini0[k];
+        final double xll = temp * xlcof * axn;
+        final double aynl = temp * aycof;
+        final double xlt = xl + xll;
+        final double ayn = e * scOmega.sin() + aynl;
+        final double elsq = axn * axn + ayn * ayn;
+        final double capu = MathUtils.normalizeAngle(xlt - xnode, FastMath.PI);
+        double epw = capu;
+        double ecosE = 0;
+        double esinE = 0;
+        double sinEPW = 0;
+        double cosEPW = 0;
+
+        // Dundee changes:  items dependent on cosio get recomputed:
+        final double cosi0Sq = cosi0[k] * cosi0[k];
+        final double x3thm1 = 3.0 * cosi0Sq - 1.0;
+        final double x1mth2 = 1.0 - cosi0Sq;
+        final double x7thm1 = 7.0 * cosi0Sq - 1.0;
+
+        if (e > (1 - 1e-6)) {
+            throw new OrekitException(OrekitMessages.TOO_LARGE_ECCENTRICITY_FOR_PROPAGATION_MODEL, e);
+        }
+
+        // Solve Kepler's' Equation.
+        final double newtonRaphsonEpsilon = 1e-12;
+        for (int j = 0; j < 10; j++) {
+
+            boolean doSecondOrderNewtonRaphson = true;
+
+            final SinCos scEPW = FastMath.sinCos(epw);
+            sinEPW = scEPW.sin();
+            cosEPW = scEPW.cos();
+            ecosE = axn * cosEPW + ayn * sinEPW;
+            esinE = axn * sinEPW - ayn * cosEPW;
+            final double f = capu - epw + esinE;
+            if (FastMath.abs(f) < newtonRaphsonEpsilon) {
+                break;
+            }
+            final double fdot = 1.0 - ecosE;
+            double deltaEpw = f / fdot;
+            if (j == 0) {
+                final double maxNewtonRaphson = 1.25 * FastMath.abs(e);
+                doSecondOrderNewtonRaphson = false;
+                if (deltaEpw > maxNewtonRaphson) {
+                    deltaEpw = maxNewtonRaphson;
+                } else if (deltaEpw < -maxNewtonRaphson) {
+                    deltaEpw = -maxNewtonRaphson;
+                } else {
+                    doSecondOrderNewtonRaphson = true;
+                }
+            }
+            if (doSecondOrderNewtonRaphson) {
+                deltaEpw = f / (fdot + 0.5 * esinE * deltaEpw);
+            }
+            epw += deltaEpw;
+        }
+
+        // Short period preliminary quantities
+        temp = 1.0 - elsq;
+        final double pl = a * temp;
+        final double r = a * (1.0 - ecosE);
+        double temp2 = a / r;
+        final double betal = FastMath.sqrt(temp);
+        temp = esinE / (1.0 + betal);
+        final double cosu = temp2 * (cosEPW - axn + ayn * temp);
+        final double sinu = temp2 * (sinEPW - ayn - axn * temp);
+        final double u = FastMath.atan2(sinu, cosu);
+        final double sin2u = 2.0 * sinu * cosu;
+        final double cos2u = 2.0 * cosu * cosu - 1.0;
+        final double temp1 = TLEConstants.CK2 / pl;
+        temp2 = temp1 / pl;
+
+        // Update for short periodics
+        final double rk = r * (1.0 - 1.5 * temp2 * betal * x3thm1) + 0.5 * temp1 * x1mth2 * cos2u;
+        final double uk = u - 0.25 * temp2 * x7thm1 * sin2u;
+        final double xnodek = xnode + 1.5 * temp2 * cosi0[k] * sin2u;
+        final double xinck = i0[k] + 1.5 * temp2 * cosi0[k] * sini0[k] * cos2u;
+
+        // Orientation vectors
+        final SinCos scuk   = FastMath.sinCos(uk);
+        final SinCos scik   = FastMath.sinCos(xinck);
+        final SinCos scnok  = FastMath.sinCos(xnodek);
+        final double sinuk  = scuk.sin();
+        final double cosuk  = scuk.cos();
+        final double sinik  = scik.sin();
+        final double cosik  = scik.cos();
+        final double sinnok = scnok.sin();
+        final double cosnok = scnok.cos();
+        final double xmx = -sinnok * cosik;
+        final double xmy = cosnok * cosik;
+        final double ux  = xmx * sinuk + cosnok * cosuk;
+        final double uy  = xmy * sinuk + sinnok * cosuk;
+        final double uz  = sinik * sinuk;
+
+        // Position and velocity
+        final double cr = 1000 * rk * TLEConstants.EARTH_RADIUS;
+        positions[offset]     = cr * ux;
+        positions[offset + 1] = cr * uy;
+        positions[offset + 2] = cr * uz;
+
+        final double rdot   = TLEConstants.XKE * FastMath.sqrt(a) * esinE / r;
+        final double rfdot  = TLEConstants.XKE * FastMath.sqrt(pl) / r;
+        final double xn     = TLEConstants.XKE / (a * FastMath.sqrt(a));
+        final double rdotk  = rdot - xn * temp1 * x1mth2 * sin2u;
+        final double rfdotk = rfdot + xn * temp1 * (x1mth2 * cos2u + 1.5 * x3thm1);
+        final double vx     = xmx * cosuk - cosnok * sinuk;
+        final double vy     = xmy * cosuk - sinnok * sinuk;
+        final double vz     = sinik * cosuk;
+
+        final double cv = 1000.0 * TLEConstants.EARTH_RADIUS / 60.0;
+        velocities[offset]     = cv * (rdotk * ux + rfdotk * vx);
+        velocities[offset + 1] = cv * (rdotk * uy + rfdotk * vy);
+        velocities[offset + 2] = cv * (rdotk * uz + rfdotk * vz);
+
+    }
+
+}
@@ -149,6 +149,22 @@ public abstract class AbstractDetector<T extends AbstractDetector<T>> implements
         return create(newMaxCheck, getThreshold(), getMaxIterationCount(), getHandler());
     }
 
+    /**
+     * Setup a maximum checking interval adapted to the g function slope.
+     * <p>
+     * This will override a maximum checking interval if it has been configured previously.
+     * </p>
+     * @param minCheck minimum checking interval (s), used when g function history
+     * is not sufficient to predict next sign change
+     * @param maxCheck maximum checking interval (s)
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @see SlopeAdaptiveInterval
+     * @since 12.1
+     */
+    public T withSlopeAdaptiveMaxCheck(final double minCheck, final double maxCheck) {
+        return withMaxCheck(new SlopeAdaptiveInterval(minCheck, maxCheck));
+    }
+
     /**
      * Setup the maximum number of iterations in the event time search.
      * <p>
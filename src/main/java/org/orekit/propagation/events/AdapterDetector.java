@@ -85,4 +85,10 @@ public class AdapterDetector implements EventDetector {
         return detector.getHandler();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public EventPreScreener getPreScreener() {
+        return detector.getPreScreener();
+    }
+
 }
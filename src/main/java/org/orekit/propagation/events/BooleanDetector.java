@@ -241,6 +241,39 @@ public class BooleanDetector extends AbstractDetector<BooleanDetector> {
         return ret;
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * A pre-screener is available only if all combined detectors have one.
+     * As the g function is the min (or max) of the combined g functions, the value
+     * at last evaluated state is either one of the combined values or lies between
+     * zero and the combined values with the same sign, so the monotonicity property
+     * of pre-screeners ensures the combined pre-screener is conservative.
+     * </p>
+     */
+    @Override
+    public EventPreScreener getPreScreener() {
+        final List<EventPreScreener> screeners = new ArrayList<>(detectors.size());
+        for (final EventDetector detector : detectors) {
+            final EventPreScreener screener = detector.getPreScreener();
+            if (screener == null) {
+                // at least one g function must be evaluated at each check
+                return null;
+            }
+            screeners.add(screener);
+        }
+        return (sa, ga, sb) -> {
+            if (ga == 0) {
+                return true;
+            }
+            for (final EventPreScreener screener : screeners) {
+                if (screener.maySwitch(sa, ga, sb)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
     @Override
     protected BooleanDetector create(final AdaptableInterval newMaxCheck,
                                      final double newThreshold,
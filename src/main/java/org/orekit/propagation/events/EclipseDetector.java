@@ -16,8 +16,10 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.events.Action;
 import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.StopOnIncreasing;
@@ -194,7 +196,36 @@ public class EclipseDetector extends AbstractDetector<EclipseDetector> {
      * @return value of the switching function
      */
     public double g(final SpacecraftState s) {
-        final OccultationEngine.OccultationAngles angles = occultationEngine.angles(s);
+        return g(occultationEngine.angles(s));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The transform from state frame to occulting body frame and the occulted
+     * body position are shared with other detectors.
+     * As subclasses may override {@link #g(SpacecraftState)}, sharing is used only
+     * for instances of this class, otherwise the overridden method is called.
+     * </p>
+     * @since 12.1
+     */
+    @Override
+    public double g(final SpacecraftState s, final EvaluationContext context) {
+        if (getClass() != EclipseDetector.class) {
+            return g(s);
+        }
+        final Frame    bodyFrame = occultationEngine.getOcculting().getBodyFrame();
+        final Vector3D psat      = context.
+                                   getStaticTransform(s.getFrame(), bodyFrame, s.getDate()).
+                                   transformPosition(s.getPosition());
+        final Vector3D pted      = context.getPosition(occultationEngine.getOcculted(), bodyFrame, s.getDate());
+        return g(occultationEngine.angles(psat, pted));
+    }
+
+    /** Compute the value of the switching function from occultation angles.
+     * @param angles occultation angles
+     * @return value of the switching function
+     */
+    private double g(final OccultationEngine.OccultationAngles angles) {
         return totalEclipse ?
                (angles.getSeparation() - angles.getLimbRadius() + angles.getOccultedApparentRadius() + margin) :
                (angles.getSeparation() - angles.getLimbRadius() - angles.getOccultedApparentRadius() + margin);
@@ -16,7 +16,9 @@
  */
 package org.orekit.propagation.events;
 
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.events.Action;
+import org.orekit.frames.Frame;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.models.AtmosphericRefractionModel;
 import org.orekit.propagation.SpacecraftState;
@@ -164,8 +166,34 @@ public class ElevationDetector extends AbstractDetector<ElevationDetector> {
      */
     @Override
     public double g(final SpacecraftState s) {
+        return g(topo.getTrackingCoordinates(s.getPosition(), s.getFrame(), s.getDate()));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The transform from state frame to body frame is shared with other detectors.
+     * As subclasses may override {@link #g(SpacecraftState)}, sharing is used only
+     * for instances of this class, otherwise the overridden method is called.
+     * </p>
+     * @since 12.1
+     */
+    @Override
+    public double g(final SpacecraftState s, final EvaluationContext context) {
+        if (getClass() != ElevationDetector.class) {
+            return g(s);
+        }
+        final Frame    bodyFrame = topo.getParentShape().getBodyFrame();
+        final Vector3D pBody     = context.
+                                   getStaticTransform(s.getFrame(), bodyFrame, s.getDate()).
+                                   transformPosition(s.getPosition());
+        return g(topo.getTrackingCoordinates(pBody, bodyFrame, s.getDate()));
+    }
 
-        final TrackingCoordinates tc = topo.getTrackingCoordinates(s.getPosition(), s.getFrame(), s.getDate());
+    /** Compute the value of the switching function from tracking coordinates.
+     * @param tc tracking coordinates of the spacecraft
+     * @return value of the switching function
+     */
+    private double g(final TrackingCoordinates tc) {
 
         final double calculatedElevation;
         if (refractionModel != null) {
@@ -0,0 +1,92 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.SinCos;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.propagation.SpacecraftState;
+
+/** Conservative pre-screener for {@link ElevationDetector elevation detectors}.
+ * <p>
+ * This pre-screener bounds the elevation rate of a satellite below
+ * horizon. As long as the elevation remains below the detection threshold,
+ * the range from station to satellite cannot be smaller than the range
+ * at threshold elevation for the lowest satellite, and the elevation rate
+ * is bounded by the relative velocity divided by this minimum range, plus
+ * the body rotation rate. Satellite velocity is bounded by the escape velocity
+ * at minimum radius, so the bound holds for all Keplerian bounded orbits.
+ * </p>
+ * <p>
+ * The g function of the detector is considered to be the elevation minus
+ * the minimum elevation, in radians, so this pre-screener is suitable for
+ * elevation detectors without refraction model and without elevation mask.
+ * Only negative g values (i.e. satellite not visible) are screened, so
+ * no evaluations are saved during visibility passes.
+ * </p>
+ * @see PreScreenedDetector
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class ElevationPreScreener implements EventPreScreener {
+
+    /** Maximum elevation rate when satellite is not visible (rad/s). */
+    private final double maxRate;
+
+    /** Simple constructor.
+     * @param minSatelliteRadius minimum distance from body center to satellite (m)
+     * @param maxStationRadius maximum distance from body center to ground station (m)
+     * @param minElevation minimum elevation of the detector (rad)
+     * @param mu central attraction coefficient (m³/s²)
+     * @param rotationRate body rotation rate (rad/s)
+     */
+    public ElevationPreScreener(final double minSatelliteRadius, final double maxStationRadius,
+                                final double minElevation, final double mu, final double rotationRate) {
+        if (minSatelliteRadius <= maxStationRadius) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     minSatelliteRadius, maxStationRadius);
+        }
+
+        // smallest range to a satellite below threshold elevation
+        final SinCos sc       = FastMath.sinCos(minElevation);
+        final double rCos     = maxStationRadius * sc.cos();
+        final double minRange = FastMath.sqrt((minSatelliteRadius - rCos) * (minSatelliteRadius + rCos)) -
+                                maxStationRadius * sc.sin();
+
+        // largest velocity with respect to body-fixed station
+        final double maxVelocity = FastMath.sqrt(2 * mu / minSatelliteRadius) +
+                                   FastMath.abs(rotationRate) * maxStationRadius;
+
+        this.maxRate = maxVelocity / minRange + FastMath.abs(rotationRate);
+
+    }
+
+    /** Get the maximum elevation rate when satellite is not visible.
+     * @return maximum elevation rate when satellite is not visible (rad/s)
+     */
+    public double getMaxRate() {
+        return maxRate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean maySwitch(final SpacecraftState sa, final double ga, final SpacecraftState sb) {
+        return ga >= 0 || -ga <= maxRate * FastMath.abs(sb.getDate().durationFrom(sa.getDate()));
+    }
+
+}
@@ -0,0 +1,221 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.StaticTransform;
+import org.orekit.frames.Transform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Context shared by event detectors evaluated at the same dates.
+ * <p>
+ * When many detectors are registered in a propagator, their {@link
+ * EventDetector#g(org.orekit.propagation.SpacecraftState) g functions} are evaluated at the same
+ * dates and often compute the same quantities, like transforms from inertial
+ * frame to Earth frame or Sun position. Detectors can opt into sharing these
+ * quantities by overriding {@link EventDetector#g(org.orekit.propagation.SpacecraftState, EvaluationContext)},
+ * and using the context methods instead of calling the frames and bodies directly.
+ * The context memoizes the quantities lazily, the first detector needing one
+ * at some date computes it and the other detectors reuse it.
+ * </p>
+ * <p>
+ * Only quantities that depend on date alone are memoized, so they remain valid
+ * even if the spacecraft state is reset by an event. Quantities are memoized for
+ * a limited number of dates, and propagators clear the context at each step.
+ * </p>
+ * <p>
+ * This class is not thread-safe, each propagator has its own context.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class EvaluationContext {
+
+    /** Default maximum number of dates memoized. */
+    public static final int DEFAULT_MAX_DATES = 1024;
+
+    /** Kind for transforms. */
+    private static final int TRANSFORM = 0;
+
+    /** Kind for static transforms. */
+    private static final int STATIC_TRANSFORM = 1;
+
+    /** Kind for positions. */
+    private static final int POSITION = 2;
+
+    /** Memoized quantities, per date. */
+    private final Map<AbsoluteDate, Map<Key, Object>> memoized;
+
+    /** Number of memoized quantities reused. */
+    private long hits;
+
+    /** Number of quantities computed. */
+    private long misses;
+
+    /** Simple constructor with {@link #DEFAULT_MAX_DATES default maximum number of dates}.
+     */
+    public EvaluationContext() {
+        this(DEFAULT_MAX_DATES);
+    }
+
+    /** Simple constructor.
+     * @param maxDates maximum number of dates memoized (when exceeded, the oldest
+     * date is dropped)
+     */
+    public EvaluationContext(final int maxDates) {
+        if (maxDates < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxDates, 1);
+        }
+        this.memoized = new LinkedHashMap<AbsoluteDate, Map<Key, Object>>() {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20231123L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<AbsoluteDate, Map<Key, Object>> eldest) {
+                return size() > maxDates;
+            }
+
+        };
+    }
+
+    /** Get the transform between two frames.
+     * @param from frame from which transformation starts
+     * @param to frame to which transformation ends
+     * @param date date of the transform
+     * @return transform from {@code from} to {@code to} at {@code date}
+     * @see Frame#getTransformTo(Frame, AbsoluteDate)
+     */
+    public Transform getTransform(final Frame from, final Frame to, final AbsoluteDate date) {
+        return get(date, new Key(TRANSFORM, from, to), () -> from.getTransformTo(to, date));
+    }
+
+    /** Get the static transform between two frames.
+     * @param from frame from which transformation starts
+     * @param to frame to which transformation ends
+     * @param date date of the transform
+     * @return static transform from {@code from} to {@code to} at {@code date}
+     * @see Frame#getStaticTransformTo(Frame, AbsoluteDate)
+     */
+    public StaticTransform getStaticTransform(final Frame from, final Frame to, final AbsoluteDate date) {
+        return get(date, new Key(STATIC_TRANSFORM, from, to), () -> from.getStaticTransformTo(to, date));
+    }
+
+    /** Get the position of a body, which must depend only on date.
+     * @param provider provider for the body position (Sun, Moon, ground point...)
+     * @param frame frame in which position is desired
+     * @param date date of the position
+     * @return position of the body in {@code frame} at {@code date}
+     * @see PVCoordinatesProvider#getPosition(AbsoluteDate, Frame)
+     */
+    public Vector3D getPosition(final PVCoordinatesProvider provider, final Frame frame, final AbsoluteDate date) {
+        return get(date, new Key(POSITION, provider, frame), () -> provider.getPosition(date, frame));
+    }
+
+    /** Clear the memoized quantities.
+     */
+    public void clear() {
+        memoized.clear();
+    }
+
+    /** Get the number of memoized quantities reused.
+     * @return number of memoized quantities reused
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Get the number of quantities computed.
+     * @return number of quantities computed
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Get a memoized quantity, computing it if needed.
+     * @param date date of the quantity
+     * @param key key of the quantity
+     * @param computer computer for the quantity
+     * @param <T> type of the quantity
+     * @return memoized quantity
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T get(final AbsoluteDate date, final Key key, final Supplier<T> computer) {
+        final Map<Key, Object> atDate = memoized.computeIfAbsent(date, d -> new HashMap<>());
+        T value = (T) atDate.get(key);
+        if (value == null) {
+            ++misses;
+            value = computer.get();
+            atDate.put(key, value);
+        } else {
+            ++hits;
+        }
+        return value;
+    }
+
+    /** Key for memoized quantities, using identity for the involved objects. */
+    private static class Key {
+
+        /** Kind of quantity. */
+        private final int kind;
+
+        /** First object. */
+        private final Object first;
+
+        /** Second object. */
+        private final Object second;
+
+        /** Simple constructor.
+         * @param kind kind of quantity
+         * @param first first object
+         * @param second second object
+         */
+        Key(final int kind, final Object first, final Object second) {
+            this.kind   = kind;
+            this.first  = first;
+            this.second = second;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return kind == key.kind && first == key.first && second == key.second;
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * (31 * kind + System.identityHashCode(first)) + System.identityHashCode(second);
+        }
+
+    }
+
+}
@@ -88,6 +88,29 @@ public interface EventDetector {
      */
     double g(SpacecraftState s);
 
+    /** Compute the value of the switching function, using a shared evaluation context.
+     * <p>
+     * Propagators call this method instead of {@link #g(SpacecraftState)}, so detectors
+     * that compute quantities depending only on date (frames transforms, Sun position...)
+     * can share them with other detectors evaluated at the same date. The default
+     * implementation ignores the context and calls {@link #g(SpacecraftState)}.
+     * Implementations must return the same value as {@link #g(SpacecraftState)},
+     * up to numerical round-off. As subclasses may override {@link #g(SpacecraftState)}
+     * without being aware of this method, context-aware implementations use the
+     * context only when called on an instance of their own class, and fall back to
+     * {@link #g(SpacecraftState)} (hence ignoring the context) for any subclass.
+     * Subclasses that want to benefit from the shared context must therefore
+     * override this method too.
+     * </p>
+     * @param s the current state information: date, kinematics, attitude
+     * @param context context shared with other detectors evaluated at the same dates
+     * @return value of the switching function
+     * @since 12.1
+     */
+    default double g(final SpacecraftState s, final EvaluationContext context) {
+        return g(s);
+    }
+
     /** Get the convergence threshold in the event time search.
      * @return convergence threshold (s)
      */
@@ -109,4 +132,17 @@ public interface EventDetector {
      */
     EventHandler getHandler();
 
+    /** Get the pre-screener for the g function.
+     * <p>
+     * The default implementation returns null, which means the g function
+     * is evaluated at each check.
+     * </p>
+     * @return pre-screener allowing to skip some g function evaluations,
+     * or null if g function must be evaluated at each check
+     * @since 12.1
+     */
+    default EventPreScreener getPreScreener() {
+        return null;
+    }
+
 }
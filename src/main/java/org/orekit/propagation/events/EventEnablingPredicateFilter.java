@@ -284,6 +284,42 @@ public class EventEnablingPredicateFilter
         }
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The pre-screener of the raw detector is forwarded, taking into account the
+     * transform applied to the g function at the last evaluated state.
+     * </p>
+     */
+    @Override
+    public EventPreScreener getPreScreener() {
+        final EventPreScreener rawScreener = rawDetector.getPreScreener();
+        return rawScreener == null ?
+               null :
+               (sa, ga, sb) -> transformerAt(sa.getDate()).maySwitch(rawScreener, sa, ga, sb);
+    }
+
+    /** Get the transformer applied at an already evaluated date.
+     * @param date date at which g function has already been evaluated
+     * @return transformer applied at date
+     */
+    private Transformer transformerAt(final AbsoluteDate date) {
+        if (forward) {
+            for (int i = transformers.length - 1; i > 0; --i) {
+                if (updates[i].compareTo(date) <= 0) {
+                    return transformers[i];
+                }
+            }
+            return transformers[0];
+        } else {
+            for (int i = 0; i < updates.length - 1; ++i) {
+                if (date.compareTo(updates[i]) <= 0) {
+                    return transformers[i];
+                }
+            }
+            return transformers[updates.length - 1];
+        }
+    }
+
     /** Local handler. */
     private static class LocalHandler implements EventHandler {
 
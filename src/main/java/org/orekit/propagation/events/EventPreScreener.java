@@ -0,0 +1,67 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.propagation.SpacecraftState;
+
+/** Coarse pre-screening of event detectors g functions.
+ * <p>
+ * A pre-screener provides a cheap conservative test that allows the event
+ * detection algorithm to skip evaluating an expensive {@link
+ * EventDetector#g(SpacecraftState) g function} when it can be proven
+ * its sign cannot change over some time range. When a pre-screener states
+ * no sign change is possible between the last evaluated state and the
+ * next check, the g function is not evaluated at the check and the
+ * following check is tested again from the last evaluated state.
+ * </p>
+ * <p>
+ * Pre-screeners must be conservative: they may answer {@code true} even if
+ * no sign change occurs (this only wastes an evaluation), but answering
+ * {@code false} when a sign change does occur would make events be missed.
+ * They must also be monotonic with respect to the magnitude of the g function:
+ * if no sign change is possible for some value {@code ga}, then no sign change
+ * is possible either for any value with the same sign and a larger magnitude.
+ * This property allows wrapping detectors (negation, shifting, boolean combination,
+ * filtering) to forward the pre-screener of the detectors they wrap.
+ * </p>
+ * <p>
+ * Pre-screening is used only by {@link
+ * org.orekit.propagation.analytical.AbstractAnalyticalPropagator analytical
+ * propagators} (including ephemerides), which drive the event detection
+ * themselves. Integration-based propagators delegate event detection to the
+ * underlying ODE integrator, which always evaluates the g function at each check,
+ * so pre-screeners are silently ignored by these propagators.
+ * </p>
+ * @see EventDetector#getPreScreener()
+ * @see PreScreenedDetector
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+@FunctionalInterface
+public interface EventPreScreener {
+
+    /** Check if g function may change sign between two states.
+     * @param sa state at which g function was last evaluated
+     * @param ga value of the g function at {@code sa}
+     * @param sb state at which g function would be evaluated next
+     * @return false if g function sign is guaranteed to remain the same
+     * as {@code ga} sign throughout the time range between {@code sa}
+     * and {@code sb} (inclusive), true otherwise
+     */
+    boolean maySwitch(SpacecraftState sa, double ga, SpacecraftState sb);
+
+}
@@ -149,6 +149,27 @@ public class EventShifter extends AbstractDetector<EventShifter> {
                FastMath.max(incShiftedG, decShiftedG) : FastMath.min(incShiftedG, decShiftedG);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The pre-screener of the wrapped detector is forwarded, applied to both shifted
+     * states. As the g function is the max (or min) of the two shifted g functions,
+     * the value at last evaluated state is either one of the shifted values or lies
+     * between zero and the shifted value with the same sign, so the monotonicity
+     * property of pre-screeners ensures the forwarded pre-screener is conservative.
+     * </p>
+     */
+    @Override
+    public EventPreScreener getPreScreener() {
+        final EventPreScreener rawScreener = detector.getPreScreener();
+        if (rawScreener == null) {
+            return null;
+        }
+        return (sa, ga, sb) ->
+               ga == 0 ||
+               rawScreener.maySwitch(sa.shiftedBy(increasingOffset), ga, sb.shiftedBy(increasingOffset)) ||
+               rawScreener.maySwitch(sa.shiftedBy(decreasingOffset), ga, sb.shiftedBy(decreasingOffset));
+    }
+
     /** Local class for handling events. */
     private static class LocalHandler implements EventHandler {
 
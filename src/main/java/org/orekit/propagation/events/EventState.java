@@ -59,6 +59,15 @@ public class EventState<T extends EventDetector> {
     /** Event handler. */
     private EventHandler handler;
 
+    /** Pre-screener for g function (may be null). */
+    private final EventPreScreener screener;
+
+    /** Context shared with other detectors (may be null). */
+    private final EvaluationContext context;
+
+    /** History of g function values while scanning propagation range. */
+    private final GFunctionHistory history;
+
     /** Time of the previous call to g. */
     private AbsoluteDate lastT;
 
@@ -107,8 +116,21 @@ public class EventState<T extends EventDetector> {
      * @param detector monitored event detector
      */
     public EventState(final T detector) {
+        this(detector, null);
+    }
+
+    /** Simple constructor.
+     * @param detector monitored event detector
+     * @param context context shared with other detectors evaluated at the same dates
+     * (may be null)
+     * @since 12.1
+     */
+    public EventState(final T detector, final EvaluationContext context) {
         this.detector     = detector;
         this.handler      = detector.getHandler();
+        this.screener     = detector.getPreScreener();
+        this.context      = context;
+        this.history      = new GFunctionHistory();
 
         // some dummy values ...
         lastT                  = AbsoluteDate.PAST_INFINITY;
@@ -158,7 +180,7 @@ public class EventState<T extends EventDetector> {
      */
     private double g(final SpacecraftState s) {
         if (!s.getDate().equals(lastT)) {
-            lastG = detector.g(s);
+            lastG = context == null ? detector.g(s) : detector.g(s, context);
             lastT = s.getDate();
         }
         return lastG;
@@ -188,6 +210,8 @@ public class EventState<T extends EventDetector> {
         g0Positive = g0 > 0;
         // "last" event was increasing
         increasing = g0Positive;
+        history.clear();
+        history.add(t0, g0);
     }
 
     /** Evaluate the impact of the proposed step on the event detector.
@@ -212,16 +236,36 @@ public class EventState<T extends EventDetector> {
             return false;
         }
 
+        if (history.size() > 0 && strictlyAfter(s0.getDate(), history.getLastDate())) {
+            // the step is scanned again (restricted step or reset state),
+            // values recorded after its start are not reliable anymore
+            history.clear();
+            history.add(t0, g0);
+        }
 
         AbsoluteDate ta = t0;
         double ga = g0;
+        SpacecraftState sa = null;
         for (SpacecraftState sb = nextCheck(s0, s1, interpolator);
              sb != null;
              sb = nextCheck(sb, s1, interpolator)) {
 
-            // evaluate handler value at the end of the substep
             final AbsoluteDate tb = sb.getDate();
+            if (screener != null && sb != s1) {
+                // check if g function evaluation can be skipped at the end of the substep
+                // (step end is never skipped as it is evaluated anyway when the step is accepted)
+                if (sa == null) {
+                    sa = ta.equals(s0.getDate()) ? s0 : interpolator.getInterpolatedState(ta);
+                }
+                if (!screener.maySwitch(sa, ga, sb)) {
+                    // sign cannot change, next substep will be screened again from the same start
+                    continue;
+                }
+            }
+
+            // evaluate handler value at the end of the substep
             final double gb = g(sb);
+            record(tb, gb);
 
             // check events occurrence
             if (gb == 0.0 || (g0Positive ^ gb > 0)) {
@@ -233,6 +277,7 @@ public class EventState<T extends EventDetector> {
                 // no sign change: there is no event for now
                 ta = tb;
                 ga = gb;
+                sa = sb;
             }
 
         }
@@ -244,6 +289,16 @@ public class EventState<T extends EventDetector> {
 
     }
 
+    /** Record a g function value in the history.
+     * @param t date of the value
+     * @param g value of the g function
+     */
+    private void record(final AbsoluteDate t, final double g) {
+        if (history.size() == 0 || strictlyAfter(history.getLastDate(), t)) {
+            history.add(t, g);
+        }
+    }
+
     /** Estimate next state to check.
      * @param done state already checked
      * @param target target state towards which we are checking
@@ -261,7 +316,10 @@ public class EventState<T extends EventDetector> {
             // we have to select some intermediate state
             // attempting to split the remaining time in an integer number of checks
             final double dt       = target.getDate().durationFrom(done.getDate());
-            final double maxCheck = detector.getMaxCheckInterval().currentInterval(done);
+            final AdaptableInterval interval = detector.getMaxCheckInterval();
+            final double maxCheck = interval instanceof GFunctionAdaptableInterval ?
+                                    ((GFunctionAdaptableInterval) interval).currentInterval(done, history) :
+                                    interval.currentInterval(done);
             final int    n        = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(dt) / maxCheck));
             return n == 1 ? target : interpolator.getInterpolatedState(done.getDate().shiftedBy(dt / n));
         }
@@ -493,6 +551,7 @@ public class EventState<T extends EventDetector> {
 
             if (positive == g0Positive) {
                 // g function has expected sign
+                record(t, g);
                 g0 = g; // g0Positive is the same
                 meFirst = false;
             } else {
@@ -546,6 +605,8 @@ public class EventState<T extends EventDetector> {
         t0 = afterEvent;
         g0 = afterG;
         g0Positive = increasing;
+        history.clear();
+        history.add(t0, g0);
         // check g0Positive set correctly
         check(g0 == 0.0 || g0Positive == g0 > 0);
         return new EventOccurrence(action, newState, stopTime);
@@ -120,7 +120,7 @@ public class EventsLogger {
          * @param increasing indicator if the event switching function was increasing
          * or decreasing at event occurrence date
          */
-        private LoggedEvent(final EventDetector detector, final SpacecraftState state, final boolean increasing) {
+        LoggedEvent(final EventDetector detector, final SpacecraftState state, final boolean increasing) {
             this.detector   = detector;
             this.state      = state;
             this.increasing = increasing;
@@ -219,6 +219,18 @@ public class EventsLogger {
             return detector.g(s);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public double g(final SpacecraftState s, final EvaluationContext context) {
+            return detector.g(s, context);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public EventPreScreener getPreScreener() {
+            return detector.getPreScreener();
+        }
+
         /** {@inheritDoc} */
         public EventHandler getHandler() {
 
@@ -153,10 +153,33 @@ public class FieldOfViewDetector extends AbstractDetector<FieldOfViewDetector> {
      * </p>
      */
     public double g(final SpacecraftState s) {
+        return g(s, targetPVProvider.getPosition(s.getDate(), s.getFrame()));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The target position is shared with other detectors.
+     * As subclasses may override {@link #g(SpacecraftState)}, sharing is used only
+     * for instances of this class, otherwise the overridden method is called.
+     * </p>
+     * @since 12.1
+     */
+    @Override
+    public double g(final SpacecraftState s, final EvaluationContext context) {
+        if (getClass() != FieldOfViewDetector.class) {
+            return g(s);
+        }
+        return g(s, context.getPosition(targetPVProvider, s.getFrame(), s.getDate()));
+    }
+
+    /** Compute the value of the switching function from target position.
+     * @param s the current state information: date, kinematics, attitude
+     * @param targetPosInert target position in state frame
+     * @return value of the switching function
+     */
+    private double g(final SpacecraftState s, final Vector3D targetPosInert) {
 
         // get line of sight in spacecraft frame
-        final Vector3D targetPosInert =
-                targetPVProvider.getPosition(s.getDate(), s.getFrame());
         final Vector3D lineOfSightSC = s.toTransform().transformPosition(targetPosInert);
 
         final double angularRadius = FastMath.asin(radiusTarget / lineOfSightSC.getNorm());
@@ -0,0 +1,42 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.propagation.SpacecraftState;
+
+/** Event checking interval that depends on state and on recent g function values.
+ * <p>
+ * When the {@link EventDetector#getMaxCheckInterval() max check interval} of a
+ * detector implements this interface, propagators call {@link
+ * #currentInterval(SpacecraftState, GFunctionHistory)} instead of {@link
+ * #currentInterval(SpacecraftState)}, thus allowing the interval to be adapted
+ * to the distance of the g function to zero.
+ * </p>
+ * @see SlopeAdaptiveInterval
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public interface GFunctionAdaptableInterval extends AdaptableInterval {
+
+    /** Get the current value of maximal time interval between events handler checks.
+     * @param state current state
+     * @param history history of the recent values of the g function
+     * @return current value of maximal time interval between events handler checks
+     */
+    double currentInterval(SpacecraftState state, GFunctionHistory history);
+
+}
@@ -0,0 +1,142 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.time.AbsoluteDate;
+
+/** History of the recent values of an event detector g function.
+ * <p>
+ * This class keeps the last three values of the g function at the
+ * dates where it was evaluated while scanning the propagation range
+ * (root finding evaluations are not included), and estimates its first
+ * and second time derivatives using divided differences.
+ * </p>
+ * @see GFunctionAdaptableInterval
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class GFunctionHistory {
+
+    /** Number of samples kept. */
+    private static final int MAX_SIZE = 3;
+
+    /** Dates of the samples (oldest first). */
+    private final AbsoluteDate[] dates;
+
+    /** Values of the samples (oldest first). */
+    private final double[] values;
+
+    /** Number of samples available. */
+    private int size;
+
+    /** Simple constructor.
+     * <p>
+     * Build an empty history.
+     * </p>
+     */
+    public GFunctionHistory() {
+        this.dates  = new AbsoluteDate[MAX_SIZE];
+        this.values = new double[MAX_SIZE];
+        this.size   = 0;
+    }
+
+    /** Clear the history.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Add a sample.
+     * <p>
+     * Samples must be added in propagation order. Samples with non-finite
+     * values or at the same date as the last sample are ignored.
+     * </p>
+     * @param date date of the sample
+     * @param g value of the g function
+     */
+    public void add(final AbsoluteDate date, final double g) {
+        if (Double.isNaN(g) || Double.isInfinite(g) || (size > 0 && date.equals(dates[size - 1]))) {
+            return;
+        }
+        if (size == MAX_SIZE) {
+            System.arraycopy(dates,  1, dates,  0, MAX_SIZE - 1);
+            System.arraycopy(values, 1, values, 0, MAX_SIZE - 1);
+            --size;
+        }
+        dates[size]  = date;
+        values[size] = g;
+        ++size;
+    }
+
+    /** Get the number of samples available.
+     * @return number of samples available (between 0 and 3)
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Get the date of the last sample.
+     * @return date of the last sample, or null if history is empty
+     */
+    public AbsoluteDate getLastDate() {
+        return size == 0 ? null : dates[size - 1];
+    }
+
+    /** Get the value of the last sample.
+     * @return value of the last sample, or NaN if history is empty
+     */
+    public double getLastValue() {
+        return size == 0 ? Double.NaN : values[size - 1];
+    }
+
+    /** Estimate the first time derivative at last sample.
+     * @return estimated first time derivative of g at last sample,
+     * or NaN if less than two samples are available
+     */
+    public double getFirstDerivative() {
+        if (size < 2) {
+            return Double.NaN;
+        }
+        final double d12 = dividedDifference(size - 2, size - 1);
+        if (size < 3) {
+            return d12;
+        }
+        // derivative of the interpolating parabola at last sample
+        return d12 + 0.5 * getSecondDerivative() * dates[2].durationFrom(dates[1]);
+    }
+
+    /** Estimate the second time derivative.
+     * @return estimated second time derivative of g,
+     * or NaN if less than three samples are available
+     */
+    public double getSecondDerivative() {
+        if (size < 3) {
+            return Double.NaN;
+        }
+        return 2 * (dividedDifference(1, 2) - dividedDifference(0, 1)) / dates[2].durationFrom(dates[0]);
+    }
+
+    /** Compute a first order divided difference.
+     * @param i index of first sample
+     * @param j index of second sample
+     * @return first order divided difference
+     */
+    private double dividedDifference(final int i, final int j) {
+        return (values[j] - values[i]) / dates[j].durationFrom(dates[i]);
+    }
+
+}
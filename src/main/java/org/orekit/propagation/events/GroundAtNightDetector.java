@@ -137,7 +137,34 @@ public class GroundAtNightDetector extends AbstractDetector<GroundAtNightDetecto
         final AbsoluteDate  date     = state.getDate();
         final Frame         frame    = state.getFrame();
         final Vector3D      position = sun.getPosition(date, frame);
-        final double trueElevation   = groundLocation.getElevation(position, frame, date);
+        return g(groundLocation.getElevation(position, frame, date));
+
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The Sun position in body frame is shared with other detectors.
+     * As subclasses may override {@link #g(SpacecraftState)}, sharing is used only
+     * for instances of this class, otherwise the overridden method is called.
+     * </p>
+     * @since 12.1
+     */
+    @Override
+    public double g(final SpacecraftState state, final EvaluationContext context) {
+        if (getClass() != GroundAtNightDetector.class) {
+            return g(state);
+        }
+        final AbsoluteDate date      = state.getDate();
+        final Frame        bodyFrame = groundLocation.getParentShape().getBodyFrame();
+        final Vector3D     position  = context.getPosition(sun, bodyFrame, date);
+        return g(groundLocation.getElevation(position, bodyFrame, date));
+    }
+
+    /** Compute the value of the switching function from Sun true elevation.
+     * @param trueElevation Sun true elevation
+     * @return value of the switching function
+     */
+    private double g(final double trueElevation) {
 
         final double calculatedElevation;
         if (refractionModel != null) {
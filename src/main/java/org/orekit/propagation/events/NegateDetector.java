@@ -89,6 +89,18 @@ public class NegateDetector extends AbstractDetector<NegateDetector> {
         return -this.original.g(s);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The pre-screener of the original detector is forwarded, with the
+     * g function value negated.
+     * </p>
+     */
+    @Override
+    public EventPreScreener getPreScreener() {
+        final EventPreScreener rawScreener = original.getPreScreener();
+        return rawScreener == null ? null : (sa, ga, sb) -> rawScreener.maySwitch(sa, -ga, sb);
+    }
+
     @Override
     protected NegateDetector create(
             final AdaptableInterval newMaxCheck,
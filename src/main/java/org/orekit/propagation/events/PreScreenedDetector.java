@@ -0,0 +1,182 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.hipparchus.ode.events.Action;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.time.AbsoluteDate;
+
+/** Wrapper adding a coarse {@link EventPreScreener pre-screener} to an event detector.
+ * <p>
+ * This wrapper delegates the {@link #g(SpacecraftState) g function} and the
+ * events handling to the wrapped detector, and provides the pre-screener to the
+ * event detection algorithm, which will use it to avoid evaluating the g function
+ * when the pre-screener proves no sign change can occur. As pre-screeners are
+ * conservative, the events found are exactly the same as the ones found by the
+ * wrapped detector alone, only the number of g function evaluations is reduced.
+ * </p>
+ * <p>
+ * The wrapper counts both the g function evaluations and the intervals that
+ * were screened out, thus allowing to monitor the pre-screener efficiency.
+ * The counters are reset at the start of each propagation.
+ * </p>
+ * <p>
+ * Pre-screening is used only by {@link
+ * org.orekit.propagation.analytical.AbstractAnalyticalPropagator analytical
+ * propagators}, integration-based propagators ignore it and evaluate the g
+ * function at each check.
+ * </p>
+ * @param <T> type of the detector
+ * @see EventPreScreener
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class PreScreenedDetector<T extends EventDetector> extends AbstractDetector<PreScreenedDetector<T>> {
+
+    /** Wrapped event detector. */
+    private final T rawDetector;
+
+    /** Pre-screener. */
+    private final EventPreScreener screener;
+
+    /** Number of g function evaluations. */
+    private long evaluations;
+
+    /** Number of intervals screened out. */
+    private long screened;
+
+    /** Wrap an {@link EventDetector event detector}.
+     * @param rawDetector event detector to wrap
+     * @param screener pre-screener to use (must be conservative)
+     */
+    public PreScreenedDetector(final T rawDetector, final EventPreScreener screener) {
+        this(rawDetector.getMaxCheckInterval(), rawDetector.getThreshold(),
+             rawDetector.getMaxIterationCount(), new LocalHandler<>(),
+             rawDetector, screener);
+    }
+
+    /** Protected constructor with full parameters.
+     * <p>
+     * This constructor is not public as users are expected to use the builder
+     * API with the various {@code withXxx()} methods to set up the instance
+     * in a readable manner without using a huge amount of parameters.
+     * </p>
+     * @param maxCheck maximum checking interval
+     * @param threshold convergence threshold (s)
+     * @param maxIter maximum number of iterations in the event time search
+     * @param handler event handler to call at event occurrences
+     * @param rawDetector event detector to wrap
+     * @param screener pre-screener to use (must be conservative)
+     */
+    protected PreScreenedDetector(final AdaptableInterval maxCheck, final double threshold,
+                                  final int maxIter, final EventHandler handler,
+                                  final T rawDetector, final EventPreScreener screener) {
+        super(maxCheck, threshold, maxIter, handler);
+        this.rawDetector = rawDetector;
+        this.screener    = screener;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected PreScreenedDetector<T> create(final AdaptableInterval newMaxCheck, final double newThreshold,
+                                            final int newMaxIter, final EventHandler newHandler) {
+        return new PreScreenedDetector<>(newMaxCheck, newThreshold, newMaxIter, newHandler, rawDetector, screener);
+    }
+
+    /** Get the wrapped raw detector.
+     * @return the wrapped raw detector
+     */
+    public T getDetector() {
+        return rawDetector;
+    }
+
+    /** Get the number of g function evaluations since propagation start.
+     * @return number of g function evaluations since propagation start
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /** Get the number of intervals screened out since propagation start.
+     * <p>
+     * Each screened out interval corresponds to one saved g function evaluation.
+     * </p>
+     * @return number of intervals screened out since propagation start
+     */
+    public long getScreenedIntervals() {
+        return screened;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(final SpacecraftState s0, final AbsoluteDate t) {
+        super.init(s0, t);
+        rawDetector.init(s0, t);
+        evaluations = 0L;
+        screened    = 0L;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double g(final SpacecraftState s) {
+        ++evaluations;
+        return rawDetector.g(s);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double g(final SpacecraftState s, final EvaluationContext context) {
+        ++evaluations;
+        return rawDetector.g(s, context);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventPreScreener getPreScreener() {
+        return (sa, ga, sb) -> {
+            if (screener.maySwitch(sa, ga, sb)) {
+                return true;
+            } else {
+                ++screened;
+                return false;
+            }
+        };
+    }
+
+    /** Local handler. */
+    private static class LocalHandler<T extends EventDetector> implements EventHandler {
+
+        /** {@inheritDoc} */
+        @Override
+        public Action eventOccurred(final SpacecraftState s, final EventDetector detector, final boolean increasing) {
+            @SuppressWarnings("unchecked")
+            final PreScreenedDetector<T> psd = (PreScreenedDetector<T>) detector;
+            return psd.rawDetector.getHandler().eventOccurred(s, psd.rawDetector, increasing);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState resetState(final EventDetector detector, final SpacecraftState oldState) {
+            @SuppressWarnings("unchecked")
+            final PreScreenedDetector<T> psd = (PreScreenedDetector<T>) detector;
+            return psd.rawDetector.getHandler().resetState(psd.rawDetector, oldState);
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.propagation.SpacecraftState;
+
+/** Adaptive checking interval driven by g function slope and curvature.
+ * <p>
+ * This interval predicts the time needed for the g function to reach zero,
+ * using the last value of g and estimates of its first and second time derivatives
+ * from the {@link GFunctionHistory history}. The prediction is worst-case with
+ * respect to the derivatives directions: both derivatives are assumed to drive g
+ * towards zero, so |g| = |g'| t + |g''| t^2 / 2 is solved for t. The checking interval
+ * is this time multiplied by a safety factor, clipped between a minimum and a
+ * maximum check interval.
+ * </p>
+ * <p>
+ * The minimum check interval should be the value that would be used as a constant
+ * max check interval, it is used when g function is close to zero or when not
+ * enough history is available (for example just after propagation start or after
+ * an event). The maximum check interval is used far from zero, it may be much
+ * larger than the minimum, thus saving g function evaluations. As derivatives are
+ * estimated from past values, this interval is not strictly conservative, the safety
+ * factor must be small enough for the g function to remain smooth over the interval.
+ * </p>
+ * @see AbstractDetector#withSlopeAdaptiveMaxCheck(double, double)
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class SlopeAdaptiveInterval implements GFunctionAdaptableInterval {
+
+    /** Default safety factor. */
+    public static final double DEFAULT_SAFETY = 0.5;
+
+    /** Minimum check interval (s). */
+    private final double minCheck;
+
+    /** Maximum check interval (s). */
+    private final double maxCheck;
+
+    /** Safety factor. */
+    private final double safety;
+
+    /** Simple constructor with {@link #DEFAULT_SAFETY default safety factor}.
+     * @param minCheck minimum check interval (s)
+     * @param maxCheck maximum check interval (s)
+     */
+    public SlopeAdaptiveInterval(final double minCheck, final double maxCheck) {
+        this(minCheck, maxCheck, DEFAULT_SAFETY);
+    }
+
+    /** Simple constructor.
+     * @param minCheck minimum check interval (s)
+     * @param maxCheck maximum check interval (s)
+     * @param safety safety factor (between 0 excluded and 1 included)
+     */
+    public SlopeAdaptiveInterval(final double minCheck, final double maxCheck, final double safety) {
+        if (minCheck <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     minCheck, 0);
+        }
+        if (maxCheck < minCheck) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     maxCheck, minCheck);
+        }
+        if (safety <= 0 || safety > 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_LEFT,
+                                                     safety, 0, 1);
+        }
+        this.minCheck = minCheck;
+        this.maxCheck = maxCheck;
+        this.safety   = safety;
+    }
+
+    /** Get the minimum check interval.
+     * @return minimum check interval (s)
+     */
+    public double getMinCheck() {
+        return minCheck;
+    }
+
+    /** Get the maximum check interval.
+     * @return maximum check interval (s)
+     */
+    public double getMaxCheck() {
+        return maxCheck;
+    }
+
+    /** Get the safety factor.
+     * @return safety factor
+     */
+    public double getSafety() {
+        return safety;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Without history, the minimum check interval is returned.
+     * </p>
+     */
+    @Override
+    public double currentInterval(final SpacecraftState state) {
+        return minCheck;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double currentInterval(final SpacecraftState state, final GFunctionHistory history) {
+
+        if (history.size() < 3) {
+            // not enough history to estimate curvature
+            return minCheck;
+        }
+
+        // worst-case time to reach zero: |g| = v t + a t^2 / 2
+        final double g   = FastMath.abs(history.getLastValue());
+        final double v   = FastMath.abs(history.getFirstDerivative());
+        final double a   = FastMath.abs(history.getSecondDerivative());
+        final double tau = 2 * g / (v + FastMath.sqrt(v * v + 2 * a * g));
+
+        // part of the predicted time already elapsed since last sample
+        final double elapsed = FastMath.abs(state.getDate().durationFrom(history.getLastDate()));
+
+        final double interval = safety * tau - elapsed;
+        return Double.isNaN(interval) ? minCheck : FastMath.max(minCheck, FastMath.min(maxCheck, interval));
+
+    }
+
+}
@@ -20,6 +20,7 @@ package org.orekit.propagation.events;
 import org.hipparchus.CalculusFieldElement;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
+import org.orekit.propagation.SpacecraftState;
 
 
 /** Transformer for {@link EventHandler#g(double, double[]) g functions}.
@@ -134,4 +135,36 @@ enum Transformer {
      */
     protected abstract <T extends CalculusFieldElement<T>> T transformed(T g);
 
+    /** Check if a transformed g function may change sign between two states.
+     * <p>
+     * The transformed function can change sign only if the raw function
+     * changes sign, so the check is delegated to the raw function pre-screener,
+     * after having recovered the raw value from the transformed one. As the
+     * {@link #MIN} and {@link #MAX} transformers lose the sign of the raw value,
+     * both signs are checked in these cases.
+     * </p>
+     * @param rawScreener pre-screener for the raw g function
+     * @param sa state at which g function was last evaluated
+     * @param ga value of the transformed g function at {@code sa}
+     * @param sb state at which g function would be evaluated next
+     * @return false if transformed g function sign is guaranteed to remain the same
+     * @since 12.1
+     */
+    boolean maySwitch(final EventPreScreener rawScreener,
+                      final SpacecraftState sa, final double ga, final SpacecraftState sb) {
+        switch (this) {
+            case PLUS :
+                return rawScreener.maySwitch(sa, ga, sb);
+            case MINUS :
+                return rawScreener.maySwitch(sa, -ga, sb);
+            case MIN :
+            case MAX :
+                return rawScreener.maySwitch(sa, FastMath.abs(ga), sb) ||
+                       rawScreener.maySwitch(sa, -FastMath.abs(ga), sb);
+            default :
+                // the transformed function is identically zero until initialization
+                return true;
+        }
+    }
+
 }
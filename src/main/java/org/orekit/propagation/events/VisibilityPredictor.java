@@ -0,0 +1,519 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.frames.Transform;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.ChronologicalComparator;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.RangeAction;
+
+/** Visibility windows predictor for many stations and many satellites.
+ * <p>
+ * Building contact plans by adding one {@link ElevationDetector} per station
+ * to each satellite propagator implies the cost scales with the number of
+ * (station, satellite) pairs, with each detector computing its own frames
+ * transforms. This predictor avoids this by:
+ * </p>
+ * <ol>
+ *   <li>computing the transforms from propagators frames to the common body
+ *   frame only once per grid date, and sharing them between all satellites,</li>
+ *   <li>converting each satellite position to body frame only once per grid
+ *   date, and sharing it between all stations,</li>
+ *   <li>culling stations that are outside of the footprint of the satellite
+ *   path between grid dates, using stations sorted along the body polar axis,</li>
+ *   <li>refining acquisition and loss of signal dates only for the remaining
+ *   pairs that exhibit an elevation sign change.</li>
+ * </ol>
+ * <p>
+ * Satellites are processed in parallel in a {@link ForkJoinPool}. Each propagator
+ * is used by one thread only, so they do not need to be thread-safe, but they
+ * must not be used by other threads during prediction.
+ * </p>
+ * <p>
+ * The grid step plays the same role as the {@link EventDetector#getMaxCheckInterval()
+ * max check interval} of event detectors: passes shorter than the step may be missed.
+ * Stations are considered with a constant minimum elevation, without refraction or
+ * elevation mask. All stations must be defined on the same body. {@link
+ * org.orekit.estimation.measurements.GroundStation ground stations} can be used by
+ * providing their {@link org.orekit.estimation.measurements.GroundStation#getBaseFrame()
+ * base frame}.
+ * </p>
+ * @see VisibilityWindow
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class VisibilityPredictor {
+
+    /** Safety factor applied to the bound on paths curvature. */
+    private static final double CURVATURE_SAFETY = 2.0;
+
+    /** Maximal order of the root solver. */
+    private static final int SOLVER_ORDER = 5;
+
+    /** Pool running the prediction. */
+    private final ForkJoinPool pool;
+
+    /** Minimum elevation (rad). */
+    private final double minElevation;
+
+    /** Maximum grid step (s). */
+    private final double step;
+
+    /** Convergence threshold for events dates (s). */
+    private final double threshold;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses the {@link ForkJoinPool#commonPool() common pool}
+     * and {@link AbstractDetector#DEFAULT_THRESHOLD default threshold}.
+     * </p>
+     * @param minElevation minimum elevation (rad)
+     * @param step maximum grid step (s)
+     */
+    public VisibilityPredictor(final double minElevation, final double step) {
+        this(ForkJoinPool.commonPool(), minElevation, step, AbstractDetector.DEFAULT_THRESHOLD);
+    }
+
+    /** Simple constructor.
+     * @param pool pool running the prediction
+     * @param minElevation minimum elevation (rad)
+     * @param step maximum grid step (s)
+     * @param threshold convergence threshold for events dates (s)
+     */
+    public VisibilityPredictor(final ForkJoinPool pool, final double minElevation,
+                               final double step, final double threshold) {
+        if (step <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0);
+        }
+        if (threshold <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     threshold, 0);
+        }
+        this.pool         = pool;
+        this.minElevation = minElevation;
+        this.step         = step;
+        this.threshold    = threshold;
+    }
+
+    /** Get the minimum elevation.
+     * @return minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /** Get the maximum grid step.
+     * @return maximum grid step (s)
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /** Get the convergence threshold for events dates.
+     * @return convergence threshold for events dates (s)
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /** Predict visibility windows.
+     * <p>
+     * This method blocks until prediction is completed. All propagators must
+     * cover the prediction window.
+     * </p>
+     * @param stations ground stations
+     * @param satellites satellites propagators
+     * @param start start of the prediction window
+     * @param end end of the prediction window
+     * @return visibility windows, sorted by start date
+     */
+    public List<VisibilityWindow> predict(final List<TopocentricFrame> stations,
+                                          final List<BoundedPropagator> satellites,
+                                          final AbsoluteDate start, final AbsoluteDate end) {
+
+        final double duration = end.durationFrom(start);
+        if (duration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     duration, 0);
+        }
+        final List<VisibilityWindow> windows = new ArrayList<>();
+        if (stations.isEmpty() || satellites.isEmpty()) {
+            return windows;
+        }
+        final int    nbSteps = (int) FastMath.ceil(duration / step);
+        final double h       = duration / nbSteps;
+
+        // prepare stations
+        final Stations prepared = new Stations(stations);
+
+        // shared transforms from propagators frames to body frame
+        final Map<Frame, Transform[]> transforms = new HashMap<>();
+        for (final BoundedPropagator satellite : satellites) {
+            transforms.computeIfAbsent(satellite.getFrame(), f -> new Transform[nbSteps + 1]);
+        }
+        pool.invoke(new RangeAction(0, nbSteps + 1, k -> {
+            final AbsoluteDate date = start.shiftedBy(k * h);
+            for (final Map.Entry<Frame, Transform[]> entry : transforms.entrySet()) {
+                entry.getValue()[k] = entry.getKey().getTransformTo(prepared.bodyFrame, date);
+            }
+        }));
+
+        // process all satellites
+        @SuppressWarnings("unchecked")
+        final List<VisibilityWindow>[] perSatellite = new List[satellites.size()];
+        pool.invoke(new RangeAction(0, satellites.size(), i -> {
+            final BoundedPropagator satellite = satellites.get(i);
+            perSatellite[i] = process(prepared, satellite, transforms.get(satellite.getFrame()),
+                                      start, end, h, nbSteps);
+        }));
+
+        for (final List<VisibilityWindow> list : perSatellite) {
+            windows.addAll(list);
+        }
+        windows.sort(Comparator.comparing(VisibilityWindow::getStart));
+        return windows;
+
+    }
+
+    /** Extract the events from visibility windows.
+     * @param windows visibility windows
+     * @return acquisition and loss of signal events, in chronological order
+     */
+    public static List<LoggedEvent> toLoggedEvents(final List<VisibilityWindow> windows) {
+        final List<LoggedEvent> events = new ArrayList<>(2 * windows.size());
+        for (final VisibilityWindow window : windows) {
+            if (window.getAOS() != null) {
+                events.add(window.getAOS());
+            }
+            if (window.getLOS() != null) {
+                events.add(window.getLOS());
+            }
+        }
+        events.sort(new ChronologicalComparator());
+        return events;
+    }
+
+    /** Process one satellite.
+     * @param stations prepared stations
+     * @param satellite satellite propagator
+     * @param satTransforms transforms from satellite frame to body frame at grid dates
+     * @param start start of the prediction window
+     * @param end end of the prediction window
+     * @param h grid step
+     * @param nbSteps number of steps in the grid
+     * @return visibility windows for this satellite
+     */
+    private List<VisibilityWindow> process(final Stations stations, final BoundedPropagator satellite,
+                                           final Transform[] satTransforms,
+                                           final AbsoluteDate start, final AbsoluteDate end,
+                                           final double h, final int nbSteps) {
+
+        final List<VisibilityWindow> windows = new ArrayList<>();
+        final BracketingNthOrderBrentSolver solver =
+                        new BracketingNthOrderBrentSolver(0, threshold, 0, SOLVER_ORDER);
+
+        // open windows
+        final int            n         = stations.size();
+        final BitSet         visible   = new BitSet(n);
+        final AbsoluteDate[] openStart = new AbsoluteDate[n];
+        final LoggedEvent[]  openAOS   = new LoggedEvent[n];
+
+        final SpacecraftState state0 = satellite.propagate(start);
+        PVCoordinates pv0  = satTransforms[0].transformPVCoordinates(state0.getPVCoordinates(satellite.getFrame()));
+        double        acc0 = maxAcceleration(state0, pv0, satTransforms[0]);
+        for (int i = 0; i < n; ++i) {
+            if (stations.g(i, pv0.getPosition()) >= 0) {
+                visible.set(i);
+                openStart[i] = start;
+            }
+        }
+
+        for (int k = 0; k < nbSteps; ++k) {
+
+            final AbsoluteDate    t0     = start.shiftedBy(k * h);
+            final SpacecraftState state1 = satellite.propagate(start.shiftedBy((k + 1) * h));
+            final PVCoordinates   pv1    =
+                            satTransforms[k + 1].transformPVCoordinates(state1.getPVCoordinates(satellite.getFrame()));
+            final double          acc1   = maxAcceleration(state1, pv1, satTransforms[k + 1]);
+
+            // stations that may see the satellite during the bucket, and stations already seeing it
+            final double margin     = CURVATURE_SAFETY * FastMath.max(acc0, acc1) * h * h / 8;
+            final BitSet candidates = stations.candidates(pv0.getPosition(), pv1.getPosition(), margin);
+            candidates.or(visible);
+
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                final double  g0         = stations.g(i, pv0.getPosition());
+                final double  g1         = stations.g(i, pv1.getPosition());
+                final boolean wasVisible = visible.get(i);
+                if (wasVisible != g1 >= 0) {
+
+                    // visibility status changes within the bucket
+                    final int station = i;
+                    final UnivariateFunction g = dt -> {
+                        if (dt <= 0) {
+                            return g0;
+                        } else if (dt >= h) {
+                            return g1;
+                        } else {
+                            final AbsoluteDate t         = t0.shiftedBy(dt);
+                            final Transform    transform = satellite.getFrame().getTransformTo(stations.bodyFrame, t);
+                            final Vector3D     p         = satellite.propagate(t).getPosition(satellite.getFrame());
+                            return stations.g(station, transform.transformPosition(p));
+                        }
+                    };
+                    final double          dtEvent = solver.solve(AbstractDetector.DEFAULT_MAX_ITER, g, 0, h,
+                                                                 AllowedSolution.ANY_SIDE);
+                    final SpacecraftState event   = satellite.propagate(t0.shiftedBy(dtEvent));
+                    if (wasVisible) {
+                        windows.add(new VisibilityWindow(stations.detectors[i], satellite,
+                                                         openStart[i], event.getDate(),
+                                                         openAOS[i],
+                                                         new LoggedEvent(stations.detectors[i], event, false)));
+                        visible.clear(i);
+                        openStart[i] = null;
+                        openAOS[i]   = null;
+                    } else {
+                        visible.set(i);
+                        openStart[i] = event.getDate();
+                        openAOS[i]   = new LoggedEvent(stations.detectors[i], event, true);
+                    }
+
+                }
+            }
+
+            pv0  = pv1;
+            acc0 = acc1;
+
+        }
+
+        // close the windows still open at prediction end
+        for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+            windows.add(new VisibilityWindow(stations.detectors[i], satellite,
+                                             openStart[i], end, openAOS[i], null));
+        }
+
+        return windows;
+
+    }
+
+    /** Bound the acceleration in body frame.
+     * @param state spacecraft state
+     * @param pv position-velocity in body frame
+     * @param transform transform from satellite frame to body frame
+     * @return bound on acceleration norm in body frame, including inertial accelerations
+     */
+    private static double maxAcceleration(final SpacecraftState state, final PVCoordinates pv,
+                                          final Transform transform) {
+        final double r     = pv.getPosition().getNorm();
+        final double omega = transform.getRotationRate().getNorm();
+        return state.getMu() / (r * r) + 2 * omega * pv.getVelocity().getNorm() + omega * omega * r;
+    }
+
+    /** Container for stations prepared for culling. */
+    private class Stations {
+
+        /** Common body frame. */
+        private final Frame bodyFrame;
+
+        /** Elevation detectors, one per station. */
+        private final ElevationDetector[] detectors;
+
+        /** Stations positions in body frame. */
+        private final Vector3D[] positions;
+
+        /** Stations zenith directions in body frame. */
+        private final Vector3D[] zeniths;
+
+        /** Stations indices, sorted by increasing polar component of geocentric direction. */
+        private final int[] sorted;
+
+        /** Polar component of geocentric directions, in sorted order. */
+        private final double[] sortedZ;
+
+        /** Geocentric directions, in sorted order. */
+        private final Vector3D[] sortedDirections;
+
+        /** Minimum geocentric radius of stations. */
+        private final double minRadius;
+
+        /** Minimum elevation with respect to geocentric zenith. */
+        private final double minGeocentricElevation;
+
+        /** Simple constructor.
+         * @param stations ground stations
+         */
+        Stations(final List<TopocentricFrame> stations) {
+
+            final int n = stations.size();
+            bodyFrame   = stations.get(0).getParentShape().getBodyFrame();
+            detectors   = new ElevationDetector[n];
+            positions   = new Vector3D[n];
+            zeniths     = new Vector3D[n];
+
+            double rMin         = Double.POSITIVE_INFINITY;
+            double maxDeviation = 0;
+            final Vector3D[] directions = new Vector3D[n];
+            for (int i = 0; i < n; ++i) {
+                final TopocentricFrame station = stations.get(i);
+                final Frame stationBody = station.getParentShape().getBodyFrame();
+                if (stationBody != bodyFrame) {
+                    throw new OrekitIllegalArgumentException(OrekitMessages.FRAMES_MISMATCH,
+                                                             stationBody.getName(), bodyFrame.getName());
+                }
+                detectors[i]  = new ElevationDetector(step, threshold, station).withConstantElevation(minElevation);
+                positions[i]  = station.getParentShape().transform(station.getPoint());
+                zeniths[i]    = station.getZenith();
+                directions[i] = positions[i].normalize();
+                rMin          = FastMath.min(rMin, positions[i].getNorm());
+                maxDeviation  = FastMath.max(maxDeviation, Vector3D.angle(zeniths[i], directions[i]));
+            }
+            minRadius              = rMin;
+            minGeocentricElevation = minElevation - maxDeviation;
+
+            final Integer[] order = new Integer[n];
+            for (int i = 0; i < n; ++i) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> directions[i].getZ()));
+            sorted           = new int[n];
+            sortedZ          = new double[n];
+            sortedDirections = new Vector3D[n];
+            for (int i = 0; i < n; ++i) {
+                sorted[i]           = order[i];
+                sortedDirections[i] = directions[order[i]];
+                sortedZ[i]          = sortedDirections[i].getZ();
+            }
+
+        }
+
+        /** Get the number of stations.
+         * @return number of stations
+         */
+        int size() {
+            return positions.length;
+        }
+
+        /** Compute elevation above minimum elevation.
+         * @param i station index
+         * @param satellite satellite position in body frame
+         * @return elevation minus minimum elevation (rad)
+         */
+        double g(final int i, final Vector3D satellite) {
+            final Vector3D los = satellite.subtract(positions[i]);
+            return FastMath.asin(FastMath.max(-1, FastMath.min(1, Vector3D.dotProduct(zeniths[i], los) / los.getNorm()))) -
+                   minElevation;
+        }
+
+        /** Select the stations that may see the satellite between two grid points.
+         * @param p0 satellite position in body frame at bucket start
+         * @param p1 satellite position in body frame at bucket end
+         * @param margin margin for path curvature
+         * @return candidate stations
+         */
+        BitSet candidates(final Vector3D p0, final Vector3D p1, final double margin) {
+
+            final BitSet candidates = new BitSet(positions.length);
+
+            // sphere enclosing the satellite path during the bucket
+            final Vector3D center = new Vector3D(0.5, p0, 0.5, p1);
+            final double   rC     = center.getNorm();
+            final double   radius = 0.5 * Vector3D.distance(p0, p1) + margin;
+
+            // footprint half angle, for the highest point of the sphere and the lowest station
+            final double footprint = radius < rC ?
+                                     footprint(rC + radius) + FastMath.asin(radius / rC) :
+                                     Double.NaN;
+            if (!(footprint < FastMath.PI)) {
+                // no culling possible
+                candidates.set(0, positions.length);
+                return candidates;
+            }
+
+            // stations within the polar band covered by the footprint
+            final double   latitude = FastMath.asin(FastMath.max(-1, FastMath.min(1, center.getZ() / rC)));
+            final double   zMin     = latitude - footprint <= -MathUtils.SEMI_PI ? -1 : FastMath.sin(latitude - footprint);
+            final double   zMax     = latitude + footprint >=  MathUtils.SEMI_PI ?  1 : FastMath.sin(latitude + footprint);
+            final double   cosMax   = FastMath.cos(footprint);
+            final Vector3D u        = center.scalarMultiply(1.0 / rC);
+            for (int j = lowerBound(zMin); j < sortedZ.length && sortedZ[j] <= zMax; ++j) {
+                if (Vector3D.dotProduct(sortedDirections[j], u) >= cosMax) {
+                    candidates.set(sorted[j]);
+                }
+            }
+
+            return candidates;
+
+        }
+
+        /** Compute the footprint half angle.
+         * @param r satellite geocentric radius
+         * @return largest central angle between satellite and visible stations
+         */
+        private double footprint(final double r) {
+            if (minGeocentricElevation <= -MathUtils.SEMI_PI) {
+                return FastMath.PI;
+            }
+            final double cosArg = minRadius * FastMath.cos(minGeocentricElevation) / r;
+            return cosArg >= 1 ? FastMath.PI : FastMath.acos(cosArg) - minGeocentricElevation;
+        }
+
+        /** Find the first sorted station with polar component not lower than a limit.
+         * @param zMin limit
+         * @return index of the first station in sorted order with polar component not lower than zMin
+         */
+        private int lowerBound(final double zMin) {
+            int low  = 0;
+            int high = sortedZ.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (sortedZ[mid] < zMin) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+    }
+
+}
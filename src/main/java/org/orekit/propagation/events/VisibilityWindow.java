@@ -0,0 +1,126 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.time.AbsoluteDate;
+
+/** Visibility window between one ground station and one satellite.
+ * <p>
+ * The acquisition and loss of signal events are the same as the ones an
+ * {@link EventsLogger} would have logged for the {@link #getDetector() elevation
+ * detector} if it had been added to the satellite propagator. They are null
+ * if the window was already open at prediction start or still open at
+ * prediction end.
+ * </p>
+ * @see VisibilityPredictor
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class VisibilityWindow {
+
+    /** Elevation detector for the station. */
+    private final ElevationDetector detector;
+
+    /** Satellite propagator. */
+    private final BoundedPropagator satellite;
+
+    /** Window start. */
+    private final AbsoluteDate start;
+
+    /** Window end. */
+    private final AbsoluteDate end;
+
+    /** Acquisition of signal event (may be null). */
+    private final LoggedEvent aos;
+
+    /** Loss of signal event (may be null). */
+    private final LoggedEvent los;
+
+    /** Simple constructor.
+     * @param detector elevation detector for the station
+     * @param satellite satellite propagator
+     * @param start window start
+     * @param end window end
+     * @param aos acquisition of signal event (may be null)
+     * @param los loss of signal event (may be null)
+     */
+    VisibilityWindow(final ElevationDetector detector, final BoundedPropagator satellite,
+                     final AbsoluteDate start, final AbsoluteDate end,
+                     final LoggedEvent aos, final LoggedEvent los) {
+        this.detector  = detector;
+        this.satellite = satellite;
+        this.start     = start;
+        this.end       = end;
+        this.aos       = aos;
+        this.los       = los;
+    }
+
+    /** Get the elevation detector for the station.
+     * @return elevation detector for the station
+     */
+    public ElevationDetector getDetector() {
+        return detector;
+    }
+
+    /** Get the station.
+     * @return station
+     */
+    public TopocentricFrame getStation() {
+        return detector.getTopocentricFrame();
+    }
+
+    /** Get the satellite propagator.
+     * @return satellite propagator
+     */
+    public BoundedPropagator getSatellite() {
+        return satellite;
+    }
+
+    /** Get the window start.
+     * @return window start (either acquisition of signal date or prediction start)
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Get the window end.
+     * @return window end (either loss of signal date or prediction end)
+     */
+    public AbsoluteDate getEnd() {
+        return end;
+    }
+
+    /** Get the acquisition of signal event.
+     * @return acquisition of signal event, or null if window was
+     * already open at prediction start
+     */
+    public LoggedEvent getAOS() {
+        return aos;
+    }
+
+    /** Get the loss of signal event.
+     * @return loss of signal event, or null if window was
+     * still open at prediction end
+     */
+    public LoggedEvent getLOS() {
+        return los;
+    }
+
+}
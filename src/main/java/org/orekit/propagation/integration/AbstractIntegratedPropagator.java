@@ -57,7 +57,10 @@ import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.EphemerisGenerator;
 import org.orekit.propagation.PropagationType;
 import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EvaluationContext;
 import org.orekit.propagation.events.EventDetector;
+import org.orekit.propagation.events.GFunctionAdaptableInterval;
+import org.orekit.propagation.events.GFunctionHistory;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
@@ -79,6 +82,16 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
     /** Event detectors not related to force models. */
     private final List<EventDetector> detectors;
 
+    /** Context shared by event detectors.
+     * @since 12.1
+     */
+    private final EvaluationContext evaluationContext;
+
+    /** Number of state resets performed by event handlers.
+     * @since 12.1
+     */
+    private int resets;
+
     /** Step handlers dedicated to ephemeris generation. */
     private final List<StoringStepHandler> ephemerisGenerators;
 
@@ -119,6 +132,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      */
     protected AbstractIntegratedPropagator(final ODEIntegrator integrator, final PropagationType propagationType) {
         detectors                      = new ArrayList<>();
+        evaluationContext              = new EvaluationContext();
         ephemerisGenerators            = new ArrayList<>();
         additionalDerivativesProviders = new ArrayList<>();
         this.secondaryOffsets          = new HashMap<>();
@@ -473,6 +487,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             // mathematical integration
             final ODEStateAndDerivative mathFinalState;
             beforeIntegration(initialIntegrationState, tEnd);
+            evaluationContext.clear();
             mathFinalState = integrator.integrate(mathODE, mathInitialState,
                                                   tEnd.durationFrom(getInitialState().getDate()));
             afterIntegration();
@@ -887,6 +902,21 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         /** Value from the previous call to g. */
         private double lastG;
 
+        /** History of g function values along the scan.
+         * @since 12.1
+         */
+        private final GFunctionHistory history;
+
+        /** Propagation direction.
+         * @since 12.1
+         */
+        private boolean forward;
+
+        /** Number of state resets already taken into account in history.
+         * @since 12.1
+         */
+        private int knownResets;
+
         /** Build a wrapped event detector.
          * @param detector event detector to wrap
         */
@@ -895,12 +925,18 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             this.handler  = detector.getHandler();
             this.lastT    = Double.NaN;
             this.lastG    = Double.NaN;
+            this.history  = new GFunctionHistory();
         }
 
         /** {@inheritDoc} */
         @Override
         public AdaptableInterval getMaxCheckInterval() {
-            return s -> detector.getMaxCheckInterval().currentInterval(convert(s));
+            if (detector.getMaxCheckInterval() instanceof GFunctionAdaptableInterval) {
+                final GFunctionAdaptableInterval adaptable = (GFunctionAdaptableInterval) detector.getMaxCheckInterval();
+                return s -> adaptable.currentInterval(convert(s), history);
+            } else {
+                return s -> detector.getMaxCheckInterval().currentInterval(convert(s));
+            }
         }
 
         /** {@inheritDoc} */
@@ -918,19 +954,44 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         /** {@inheritDoc} */
         public void init(final ODEStateAndDerivative s0, final double t) {
             detector.init(convert(s0), stateMapper.mapDoubleToDate(t));
-            this.lastT = Double.NaN;
-            this.lastG = Double.NaN;
+            this.lastT       = Double.NaN;
+            this.lastG       = Double.NaN;
+            this.forward     = t >= s0.getTime();
+            this.knownResets = resets;
+            history.clear();
         }
 
         /** {@inheritDoc} */
         public double g(final ODEStateAndDerivative s) {
             if (!Precision.equals(lastT, s.getTime(), 0)) {
                 lastT = s.getTime();
-                lastG = detector.g(convert(s));
+                lastG = detector.g(convert(s), evaluationContext);
+                record(s.getTime(), lastG);
             }
             return lastG;
         }
 
+        /** Record a g function value in history.
+         * <p>
+         * Only values that advance the scan are recorded, values computed
+         * during root search inside an already scanned interval are ignored.
+         * </p>
+         * @param t time of the value
+         * @param value g function value
+         */
+        private void record(final double t, final double value) {
+            if (knownResets != resets) {
+                // some handler has reset the state, older values are not reliable anymore
+                knownResets = resets;
+                history.clear();
+            }
+            final AbsoluteDate date = stateMapper.mapDoubleToDate(t);
+            if (history.size() == 0 ||
+                (forward ? date.isAfter(history.getLastDate()) : date.isBefore(history.getLastDate()))) {
+                history.add(date, value);
+            }
+        }
+
         /** {@inheritDoc} */
         public ODEEventHandler getHandler() {
 
@@ -938,6 +999,8 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
                 /** {@inheritDoc} */
                 public Action eventOccurred(final ODEStateAndDerivative s, final ODEEventDetector d, final boolean increasing) {
+                    // the g function changes regime at events
+                    history.clear();
                     return handler.eventOccurred(convert(s), detector, increasing);
                 }
 
@@ -947,6 +1010,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
                     final SpacecraftState oldState = convert(s);
                     final SpacecraftState newState = handler.resetState(detector, oldState);
                     stateChanged(newState);
+                    ++resets;
 
                     // main part
                     final double[] primary    = new double[s.getPrimaryStateDimension()];
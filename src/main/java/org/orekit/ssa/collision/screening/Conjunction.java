@@ -0,0 +1,120 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.screening;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.ssa.metrics.ProbabilityOfCollision;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Close approach between two objects found by a {@link ConjunctionScreener}.
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class Conjunction implements TimeStamped {
+
+    /** Primary object. */
+    private final ScreeningObject primary;
+
+    /** Secondary object. */
+    private final ScreeningObject secondary;
+
+    /** Primary position-velocity at time of closest approach. */
+    private final TimeStampedPVCoordinates primaryPV;
+
+    /** Secondary position-velocity at time of closest approach. */
+    private final TimeStampedPVCoordinates secondaryPV;
+
+    /** Probability of collision (may be null). */
+    private final ProbabilityOfCollision probabilityOfCollision;
+
+    /** Simple constructor.
+     * @param primary primary object
+     * @param secondary secondary object
+     * @param primaryPV primary position-velocity at time of closest approach
+     * @param secondaryPV secondary position-velocity at time of closest approach
+     * @param probabilityOfCollision probability of collision (may be null)
+     */
+    public Conjunction(final ScreeningObject primary, final ScreeningObject secondary,
+                       final TimeStampedPVCoordinates primaryPV, final TimeStampedPVCoordinates secondaryPV,
+                       final ProbabilityOfCollision probabilityOfCollision) {
+        this.primary                = primary;
+        this.secondary              = secondary;
+        this.primaryPV              = primaryPV;
+        this.secondaryPV            = secondaryPV;
+        this.probabilityOfCollision = probabilityOfCollision;
+    }
+
+    /** Get the time of closest approach.
+     * @return time of closest approach
+     */
+    @Override
+    public AbsoluteDate getDate() {
+        return primaryPV.getDate();
+    }
+
+    /** Get the primary object.
+     * @return primary object
+     */
+    public ScreeningObject getPrimary() {
+        return primary;
+    }
+
+    /** Get the secondary object.
+     * @return secondary object
+     */
+    public ScreeningObject getSecondary() {
+        return secondary;
+    }
+
+    /** Get the primary position-velocity at time of closest approach.
+     * @return primary position-velocity at time of closest approach, in screening frame
+     */
+    public TimeStampedPVCoordinates getPrimaryPV() {
+        return primaryPV;
+    }
+
+    /** Get the secondary position-velocity at time of closest approach.
+     * @return secondary position-velocity at time of closest approach, in screening frame
+     */
+    public TimeStampedPVCoordinates getSecondaryPV() {
+        return secondaryPV;
+    }
+
+    /** Get the miss distance.
+     * @return miss distance (m)
+     */
+    public double getMissDistance() {
+        return Vector3D.distance(primaryPV.getPosition(), secondaryPV.getPosition());
+    }
+
+    /** Get the relative velocity norm.
+     * @return relative velocity norm (m/s)
+     */
+    public double getRelativeSpeed() {
+        return Vector3D.distance(primaryPV.getVelocity(), secondaryPV.getVelocity());
+    }
+
+    /** Get the probability of collision.
+     * @return probability of collision, or null if it was not computed
+     */
+    public ProbabilityOfCollision getProbabilityOfCollision() {
+        return probabilityOfCollision;
+    }
+
+}
@@ -0,0 +1,463 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.screening;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.StateCovariance;
+import org.orekit.propagation.events.AbstractDetector;
+import org.orekit.ssa.collision.shorttermencounter.probability.twod.ShortTermEncounter2DPOCMethod;
+import org.orekit.ssa.metrics.ProbabilityOfCollision;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.ChronologicalComparator;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.RangeAction;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** All-vs-all conjunction screening engine.
+ * <p>
+ * The screener finds all close approaches below a screening distance between the
+ * objects of a catalog, over a time window. It avoids checking all N(N-1)/2 pairs
+ * at all times using several filters:
+ * </p>
+ * <ol>
+ *   <li>all objects are sampled on a regular time grid in the screening frame,</li>
+ *   <li>for each time bucket between consecutive grid points, the path of each object
+ *   is enclosed in an axis-aligned box (taking into account path curvature and the
+ *   screening distance), and overlapping boxes are identified using sort-and-sweep
+ *   along the X axis,</li>
+ *   <li>pairs whose altitude ranges (minimum perigee and maximum apogee radii over the
+ *   window) are farther apart than the screening distance are rejected,</li>
+ *   <li>for the remaining pairs, the time of closest approach is located by solving
+ *   for the roots of the relative range rate in each candidate time bucket, just as
+ *   {@link org.orekit.propagation.events.ExtremumApproachDetector} does,</li>
+ *   <li>if a {@link ShortTermEncounter2DPOCMethod probability of collision method}
+ *   is configured and both objects have a covariance, the probability of collision
+ *   is computed at time of closest approach.</li>
+ * </ol>
+ * <p>
+ * Sampling, sweeping and refinement are all run in parallel in a {@link ForkJoinPool}.
+ * Propagators are always accessed while holding their own lock, so they do not need
+ * to be thread-safe, but they must not be used by other threads during screening.
+ * Some probability of collision methods (for example {@link
+ * org.orekit.ssa.collision.shorttermencounter.probability.twod.Patera2005 Patera2005})
+ * rely on numerical integrators that hold mutable state, so the screener builds one
+ * method instance per worker thread from the supplied factory.
+ * </p>
+ * <p>
+ * The grid step must be small with respect to the period of the relative motion, as
+ * only one closest approach per bucket can be found. A tenth of the shortest orbital
+ * period is a reasonable choice. Memory consumption is proportional to the number
+ * of objects times the number of grid points, so very long windows for very large
+ * catalogs should be split in several screenings. Closest approaches occurring
+ * exactly at the window boundaries are not reported.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class ConjunctionScreener {
+
+    /** Safety factor applied to the Keplerian bound on paths curvature. */
+    private static final double CURVATURE_SAFETY = 2.0;
+
+    /** Maximal order of the root solver. */
+    private static final int SOLVER_ORDER = 5;
+
+    /** Pool running the screening. */
+    private final ForkJoinPool pool;
+
+    /** Inertial frame in which screening is performed. */
+    private final Frame frame;
+
+    /** Screening distance (m). */
+    private final double screeningDistance;
+
+    /** Maximum sampling step (s). */
+    private final double step;
+
+    /** Per-thread methods for computing probability of collision (may be null). */
+    private final ThreadLocal<ShortTermEncounter2DPOCMethod> pocMethods;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor uses the {@link ForkJoinPool#commonPool() common pool}
+     * and does not compute probabilities of collision.
+     * </p>
+     * @param frame inertial frame in which screening is performed
+     * @param screeningDistance screening distance (m)
+     * @param step maximum sampling step (s)
+     */
+    public ConjunctionScreener(final Frame frame, final double screeningDistance, final double step) {
+        this(ForkJoinPool.commonPool(), frame, screeningDistance, step, null);
+    }
+
+    /** Simple constructor.
+     * @param pool pool running the screening
+     * @param frame inertial frame in which screening is performed
+     * @param screeningDistance screening distance (m)
+     * @param step maximum sampling step (s)
+     * @param pocFactory factory for methods computing probability of collision, called
+     * once per worker thread (may be null if probabilities of collision are not needed)
+     */
+    public ConjunctionScreener(final ForkJoinPool pool, final Frame frame,
+                               final double screeningDistance, final double step,
+                               final Supplier<? extends ShortTermEncounter2DPOCMethod> pocFactory) {
+        if (screeningDistance <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     screeningDistance, 0);
+        }
+        if (step <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0);
+        }
+        this.pool              = pool;
+        this.frame             = frame;
+        this.screeningDistance = screeningDistance;
+        this.step              = step;
+        this.pocMethods        = pocFactory == null ? null : ThreadLocal.withInitial(pocFactory);
+    }
+
+    /** Get the frame in which screening is performed.
+     * @return frame in which screening is performed
+     */
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** Get the screening distance.
+     * @return screening distance (m)
+     */
+    public double getScreeningDistance() {
+        return screeningDistance;
+    }
+
+    /** Get the maximum sampling step.
+     * @return maximum sampling step (s)
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /** Get the method for computing probability of collision.
+     * <p>
+     * As methods may not be thread-safe, the screener holds one instance per
+     * thread, and the returned instance is the one dedicated to the calling thread.
+     * </p>
+     * @return method for computing probability of collision (may be null)
+     */
+    public ShortTermEncounter2DPOCMethod getPOCMethod() {
+        return pocMethods == null ? null : pocMethods.get();
+    }
+
+    /** Screen a catalog for conjunctions.
+     * <p>
+     * This method blocks until screening is completed. All propagators must
+     * cover the screening window.
+     * </p>
+     * @param objects catalog objects
+     * @param start start of the screening window
+     * @param end end of the screening window
+     * @return conjunctions with miss distance below screening distance, in chronological order
+     */
+    public List<Conjunction> screen(final List<ScreeningObject> objects,
+                                    final AbsoluteDate start, final AbsoluteDate end) {
+
+        final double duration = end.durationFrom(start);
+        if (duration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     duration, 0);
+        }
+        final int    nbSteps = (int) FastMath.ceil(duration / step);
+        final double h       = duration / nbSteps;
+        final int    n       = objects.size();
+
+        // sample all objects on the time grid
+        final Sampling[] samplings = new Sampling[n];
+        pool.invoke(new RangeAction(0, n, i -> samplings[i] = sample(objects.get(i), start, h, nbSteps)));
+
+        // find candidate pairs in each time bucket
+        final long[][] bucketsPairs = new long[nbSteps][];
+        pool.invoke(new RangeAction(0, nbSteps, k -> bucketsPairs[k] = sweep(samplings, k)));
+
+        // gather the candidate buckets for each pair
+        final Map<Long, BitSet> candidates = new HashMap<>();
+        for (int k = 0; k < nbSteps; ++k) {
+            for (final long key : bucketsPairs[k]) {
+                candidates.computeIfAbsent(key, x -> new BitSet(nbSteps)).set(k);
+            }
+        }
+        final long[] keys = candidates.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+        // refine closest approaches
+        final List<List<Conjunction>> refined = new ArrayList<>(Collections.nCopies(keys.length, null));
+        pool.invoke(new RangeAction(0, keys.length, p -> {
+            final int i = (int) (keys[p] / n);
+            final int j = (int) (keys[p] % n);
+            refined.set(p, refine(objects.get(i), samplings[i], objects.get(j), samplings[j],
+                                  candidates.get(keys[p]), start, h));
+        }));
+
+        final List<Conjunction> conjunctions = new ArrayList<>();
+        for (final List<Conjunction> list : refined) {
+            conjunctions.addAll(list);
+        }
+        conjunctions.sort(new ChronologicalComparator());
+        return conjunctions;
+
+    }
+
+    /** Sample one object on the time grid.
+     * @param object object to sample
+     * @param start start of the screening window
+     * @param h grid step
+     * @param nbSteps number of steps in the grid
+     * @return sampling
+     */
+    private Sampling sample(final ScreeningObject object, final AbsoluteDate start,
+                            final double h, final int nbSteps) {
+        final double[] pv      = new double[6 * (nbSteps + 1)];
+        double minPerigee      = Double.POSITIVE_INFINITY;
+        double maxApogee       = 0;
+        double maxAcceleration = 0;
+        for (int k = 0; k <= nbSteps; ++k) {
+            final Orbit         orbit       = orbit(object.getPropagator(), start.shiftedBy(k * h));
+            final PVCoordinates coordinates = orbit.getPVCoordinates(frame);
+            final Vector3D      p           = coordinates.getPosition();
+            final Vector3D      v           = coordinates.getVelocity();
+            pv[6 * k]     = p.getX();
+            pv[6 * k + 1] = p.getY();
+            pv[6 * k + 2] = p.getZ();
+            pv[6 * k + 3] = v.getX();
+            pv[6 * k + 4] = v.getY();
+            pv[6 * k + 5] = v.getZ();
+            final double a = orbit.getA();
+            final double e = orbit.getE();
+            minPerigee      = FastMath.min(minPerigee, a * (1 - e));
+            maxApogee       = e < 1 ? FastMath.max(maxApogee, a * (1 + e)) : Double.POSITIVE_INFINITY;
+            maxAcceleration = FastMath.max(maxAcceleration, orbit.getMu() / p.getNormSq());
+        }
+
+        // the path between grid points deviates from the chord by at most a h² / 8
+        final double margin = CURVATURE_SAFETY * maxAcceleration * h * h / 8;
+
+        return new Sampling(pv, minPerigee, maxApogee, margin);
+
+    }
+
+    /** Find candidate pairs in one time bucket using sort-and-sweep.
+     * @param samplings samplings of all objects
+     * @param k index of the time bucket
+     * @return keys of the candidate pairs
+     */
+    private long[] sweep(final Sampling[] samplings, final int k) {
+
+        // bounding boxes of the paths, expanded by half the screening distance
+        final int        n     = samplings.length;
+        final double[][] boxes = new double[n][6];
+        final Integer[]  order = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            final double[] pv     = samplings[i].pv;
+            final double   expand = 0.5 * screeningDistance + samplings[i].margin;
+            for (int axis = 0; axis < 3; ++axis) {
+                final double c0 = pv[6 * k + axis];
+                final double c1 = pv[6 * (k + 1) + axis];
+                boxes[i][2 * axis]     = FastMath.min(c0, c1) - expand;
+                boxes[i][2 * axis + 1] = FastMath.max(c0, c1) + expand;
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> boxes[i][0]));
+
+        // sweep along X axis
+        final int[]      active   = new int[n];
+        int              nbActive = 0;
+        final List<Long> pairs    = new ArrayList<>();
+        for (final int i : order) {
+            final double[] bi   = boxes[i];
+            int            kept = 0;
+            for (int a = 0; a < nbActive; ++a) {
+                final int      j  = active[a];
+                final double[] bj = boxes[j];
+                if (bj[1] >= bi[0]) {
+                    // box j is still active
+                    active[kept++] = j;
+                    if (bj[2] <= bi[3] && bi[2] <= bj[3] &&
+                        bj[4] <= bi[5] && bi[4] <= bj[5] &&
+                        compatibleAltitudes(samplings[i], samplings[j])) {
+                        pairs.add((long) FastMath.min(i, j) * n + FastMath.max(i, j));
+                    }
+                }
+            }
+            nbActive = kept;
+            active[nbActive++] = i;
+        }
+
+        return pairs.stream().mapToLong(Long::longValue).toArray();
+
+    }
+
+    /** Apogee/perigee filter.
+     * @param s1 sampling of first object
+     * @param s2 sampling of second object
+     * @return true if altitude ranges of both objects are close enough for a conjunction
+     */
+    private boolean compatibleAltitudes(final Sampling s1, final Sampling s2) {
+        return FastMath.max(s1.minPerigee, s2.minPerigee) -
+               FastMath.min(s1.maxApogee, s2.maxApogee) <= screeningDistance;
+    }
+
+    /** Refine closest approaches for one pair.
+     * @param primary primary object
+     * @param primarySampling sampling of primary object
+     * @param secondary secondary object
+     * @param secondarySampling sampling of secondary object
+     * @param buckets candidate time buckets
+     * @param start start of the screening window
+     * @param h grid step
+     * @return conjunctions found for this pair
+     */
+    private List<Conjunction> refine(final ScreeningObject primary, final Sampling primarySampling,
+                                     final ScreeningObject secondary, final Sampling secondarySampling,
+                                     final BitSet buckets, final AbsoluteDate start, final double h) {
+
+        final List<Conjunction> conjunctions = new ArrayList<>();
+        final BracketingNthOrderBrentSolver solver =
+                        new BracketingNthOrderBrentSolver(0, AbstractDetector.DEFAULT_THRESHOLD, 0, SOLVER_ORDER);
+
+        for (int k = buckets.nextSetBit(0); k >= 0; k = buckets.nextSetBit(k + 1)) {
+
+            final double g0 = rangeRate(primarySampling.pv, secondarySampling.pv, k);
+            final double g1 = rangeRate(primarySampling.pv, secondarySampling.pv, k + 1);
+            if (g0 < 0 && g1 >= 0) {
+
+                // there is a closest approach within the bucket
+                final AbsoluteDate t0 = start.shiftedBy(k * h);
+                final UnivariateFunction g = dt -> {
+                    final AbsoluteDate t = t0.shiftedBy(dt);
+                    final PVCoordinates delta = new PVCoordinates(orbit(primary.getPropagator(), t).getPVCoordinates(frame),
+                                                                  orbit(secondary.getPropagator(), t).getPVCoordinates(frame));
+                    return Vector3D.dotProduct(delta.getPosition(), delta.getVelocity());
+                };
+                final double       dtTCA          = solver.solve(AbstractDetector.DEFAULT_MAX_ITER, g, 0, h,
+                                                                 AllowedSolution.ANY_SIDE);
+                final AbsoluteDate tca            = t0.shiftedBy(dtTCA);
+                final Orbit        primaryOrbit   = orbit(primary.getPropagator(), tca);
+                final Orbit        secondaryOrbit = orbit(secondary.getPropagator(), tca);
+                final TimeStampedPVCoordinates primaryPV   = primaryOrbit.getPVCoordinates(frame);
+                final TimeStampedPVCoordinates secondaryPV = secondaryOrbit.getPVCoordinates(frame);
+
+                if (Vector3D.distance(primaryPV.getPosition(), secondaryPV.getPosition()) <= screeningDistance) {
+                    ProbabilityOfCollision poc = null;
+                    if (pocMethods != null && primary.getCovariance() != null && secondary.getCovariance() != null) {
+                        poc = pocMethods.get().compute(primaryOrbit, covarianceAt(primary.getCovariance(), primaryOrbit),
+                                                       secondaryOrbit, covarianceAt(secondary.getCovariance(), secondaryOrbit),
+                                                       primary.getRadius() + secondary.getRadius());
+                    }
+                    conjunctions.add(new Conjunction(primary, secondary, primaryPV, secondaryPV, poc));
+                }
+
+            }
+        }
+
+        return conjunctions;
+
+    }
+
+    /** Compute relative range rate at a grid point.
+     * @param pv1 sampled positions-velocities of first object
+     * @param pv2 sampled positions-velocities of second object
+     * @param k index of the grid point
+     * @return relative range rate (scaled by relative distance)
+     */
+    private static double rangeRate(final double[] pv1, final double[] pv2, final int k) {
+        final int i = 6 * k;
+        return (pv2[i]     - pv1[i])     * (pv2[i + 3] - pv1[i + 3]) +
+               (pv2[i + 1] - pv1[i + 1]) * (pv2[i + 4] - pv1[i + 4]) +
+               (pv2[i + 2] - pv1[i + 2]) * (pv2[i + 5] - pv1[i + 5]);
+    }
+
+    /** Get the orbit of an object.
+     * @param propagator propagator for the object
+     * @param date date
+     * @return orbit at date
+     */
+    private static Orbit orbit(final BoundedPropagator propagator, final AbsoluteDate date) {
+        synchronized (propagator) {
+            return propagator.propagate(date).getOrbit();
+        }
+    }
+
+    /** Get a covariance at time of closest approach.
+     * @param covariance covariance at its own date
+     * @param orbitAtTCA orbit at time of closest approach
+     * @return covariance at time of closest approach
+     */
+    private static StateCovariance covarianceAt(final StateCovariance covariance, final Orbit orbitAtTCA) {
+        final double dt = orbitAtTCA.getDate().durationFrom(covariance.getDate());
+        return dt == 0 ? covariance : covariance.shiftedBy(orbitAtTCA.shiftedBy(-dt), dt);
+    }
+
+    /** Sampling of one object. */
+    private static class Sampling {
+
+        /** Positions-velocities at grid points. */
+        private final double[] pv;
+
+        /** Minimum perigee radius over the window. */
+        private final double minPerigee;
+
+        /** Maximum apogee radius over the window. */
+        private final double maxApogee;
+
+        /** Margin for path curvature between grid points. */
+        private final double margin;
+
+        /** Simple constructor.
+         * @param pv positions-velocities at grid points
+         * @param minPerigee minimum perigee radius over the window
+         * @param maxApogee maximum apogee radius over the window
+         * @param margin margin for path curvature between grid points
+         */
+        Sampling(final double[] pv, final double minPerigee, final double maxApogee, final double margin) {
+            this.pv         = pv;
+            this.minPerigee = minPerigee;
+            this.maxApogee  = maxApogee;
+            this.margin     = margin;
+        }
+
+    }
+
+}
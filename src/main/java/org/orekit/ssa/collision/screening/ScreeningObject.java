@@ -0,0 +1,88 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.screening;
+
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.StateCovariance;
+
+/** Object of a catalog to be screened for conjunctions.
+ * @see ConjunctionScreener
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class ScreeningObject {
+
+    /** Object identifier. */
+    private final String id;
+
+    /** Propagator (or ephemeris) for the object. */
+    private final BoundedPropagator propagator;
+
+    /** Equivalent sphere radius (m). */
+    private final double radius;
+
+    /** Covariance (may be null). */
+    private final StateCovariance covariance;
+
+    /** Simple constructor.
+     * <p>
+     * The covariance is used only if the screener computes probabilities of collision.
+     * It may be defined at any date, it will be shifted to the time of closest approach
+     * using a Keplerian linearized model (see {@link StateCovariance#shiftedBy(org.orekit.orbits.Orbit, double)}).
+     * </p>
+     * @param id object identifier
+     * @param propagator propagator (or ephemeris) for the object
+     * @param radius equivalent sphere radius (m)
+     * @param covariance covariance (may be null if probability of collision is not needed)
+     */
+    public ScreeningObject(final String id, final BoundedPropagator propagator,
+                           final double radius, final StateCovariance covariance) {
+        this.id         = id;
+        this.propagator = propagator;
+        this.radius     = radius;
+        this.covariance = covariance;
+    }
+
+    /** Get the object identifier.
+     * @return object identifier
+     */
+    public String getId() {
+        return id;
+    }
+
+    /** Get the propagator (or ephemeris) for the object.
+     * @return propagator (or ephemeris) for the object
+     */
+    public BoundedPropagator getPropagator() {
+        return propagator;
+    }
+
+    /** Get the equivalent sphere radius.
+     * @return equivalent sphere radius (m)
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /** Get the covariance.
+     * @return covariance (may be null)
+     */
+    public StateCovariance getCovariance() {
+        return covariance;
+    }
+
+}
@@ -0,0 +1,28 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Screening of space objects catalogs for close approaches.
+ * <p>
+ * The screening engine prunes the pairs of objects using apogee/perigee and spatial
+ * filters, refines the time of closest approach of the remaining pairs and optionally
+ * evaluates their probability of collision using the short-term encounter methods.
+ *
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+
+package org.orekit.ssa.collision.screening;
@@ -0,0 +1,212 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.shorttermencounter.probability.twod;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.utils.RangeAction;
+
+/**
+ * Batch evaluator of probabilities of collision for large numbers of encounters.
+ * <p>
+ * Encounters are provided as primitive arrays of parameters in the rotated encounter frame
+ * (see {@link ShortTermEncounter2DPOCMethod#compute(double, double, double, double, double)}),
+ * and probabilities of collision are returned in a primitive array. Encounters are split in
+ * chunks that are evaluated in parallel in a {@link ForkJoinPool}.
+ * </p>
+ * <p>
+ * Some methods (for example {@link Patera2005} or {@link Alfriend1999}) rely on numerical
+ * integrators that hold mutable state and hence cannot be shared between threads. The
+ * evaluator therefore builds one method instance per worker thread, using the supplied
+ * factory, and reuses it for all encounters processed by this thread.
+ * </p>
+ *
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class ShortTermEncounter2DPOCBatchEvaluator {
+
+    /** Default number of encounters processed by one task without splitting. */
+    public static final int DEFAULT_GRANULARITY = 256;
+
+    /** Pool running the evaluations. */
+    private final ForkJoinPool pool;
+
+    /** Maximum number of encounters processed by one task without splitting. */
+    private final int granularity;
+
+    /** Per-thread method instances. */
+    private final ThreadLocal<ShortTermEncounter2DPOCMethod> methods;
+
+    /**
+     * Simple constructor.
+     * <p>
+     * This constructor uses the {@link ForkJoinPool#commonPool() common pool}
+     * and {@link #DEFAULT_GRANULARITY default granularity}.
+     * </p>
+     *
+     * @param type type of the method used to compute probabilities of collision
+     */
+    public ShortTermEncounter2DPOCBatchEvaluator(final ShortTermEncounter2DPOCMethodType type) {
+        this(type::getMethod, ForkJoinPool.commonPool(), DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * Simple constructor.
+     *
+     * @param factory factory for method instances (called once per worker thread)
+     * @param pool pool running the evaluations
+     * @param granularity maximum number of encounters processed by one task without splitting
+     */
+    public ShortTermEncounter2DPOCBatchEvaluator(final Supplier<? extends ShortTermEncounter2DPOCMethod> factory,
+                                                 final ForkJoinPool pool, final int granularity) {
+        if (granularity < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     granularity, 1);
+        }
+        this.pool        = pool;
+        this.granularity = granularity;
+        this.methods     = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * Compute probabilities of collision for a batch of encounters.
+     *
+     * @param xm other collision objects projected positions onto the collision plane in the rotated encounter
+     * frame x-axis (m)
+     * @param ym other collision objects projected positions onto the collision plane in the rotated encounter
+     * frame y-axis (m)
+     * @param sigmaX square roots of the x-axis eigen values of the diagonalized combined covariance matrices
+     * projected onto the collision plane (m)
+     * @param sigmaY square roots of the y-axis eigen values of the diagonalized combined covariance matrices
+     * projected onto the collision plane (m)
+     * @param radius sums of primary and secondary collision objects equivalent sphere radii (m)
+     *
+     * @return probabilities of collision
+     */
+    public double[] compute(final double[] xm, final double[] ym,
+                            final double[] sigmaX, final double[] sigmaY,
+                            final double[] radius) {
+        final double[] probabilities = new double[xm.length];
+        compute(xm, ym, sigmaX, sigmaY, radius, probabilities);
+        return probabilities;
+    }
+
+    /**
+     * Compute probabilities of collision for a batch of encounters.
+     * <p>
+     * This method blocks until all encounters have been processed.
+     * </p>
+     *
+     * @param xm other collision objects projected positions onto the collision plane in the rotated encounter
+     * frame x-axis (m)
+     * @param ym other collision objects projected positions onto the collision plane in the rotated encounter
+     * frame y-axis (m)
+     * @param sigmaX square roots of the x-axis eigen values of the diagonalized combined covariance matrices
+     * projected onto the collision plane (m)
+     * @param sigmaY square roots of the y-axis eigen values of the diagonalized combined covariance matrices
+     * projected onto the collision plane (m)
+     * @param radius sums of primary and secondary collision objects equivalent sphere radii (m)
+     * @param probabilities placeholder where to put the probabilities of collision
+     */
+    public void compute(final double[] xm, final double[] ym,
+                        final double[] sigmaX, final double[] sigmaY,
+                        final double[] radius, final double[] probabilities) {
+        checkDimension(ym, xm.length);
+        checkDimension(sigmaX, xm.length);
+        checkDimension(sigmaY, xm.length);
+        checkDimension(radius, xm.length);
+        checkDimension(probabilities, xm.length);
+        final Context context = new Context(xm, ym, sigmaX, sigmaY, radius, probabilities, methods);
+        pool.invoke(new RangeAction(0, xm.length, granularity, context::evaluate));
+    }
+
+    /**
+     * Check array dimension.
+     *
+     * @param array array to check
+     * @param expected expected dimension
+     */
+    private static void checkDimension(final double[] array, final int expected) {
+        if (array.length != expected) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     array.length, expected);
+        }
+    }
+
+    /** Context shared by all tasks of one batch. */
+    private static class Context {
+
+        /** Projected positions along x-axis. */
+        private final double[] xm;
+
+        /** Projected positions along y-axis. */
+        private final double[] ym;
+
+        /** Standard deviations along x-axis. */
+        private final double[] sigmaX;
+
+        /** Standard deviations along y-axis. */
+        private final double[] sigmaY;
+
+        /** Combined radii. */
+        private final double[] radius;
+
+        /** Placeholder for probabilities of collision. */
+        private final double[] probabilities;
+
+        /** Per-thread method instances. */
+        private final ThreadLocal<ShortTermEncounter2DPOCMethod> methods;
+
+        /** Simple constructor.
+         * @param xm projected positions along x-axis
+         * @param ym projected positions along y-axis
+         * @param sigmaX standard deviations along x-axis
+         * @param sigmaY standard deviations along y-axis
+         * @param radius combined radii
+         * @param probabilities placeholder for probabilities of collision
+         * @param methods per-thread method instances
+         */
+        Context(final double[] xm, final double[] ym, final double[] sigmaX, final double[] sigmaY,
+                final double[] radius, final double[] probabilities,
+                final ThreadLocal<ShortTermEncounter2DPOCMethod> methods) {
+            this.xm            = xm;
+            this.ym            = ym;
+            this.sigmaX        = sigmaX;
+            this.sigmaY        = sigmaY;
+            this.radius        = radius;
+            this.probabilities = probabilities;
+            this.methods       = methods;
+        }
+
+        /** Evaluate a range of encounters.
+         * @param from index of first encounter in range (included)
+         * @param to index of last encounter in range (excluded)
+         */
+        private void evaluate(final int from, final int to) {
+            final ShortTermEncounter2DPOCMethod method = methods.get();
+            for (int i = from; i < to; ++i) {
+                probabilities[i] = method.compute(xm[i], ym[i], sigmaX[i], sigmaY[i], radius[i]).getValue();
+            }
+        }
+
+    }
+
+}
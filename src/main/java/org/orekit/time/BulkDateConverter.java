@@ -0,0 +1,510 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntUnaryOperator;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.utils.Constants;
+
+/** Converter between large numbers of time tags strings and {@link PackedDateArray packed dates}.
+ * <p>
+ * This class parses dates directly from {@link CharSequence} or {@link ByteBuffer} regions,
+ * without creating intermediate strings or {@link AbsoluteDate} instances, and formats them
+ * back into a caller-provided {@link StringBuilder}. Two formats are supported, both for
+ * parsing and formatting:
+ * </p>
+ * <ul>
+ *   <li>ISO-8601 calendar format {@code YYYY-MM-DDThh:mm:ss.sss},</li>
+ *   <li>CCSDS ASCII time code B (day of year) format {@code YYYY-DDDThh:mm:ss.sss}.</li>
+ * </ul>
+ * <p>
+ * When parsing, the fractional part of seconds is optional and may have any number
+ * of digits, and a trailing {@code Z} is allowed. Years must have exactly four digits,
+ * and time zone offsets are not supported. Parsed dates are exactly the same as the
+ * ones that would be built by {@link AbsoluteDate#AbsoluteDate(DateComponents, TimeComponents,
+ * TimeScale)}.
+ * </p>
+ * <p>
+ * Time tags are usually sorted and many of them share the same day. The converter
+ * therefore caches the current day, and when the time scale offset is constant over
+ * this day (which is the case for TAI, TT, GNSS time scales and for UTC after 1972),
+ * dates are converted with a few arithmetic operations only. Days with varying offsets
+ * (days with a leap second when formatting, UTC before 1972, TDB…) are converted using
+ * the regular (slower) methods, with identical results.
+ * </p>
+ * <p>
+ * As it caches data, this class is not thread-safe. Each thread should use its own instance.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class BulkDateConverter {
+
+    /** Maximum number of fraction digits in formatted strings. */
+    public static final int MAX_FRACTION_DIGITS = 9;
+
+    /** Maximum number of parsed fraction digits allowing exact conversion. */
+    private static final int MAX_EXACT_FRACTION_DIGITS = 14;
+
+    /** Powers of ten. */
+    private static final long[] POWERS_OF_TEN = new long[MAX_EXACT_FRACTION_DIGITS + 1];
+
+    /** Last second of a day. */
+    private static final TimeComponents LAST_SECOND = new TimeComponents(23, 59, 59.0);
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; ++i) {
+            POWERS_OF_TEN[i] = 10L * POWERS_OF_TEN[i - 1];
+        }
+    }
+
+    /** Time scale. */
+    private final TimeScale timeScale;
+
+    /** Key of the day cached for parsing. */
+    private long parsedKey;
+
+    /** Day cached for parsing. */
+    private DateComponents parsedDay;
+
+    /** Indicator for constant time scale offset over the day cached for parsing. */
+    private boolean parsedConstant;
+
+    /** Time scale offset over the day cached for parsing (if constant). */
+    private double parsedOffset;
+
+    /** Indicator for valid day cached for formatting. */
+    private boolean formattedValid;
+
+    /** Indicator for regular day cached for formatting. */
+    private boolean formattedRegular;
+
+    /** Epoch of the start of the day cached for formatting. */
+    private long formattedStartEpoch;
+
+    /** Offset of the start of the day cached for formatting. */
+    private double formattedStartOffset;
+
+    /** Epoch of the end of the day cached for formatting. */
+    private long formattedEndEpoch;
+
+    /** Offset of the end of the day cached for formatting. */
+    private double formattedEndOffset;
+
+    /** Day cached for formatting. */
+    private DateComponents formattedDay;
+
+    /** Simple constructor.
+     * @param timeScale time scale in which dates strings are expressed
+     */
+    public BulkDateConverter(final TimeScale timeScale) {
+        this.timeScale      = timeScale;
+        this.parsedKey      = Long.MIN_VALUE;
+        this.formattedValid = false;
+    }
+
+    /** Get the time scale in which dates strings are expressed.
+     * @return time scale in which dates strings are expressed
+     */
+    public TimeScale getTimeScale() {
+        return timeScale;
+    }
+
+    /** Parse all dates in a characters sequence region.
+     * <p>
+     * Dates are separated by white spaces, commas or semicolons.
+     * </p>
+     * @param text characters sequence containing dates
+     * @param start index of the first character of the region (included)
+     * @param end index of the last character of the region (excluded)
+     * @param dates array where to add the parsed dates
+     * @return number of parsed dates
+     */
+    public int parse(final CharSequence text, final int start, final int end, final PackedDateArray dates) {
+        return parse(text::charAt, start, end, dates);
+    }
+
+    /** Parse all dates in an ASCII bytes buffer region.
+     * <p>
+     * Dates are separated by white spaces, commas or semicolons. The buffer
+     * position is not changed.
+     * </p>
+     * @param buffer buffer containing dates, as ASCII characters
+     * @param start index of the first byte of the region (included)
+     * @param end index of the last byte of the region (excluded)
+     * @param dates array where to add the parsed dates
+     * @return number of parsed dates
+     */
+    public int parse(final ByteBuffer buffer, final int start, final int end, final PackedDateArray dates) {
+        return parse(i -> buffer.get(i) & 0xFF, start, end, dates);
+    }
+
+    /** Format a date in ISO-8601 calendar format.
+     * @param dates packed dates
+     * @param index index of the date to format
+     * @param fractionDigits number of digits after the decimal point
+     * (between 0 and {@link #MAX_FRACTION_DIGITS})
+     * @param out builder where to append the formatted date
+     */
+    public void format(final PackedDateArray dates, final int index, final int fractionDigits,
+                       final StringBuilder out) {
+        format(dates.getEpoch(index), dates.getOffset(index), fractionDigits, false, out);
+    }
+
+    /** Format a date in CCSDS ASCII time code B (day of year) format.
+     * @param dates packed dates
+     * @param index index of the date to format
+     * @param fractionDigits number of digits after the decimal point
+     * (between 0 and {@link #MAX_FRACTION_DIGITS})
+     * @param out builder where to append the formatted date
+     */
+    public void formatDayOfYear(final PackedDateArray dates, final int index, final int fractionDigits,
+                                final StringBuilder out) {
+        format(dates.getEpoch(index), dates.getOffset(index), fractionDigits, true, out);
+    }
+
+    /** Format a date in ISO-8601 calendar format.
+     * @param date date to format
+     * @param fractionDigits number of digits after the decimal point
+     * (between 0 and {@link #MAX_FRACTION_DIGITS})
+     * @param out builder where to append the formatted date
+     */
+    public void format(final AbsoluteDate date, final int fractionDigits, final StringBuilder out) {
+        format(date.getEpoch(), date.getOffset(), fractionDigits, false, out);
+    }
+
+    /** Parse all dates in a region.
+     * @param source characters source
+     * @param start index of the first character of the region (included)
+     * @param end index of the last character of the region (excluded)
+     * @param dates array where to add the parsed dates
+     * @return number of parsed dates
+     */
+    private int parse(final IntUnaryOperator source, final int start, final int end, final PackedDateArray dates) {
+        int count = 0;
+        int i     = start;
+        while (i < end) {
+            if (isSeparator(source.applyAsInt(i))) {
+                ++i;
+            } else {
+                int j = i + 1;
+                while (j < end && !isSeparator(source.applyAsInt(j))) {
+                    ++j;
+                }
+                parseDate(source, i, j, dates);
+                ++count;
+                i = j;
+            }
+        }
+        return count;
+    }
+
+    /** Parse one date.
+     * @param source characters source
+     * @param from index of the first character of the date (included)
+     * @param to index of the last character of the date (excluded)
+     * @param dates array where to add the parsed date
+     */
+    private void parseDate(final IntUnaryOperator source, final int from, final int to,
+                           final PackedDateArray dates) {
+
+        // date part
+        int p = from;
+        final int year = digits(source, p, 4, to);
+        p += 4;
+        final int month;
+        final int day;
+        final int dayOfYear;
+        if (p + 3 < to && source.applyAsInt(p + 3) == '-') {
+            month     = check(source, p++, '-', to) ? digits(source, p, 2, to) : -1;
+            day       = check(source, p + 2, '-', to) ? digits(source, p + 3, 2, to) : -1;
+            dayOfYear = 0;
+            p        += 5;
+        } else {
+            month     = 0;
+            day       = 0;
+            dayOfYear = check(source, p++, '-', to) ? digits(source, p, 3, to) : -1;
+            p        += 3;
+        }
+
+        // time part
+        final int hour    = check(source, p,     'T', to) ? digits(source, p + 1, 2, to) : -1;
+        final int minute  = check(source, p + 3, ':', to) ? digits(source, p + 4, 2, to) : -1;
+        final int seconds = check(source, p + 6, ':', to) ? digits(source, p + 7, 2, to) : -1;
+        p += 9;
+        final int fractionStart = p + 1;
+        long fraction = 0;
+        if (p < to && source.applyAsInt(p) == '.') {
+            ++p;
+            while (p < to && isDigit(source.applyAsInt(p))) {
+                if (p - fractionStart < MAX_EXACT_FRACTION_DIGITS) {
+                    fraction = 10 * fraction + (source.applyAsInt(p) - '0');
+                }
+                ++p;
+            }
+        }
+        final int nbFractionDigits = FastMath.max(0, p - fractionStart);
+        if (p < to && source.applyAsInt(p) == 'Z') {
+            ++p;
+        }
+
+        if (year < 0 || month < 0 || day < 0 || dayOfYear < 0 ||
+            hour < 0 || minute < 0 || seconds < 0 || p != to) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_EXISTENT_DATE,
+                                                     substring(source, from, to));
+        }
+
+        // seconds, correctly rounded as Double.parseDouble would do
+        final double second;
+        if (nbFractionDigits <= MAX_EXACT_FRACTION_DIGITS) {
+            final long scale = POWERS_OF_TEN[nbFractionDigits];
+            second = (seconds * scale + fraction) / (double) scale;
+        } else {
+            second = Double.parseDouble(substring(source, fractionStart - 3, p));
+        }
+        if (hour > 23 || minute > 59 || second >= 61.0) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NON_EXISTENT_HMS_TIME,
+                                                     hour, minute, second);
+        }
+
+        // day, with cached time scale offset
+        final long key = dayOfYear == 0 ?
+                         year * 10000L + month * 100L + day :
+                         -(year * 1000L + dayOfYear) - 1;
+        if (key != parsedKey) {
+            final DateComponents newDay = dayOfYear == 0 ?
+                                          new DateComponents(year, month, day) :
+                                          new DateComponents(year, dayOfYear);
+            final double offset0 = timeScale.offsetToTAI(newDay, TimeComponents.H00);
+            parsedConstant = offset0 == timeScale.offsetToTAI(newDay, TimeComponents.H12) &&
+                             offset0 == timeScale.offsetToTAI(newDay, LAST_SECOND);
+            parsedOffset   = offset0;
+            parsedDay      = newDay;
+            parsedKey      = key;
+        }
+        final double tsOffset = parsedConstant ?
+                                parsedOffset :
+                                timeScale.offsetToTAI(parsedDay, new TimeComponents(hour, minute, second));
+
+        // same computation as AbsoluteDate(DateComponents, TimeComponents, TimeScale),
+        // with 2Sum inlined
+        final double sum      = second + tsOffset;
+        final double sPrime   = sum - tsOffset;
+        final double oPrime   = sum - sPrime;
+        final double residual = (second - sPrime) + (tsOffset - oPrime);
+        final long   dl       = (long) FastMath.floor(sum);
+        final double regular  = (sum - dl) + residual;
+        final long   base     = 60L * ((parsedDay.getJ2000Day() * 24L + hour) * 60L + minute - 720L) + dl;
+        if (regular >= 0) {
+            dates.add(base, regular);
+        } else {
+            dates.add(base - 1, 1.0 + regular);
+        }
+
+    }
+
+    /** Format a date.
+     * @param epoch integral seconds since reference epoch
+     * @param offset fractional seconds
+     * @param fractionDigits number of digits after the decimal point
+     * @param dayOfYear if true, use day of year format
+     * @param out builder where to append the formatted date
+     */
+    private void format(final long epoch, final double offset, final int fractionDigits,
+                        final boolean dayOfYear, final StringBuilder out) {
+
+        if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                     fractionDigits, 0, MAX_FRACTION_DIGITS);
+        }
+        final long scale = POWERS_OF_TEN[fractionDigits];
+
+        if (!formattedValid ||
+            (epoch - formattedStartEpoch) + (offset - formattedStartOffset) < 0 ||
+            (epoch - formattedEndEpoch)   + (offset - formattedEndOffset)  >= 0) {
+            updateFormattedDay(new AbsoluteDate(epoch, offset));
+        }
+
+        if (formattedRegular) {
+            // fast path, the time scale offset is constant over the day
+            final double secondsInDay = (epoch - formattedStartEpoch) + (offset - formattedStartOffset);
+            final long   units        = (long) FastMath.rint(secondsInDay * scale);
+            if (units < 86400L * scale) {
+                final long s = units / scale;
+                appendDay(formattedDay, dayOfYear, out);
+                appendTime((int) (s / 3600), (int) ((s / 60) % 60), s % 60, units % scale, fractionDigits, out);
+                return;
+            }
+        }
+
+        // regular path, for days with leap seconds, varying offsets or rounding to next day
+        final AbsoluteDate       date    = new AbsoluteDate(epoch, offset);
+        final DateTimeComponents rounded = date.getComponents(timeScale).
+                                           roundIfNeeded(timeScale.minuteDuration(date), fractionDigits);
+        final long units = (long) FastMath.rint(rounded.getTime().getSecond() * scale);
+        appendDay(rounded.getDate(), dayOfYear, out);
+        appendTime(rounded.getTime().getHour(), rounded.getTime().getMinute(),
+                   units / scale, units % scale, fractionDigits, out);
+
+    }
+
+    /** Update the day cached for formatting.
+     * @param date date within the day
+     */
+    private void updateFormattedDay(final AbsoluteDate date) {
+        final DateComponents day   = date.getComponents(timeScale).getDate();
+        final AbsoluteDate   start = new AbsoluteDate(day, TimeComponents.H00, timeScale);
+        final AbsoluteDate   end   = new AbsoluteDate(new DateComponents(day, 1), TimeComponents.H00, timeScale);
+        final double         o0    = timeScale.offsetFromTAI(start);
+        formattedRegular     = end.durationFrom(start) == Constants.JULIAN_DAY &&
+                               o0 == timeScale.offsetFromTAI(start.shiftedBy(0.5 * Constants.JULIAN_DAY)) &&
+                               o0 == timeScale.offsetFromTAI(end.shiftedBy(-1.0));
+        formattedStartEpoch  = start.getEpoch();
+        formattedStartOffset = start.getOffset();
+        formattedEndEpoch    = end.getEpoch();
+        formattedEndOffset   = end.getOffset();
+        formattedDay         = day;
+        formattedValid       = true;
+    }
+
+    /** Append a day.
+     * @param day day to append
+     * @param dayOfYear if true, use day of year format
+     * @param out builder where to append the day
+     */
+    private static void appendDay(final DateComponents day, final boolean dayOfYear, final StringBuilder out) {
+        appendPadded(day.getYear(), 4, out);
+        out.append('-');
+        if (dayOfYear) {
+            appendPadded(day.getDayOfYear(), 3, out);
+        } else {
+            appendPadded(day.getMonth(), 2, out);
+            out.append('-');
+            appendPadded(day.getDay(), 2, out);
+        }
+    }
+
+    /** Append a time.
+     * @param hour hour
+     * @param minute minute
+     * @param second integral part of second
+     * @param fraction fractional part of second, in units of 10<sup>-fractionDigits</sup>
+     * @param fractionDigits number of digits after the decimal point
+     * @param out builder where to append the time
+     */
+    private static void appendTime(final int hour, final int minute, final long second,
+                                   final long fraction, final int fractionDigits,
+                                   final StringBuilder out) {
+        out.append('T');
+        appendPadded(hour, 2, out);
+        out.append(':');
+        appendPadded(minute, 2, out);
+        out.append(':');
+        appendPadded(second, 2, out);
+        if (fractionDigits > 0) {
+            out.append('.');
+            appendPadded(fraction, fractionDigits, out);
+        }
+    }
+
+    /** Append a zero-padded non-negative number.
+     * @param value value to append
+     * @param width minimum width
+     * @param out builder where to append the number
+     */
+    private static void appendPadded(final long value, final int width, final StringBuilder out) {
+        if (value < 0) {
+            // negative years are rare, we don't pad them
+            out.append(value);
+            return;
+        }
+        for (int w = width - 1; w > 0 && value < POWERS_OF_TEN[w]; --w) {
+            out.append('0');
+        }
+        out.append(value);
+    }
+
+    /** Parse a fixed number of digits.
+     * @param source characters source
+     * @param start index of the first digit
+     * @param n number of digits
+     * @param to index of the end of the date (excluded)
+     * @return parsed value, or -1 if characters are not all digits
+     */
+    private static int digits(final IntUnaryOperator source, final int start, final int n, final int to) {
+        if (start + n > to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + n; ++i) {
+            final int c = source.applyAsInt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = 10 * value + (c - '0');
+        }
+        return value;
+    }
+
+    /** Check a character.
+     * @param source characters source
+     * @param index index of the character
+     * @param expected expected character
+     * @param to index of the end of the date (excluded)
+     * @return true if character is the expected one
+     */
+    private static boolean check(final IntUnaryOperator source, final int index, final char expected, final int to) {
+        return index < to && source.applyAsInt(index) == expected;
+    }
+
+    /** Check if a character is a digit.
+     * @param c character to check
+     * @return true if character is a digit
+     */
+    private static boolean isDigit(final int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Check if a character is a dates separator.
+     * @param c character to check
+     * @return true if character is a dates separator
+     */
+    private static boolean isSeparator(final int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ',' || c == ';';
+    }
+
+    /** Extract a string from a source.
+     * @param source characters source
+     * @param from index of the first character (included)
+     * @param to index of the last character (excluded)
+     * @return extracted string
+     */
+    private static String substring(final IntUnaryOperator source, final int from, final int to) {
+        final StringBuilder builder = new StringBuilder(to - from);
+        for (int i = from; i < to; ++i) {
+            builder.append((char) source.applyAsInt(i));
+        }
+        return builder.toString();
+    }
+
+}
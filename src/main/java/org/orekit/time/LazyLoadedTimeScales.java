@@ -16,11 +16,14 @@
  */
 package org.orekit.time;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.orekit.data.AbstractSelfFeedingLoader;
+import org.orekit.data.BinaryDataCache;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
@@ -82,6 +85,11 @@ public class LazyLoadedTimeScales extends AbstractTimeScales {
     /** BDS System Time scale. */
     private AtomicReference<BDTScale> bds = new AtomicReference<>();
 
+    /** Binary cache for parsed UTC-TAI offsets (null if parsed data are not cached).
+     * @since 12.1
+     */
+    private BinaryDataCache binaryCache;
+
     /**
      * Create a new set of time scales with the given sources of auxiliary data. This
      * constructor uses the same {@link DataProvidersManager} for the default EOP loaders
@@ -145,6 +153,32 @@ public class LazyLoadedTimeScales extends AbstractTimeScales {
         }
     }
 
+    /**
+     * Set the binary cache for parsed UTC-TAI offsets.
+     * <p>
+     * When a cache is set, offsets parsed by loaders extending {@link
+     * AbstractSelfFeedingLoader} (which include all default loaders) are stored in
+     * the cache and read back from it as long as the source files are unchanged.
+     * Other loaders are not affected. The cache must be set before UTC is first used.
+     * </p>
+     *
+     * @param binaryCache binary cache for parsed UTC-TAI offsets (null to disable caching)
+     * @since 12.1
+     */
+    public void setBinaryCache(final BinaryDataCache binaryCache) {
+        this.binaryCache = binaryCache;
+    }
+
+    /**
+     * Get the binary cache for parsed UTC-TAI offsets.
+     *
+     * @return binary cache for parsed UTC-TAI offsets (null if caching is disabled)
+     * @since 12.1
+     */
+    public BinaryDataCache getBinaryCache() {
+        return binaryCache;
+    }
+
     /**
      * Clear loaders for UTC-TAI offsets history files.
      *
@@ -159,6 +193,47 @@ public class LazyLoadedTimeScales extends AbstractTimeScales {
         }
     }
 
+    /** Load UTC-TAI offsets, using the binary cache if possible.
+     * @param loader loader for UTC-TAI offsets
+     * @return sorted UTC-TAI offsets entries
+     * @since 12.1
+     */
+    private List<OffsetModel> loadOffsets(final UTCTAIOffsetsLoader loader) {
+
+        if (binaryCache == null || !(loader instanceof AbstractSelfFeedingLoader)) {
+            return loader.loadOffsets();
+        }
+
+        final DoubleBuffer buffer =
+                        binaryCache.getOrCompute("utc-tai-" + loader.getClass().getSimpleName(),
+                                                 (AbstractSelfFeedingLoader) loader,
+                                                 () -> {
+                                                     final List<OffsetModel> loaded = loader.loadOffsets();
+                                                     final double[] payload = new double[4 * loaded.size()];
+                                                     int index = 0;
+                                                     for (final OffsetModel offset : loaded) {
+                                                         payload[index++] = offset.getStart().getMJD();
+                                                         payload[index++] = offset.getMJDRef();
+                                                         payload[index++] = offset.getOffset();
+                                                         payload[index++] = offset.getSlope();
+                                                     }
+                                                     return payload;
+                                                 });
+
+        // decode entries
+        final List<OffsetModel> offsets = new ArrayList<>(buffer.remaining() / 4);
+        while (buffer.hasRemaining()) {
+            final int    start  = (int) buffer.get();
+            final int    mjdRef = (int) buffer.get();
+            final double offset = buffer.get();
+            final double slope  = buffer.get();
+            offsets.add(new OffsetModel(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, start),
+                                        mjdRef, offset, slope));
+        }
+        return offsets;
+
+    }
+
     @Override
     public TAIScale getTAI() {
 
@@ -182,7 +257,7 @@ public class LazyLoadedTimeScales extends AbstractTimeScales {
                 addDefaultUTCTAIOffsetsLoaders();
             }
             for (UTCTAIOffsetsLoader loader : loaders) {
-                entries = loader.loadOffsets();
+                entries = loadOffsets(loader);
                 if (!entries.isEmpty()) {
                     break;
                 }
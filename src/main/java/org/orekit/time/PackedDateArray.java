@@ -0,0 +1,208 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Compact array of dates, stored in primitive arrays.
+ * <p>
+ * This class is intended for handling very large numbers of dates, typically time
+ * tags of tracking data. Dates are stored using the same internal representation
+ * as {@link AbsoluteDate} (integral seconds and fractional part since reference epoch),
+ * but in two primitive arrays, so no objects are allocated per date. {@link AbsoluteDate}
+ * instances are built only on demand, by {@link #get(int)}.
+ * </p>
+ * <p>
+ * Bulk computations like {@link #durationsFrom(AbsoluteDate, double[]) durations} or
+ * {@link #binarySearch(AbsoluteDate) searches} give exactly the same results as the
+ * corresponding {@link AbsoluteDate} methods applied to each date.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * @see BulkDateConverter
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class PackedDateArray {
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Integral seconds since reference epoch. */
+    private long[] epochs;
+
+    /** Fractional seconds. */
+    private double[] offsets;
+
+    /** Number of dates. */
+    private int size;
+
+    /** Build an empty array with default initial capacity.
+     */
+    public PackedDateArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Build an empty array.
+     * @param initialCapacity initial capacity (the array grows as needed)
+     */
+    public PackedDateArray(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     initialCapacity, 0);
+        }
+        this.epochs  = new long[initialCapacity];
+        this.offsets = new double[initialCapacity];
+        this.size    = 0;
+    }
+
+    /** Get the number of dates.
+     * @return number of dates
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Remove all dates.
+     * <p>
+     * The capacity is preserved, so the array can be reused without reallocation.
+     * </p>
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Add a date at the end of the array.
+     * @param date date to add
+     */
+    public void add(final AbsoluteDate date) {
+        add(date.getEpoch(), date.getOffset());
+    }
+
+    /** Add a date at the end of the array.
+     * @param epoch integral seconds since reference epoch
+     * @param offset fractional seconds
+     */
+    void add(final long epoch, final double offset) {
+        if (size == epochs.length) {
+            final int capacity = FastMath.max(DEFAULT_CAPACITY, 2 * size);
+            epochs  = Arrays.copyOf(epochs,  capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+        epochs[size]  = epoch;
+        offsets[size] = offset;
+        ++size;
+    }
+
+    /** Get a date.
+     * @param index index of the date
+     * @return date at specified index (a new instance is built at each call)
+     */
+    public AbsoluteDate get(final int index) {
+        checkIndex(index);
+        return new AbsoluteDate(epochs[index], offsets[index]);
+    }
+
+    /** Get the integral seconds part of a date.
+     * @param index index of the date
+     * @return integral seconds since reference epoch
+     */
+    long getEpoch(final int index) {
+        checkIndex(index);
+        return epochs[index];
+    }
+
+    /** Get the fractional seconds part of a date.
+     * @param index index of the date
+     * @return fractional seconds
+     */
+    double getOffset(final int index) {
+        checkIndex(index);
+        return offsets[index];
+    }
+
+    /** Compute the duration between one date and a reference.
+     * @param index index of the date
+     * @param reference reference date
+     * @return same result as {@code get(index).durationFrom(reference)}
+     */
+    public double durationFrom(final int index, final AbsoluteDate reference) {
+        checkIndex(index);
+        return (epochs[index] - reference.getEpoch()) + (offsets[index] - reference.getOffset());
+    }
+
+    /** Compute the durations between all dates and a reference.
+     * @param reference reference date
+     * @param durations placeholder where to put the durations (must have at least {@link #size()} elements)
+     */
+    public void durationsFrom(final AbsoluteDate reference, final double[] durations) {
+        if (durations.length < size) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     durations.length, size);
+        }
+        final long   referenceEpoch  = reference.getEpoch();
+        final double referenceOffset = reference.getOffset();
+        for (int i = 0; i < size; ++i) {
+            durations[i] = (epochs[i] - referenceEpoch) + (offsets[i] - referenceOffset);
+        }
+    }
+
+    /** Search a date in a chronologically sorted array.
+     * <p>
+     * The contract is the same as {@link Arrays#binarySearch(long[], long)}: if
+     * several dates are equal to the searched date, there is no guarantee which
+     * one will be found.
+     * </p>
+     * @param date date to search
+     * @return index of the date if it is found, otherwise {@code (-(insertion point) - 1)}
+     * where insertion point is the index of the first date later than searched date
+     */
+    public int binarySearch(final AbsoluteDate date) {
+        final long   epoch  = date.getEpoch();
+        final double offset = date.getOffset();
+        int low  = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int    middle = (low + high) >>> 1;
+            final double delta  = (epochs[middle] - epoch) + (offsets[middle] - offset);
+            if (delta < 0) {
+                low = middle + 1;
+            } else if (delta > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /** Check an index.
+     * @param index index to check
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                     index, 0, size - 1);
+        }
+    }
+
+}
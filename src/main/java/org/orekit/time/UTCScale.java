@@ -60,6 +60,11 @@ public class UTCScale implements TimeScale {
     /** UTC-TAI offsets. */
     private final UTCTAIOffset[] offsets;
 
+    /** Last segment used, cached for fast lookup of consecutive dates.
+     * @since 12.1
+     */
+    private transient volatile Segment lastSegment;
+
     /** Package private constructor for the factory.
      * Used to create the prototype instance of this class that is used to
      * clone all subsequent instances of {@link UTCScale}. Initializes the offset
@@ -305,10 +310,28 @@ public class UTCScale implements TimeScale {
     }
 
     /** Find the index of the offset valid at some date.
+     * <p>
+     * The segment found is cached, so consecutive calls for dates in the
+     * same interval between leap seconds are resolved without searching.
+     * </p>
      * @param date date at which offset is requested
      * @return index of the offset valid at this date, or -1 if date is before first offset.
      */
     private int findOffsetIndex(final AbsoluteDate date) {
+        final Segment cached = lastSegment;
+        if (cached != null && cached.contains(date)) {
+            return cached.index;
+        }
+        final int index = searchOffsetIndex(date);
+        lastSegment = new Segment(index);
+        return index;
+    }
+
+    /** Search the index of the offset valid at some date.
+     * @param date date at which offset is requested
+     * @return index of the offset valid at this date, or -1 if date is before first offset.
+     */
+    private int searchOffsetIndex(final AbsoluteDate date) {
         int inf = 0;
         int sup = offsets.length;
         while (sup - inf > 1) {
@@ -335,6 +358,22 @@ public class UTCScale implements TimeScale {
      * @return offset valid at this date, or null if date is before first offset.
      */
     private UTCTAIOffset findOffset(final int mjd) {
+        final Segment cached = lastSegment;
+        final int index;
+        if (cached != null && cached.contains(mjd)) {
+            index = cached.index;
+        } else {
+            index = searchOffsetIndex(mjd);
+            lastSegment = new Segment(index);
+        }
+        return index < 0 ? null : offsets[index];
+    }
+
+    /** Search the index of the offset valid at some date.
+     * @param mjd Modified Julian Day of the date at which offset is requested
+     * @return index of the offset valid at this date, or -1 if date is before first offset.
+     */
+    private int searchOffsetIndex(final int mjd) {
         int inf = 0;
         int sup = offsets.length;
         while (sup - inf > 1) {
@@ -347,15 +386,111 @@ public class UTCScale implements TimeScale {
         }
         if (sup == offsets.length) {
             // the date is after the last known leap second
-            return offsets[offsets.length - 1];
+            return offsets.length - 1;
         } else if (mjd < offsets[inf].getMJD()) {
             // the date is before the first known leap
-            return null;
+            return -1;
         } else {
-            return offsets[inf];
+            return inf;
         }
     }
 
+    /** Interval between two consecutive offsets.
+     * <p>
+     * Bounds are stored as primitive epoch/offset pairs, using the same internal
+     * representation as {@link AbsoluteDate}, so checking if a date belongs to the
+     * interval costs only a few arithmetic operations. Instances are immutable and
+     * can therefore be shared between threads.
+     * </p>
+     * @since 12.1
+     */
+    private class Segment {
+
+        /** Index of the offset valid in this interval (-1 before first offset). */
+        private final int index;
+
+        /** Indicator for interval unbounded in the past. */
+        private final boolean unboundedStart;
+
+        /** Epoch of interval start. */
+        private final long startEpoch;
+
+        /** Offset of interval start. */
+        private final double startOffset;
+
+        /** Modified Julian Day of interval start. */
+        private final int startMJD;
+
+        /** Indicator for interval unbounded in the future. */
+        private final boolean unboundedEnd;
+
+        /** Epoch of interval end. */
+        private final long endEpoch;
+
+        /** Offset of interval end. */
+        private final double endOffset;
+
+        /** Modified Julian Day of interval end. */
+        private final int endMJD;
+
+        /** Simple constructor.
+         * @param index index of the offset valid in this interval (-1 before first offset)
+         */
+        Segment(final int index) {
+
+            this.index = index;
+
+            this.unboundedStart = index < 0;
+            if (unboundedStart) {
+                startEpoch  = 0L;
+                startOffset = 0.0;
+                startMJD    = Integer.MIN_VALUE;
+            } else {
+                final AbsoluteDate start = offsets[index].getDate();
+                startEpoch  = start.getEpoch();
+                startOffset = start.getOffset();
+                startMJD    = offsets[index].getMJD();
+            }
+
+            this.unboundedEnd = index + 1 >= offsets.length;
+            if (unboundedEnd) {
+                endEpoch  = 0L;
+                endOffset = 0.0;
+                endMJD    = Integer.MAX_VALUE;
+            } else {
+                final AbsoluteDate end = offsets[index + 1].getDate();
+                endEpoch  = end.getEpoch();
+                endOffset = end.getOffset();
+                endMJD    = offsets[index + 1].getMJD();
+            }
+
+        }
+
+        /** Check if a date belongs to the interval.
+         * <p>
+         * The comparisons are the same as {@link AbsoluteDate#compareTo(AbsoluteDate)},
+         * except dates with NaN offsets are never considered to belong to the interval.
+         * </p>
+         * @param date date to check
+         * @return true if date belongs to the interval
+         */
+        boolean contains(final AbsoluteDate date) {
+            final long   epoch  = date.getEpoch();
+            final double offset = date.getOffset();
+            return (unboundedStart || (epoch - startEpoch) + (offset - startOffset) >= 0) &&
+                   (unboundedEnd   || (epoch - endEpoch)   + (offset - endOffset)   <  0);
+        }
+
+        /** Check if a Modified Julian Day belongs to the interval.
+         * @param mjd Modified Julian Day to check
+         * @return true if mjd belongs to the interval
+         */
+        boolean contains(final int mjd) {
+            return mjd >= startMJD && mjd < endMJD;
+        }
+
+    }
+
     /** Replace the instance with a data transfer object for serialization.
      * @return data transfer object that will be serialized
      */
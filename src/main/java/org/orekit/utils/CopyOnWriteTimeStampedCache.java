@@ -0,0 +1,850 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+
+/** Thread-safe cache for {@link TimeStamped time-stamped} data, with lock-free reads.
+ * <p>
+ * This cache has the same configuration parameters and the same slots management
+ * as {@link GenericTimeStampedCache}, but is designed for read-mostly workloads
+ * with many concurrent threads. Slots are immutable and the list of slots is
+ * published as a whole, so {@link #getNeighbors(AbsoluteDate, int)} never takes
+ * any lock when the requested date is already covered by a balanced slot.
+ * When a slot must be created or extended, the new slots list is built under
+ * a lock shared only by writers, and published atomically once complete.
+ * </p>
+ * <p>
+ * Slots are evicted on a least recently updated basis when the maximum number
+ * of slots is reached.
+ * </p>
+ * @param <T> Type of the cached data.
+ * @see GenericTimeStampedCache
+ * @see TimeStampedCacheType
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class CopyOnWriteTimeStampedCache<T extends TimeStamped> implements TimeStampedCache<T> {
+
+    /** Quantum step. */
+    private static final double QUANTUM_STEP = 1.0e-6;
+
+    /** Reference date for indexing. */
+    private final AtomicReference<AbsoluteDate> reference;
+
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Quantum gap above which a new slot is created instead of extending an existing one. */
+    private final long newSlotQuantumGap;
+
+    /** Generator to use for yet non-cached data. */
+    private final TimeStampedGenerator<T> generator;
+
+    /** Overriding mean step. */
+    private final double overridingMeanStep;
+
+    /** Maximum number of entries in a neighbors array. */
+    private final int maxNeighborsSize;
+
+    /** Published slots (the list itself is never modified once published). */
+    private final AtomicReference<List<Slot>> slots;
+
+    /** Lock shared by writers only. */
+    private final Object updateLock;
+
+    /** Number of updates performed (guarded by {@link #updateLock}). */
+    private long updates;
+
+    /** Number of calls to the getNeighbors method. */
+    private final LongAdder getNeighborsCalls;
+
+    /** Number of calls to the generate method. */
+    private final AtomicInteger generateCalls;
+
+    /** Number of evictions. */
+    private final AtomicInteger evictions;
+
+    /** Simple constructor.
+     * @param maxNeighborsSize maximum size of the arrays to be returned by {@link
+     * #getNeighbors(AbsoluteDate, int)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     */
+    public CopyOnWriteTimeStampedCache(final int maxNeighborsSize, final int maxSlots, final double maxSpan,
+                                       final double newSlotInterval, final TimeStampedGenerator<T> generator) {
+        this(maxNeighborsSize, maxSlots, maxSpan, newSlotInterval, generator, Double.NaN);
+    }
+
+    /** Simple constructor with overriding minimum step.
+     * @param maxNeighborsSize maximum size of the arrays to be returned by {@link
+     * #getNeighbors(AbsoluteDate, int)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     * @param overridingMeanStep overriding mean step designed for non-homogeneous tabulated values. To be used for example
+     *                    when caching monthly tabulated values. Use {@code Double.NaN} otherwise.
+     * @throws OrekitIllegalArgumentException if :
+     * <ul>
+     *     <li>neighbors size &lt; 2 </li>
+     *     <li>maximum allowed number of slots &lt; 1</li>
+     *     <li>minimum step ≤ 0 </li>
+     * </ul>
+     */
+    public CopyOnWriteTimeStampedCache(final int maxNeighborsSize, final int maxSlots, final double maxSpan,
+                                       final double newSlotInterval, final TimeStampedGenerator<T> generator,
+                                       final double overridingMeanStep) {
+
+        // safety check
+        if (maxSlots < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxSlots, 1);
+        }
+        if (overridingMeanStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     overridingMeanStep, 0);
+        }
+        if (maxNeighborsSize < 2) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS, maxNeighborsSize, 2);
+        }
+
+        this.reference          = new AtomicReference<>();
+        this.maxSlots           = maxSlots;
+        this.maxSpan            = maxSpan;
+        this.newSlotQuantumGap  = FastMath.round(newSlotInterval / QUANTUM_STEP);
+        this.generator          = generator;
+        this.overridingMeanStep = overridingMeanStep;
+        this.maxNeighborsSize   = maxNeighborsSize;
+        this.slots              = new AtomicReference<>(Collections.emptyList());
+        this.updateLock         = new Object();
+        this.updates            = 0L;
+        this.getNeighborsCalls  = new LongAdder();
+        this.generateCalls      = new AtomicInteger(0);
+        this.evictions          = new AtomicInteger(0);
+
+    }
+
+    /** Get the generator.
+     * @return generator
+     */
+    public TimeStampedGenerator<T> getGenerator() {
+        return generator;
+    }
+
+    /** Get the maximum number of independent cached time slots.
+     * @return maximum number of independent cached time slots
+     */
+    public int getMaxSlots() {
+        return maxSlots;
+    }
+
+    /** Get the maximum duration span in seconds of one slot.
+     * @return maximum duration span in seconds of one slot
+     */
+    public double getMaxSpan() {
+        return maxSpan;
+    }
+
+    /** Get quantum gap above which a new slot is created instead of extending an existing one.
+     * <p>
+     * The quantum gap is the {@code newSlotInterval} value provided at construction
+     * rounded to the nearest quantum step used internally by the cache.
+     * </p>
+     * @return quantum gap in seconds
+     */
+    public double getNewSlotQuantumGap() {
+        return newSlotQuantumGap * QUANTUM_STEP;
+    }
+
+    /** Get the number of calls to the {@link #getNeighbors(AbsoluteDate)} method.
+     * <p>
+     * This number of calls is used as a reference to interpret {@link #getGenerateCalls()}.
+     * </p>
+     * @return number of calls to the {@link #getNeighbors(AbsoluteDate)} method
+     * @see #getGenerateCalls()
+     */
+    public int getGetNeighborsCalls() {
+        return getNeighborsCalls.intValue();
+    }
+
+    /** Get the number of calls to the generate method.
+     * <p>
+     * This number of calls is related to the number of cache misses and may
+     * be used to tune the cache configuration. Each cache miss implies at
+     * least one call is performed, but may require several calls if the new
+     * date is far offset from the existing cache, depending on the number of
+     * elements and step between elements in the arrays returned by the generator.
+     * </p>
+     * @return number of calls to the generate method
+     * @see #getGetNeighborsCalls()
+     */
+    public int getGenerateCalls() {
+        return generateCalls.get();
+    }
+
+    /** Get the number of slots evictions.
+     * <p>
+     * This number should remain small when the max number of slots is sufficient
+     * with respect to the number of concurrent requests to the cache. If it
+     * increases too much, then the cache configuration is probably bad and cache
+     * does not really improve things (in this case, the {@link #getGenerateCalls()
+     * number of calls to the generate method} will probably increase too.
+     * </p>
+     * @return number of slots evictions
+     */
+    public int getSlotsEvictions() {
+        return evictions.get();
+    }
+
+    /** Get the number of slots in use.
+     * @return number of slots in use
+     */
+    public int getSlots() {
+        return slots.get().size();
+    }
+
+    /** Get the total number of entries cached.
+     * @return total number of entries cached
+     */
+    public int getEntries() {
+        int entries = 0;
+        for (final Slot slot : slots.get()) {
+            entries += slot.getEntries();
+        }
+        return entries;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getEarliest() throws IllegalStateException {
+        final List<Slot> current = slots.get();
+        if (current.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return current.get(0).getEarliest();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getLatest() throws IllegalStateException {
+        final List<Slot> current = slots.get();
+        if (current.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return current.get(current.size() - 1).getLatest();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getMaxNeighborsSize() {
+        return maxNeighborsSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Stream<T> getNeighbors(final AbsoluteDate central, final int n) {
+
+        if (n > maxNeighborsSize) {
+            throw new OrekitException(OrekitMessages.NOT_ENOUGH_DATA, maxNeighborsSize);
+        }
+
+        getNeighborsCalls.increment();
+        final long dateQuantum = quantum(central);
+
+        // lock-free attempt, using the currently published slots
+        final List<Slot> current = slots.get();
+        if (!current.isEmpty()) {
+            final Slot slot = current.get(slotIndex(current, dateQuantum));
+            if (slot.isSuitable(dateQuantum)) {
+                final int firstNeighbor = slot.firstNeighbor(dateQuantum, n);
+                if (firstNeighbor >= 0) {
+                    return slot.getNeighbors(firstNeighbor, n);
+                }
+            }
+        }
+
+        // the published slots do not cover the date, we need to update them
+        return update(central, dateQuantum, n);
+
+    }
+
+    /** Convert a date to a rough global quantum.
+     * @param date date to convert
+     * @return quantum corresponding to the date
+     */
+    private long quantum(final AbsoluteDate date) {
+        AbsoluteDate ref = reference.get();
+        if (ref == null) {
+            reference.compareAndSet(null, date);
+            ref = reference.get();
+        }
+        return FastMath.round(date.durationFrom(ref) / QUANTUM_STEP);
+    }
+
+    /** Update the slots so they cover a date, and publish them.
+     * @param central central date
+     * @param dateQuantum global quantum of the date
+     * @param n number of neighbors
+     * @return date neighbors
+     */
+    private Stream<T> update(final AbsoluteDate central, final long dateQuantum, final int n) {
+        synchronized (updateLock) {
+
+            // check slots again as another thread may have published
+            // new slots while we were waiting for the lock
+            final List<Slot> updated = new ArrayList<>(slots.get());
+            int index = updated.isEmpty() ? 0 : slotIndex(updated, dateQuantum);
+
+            final List<Entry> entries;
+            boolean startExhausted = false;
+            boolean endExhausted   = false;
+            if (updated.isEmpty() || !updated.get(index).isSuitable(dateQuantum)) {
+                // no existing slot is suitable, we really need to create a new slot
+
+                if (!updated.isEmpty() && updated.get(index).getLatestQuantum() < dateQuantum - newSlotQuantumGap) {
+                    ++index;
+                }
+
+                if (updated.size() >= maxSlots) {
+                    // we must prevent exceeding allowed max
+
+                    // select the least recently updated slot for eviction
+                    int evict = 0;
+                    for (int i = 0; i < updated.size(); ++i) {
+                        if (updated.get(i).getUpdate() < updated.get(evict).getUpdate()) {
+                            evict = i;
+                        }
+                    }
+
+                    // evict the selected slot
+                    evictions.incrementAndGet();
+                    updated.remove(evict);
+
+                    if (evict < index) {
+                        // adjust index of created slot as it was shifted by the eviction
+                        index--;
+                    }
+                }
+
+                entries = createEntries(central);
+                updated.add(index, null);
+
+            } else {
+                final Slot slot = updated.get(index);
+                entries         = new ArrayList<>(slot.entries);
+                startExhausted  = slot.startExhausted;
+                endExhausted    = slot.endExhausted;
+            }
+
+            // generate new data until the central date is balanced
+            boolean loop = true;
+            while (loop) {
+                final int entryIndex    = entryIndex(entries, dateQuantum);
+                final int firstNeighbor = entryIndex - (n - 1) / 2;
+                if (firstNeighbor < 0 && !(startExhausted && entryIndex >= 0) ||
+                    firstNeighbor + n > entries.size() && !(endExhausted && entryIndex < entries.size())) {
+
+                    // estimate which data we need to be generated
+                    final double step = getMeanStep(entries);
+                    final AbsoluteDate existingDate;
+                    final AbsoluteDate generationDate;
+                    final boolean simplyRebalance;
+                    if (firstNeighbor < 0) {
+                        existingDate    = entries.get(0).getData().getDate();
+                        generationDate  = existingDate.shiftedBy(step * firstNeighbor);
+                        simplyRebalance = existingDate.compareTo(central) <= 0;
+                    } else {
+                        existingDate    = entries.get(entries.size() - 1).getData().getDate();
+                        generationDate  = existingDate.shiftedBy(step * (firstNeighbor + n - entries.size()));
+                        simplyRebalance = existingDate.compareTo(central) >= 0;
+                    }
+                    generateCalls.incrementAndGet();
+
+                    // generated data and add it to the slot
+                    try {
+                        if (firstNeighbor < 0) {
+                            insertAtStart(entries, generateAndCheck(existingDate, generationDate), central);
+                        } else {
+                            appendAtEnd(entries, generateAndCheck(existingDate, generationDate), central);
+                        }
+                    } catch (TimeStampedCacheException tce) {
+                        if (simplyRebalance) {
+                            // we were simply trying to rebalance an unbalanced interval near slot end
+                            // we failed, but the central date is already covered by the existing (unbalanced) data
+                            // so we ignore the exception, stop the loop and remember we cannot extend the slot
+                            if (firstNeighbor < 0) {
+                                startExhausted = true;
+                            } else {
+                                endExhausted = true;
+                            }
+                            loop = false;
+                        } else {
+                            throw tce;
+                        }
+                    }
+
+                } else {
+                    loop = false;
+                }
+            }
+
+            // publish the updated slots
+            final Slot slot = new Slot(entries, startExhausted, endExhausted, ++updates);
+            updated.set(index, slot);
+            slots.set(updated);
+
+            int firstNeighbor = entryIndex(entries, dateQuantum) - (n - 1) / 2;
+            if (firstNeighbor + n > entries.size()) {
+                // we end up with a non-balanced neighborhood,
+                // adjust the start point to fit within the cache
+                firstNeighbor = entries.size() - n;
+            }
+            if (firstNeighbor < 0) {
+                firstNeighbor = 0;
+            }
+            return slot.getNeighbors(firstNeighbor, n);
+
+        }
+    }
+
+    /** Get the index of the slot in which a date could be cached.
+     * @param current current slots (must not be empty)
+     * @param dateQuantum quantum of the date to search for
+     * @return the slot in which the date could be cached
+     */
+    private int slotIndex(final List<Slot> current, final long dateQuantum) {
+
+        int  iInf = 0;
+        final long qInf = current.get(iInf).getEarliestQuantum();
+        int  iSup = current.size() - 1;
+        final long qSup = current.get(iSup).getLatestQuantum();
+        while (iSup - iInf > 0) {
+            final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+            final int iMed    = FastMath.max(iInf, FastMath.min(iInterp, iSup));
+            final Slot slot   = current.get(iMed);
+            if (dateQuantum < slot.getEarliestQuantum()) {
+                iSup = iMed - 1;
+            } else if (dateQuantum > slot.getLatestQuantum()) {
+                iInf = FastMath.min(iSup, iMed + 1);
+            } else {
+                return iMed;
+            }
+        }
+
+        return iInf;
+
+    }
+
+    /** Get the index of the entry corresponding to a date.
+     * @param entries entries to search
+     * @param dateQuantum global quantum of the date
+     * @return index in the list such that entry[index] is before
+     * date and entry[index + 1] is after date (or they are at list boundaries)
+     */
+    private int entryIndex(final List<Entry> entries, final long dateQuantum) {
+
+        if (dateQuantum < entries.get(0).getQuantum()) {
+            // date if before the first entry
+            return -1;
+        } else if (dateQuantum > entries.get(entries.size() - 1).getQuantum()) {
+            // date is after the last entry
+            return entries.size();
+        } else {
+            int iInf = 0;
+            int iSup = entries.size() - 1;
+            while (iSup - iInf > 0) {
+                final int iMed = (iInf + iSup + 1) >>> 1;
+                if (dateQuantum < entries.get(iMed).getQuantum()) {
+                    iSup = iMed - 1;
+                } else {
+                    iInf = iMed;
+                }
+            }
+            return iInf;
+        }
+
+    }
+
+    /** Create the initial entries for a new slot.
+     * @param date central date for initial entries to insert in the slot
+     * @return initial entries
+     */
+    private List<Entry> createEntries(final AbsoluteDate date) {
+
+        final List<Entry> entries = new ArrayList<>();
+
+        generateCalls.incrementAndGet();
+        for (final T entry : generateAndCheck(null, date)) {
+            entries.add(new Entry(entry, quantum(entry.getDate())));
+        }
+
+        while (entries.size() < maxNeighborsSize) {
+            // we need to generate more entries
+
+            final AbsoluteDate entry0 = entries.get(0).getData().getDate();
+            final AbsoluteDate entryN = entries.get(entries.size() - 1).getData().getDate();
+            generateCalls.incrementAndGet();
+
+            if (entryN.durationFrom(date) <= date.durationFrom(entry0)) {
+                // generate additional point at the end of the slot
+                final AbsoluteDate generationDate =
+                                entryN.shiftedBy(getMeanStep(entries) * (maxNeighborsSize - entries.size()));
+                appendAtEnd(entries, generateAndCheck(entryN, generationDate), date);
+            } else {
+                // generate additional point at the start of the slot
+                final AbsoluteDate generationDate =
+                                entry0.shiftedBy(-getMeanStep(entries) * (maxNeighborsSize - entries.size()));
+                insertAtStart(entries, generateAndCheck(entry0, generationDate), date);
+            }
+
+        }
+
+        return entries;
+
+    }
+
+    /** Get the mean step between entries.
+     * <p>
+     * If an overriding mean step has been defined at construction, then it will be returned instead.
+     * @param entries entries to consider
+     * @return mean step between entries (or an arbitrary non-null value
+     * if there are fewer than 2 entries)
+     */
+    private double getMeanStep(final List<Entry> entries) {
+        if (entries.size() < 2) {
+            return 1.0;
+        } else {
+            if (!Double.isNaN(overridingMeanStep)) {
+                return overridingMeanStep;
+            } else {
+                final AbsoluteDate t0 = entries.get(0).getData().getDate();
+                final AbsoluteDate tn = entries.get(entries.size() - 1).getData().getDate();
+                return tn.durationFrom(t0) / (entries.size() - 1);
+            }
+        }
+    }
+
+    /** Insert data at slot start.
+     * @param entries slot entries to update
+     * @param data data to insert
+     * @param requestedDate use for the error message.
+     */
+    private void insertAtStart(final List<Entry> entries, final List<T> data, final AbsoluteDate requestedDate) {
+
+        // insert data at start
+        boolean inserted = false;
+        final long q0 = entries.get(0).getQuantum();
+        for (int i = 0; i < data.size(); ++i) {
+            final long quantum = quantum(data.get(i).getDate());
+            if (quantum < q0) {
+                entries.add(i, new Entry(data.get(i), quantum));
+                inserted = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!inserted) {
+            final AbsoluteDate earliest = entries.get(0).getData().getDate();
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                earliest, requestedDate, earliest.durationFrom(requestedDate));
+        }
+
+        // evict excess data at end
+        final AbsoluteDate t0 = entries.get(0).getData().getDate();
+        while (entries.size() > maxNeighborsSize &&
+               entries.get(entries.size() - 1).getData().getDate().durationFrom(t0) > maxSpan) {
+            entries.remove(entries.size() - 1);
+        }
+
+    }
+
+    /** Append data at slot end.
+     * @param entries slot entries to update
+     * @param data data to append
+     * @param requestedDate use for error message.
+     */
+    private void appendAtEnd(final List<Entry> entries, final List<T> data, final AbsoluteDate requestedDate) {
+
+        // append data at end
+        boolean appended = false;
+        final long qn = entries.get(entries.size() - 1).getQuantum();
+        final int  n  = entries.size();
+        for (int i = data.size() - 1; i >= 0; --i) {
+            final long quantum = quantum(data.get(i).getDate());
+            if (quantum > qn) {
+                entries.add(n, new Entry(data.get(i), quantum));
+                appended = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!appended) {
+            final AbsoluteDate latest = entries.get(entries.size() - 1).getData().getDate();
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                latest, requestedDate, requestedDate.durationFrom(latest));
+        }
+
+        // evict excess data at start
+        final AbsoluteDate tn = entries.get(entries.size() - 1).getData().getDate();
+        while (entries.size() > maxNeighborsSize &&
+               tn.durationFrom(entries.get(0).getData().getDate()) > maxSpan) {
+            entries.remove(0);
+        }
+
+    }
+
+    /** Generate entries and check ordering.
+     * @param existingDate date of the closest already existing entry (may be null)
+     * @param date date that must be covered by the range of the generated array
+     * @return chronologically sorted list of generated entries
+     */
+    private List<T> generateAndCheck(final AbsoluteDate existingDate, final AbsoluteDate date) {
+        final List<T> entries = generator.generate(existingDate, date);
+        if (entries.isEmpty()) {
+            throw new TimeStampedCacheException(OrekitMessages.NO_DATA_GENERATED, date);
+        }
+        for (int i = 1; i < entries.size(); ++i) {
+            final AbsoluteDate previous = entries.get(i - 1).getDate();
+            final AbsoluteDate current = entries.get(i).getDate();
+            if (current.compareTo(previous) < 0) {
+                throw new TimeStampedCacheException(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES,
+                                                    previous, current, previous.durationFrom(current));
+            }
+        }
+        return entries;
+    }
+
+    /** Immutable time slot. */
+    private final class Slot {
+
+        /** Cached time-stamped entries. */
+        private final List<Entry> entries;
+
+        /** Entries quanta. */
+        private final long[] quanta;
+
+        /** Indicator for slots that the generator cannot extend before earliest entry. */
+        private final boolean startExhausted;
+
+        /** Indicator for slots that the generator cannot extend after latest entry. */
+        private final boolean endExhausted;
+
+        /** Update number at slot creation. */
+        private final long update;
+
+        /** Simple constructor.
+         * @param entries cached entries (will be copied)
+         * @param startExhausted if true, the generator cannot extend the slot before earliest entry
+         * @param endExhausted if true, the generator cannot extend the slot after latest entry
+         * @param update update number at slot creation
+         */
+        Slot(final List<Entry> entries, final boolean startExhausted, final boolean endExhausted,
+             final long update) {
+            this.entries        = new ArrayList<>(entries);
+            this.quanta         = new long[entries.size()];
+            for (int i = 0; i < quanta.length; ++i) {
+                quanta[i] = entries.get(i).getQuantum();
+            }
+            this.startExhausted = startExhausted;
+            this.endExhausted   = endExhausted;
+            this.update         = update;
+        }
+
+        /** Get the earliest entry contained in the slot.
+         * @return earliest entry contained in the slot
+         */
+        public T getEarliest() {
+            return entries.get(0).getData();
+        }
+
+        /** Get the quantum of the earliest date contained in the slot.
+         * @return quantum of the earliest date contained in the slot
+         */
+        public long getEarliestQuantum() {
+            return quanta[0];
+        }
+
+        /** Get the latest entry contained in the slot.
+         * @return latest entry contained in the slot
+         */
+        public T getLatest() {
+            return entries.get(entries.size() - 1).getData();
+        }
+
+        /** Get the quantum of the latest date contained in the slot.
+         * @return quantum of the latest date contained in the slot
+         */
+        public long getLatestQuantum() {
+            return quanta[quanta.length - 1];
+        }
+
+        /** Get the number of entries contained in the slot.
+         * @return number of entries contained in the slot
+         */
+        public int getEntries() {
+            return entries.size();
+        }
+
+        /** Get the update number at slot creation.
+         * @return update number at slot creation
+         */
+        public long getUpdate() {
+            return update;
+        }
+
+        /** Check if a date can be served by this slot, possibly after extension.
+         * @param dateQuantum global quantum of the date
+         * @return true if the date is close enough to the slot
+         */
+        public boolean isSuitable(final long dateQuantum) {
+            return getEarliestQuantum() <= dateQuantum + newSlotQuantumGap &&
+                   getLatestQuantum()   >= dateQuantum - newSlotQuantumGap;
+        }
+
+        /** Get the index of the first neighbor of a date.
+         * @param dateQuantum global quantum of the date
+         * @param n number of neighbors
+         * @return index of the first neighbor, or -1 if the slot must be extended
+         * to provide balanced neighbors
+         */
+        public int firstNeighbor(final long dateQuantum, final int n) {
+
+            final int index;
+            if (dateQuantum < getEarliestQuantum()) {
+                index = -1;
+            } else if (dateQuantum > getLatestQuantum()) {
+                index = quanta.length;
+            } else {
+                // within a continuous slot, entries are expected to be roughly linear
+                int  iInf = 0;
+                final long qInf = quanta[iInf];
+                int  iSup = quanta.length - 1;
+                final long qSup = quanta[iSup];
+                int found = -1;
+                while (found < 0 && iSup - iInf > 0) {
+                    final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+                    final int iMed    = FastMath.max(iInf + 1, FastMath.min(iInterp, iSup));
+                    if (dateQuantum < quanta[iMed]) {
+                        iSup = iMed - 1;
+                    } else if (dateQuantum > quanta[iMed]) {
+                        iInf = iMed;
+                    } else {
+                        found = iMed;
+                    }
+                }
+                index = found < 0 ? iInf : found;
+            }
+
+            int firstNeighbor = index - (n - 1) / 2;
+            if (firstNeighbor < 0) {
+                if (startExhausted && index >= 0) {
+                    // the generator cannot provide earlier data, we use an unbalanced neighborhood
+                    firstNeighbor = 0;
+                } else {
+                    return -1;
+                }
+            }
+            if (firstNeighbor + n > quanta.length) {
+                if (endExhausted && index < quanta.length) {
+                    // the generator cannot provide later data, we use an unbalanced neighborhood
+                    firstNeighbor = FastMath.max(0, quanta.length - n);
+                } else {
+                    return -1;
+                }
+            }
+
+            return firstNeighbor;
+
+        }
+
+        /** Get the entries surrounding a central date.
+         * @param firstNeighbor index of the first neighbor
+         * @param n number of neighbors
+         * @return stream containing date neighbors
+         */
+        public Stream<T> getNeighbors(final int firstNeighbor, final int n) {
+            final Stream.Builder<T> builder = Stream.builder();
+            for (int i = 0; i < n; ++i) {
+                builder.accept(entries.get(firstNeighbor + i).getData());
+            }
+            return builder.build();
+        }
+
+    }
+
+    /** Container for entries. */
+    private class Entry {
+
+        /** Entry data. */
+        private final T data;
+
+        /** Global quantum of the entry. */
+        private final long quantum;
+
+        /** Simple constructor.
+         * @param data entry data
+         * @param quantum entry quantum
+         */
+        Entry(final T data, final long quantum) {
+            this.quantum = quantum;
+            this.data    = data;
+        }
+
+        /** Get the quantum.
+         * @return quantum
+         */
+        public long getQuantum() {
+            return quantum;
+        }
+
+        /** Get the data.
+         * @return data
+         */
+        public T getData() {
+            return data;
+        }
+
+    }
+
+}
@@ -77,9 +77,18 @@ public class OccultationEngine {
      * @return occultation angles
      */
     public OccultationAngles angles(final SpacecraftState state) {
+        return angles(state.getPosition(occulting.getBodyFrame()),
+                      occulted.getPosition(state.getDate(), occulting.getBodyFrame()));
+    }
+
+    /** Compute the occultation angles as seen from a spacecraft.
+     * @param psat spacecraft position in occulting body frame
+     * @param pted occulted body position in occulting body frame
+     * @return occultation angles
+     * @since 12.1
+     */
+    public OccultationAngles angles(final Vector3D psat, final Vector3D pted) {
 
-        final Vector3D psat  = state.getPosition(occulting.getBodyFrame());
-        final Vector3D pted  = occulted.getPosition(state.getDate(), occulting.getBodyFrame());
         final Vector3D plimb = occulting.pointOnLimb(psat, pted);
         final Vector3D ps    = psat.subtract(pted);
         final Vector3D pi    = psat.subtract(plimb);
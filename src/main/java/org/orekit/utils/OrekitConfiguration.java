@@ -26,8 +26,12 @@ public class OrekitConfiguration {
     /** Number of slots to use in caches. */
     private static int CACHE_SLOTS_NUMBER;
 
+    /** Type of time-stamped caches to use in transform providers. */
+    private static TimeStampedCacheType CACHE_TYPE;
+
     static {
         CACHE_SLOTS_NUMBER = 100;
+        CACHE_TYPE         = TimeStampedCacheType.READ_WRITE_LOCK;
     }
 
     /** Private constructor.
@@ -52,4 +56,27 @@ public class OrekitConfiguration {
         return CACHE_SLOTS_NUMBER;
     }
 
+    /** Set the type of time-stamped caches to use in transform providers.
+     * <p>
+     * The setting applies only to providers built after the call, for example
+     * it must be set before the first call to {@link org.orekit.frames.FramesFactory}
+     * for the frames it manages.
+     * </p>
+     * @param cacheType type of time-stamped caches to use in transform providers
+     * @see org.orekit.frames.InterpolatingTransformProvider
+     * @see org.orekit.frames.ShiftingTransformProvider
+     * @since 12.1
+     */
+    public static void setTimeStampedCacheType(final TimeStampedCacheType cacheType) {
+        OrekitConfiguration.CACHE_TYPE = cacheType;
+    }
+
+    /** Get the type of time-stamped caches to use in transform providers.
+     * @return type of time-stamped caches to use in transform providers
+     * @since 12.1
+     */
+    public static TimeStampedCacheType getTimeStampedCacheType() {
+        return CACHE_TYPE;
+    }
+
 }
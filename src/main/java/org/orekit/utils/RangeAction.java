@@ -0,0 +1,112 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Recursive action applying a function to a range of indices.
+ * <p>
+ * The range is split recursively at its midpoint until chunks contain
+ * at most {@code granularity} indices, so idle workers of a
+ * {@link java.util.concurrent.ForkJoinPool ForkJoinPool} can steal half
+ * of the remaining work. Each chunk is then processed as a whole by
+ * the calling worker.
+ * </p>
+ * <p>
+ * Typical use is {@code pool.invoke(new RangeAction(0, n, i -> results[i] = compute(i)))}.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class RangeAction extends RecursiveAction {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20231215L;
+
+    /** Index of first element in range (included). */
+    private final int from;
+
+    /** Index of last element in range (excluded). */
+    private final int to;
+
+    /** Maximum number of indices processed by one task without splitting. */
+    private final int granularity;
+
+    /** Action to apply to each chunk. */
+    private final transient ChunkConsumer action;
+
+    /** Simple constructor for one index per task.
+     * @param from index of first element in range (included)
+     * @param to index of last element in range (excluded)
+     * @param action action to apply to each index
+     */
+    public RangeAction(final int from, final int to, final IntConsumer action) {
+        this(from, to, 1, (start, end) -> {
+            for (int i = start; i < end; ++i) {
+                action.accept(i);
+            }
+        });
+    }
+
+    /** Simple constructor for chunks of indices.
+     * @param from index of first element in range (included)
+     * @param to index of last element in range (excluded)
+     * @param granularity maximum number of indices processed by one task without splitting
+     * (must be at least 1)
+     * @param action action to apply to each chunk
+     */
+    public RangeAction(final int from, final int to, final int granularity, final ChunkConsumer action) {
+        if (granularity < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     granularity, 1);
+        }
+        this.from        = from;
+        this.to          = to;
+        this.granularity = granularity;
+        this.action      = action;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void compute() {
+        if (to - from > granularity) {
+            // split the range, idle workers will steal one half
+            final int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, granularity, action),
+                      new RangeAction(middle, to, granularity, action));
+        } else if (to > from) {
+            action.accept(from, to);
+        }
+    }
+
+    /** Action applied to a chunk of consecutive indices. */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /** Apply the action to a chunk.
+         * @param from index of first element in chunk (included)
+         * @param to index of last element in chunk (excluded)
+         */
+        void accept(int from, int to);
+
+    }
+
+}
@@ -0,0 +1,120 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.nio.DoubleBuffer;
+
+import org.hipparchus.util.FastMath;
+
+/** Allocation-light Hermite interpolation of tabulated samples stored in primitive buffers.
+ * <p>
+ * Samples are stored with a fixed stride in a {@link DoubleBuffer}, which may be backed
+ * by a heap array or by a memory-mapped file. Each sample contains the values of several
+ * components and optionally their first and second derivatives, stored consecutively
+ * (all values, then all first derivatives, then all second derivatives). Only absolute
+ * get operations are used, so several threads can interpolate the same buffer concurrently.
+ * </p>
+ * <p>
+ * Interpolation nodes are given as offsets with respect to the interpolation date, so the
+ * interpolating polynomial is evaluated at 0, which preserves accuracy for large dates.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public class TabulatedHermiteInterpolator {
+
+    /** Maximum number of derivatives orders that can be used (values, first and second derivatives). */
+    public static final int MAX_ORDERS = 3;
+
+    /** Inverse of factorials, for divided differences at repeated nodes. */
+    private static final double[] INV_FACTORIALS = { 1.0, 1.0, 0.5 };
+
+    /** Private constructor for utility class.
+     */
+    private TabulatedHermiteInterpolator() {
+    }
+
+    /** Interpolate tabulated components.
+     * @param offsets offsets of the interpolation nodes with respect to interpolation date
+     * @param data tabulated data
+     * @param start index of the sample corresponding to the first node
+     * @param stride number of elements per sample in {@code data}
+     * @param first index of the first component within sample block
+     * @param dim number of components
+     * @param orders number of derivatives orders available in samples, between 1 (values only)
+     * and {@link #MAX_ORDERS} (values, first and second derivatives)
+     * @param out placeholder for values, first derivatives and second derivatives
+     * of all components (size must be at least 3 * dim)
+     */
+    public static void interpolate(final double[] offsets, final DoubleBuffer data,
+                                   final int start, final int stride, final int first,
+                                   final int dim, final int orders, final double[] out) {
+
+        final int      m = offsets.length * orders;
+        final double[] d = new double[m];
+
+        for (int c = 0; c < dim; ++c) {
+
+            // divided differences, with repeated nodes where derivatives are available
+            for (int i = 0; i < m; ++i) {
+                d[i] = data.get((start + i / orders) * stride + first + c);
+            }
+            for (int l = 1; l < m; ++l) {
+                for (int i = m - 1; i >= l; --i) {
+                    final int node = i / orders;
+                    final int low  = (i - l) / orders;
+                    if (node == low) {
+                        d[i] = data.get((start + node) * stride + first + l * dim + c) * INV_FACTORIALS[l];
+                    } else {
+                        d[i] = (d[i] - d[i - 1]) / (offsets[node] - offsets[low]);
+                    }
+                }
+            }
+
+            // evaluate Newton form and its first two derivatives at interpolation date
+            double p0 = d[m - 1];
+            double p1 = 0;
+            double p2 = 0;
+            for (int i = m - 2; i >= 0; --i) {
+                final double w = -offsets[i / orders];
+                p2 = p2 * w + 2 * p1;
+                p1 = p1 * w + p0;
+                p0 = p0 * w + d[i];
+            }
+            out[c]           = p0;
+            out[dim + c]     = p1;
+            out[2 * dim + c] = p2;
+
+        }
+
+    }
+
+    /** Select the first interpolation node.
+     * <p>
+     * Nodes are centered around the interpolation date, and shifted near the
+     * sample boundaries so all nodes are within the sample.
+     * </p>
+     * @param index index of the last sample before or at interpolation date
+     * @param size sample size
+     * @param nodes number of interpolation nodes
+     * @return index of the sample corresponding to the first node
+     */
+    public static int firstNode(final int index, final int size, final int nodes) {
+        return FastMath.max(0, FastMath.min(size - nodes, index - (nodes - 1) / 2));
+    }
+
+}
@@ -0,0 +1,77 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import org.orekit.time.TimeStamped;
+
+/** Enumerate for selecting the implementation of {@link TimeStampedCache time-stamped caches}
+ * built by transform providers.
+ * @see OrekitConfiguration#setTimeStampedCacheType(TimeStampedCacheType)
+ * @author Luc Maisonobe
+ * @since 12.1
+ */
+public enum TimeStampedCacheType {
+
+    /** Use {@link GenericTimeStampedCache}, with a global read-write lock. */
+    READ_WRITE_LOCK {
+
+        /** {@inheritDoc} */
+        @Override
+        public <T extends TimeStamped> TimeStampedCache<T> createCache(final int maxNeighborsSize,
+                                                                       final int maxSlots,
+                                                                       final double maxSpan,
+                                                                       final double newSlotInterval,
+                                                                       final TimeStampedGenerator<T> generator) {
+            return new GenericTimeStampedCache<>(maxNeighborsSize, maxSlots, maxSpan, newSlotInterval, generator);
+        }
+
+    },
+
+    /** Use {@link CopyOnWriteTimeStampedCache}, with lock-free reads. */
+    COPY_ON_WRITE {
+
+        /** {@inheritDoc} */
+        @Override
+        public <T extends TimeStamped> TimeStampedCache<T> createCache(final int maxNeighborsSize,
+                                                                       final int maxSlots,
+                                                                       final double maxSpan,
+                                                                       final double newSlotInterval,
+                                                                       final TimeStampedGenerator<T> generator) {
+            return new CopyOnWriteTimeStampedCache<>(maxNeighborsSize, maxSlots, maxSpan, newSlotInterval, generator);
+        }
+
+    };
+
+    /** Create a cache.
+     * @param <T> type of the cached data
+     * @param maxNeighborsSize maximum size of the arrays to be returned by {@link
+     * TimeStampedCache#getNeighbors(org.orekit.time.AbsoluteDate, int)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     * @return new cache
+     */
+    public abstract <T extends TimeStamped> TimeStampedCache<T> createCache(int maxNeighborsSize,
+                                                                            int maxSlots,
+                                                                            double maxSpan,
+                                                                            double newSlotInterval,
+                                                                            TimeStampedGenerator<T> generator);
+
+}
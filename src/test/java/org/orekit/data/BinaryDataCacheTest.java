@@ -0,0 +1,351 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.orekit.Utils;
+import org.orekit.forces.gravity.potential.EGMFormatReader;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider.NormalizedSphericalHarmonics;
+import org.orekit.frames.EOPEntry;
+import org.orekit.frames.EOPHistory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.utils.IERSConventions;
+
+public class BinaryDataCacheTest {
+
+    @Test
+    public void testCacheLifecycle() throws IOException {
+
+        final Path dataDir = temporaryFolderPath.resolve("data");
+        Files.createDirectories(dataDir);
+        final Path source = dataDir.resolve("values.txt");
+        Files.write(source, "1.0 2.0 3.0".getBytes(StandardCharsets.UTF_8));
+
+        final DataProvidersManager manager = new DataProvidersManager();
+        manager.addProvider(new DirectoryCrawler(dataDir.toFile()));
+        final BinaryDataCache cache = new BinaryDataCache(temporaryFolderPath.resolve("cache"));
+        Assertions.assertEquals(temporaryFolderPath.resolve("cache"), cache.getDirectory());
+        final List<String> names = Collections.singletonList("^values\\.txt$");
+        final AtomicInteger parsed = new AtomicInteger();
+
+        // first call parses and writes the cache
+        check(cache.getOrCompute("test", manager, names, () -> parse(source, parsed)), 1.0, 2.0, 3.0);
+        Assertions.assertEquals(1, parsed.get());
+        Assertions.assertEquals(1, cacheFiles(cache).size());
+
+        // second call uses the cache
+        check(cache.getOrCompute("test", manager, names, () -> parse(source, parsed)), 1.0, 2.0, 3.0);
+        Assertions.assertEquals(1, parsed.get());
+
+        // changing the source file invalidates the cache
+        Files.write(source, "4.0 5.0".getBytes(StandardCharsets.UTF_8));
+        check(cache.getOrCompute("test", manager, names, () -> parse(source, parsed)), 4.0, 5.0);
+        Assertions.assertEquals(2, parsed.get());
+        check(cache.getOrCompute("test", manager, names, () -> parse(source, parsed)), 4.0, 5.0);
+        Assertions.assertEquals(2, parsed.get());
+
+        // corrupted cache files are ignored and rewritten
+        Files.write(cacheFiles(cache).get(0), new byte[] { 1, 2, 3 });
+        check(cache.getOrCompute("test", manager, names, () -> parse(source, parsed)), 4.0, 5.0);
+        Assertions.assertEquals(3, parsed.get());
+        check(cache.getOrCompute("test", manager, names, () -> parse(source, parsed)), 4.0, 5.0);
+        Assertions.assertEquals(3, parsed.get());
+
+        // data that cannot be cached are parsed each time
+        Assertions.assertNull(cache.getOrCompute("other", manager, names, () -> null));
+        Assertions.assertEquals(1, cacheFiles(cache).size());
+
+    }
+
+    @Test
+    public void testDateRoundTrip() {
+        final TimeScale utc = DataContext.getDefault().getTimeScales().getUTC();
+        final AbsoluteDate[] dates = {
+            new AbsoluteDate(1957, 10, 4, 19, 28, 34.0, utc),
+            new AbsoluteDate(2016, 12, 31, 23, 59, 60.5, utc),
+            new AbsoluteDate(2023, 11, 15, 1, 2, 3.123456789012345, utc),
+            AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(-0.25)
+        };
+        final double[] payload = new double[2 * dates.length];
+        int index = 0;
+        for (final AbsoluteDate date : dates) {
+            index = BinaryDataCache.putDate(payload, index, date);
+        }
+        Assertions.assertEquals(payload.length, index);
+        final DoubleBuffer buffer = DoubleBuffer.wrap(payload);
+        for (final AbsoluteDate date : dates) {
+            Assertions.assertEquals(date, BinaryDataCache.getDate(buffer));
+        }
+    }
+
+    @Test
+    public void testDataContext() throws IOException {
+
+        final File regular = new File("src/test/resources/regular-data");
+        final File egm     = new File("src/test/resources/potential/egm-format");
+        final BinaryDataCache cache = new BinaryDataCache(temporaryFolderPath.resolve("cache"));
+        final AtomicInteger gravityParsed = new AtomicInteger();
+
+        // first context, populating the cache
+        final Map<String, AtomicInteger> reads1 = new ConcurrentHashMap<>();
+        final LazyLoadedDataContext first = createContext(regular, egm, cache, gravityParsed, reads1);
+        final EOPHistory eop1 = first.getFrames().getEOPHistory(IERSConventions.IERS_2010, true);
+        final TimeScale utc1 = first.getTimeScales().getUTC();
+        final NormalizedSphericalHarmonicsProvider field1 = first.getGravityFields().getNormalizedProvider(12, 12);
+        Assertions.assertEquals(1, gravityParsed.get());
+        final int nbFiles = cacheFiles(cache).size();
+        Assertions.assertTrue(nbFiles >= 3);
+        Assertions.assertEquals(1L, cacheFiles(cache).stream().filter(p -> p.getFileName().toString().startsWith("gravity-")).count());
+
+        // in the first context, source files are read once for checksums and once for parsing
+        Assertions.assertEquals(2, reads(reads1, "UTC-TAI.history"));
+        Assertions.assertEquals(2, reads(reads1, "EGM96-truncated-21x21"));
+
+        // second context, reading from the cache
+        final Map<String, AtomicInteger> reads2 = new ConcurrentHashMap<>();
+        final LazyLoadedDataContext second = createContext(regular, egm, cache, gravityParsed, reads2);
+        final EOPHistory eop2 = second.getFrames().getEOPHistory(IERSConventions.IERS_2010, true);
+        final TimeScale utc2 = second.getTimeScales().getUTC();
+        final NormalizedSphericalHarmonicsProvider field2 = second.getGravityFields().getNormalizedProvider(12, 12);
+        Assertions.assertEquals(nbFiles, cacheFiles(cache).size());
+
+        // the gravity field was served from the cache, without parsing the file again
+        Assertions.assertEquals(1, gravityParsed.get());
+
+        // in the second context, source files are only read for checksums, never parsed
+        Assertions.assertEquals(1, reads(reads2, "UTC-TAI.history"));
+        Assertions.assertEquals(1, reads(reads2, "EGM96-truncated-21x21"));
+        Assertions.assertTrue(reads(reads2, "Earth-orientation-parameters") > 0);
+        Assertions.assertTrue(reads(reads2, "Earth-orientation-parameters") <
+                              reads(reads1, "Earth-orientation-parameters"));
+
+        // gravity field checksums are remembered, so files are not read again
+        second.getGravityFields().getNormalizedProvider(12, 12);
+        Assertions.assertEquals(1, reads(reads2, "EGM96-truncated-21x21"));
+        Assertions.assertEquals(1, gravityParsed.get());
+
+        // EOP
+        final List<EOPEntry> entries1 = eop1.getEntries();
+        final List<EOPEntry> entries2 = eop2.getEntries();
+        Assertions.assertEquals(entries1.size(), entries2.size());
+        for (int i = 0; i < entries1.size(); ++i) {
+            final EOPEntry e1 = entries1.get(i);
+            final EOPEntry e2 = entries2.get(i);
+            Assertions.assertEquals(e1.getMjd(), e2.getMjd());
+            Assertions.assertEquals(e1.getDate(), e2.getDate());
+            Assertions.assertEquals(e1.getUT1MinusUTC(), e2.getUT1MinusUTC(), 0.0);
+            Assertions.assertEquals(e1.getLOD(), e2.getLOD(), 0.0);
+            Assertions.assertEquals(e1.getX(), e2.getX(), 0.0);
+            Assertions.assertEquals(e1.getY(), e2.getY(), 0.0);
+            Assertions.assertEquals(e1.getDx(), e2.getDx(), 0.0);
+            Assertions.assertEquals(e1.getDy(), e2.getDy(), 0.0);
+            Assertions.assertEquals(e1.getITRFType(), e2.getITRFType());
+        }
+
+        // UTC-TAI offsets
+        for (double dt = -60 * 365.25 * 86400; dt < 30 * 365.25 * 86400; dt += 7.0 * 86400) {
+            final AbsoluteDate date = AbsoluteDate.J2000_EPOCH.shiftedBy(dt);
+            Assertions.assertEquals(utc1.offsetFromTAI(date), utc2.offsetFromTAI(date), 0.0);
+        }
+
+        // gravity field
+        Assertions.assertEquals(field1.getMu(), field2.getMu(), 0.0);
+        Assertions.assertEquals(field1.getAe(), field2.getAe(), 0.0);
+        Assertions.assertEquals(field1.getTideSystem(), field2.getTideSystem());
+        final NormalizedSphericalHarmonics h1 = field1.onDate(AbsoluteDate.J2000_EPOCH);
+        final NormalizedSphericalHarmonics h2 = field2.onDate(AbsoluteDate.J2000_EPOCH);
+        for (int n = 0; n <= 12; ++n) {
+            for (int m = 0; m <= n; ++m) {
+                Assertions.assertEquals(h1.getNormalizedCnm(n, m), h2.getNormalizedCnm(n, m), 0.0);
+                Assertions.assertEquals(h1.getNormalizedSnm(n, m), h2.getNormalizedSnm(n, m), 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testLeapSecondsChange() throws IOException {
+
+        // private copy of EOP and UTC-TAI history, as the latter will be changed
+        final Path regular = Paths.get("src/test/resources/regular-data");
+        final Path dataDir = temporaryFolderPath.resolve("data");
+        Files.createDirectories(dataDir);
+        try (Stream<Path> files = Files.walk(regular.resolve("Earth-orientation-parameters"))) {
+            for (final Path p : files.collect(Collectors.toList())) {
+                Files.copy(p, dataDir.resolve(regular.relativize(p).toString()));
+            }
+        }
+        Files.copy(regular.resolve("UTC-TAI.history"),    dataDir.resolve("UTC-TAI.history"));
+        Files.copy(regular.resolve("itrf-versions.conf"), dataDir.resolve("itrf-versions.conf"));
+        final BinaryDataCache cache = new BinaryDataCache(temporaryFolderPath.resolve("cache"));
+
+        // first context, populating the cache
+        final LazyLoadedDataContext first = createContext(dataDir.toFile(), cache);
+        final List<EOPEntry> entries1 = first.getFrames().getEOPHistory(IERSConventions.IERS_2010, true).getEntries();
+
+        // move the 2006 leap second to 2004, which changes the UTC dates of EOP entries
+        final Path history = dataDir.resolve("UTC-TAI.history");
+        final String original = new String(Files.readAllBytes(history), StandardCharsets.UTF_8);
+        final String modified = original.
+                                replace("1999  Jan.  1.- 2006  Jan.  1", "1999  Jan.  1.- 2004  Jan.  1").
+                                replace("2006  Jan.  1.- 2009  Jan.  1", "2004  Jan.  1.- 2009  Jan.  1");
+        Assertions.assertNotEquals(original, modified);
+        Files.write(history, modified.getBytes(StandardCharsets.UTF_8));
+
+        // second context, with EOP read from the cache but a different UTC-TAI history
+        final LazyLoadedDataContext second = createContext(dataDir.toFile(), cache);
+        final TimeScale utc2 = second.getTimeScales().getUTC();
+        final List<EOPEntry> entries2 = second.getFrames().getEOPHistory(IERSConventions.IERS_2010, true).getEntries();
+
+        Assertions.assertEquals(entries1.size(), entries2.size());
+        int shifted = 0;
+        for (int i = 0; i < entries1.size(); ++i) {
+            final EOPEntry e1 = entries1.get(i);
+            final EOPEntry e2 = entries2.get(i);
+            Assertions.assertEquals(e1.getMjd(), e2.getMjd());
+            Assertions.assertEquals(AbsoluteDate.createMJDDate(e2.getMjd(), 0.0, utc2), e2.getDate());
+            if (e2.getDate().durationFrom(e1.getDate()) != 0.0) {
+                ++shifted;
+            }
+        }
+        Assertions.assertTrue(shifted > 0);
+
+    }
+
+    private LazyLoadedDataContext createContext(final File data, final BinaryDataCache cache) {
+        final LazyLoadedDataContext context = new LazyLoadedDataContext();
+        context.getDataProvidersManager().addProvider(new DirectoryCrawler(data));
+        context.setBinaryCache(cache);
+        return context;
+    }
+
+    private LazyLoadedDataContext createContext(final File regular, final File egm, final BinaryDataCache cache,
+                                                final AtomicInteger gravityParsed,
+                                                final Map<String, AtomicInteger> reads) {
+        final LazyLoadedDataContext context = new LazyLoadedDataContext();
+        context.getDataProvidersManager().addProvider(new CountingProvider(new DirectoryCrawler(regular), reads));
+        context.getDataProvidersManager().addProvider(new CountingProvider(new DirectoryCrawler(egm), reads));
+        // constant field (no trends), so it can be cached
+        context.getGravityFields().addPotentialCoefficientsReader(new EGMFormatReader("EGM96-truncated-21x21", true) {
+            @Override
+            public void loadData(final InputStream input, final String name) throws IOException, ParseException {
+                gravityParsed.incrementAndGet();
+                super.loadData(input, name);
+            }
+        });
+        context.setBinaryCache(cache);
+        return context;
+    }
+
+    private int reads(final Map<String, AtomicInteger> reads, final String part) {
+        return reads.entrySet().stream().
+               filter(e -> e.getKey().contains(part)).
+               mapToInt(e -> e.getValue().get()).
+               sum();
+    }
+
+    /** Provider counting the number of times each file is read. */
+    private static class CountingProvider implements DataProvider {
+
+        private final DataProvider provider;
+        private final Map<String, AtomicInteger> reads;
+
+        CountingProvider(final DataProvider provider, final Map<String, AtomicInteger> reads) {
+            this.provider = provider;
+            this.reads    = reads;
+        }
+
+        @Override
+        public boolean feed(final Pattern supported, final DataLoader visitor, final DataProvidersManager manager) {
+            return provider.feed(supported, new DataLoader() {
+
+                @Override
+                public boolean stillAcceptsData() {
+                    return visitor.stillAcceptsData();
+                }
+
+                @Override
+                public void loadData(final InputStream input, final String name) throws IOException, ParseException {
+                    reads.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+                    visitor.loadData(input, name);
+                }
+
+            }, manager);
+        }
+
+    }
+
+    private double[] parse(final Path source, final AtomicInteger parsed) {
+        try {
+            parsed.incrementAndGet();
+            final String[] fields = new String(Files.readAllBytes(source), StandardCharsets.UTF_8).trim().split("\\s+");
+            final double[] values = new double[fields.length];
+            for (int i = 0; i < fields.length; ++i) {
+                values[i] = Double.parseDouble(fields[i]);
+            }
+            return values;
+        } catch (IOException ioe) {
+            Assertions.fail(ioe.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private void check(final DoubleBuffer buffer, final double... expected) {
+        Assertions.assertEquals(expected.length, buffer.remaining());
+        for (final double e : expected) {
+            Assertions.assertEquals(e, buffer.get(), 0.0);
+        }
+    }
+
+    private List<Path> cacheFiles(final BinaryDataCache cache) throws IOException {
+        try (Stream<Path> files = Files.list(cache.getDirectory())) {
+            return files.filter(p -> p.toString().endsWith(".bin")).collect(Collectors.toList());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @TempDir
+    public Path temporaryFolderPath;
+
+}
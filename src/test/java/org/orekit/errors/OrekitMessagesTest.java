@@ -30,7 +30,7 @@ public class OrekitMessagesTest {
 
     @Test
     public void testMessageNumber() {
-        Assertions.assertEquals(289, OrekitMessages.values().length);
+        Assertions.assertEquals(290, OrekitMessages.values().length);
     }
 
     @Test
@@ -18,9 +18,13 @@ package org.orekit.estimation.leastsquares;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.QRDecomposer;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.GaussNewtonOptimizer;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresOptimizer;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.orekit.attitudes.LofOffset;
@@ -63,6 +67,7 @@ import org.orekit.utils.TimeStampedPVCoordinates;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 public class BatchLSEstimatorTest {
@@ -308,6 +313,133 @@ public class BatchLSEstimatorTest {
 
     }
 
+    /**
+     * Perfect range and range rate measurements, evaluated in parallel
+     */
+    @Test
+    public void testParallelEvaluation() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // create perfect range and range rate measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements = new ArrayList<>();
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new TwoWayRangeMeasurementCreator(context),
+                                                                   1.0, 3.0, 300.0));
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new RangeRateMeasurementCreator(context, false, 0.0),
+                                                                   1.0, 3.0, 300.0));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final BatchLSEstimator sequential = createEstimator(context, measurements, null);
+        final BatchLSEstimator parallel   = createEstimator(context, measurements, pool);
+        try {
+            sequential.estimate();
+            parallel.estimate();
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertEquals(sequential.getIterationsCount(),  parallel.getIterationsCount());
+        Assertions.assertEquals(sequential.getEvaluationsCount(), parallel.getEvaluationsCount());
+        Assertions.assertEquals(sequential.getOptimum().getRMS(), parallel.getOptimum().getRMS(), 1.0e-15);
+        final List<DelegatingDriver> sequentialDrivers = sequential.getOrbitalParametersDrivers(true).getDrivers();
+        final List<DelegatingDriver> parallelDrivers   = parallel.getOrbitalParametersDrivers(true).getDrivers();
+        for (int i = 0; i < sequentialDrivers.size(); ++i) {
+            Assertions.assertEquals(sequentialDrivers.get(i).getValue(), parallelDrivers.get(i).getValue(),
+                                    1.0e-15 * FastMath.abs(sequentialDrivers.get(i).getValue()));
+        }
+        Assertions.assertEquals(measurements.size(), parallel.getLastEstimations().size());
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            final double[] s = sequential.getLastEstimations().get(measurement).getEstimatedValue();
+            final double[] p = parallel.getLastEstimations().get(measurement).getEstimatedValue();
+            Assertions.assertArrayEquals(s, p, 1.0e-15 * FastMath.abs(s[0]));
+        }
+
+    }
+
+    /**
+     * Perfect range and range rate measurements, with a sparse Jacobian
+     */
+    @Test
+    public void testSparseJacobian() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // create perfect range and range rate measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements = new ArrayList<>();
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new TwoWayRangeMeasurementCreator(context),
+                                                                   1.0, 3.0, 300.0));
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new RangeRateMeasurementCreator(context, false, 0.0),
+                                                                   1.0, 3.0, 300.0));
+
+        // the dense reference forms the normal equations within the optimizer,
+        // the sparse estimator forms them from the stored entries only
+        final BatchLSEstimator dense  = createEstimator(context, measurements, null,
+                                                        new GaussNewtonOptimizer(new QRDecomposer(1.0e-11), true));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final BatchLSEstimator sparse = createEstimator(context, measurements, pool,
+                                                        new GaussNewtonOptimizer(new NormalEquationsDecomposer(new QRDecomposer(1.0e-11)),
+                                                                                 false));
+        sparse.setSparseJacobian(true);
+        try {
+            dense.estimate();
+            sparse.estimate();
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertTrue(sparse.getOptimum().getJacobian() instanceof SparseJacobian);
+        Assertions.assertEquals(dense.getIterationsCount(),  sparse.getIterationsCount());
+        Assertions.assertEquals(dense.getEvaluationsCount(), sparse.getEvaluationsCount());
+        Assertions.assertEquals(dense.getOptimum().getRMS(), sparse.getOptimum().getRMS(),
+                                1.0e-10 * dense.getOptimum().getRMS());
+        final List<DelegatingDriver> denseDrivers  = dense.getOrbitalParametersDrivers(true).getDrivers();
+        final List<DelegatingDriver> sparseDrivers = sparse.getOrbitalParametersDrivers(true).getDrivers();
+        for (int i = 0; i < denseDrivers.size(); ++i) {
+            Assertions.assertEquals(denseDrivers.get(i).getValue(), sparseDrivers.get(i).getValue(),
+                                    1.0e-10 * FastMath.abs(denseDrivers.get(i).getValue()));
+        }
+
+    }
+
+    private BatchLSEstimator createEstimator(final Context context, final List<ObservedMeasurement<?>> measurements,
+                                             final ForkJoinPool pool) {
+        return createEstimator(context, measurements, pool, new LevenbergMarquardtOptimizer());
+    }
+
+    private BatchLSEstimator createEstimator(final Context context, final List<ObservedMeasurement<?>> measurements,
+                                             final ForkJoinPool pool, final LeastSquaresOptimizer optimizer) {
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final BatchLSEstimator estimator = new BatchLSEstimator(optimizer, propagatorBuilder);
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            estimator.addMeasurement(measurement);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+        estimator.setEvaluationPool(pool);
+        ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        return estimator;
+    }
+
     /**
      * Perfect range measurements with a biased start and an on-board antenna range offset
      */
@@ -0,0 +1,214 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.linear.ArrayRealVector;
+import org.hipparchus.linear.DecompositionSolver;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.QRDecomposer;
+import org.hipparchus.linear.QRDecomposition;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+public class NormalEquationsTest {
+
+    @Test
+    public void testDenseAndSparse() {
+        final RandomGenerator random = new Well19937a(0x19b37c4e8d2a605fL);
+        final SparseJacobian  sparse = new SparseJacobian(100, 12);
+        for (int i = 0; i < sparse.getRowDimension(); ++i) {
+            // each row involves one of the two "satellites" and one bias
+            final int offset = 5 * random.nextInt(2);
+            for (int j = 0; j < 5; ++j) {
+                sparse.setEntry(i, offset + j, random.nextDouble() - 0.5);
+            }
+            sparse.setEntry(i, 10 + random.nextInt(2), 1.0);
+        }
+        final RealMatrix j = MatrixUtils.createRealMatrix(sparse.getData());
+        final RealVector r = new ArrayRealVector(sparse.getRowDimension());
+        for (int i = 0; i < r.getDimension(); ++i) {
+            r.setEntry(i, random.nextGaussian());
+        }
+
+        final NormalEquations fromSparse = new NormalEquations(12);
+        fromSparse.addRows(sparse, r);
+        final NormalEquations fromDense = new NormalEquations(12);
+        fromDense.addRows(j, r);
+
+        final RealMatrix expectedN   = j.transpose().multiply(j);
+        final RealVector expectedRhs = j.transpose().operate(r);
+        for (final NormalEquations equations : new NormalEquations[] { fromSparse, fromDense }) {
+            Assertions.assertEquals(12, equations.getDimension());
+            Assertions.assertEquals(100L, equations.getRowsCount());
+            Assertions.assertEquals(r.dotProduct(r), equations.getSquaredResiduals(), 1.0e-12);
+            Assertions.assertEquals(0.0, equations.getNormalMatrix().subtract(expectedN).getNorm1(), 1.0e-12);
+            Assertions.assertEquals(0.0, equations.getRightHandSide().subtract(expectedRhs).getNorm(), 1.0e-12);
+        }
+
+    }
+
+    @Test
+    public void testMerge() {
+        final RandomGenerator random = new Well19937a(0x7e25d0b9a4c1368fL);
+        final NormalEquations all    = new NormalEquations(4);
+        final NormalEquations first  = new NormalEquations(4);
+        final NormalEquations second = new NormalEquations(4);
+        for (int i = 0; i < 20; ++i) {
+            final double[] row = new double[] {
+                random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble()
+            };
+            final double residual = random.nextGaussian();
+            all.addRow(row, residual);
+            (i < 8 ? first : second).addRow(row, residual);
+        }
+        first.add(second);
+        Assertions.assertEquals(all.getRowsCount(), first.getRowsCount());
+        Assertions.assertEquals(all.getSquaredResiduals(), first.getSquaredResiduals(), 1.0e-13);
+        Assertions.assertEquals(0.0, all.getNormalMatrix().subtract(first.getNormalMatrix()).getNorm1(), 1.0e-13);
+        Assertions.assertEquals(0.0, all.getRightHandSide().subtract(first.getRightHandSide()).getNorm(), 1.0e-13);
+
+        first.clear();
+        Assertions.assertEquals(0L, first.getRowsCount());
+        Assertions.assertEquals(0.0, first.getSquaredResiduals(), 0.0);
+        Assertions.assertEquals(0.0, first.getNormalMatrix().getNorm1(), 0.0);
+    }
+
+    @Test
+    public void testGrowAndUnsortedRows() {
+        final RandomGenerator random = new Well19937a(0x4c0a93f2b17e85d6L);
+        final NormalEquations direct = new NormalEquations(5);
+        final NormalEquations grown  = new NormalEquations(3);
+        for (int i = 0; i < 30; ++i) {
+            final int[]    columns  = i < 10 ? new int[] { 2, 0 } : new int[] { 4, 1, 3 };
+            final double[] values   = new double[columns.length];
+            for (int k = 0; k < values.length; ++k) {
+                values[k] = random.nextDouble() - 0.5;
+            }
+            final double residual = random.nextGaussian();
+            if (i == 10) {
+                grown.grow(5);
+            }
+            direct.addRow(columns, values, columns.length, residual);
+            grown.addRow(columns, values, columns.length, residual);
+        }
+        Assertions.assertEquals(5, grown.getDimension());
+        Assertions.assertEquals(0.0, direct.getNormalMatrix().subtract(grown.getNormalMatrix()).getNorm1(), 1.0e-15);
+        Assertions.assertEquals(0.0, direct.getRightHandSide().subtract(grown.getRightHandSide()).getNorm(), 1.0e-15);
+        Assertions.assertEquals(direct.getNormalElement(3, 4), direct.getNormalElement(4, 3), 1.0e-15);
+        try {
+            grown.grow(4);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testElimination() {
+        final RandomGenerator random    = new Well19937a(0x25d8e6f01b4a7c93L);
+        final NormalEquations equations = new NormalEquations(4);
+        for (int i = 0; i < 20; ++i) {
+            final double[] row = new double[] {
+                random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble()
+            };
+            equations.addRow(row, random.nextGaussian());
+        }
+        final RealVector expected = new QRDecomposition(equations.getNormalMatrix()).
+                                    getSolver().
+                                    solve(equations.getRightHandSide());
+
+        // eliminate parameter 1, keeping what is needed for back substitution
+        final double   pivot    = equations.getNormalElement(1, 1);
+        final double   rhs1     = equations.getRightHandSideElement(1);
+        final double[] coupling = new double[4];
+        for (int i = 0; i < coupling.length; ++i) {
+            coupling[i] = i == 1 ? 0.0 : equations.getNormalElement(1, i);
+        }
+        equations.eliminate(1);
+        Assertions.assertEquals(0.0, equations.getNormalMatrix().getRowVector(1).getNorm(), 0.0);
+        Assertions.assertEquals(0.0, equations.getNormalMatrix().getColumnVector(1).getNorm(), 0.0);
+        Assertions.assertEquals(0.0, equations.getRightHandSideElement(1), 0.0);
+
+        // solve the reduced system
+        final int[]      kept    = new int[] { 0, 2, 3 };
+        final RealVector reduced = new QRDecomposition(equations.getNormalMatrix().getSubMatrix(kept, kept)).
+                                   getSolver().
+                                   solve(new ArrayRealVector(new double[] {
+                                       equations.getRightHandSideElement(0),
+                                       equations.getRightHandSideElement(2),
+                                       equations.getRightHandSideElement(3)
+                                   }));
+        final double[] solution = new double[4];
+        for (int i = 0; i < kept.length; ++i) {
+            solution[kept[i]] = reduced.getEntry(i);
+            Assertions.assertEquals(expected.getEntry(kept[i]), solution[kept[i]], 1.0e-12);
+        }
+
+        // back substitution
+        double sum = rhs1;
+        for (int i = 0; i < coupling.length; ++i) {
+            sum -= coupling[i] * solution[i];
+        }
+        Assertions.assertEquals(expected.getEntry(1), sum / pivot, 1.0e-12);
+
+    }
+
+    @Test
+    public void testDecomposerPseudoInverse() {
+        final RandomGenerator random = new Well19937a(0x4c3a81d5f0e92b67L);
+        final SparseJacobian  sparse = new SparseJacobian(50, 6);
+        for (int i = 0; i < sparse.getRowDimension(); ++i) {
+            sparse.setEntry(i, random.nextInt(3), random.nextDouble() - 0.5);
+            sparse.setEntry(i, 3 + random.nextInt(3), random.nextDouble() - 0.5);
+        }
+        final RealMatrix j = MatrixUtils.createRealMatrix(sparse.getData());
+
+        final RealMatrix expected = new QRDecomposition(j).getSolver().getInverse();
+        for (final RealMatrix m : new RealMatrix[] { sparse, j }) {
+            final DecompositionSolver solver =
+                            new NormalEquationsDecomposer(new QRDecomposer(1.0e-11)).decompose(m);
+            final RealMatrix pseudoInverse = solver.getInverse();
+            Assertions.assertEquals(6,  pseudoInverse.getRowDimension());
+            Assertions.assertEquals(50, pseudoInverse.getColumnDimension());
+            Assertions.assertEquals(0.0, pseudoInverse.subtract(expected).getNorm1(), 1.0e-10 * expected.getNorm1());
+        }
+
+    }
+
+    @Test
+    public void testWrongDimensions() {
+        try {
+            new NormalEquations(0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new NormalEquations(3).addRow(new double[2], 1.0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SparseJacobianTest {
+
+    @Test
+    public void testEntries() {
+        final SparseJacobian sparse = new SparseJacobian(3, 50);
+        final RealMatrix     dense  = MatrixUtils.createRealMatrix(3, 50);
+        Assertions.assertEquals(3, sparse.getRowDimension());
+        Assertions.assertEquals(50, sparse.getColumnDimension());
+
+        final RandomGenerator random = new Well19937a(0x3f1e6a9b2c7d5048L);
+        for (int n = 0; n < 200; ++n) {
+            final int    i     = random.nextInt(3);
+            final int    j     = random.nextInt(50);
+            final double value = random.nextDouble();
+            if (random.nextBoolean()) {
+                sparse.setEntry(i, j, value);
+                dense.setEntry(i, j, value);
+            } else {
+                sparse.addToEntry(i, j, value);
+                dense.addToEntry(i, j, value);
+            }
+        }
+        check(dense, sparse);
+
+        // stored entries are sorted
+        for (int i = 0; i < sparse.getRowDimension(); ++i) {
+            for (int k = 1; k < sparse.getNonZeros(i); ++k) {
+                Assertions.assertTrue(sparse.getStoredColumn(i, k - 1) < sparse.getStoredColumn(i, k));
+            }
+        }
+
+        // setting zero in an empty entry does not store it
+        final long stored = sparse.getTotalNonZeros();
+        final SparseJacobian copy = sparse.copy();
+        for (int j = 0; j < 50; ++j) {
+            if (copy.getEntry(0, j) == 0.0) {
+                copy.setEntry(0, j, 0.0);
+                copy.addToEntry(0, j, 0.0);
+            }
+        }
+        Assertions.assertEquals(stored, copy.getTotalNonZeros());
+
+        // copy is independent from original
+        copy.setEntry(1, 7, 42.0);
+        Assertions.assertEquals(dense.getEntry(1, 7), sparse.getEntry(1, 7), 0.0);
+
+        sparse.clear();
+        Assertions.assertEquals(0L, sparse.getTotalNonZeros());
+        check(MatrixUtils.createRealMatrix(3, 50), sparse);
+
+    }
+
+    @Test
+    public void testOperations() {
+        final RandomGenerator random = new Well19937a(0x6c0a3d8e7f21b594L);
+        final SparseJacobian sparse = new SparseJacobian(20, 30);
+        for (int i = 0; i < 20; ++i) {
+            for (int n = 0; n < 4; ++n) {
+                sparse.setEntry(i, random.nextInt(30), random.nextDouble());
+            }
+        }
+        final RealMatrix dense = MatrixUtils.createRealMatrix(sparse.getData());
+        final double[] v = new double[30];
+        for (int j = 0; j < v.length; ++j) {
+            v[j] = random.nextDouble();
+        }
+        Assertions.assertArrayEquals(dense.operate(v), sparse.operate(v), 1.0e-15);
+        check(dense.transpose(), sparse.transpose());
+        check(dense.transpose().multiply(dense), sparse.transpose().multiply(sparse));
+        try {
+            sparse.operate(new double[29]);
+            Assertions.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            // expected
+        }
+    }
+
+    private void check(final RealMatrix expected, final RealMatrix actual) {
+        Assertions.assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        Assertions.assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            for (int j = 0; j < expected.getColumnDimension(); ++j) {
+                Assertions.assertEquals(expected.getEntry(i, j), actual.getEntry(i, j), 1.0e-15);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.leastsquares;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.optim.nonlinear.vector.leastsquares.GaussNewtonOptimizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.estimation.measurements.ObservedMeasurement;
+import org.orekit.estimation.measurements.Range;
+import org.orekit.estimation.measurements.RangeRateMeasurementCreator;
+import org.orekit.estimation.measurements.TwoWayRangeMeasurementCreator;
+import org.orekit.estimation.measurements.modifiers.Bias;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+import org.orekit.utils.ParameterDriver;
+
+public class StreamingLSEstimatorTest {
+
+    @Test
+    public void testSameAsBatch() {
+
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final List<ObservedMeasurement<?>> measurements = createMeasurements(context);
+
+        // reference batch least squares estimation, using the same Gauss-Newton algorithm
+        final NumericalPropagatorBuilder batchBuilder = createBuilder(context);
+        final BatchLSEstimator batch = new BatchLSEstimator(new GaussNewtonOptimizer(), batchBuilder);
+        measurements.forEach(batch::addMeasurement);
+        batch.setParametersConvergenceThreshold(1.0e-3);
+        batch.setMaxIterations(10);
+        batch.setMaxEvaluations(20);
+        final Vector3D batchPosition = batch.estimate()[0].getInitialState().getPVCoordinates().getPosition();
+
+        // streaming estimation
+        final NumericalPropagatorBuilder streamingBuilder = createBuilder(context);
+        final StreamingLSEstimator streaming = new StreamingLSEstimator(streamingBuilder);
+        measurements.forEach(streaming::addMeasurement);
+        streaming.setParametersConvergenceThreshold(1.0e-3);
+        streaming.setMaxIterations(10);
+        final Propagator[] propagators = streaming.estimate();
+        final Vector3D streamingPosition = propagators[0].getInitialState().getPVCoordinates().getPosition();
+
+        Assertions.assertEquals(streaming.getIterationsCount(), streaming.getEvaluationsCount());
+        Assertions.assertEquals(batch.getOptimum().getRMS(), streaming.getRMS(), 1.0e-6);
+        Assertions.assertEquals(0, streaming.getMaxActiveLocalParameters());
+        Assertions.assertEquals(0.0, Vector3D.distance(batchPosition, streamingPosition), 1.0e-4);
+        Assertions.assertEquals(0.0,
+                                Vector3D.distance(context.initialOrbit.getPosition(), streamingPosition),
+                                1.0e-2);
+        Assertions.assertEquals(1, streaming.getOrbits().length);
+
+    }
+
+    @Test
+    public void testLocalParameters() {
+
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final List<ObservedMeasurement<?>> measurements = createMeasurements(context);
+
+        // one independent bias for each group of 10 consecutive range measurements
+        final NumericalPropagatorBuilder builder = createBuilder(context);
+        final StreamingLSEstimator estimator = new StreamingLSEstimator(builder);
+        final List<ParameterDriver> biases = new ArrayList<>();
+        int count = 0;
+        Bias<Range> bias = null;
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            if (measurement instanceof Range) {
+                if (count++ % 10 == 0) {
+                    bias = new Bias<>(new String[] { "bias-" + biases.size() },
+                                      new double[] { 0.0 }, new double[] { 1.0 },
+                                      new double[] { Double.NEGATIVE_INFINITY },
+                                      new double[] { Double.POSITIVE_INFINITY });
+                    final ParameterDriver driver = bias.getParametersDrivers().get(0);
+                    driver.setSelected(true);
+                    driver.setValue(2.5);
+                    biases.add(driver);
+                    estimator.addLocalParameter(driver);
+                }
+                ((Range) measurement).addModifier(bias);
+            }
+            estimator.addMeasurement(measurement);
+        }
+        Assertions.assertTrue(biases.size() > 2);
+
+        estimator.setParametersConvergenceThreshold(1.0e-3);
+        estimator.setMaxIterations(10);
+        final Propagator[] propagators = estimator.estimate();
+
+        // measurements are perfect, so all biases should vanish
+        Assertions.assertEquals(1, estimator.getMaxActiveLocalParameters());
+        Assertions.assertEquals(biases.size(), estimator.getMeasurementsParametersDrivers(true).getNbParams());
+        for (final ParameterDriver driver : biases) {
+            Assertions.assertEquals(0.0, driver.getValue(), 1.0e-3);
+        }
+        Assertions.assertEquals(0.0,
+                                Vector3D.distance(context.initialOrbit.getPosition(),
+                                                  propagators[0].getInitialState().getPVCoordinates().getPosition()),
+                                1.0e-2);
+
+    }
+
+    @Test
+    public void testWrongMaxIterations() {
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        try {
+            new StreamingLSEstimator(createBuilder(context)).setMaxIterations(0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private List<ObservedMeasurement<?>> createMeasurements(final Context context) {
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           createBuilder(context));
+        final List<ObservedMeasurement<?>> measurements = new ArrayList<>();
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new TwoWayRangeMeasurementCreator(context),
+                                                                   1.0, 3.0, 300.0));
+        measurements.addAll(EstimationTestUtils.createMeasurements(propagator,
+                                                                   new RangeRateMeasurementCreator(context, false, 0.0),
+                                                                   1.0, 3.0, 300.0));
+        return measurements;
+    }
+
+    private NumericalPropagatorBuilder createBuilder(final Context context) {
+        final NumericalPropagatorBuilder builder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final ParameterDriver aDriver = builder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        return builder;
+    }
+
+}
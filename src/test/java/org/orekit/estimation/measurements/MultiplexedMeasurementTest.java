@@ -0,0 +1,131 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.orekit.estimation.Context;
+import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
+import org.orekit.utils.ParameterDriver;
+
+public class MultiplexedMeasurementTest {
+
+    @Test
+    public void testSharedGroundReceiverParameters() {
+
+        final Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.EQUINOCTIAL, PositionAngleType.TRUE, false,
+                                              1.0e-6, 60.0, 0.001);
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> ranges =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new TwoWayRangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+        propagator.clearStepHandlers();
+
+        int count = 0;
+        for (final ObservedMeasurement<?> measurement : ranges) {
+
+            // co-timed range, one-way range-rate and angles from the same station
+            final Range               range     = (Range) measurement;
+            final GroundStation       station   = range.getStation();
+            final ObservableSatellite satellite = range.getSatellites().get(0);
+            final RangeRate           rangeRate = new RangeRate(station, range.getDate(), 0.0, 1.0, 1.0, false, satellite);
+            final AngularAzEl         azEl      = new AngularAzEl(station, range.getDate(),
+                                                                  new double[] { 0.0, 0.0 },
+                                                                  new double[] { 1.0e-3, 1.0e-3 },
+                                                                  new double[] { 1.0, 1.0 },
+                                                                  satellite);
+            station.getEastOffsetDriver().setSelected(true);
+            station.getClockOffsetDriver().setSelected(true);
+            satellite.getClockDriftDriver().setSelected(true);
+
+            final List<ObservedMeasurement<?>> grouped = Arrays.asList(range, rangeRate, azEl);
+            final MultiplexedMeasurement multiplexed = new MultiplexedMeasurement(grouped);
+
+            // measurements belonging to another multiplexer must not disturb sharing
+            final MultiplexedMeasurement other = new MultiplexedMeasurement(Arrays.asList(range, azEl));
+
+            final SpacecraftState[] states = new SpacecraftState[] {
+                propagator.propagate(range.getDate())
+            };
+            other.estimate(0, 0, states);
+            multiplexed.estimateWithoutDerivatives(0, 0, states);
+            multiplexed.estimate(0, 0, states);
+
+            final SpacecraftState sharedTransitWithout =
+                            multiplexed.getEstimatedMeasurementsWithoutDerivatives().get(0).getStates()[0];
+            final SpacecraftState sharedTransitWith =
+                            multiplexed.getEstimatedMeasurements().get(0).getStates()[0];
+            Assertions.assertSame(other.getEstimatedMeasurements().get(0).getStates()[0],
+                                  other.getEstimatedMeasurements().get(1).getStates()[0]);
+            Assertions.assertNotSame(sharedTransitWith, other.getEstimatedMeasurements().get(0).getStates()[0]);
+
+            for (int i = 0; i < grouped.size(); ++i) {
+
+                // without derivatives
+                final EstimatedMeasurementBase<?> sharedBase = multiplexed.getEstimatedMeasurementsWithoutDerivatives().get(i);
+                final EstimatedMeasurementBase<?> aloneBase  = grouped.get(i).estimateWithoutDerivatives(0, 0, states);
+                checkEquals(aloneBase.getEstimatedValue(), sharedBase.getEstimatedValue());
+
+                // the transit state is computed once for all grouped measurements
+                Assertions.assertSame(sharedTransitWithout, sharedBase.getStates()[0]);
+                Assertions.assertNotSame(sharedTransitWithout, aloneBase.getStates()[0]);
+
+                // with derivatives
+                final EstimatedMeasurement<?> shared = multiplexed.getEstimatedMeasurements().get(i);
+                final EstimatedMeasurement<?> alone  = grouped.get(i).estimate(0, 0, states);
+                checkEquals(alone.getEstimatedValue(), shared.getEstimatedValue());
+                Assertions.assertSame(sharedTransitWith, shared.getStates()[0]);
+                Assertions.assertNotSame(sharedTransitWith, alone.getStates()[0]);
+                for (int k = 0; k < alone.getStateDerivatives(0).length; ++k) {
+                    checkEquals(alone.getStateDerivatives(0)[k], shared.getStateDerivatives(0)[k]);
+                }
+                Assertions.assertEquals(alone.getDerivativesDrivers().count(), shared.getDerivativesDrivers().count());
+                for (final ParameterDriver driver : grouped.get(i).getParametersDrivers()) {
+                    if (driver.isSelected()) {
+                        checkEquals(alone.getParameterDerivatives(driver), shared.getParameterDerivatives(driver));
+                    }
+                }
+
+            }
+
+            ++count;
+        }
+        Assertions.assertTrue(count > 10);
+
+    }
+
+    private void checkEquals(final double[] expected, final double[] actual) {
+        Assertions.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; ++i) {
+            Assertions.assertEquals(expected[i], actual[i], 1.0e-12 * FastMath.max(1.0, FastMath.abs(expected[i])));
+        }
+    }
+
+}
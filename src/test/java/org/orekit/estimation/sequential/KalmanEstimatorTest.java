@@ -18,19 +18,26 @@ package org.orekit.estimation.sequential;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.RealVector;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.orekit.attitudes.LofOffset;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.estimation.Context;
 import org.orekit.estimation.EstimationTestUtils;
+import org.orekit.estimation.measurements.AngularAzEl;
 import org.orekit.estimation.measurements.AngularAzElMeasurementCreator;
 import org.orekit.estimation.measurements.AngularRaDecMeasurementCreator;
 import org.orekit.estimation.measurements.InterSatellitesRangeMeasurementCreator;
@@ -54,6 +61,7 @@ import org.orekit.orbits.PositionAngleType;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.EphemerisGenerator;
 import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.propagation.numerical.NumericalPropagator;
 import org.orekit.time.AbsoluteDate;
@@ -876,6 +884,159 @@ public class KalmanEstimatorTest {
 
     }
 
+    @Test
+    public void testParallelPrediction() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+
+        // Create perfect inter-satellites and ground range measurements
+        final TimeStampedPVCoordinates original = context.initialOrbit.getPVCoordinates();
+        final Orbit closeOrbit = new CartesianOrbit(new TimeStampedPVCoordinates(context.initialOrbit.getDate(),
+                                                                                 original.getPosition().add(new Vector3D(1000, 2000, 3000)),
+                                                                                 original.getVelocity().add(new Vector3D(-0.03, 0.01, 0.02))),
+                                                    context.initialOrbit.getFrame(),
+                                                    context.initialOrbit.getMu());
+        final Propagator closePropagator = EstimationTestUtils.createPropagator(closeOrbit,
+                                                                                createMultiSatBuilder(context));
+        final EphemerisGenerator generator = closePropagator.getEphemerisGenerator();
+        closePropagator.propagate(context.initialOrbit.getDate().shiftedBy(3.5 * closeOrbit.getKeplerianPeriod()));
+        final BoundedPropagator ephemeris = generator.getGeneratedEphemeris();
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                                                    createMultiSatBuilder(context)),
+                                                               new InterSatellitesRangeMeasurementCreator(ephemeris, 0.0, 0.0),
+                                                               1.0, 3.0, 300.0);
+        measurements.addAll(EstimationTestUtils.createMeasurements(EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                                                        createMultiSatBuilder(context)),
+                                                                   new TwoWayRangeMeasurementCreator(context),
+                                                                   1.0, 3.0, 60.0));
+        measurements.sort(Comparator.naturalOrder());
+
+        // same filter, with sequential and parallel prediction
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final KalmanEstimator sequential = createMultiSatKalman(context, null);
+        final KalmanEstimator parallel   = createMultiSatKalman(context, pool);
+        try {
+            sequential.processMeasurements(measurements);
+            parallel.processMeasurements(measurements);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertEquals(sequential.getCurrentMeasurementNumber(), parallel.getCurrentMeasurementNumber());
+        final RealVector sequentialState = sequential.getPhysicalEstimatedState();
+        final RealVector parallelState   = parallel.getPhysicalEstimatedState();
+        for (int i = 0; i < sequentialState.getDimension(); ++i) {
+            Assertions.assertEquals(sequentialState.getEntry(i), parallelState.getEntry(i),
+                                    1.0e-15 * FastMath.abs(sequentialState.getEntry(i)));
+        }
+        final RealMatrix sequentialCovariance = sequential.getPhysicalEstimatedCovarianceMatrix();
+        final RealMatrix parallelCovariance   = parallel.getPhysicalEstimatedCovarianceMatrix();
+        Assertions.assertEquals(0.0, sequentialCovariance.subtract(parallelCovariance).getNorm1(),
+                                1.0e-15 * sequentialCovariance.getNorm1());
+
+    }
+
+    private NumericalPropagatorBuilder createMultiSatBuilder(final Context context) {
+        return context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                     1.0e-6, 60.0, 1.0);
+    }
+
+    private KalmanEstimator createMultiSatKalman(final Context context, final ForkJoinPool pool) {
+        final NumericalPropagatorBuilder propagatorBuilder1 = createMultiSatBuilder(context);
+        final NumericalPropagatorBuilder propagatorBuilder2 = createMultiSatBuilder(context);
+        final RealMatrix processNoiseMatrix = MatrixUtils.createRealDiagonalMatrix(new double[] {
+            1.e-4, 1.e-4, 1.e-4, 1.e-10, 1.e-10, 1.e-10
+        });
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder1, new ConstantProcessNoise(processNoiseMatrix)).
+                        addPropagationConfiguration(propagatorBuilder2, new ConstantProcessNoise(processNoiseMatrix)).
+                        build();
+        kalman.setPredictionPool(pool);
+        final List<DelegatingDriver> parameters = kalman.getOrbitalParametersDrivers(true).getDrivers();
+        parameters.get(0).setValue(parameters.get(0).getValue() + 1.2);
+        parameters.get(6).setValue(parameters.get(6).getValue() - 5.4);
+        return kalman;
+    }
+
+    @Test
+    public void testBatchedSimultaneousMeasurements() {
+
+        Context context = EstimationTestUtils.eccentricContext("regular-data:potential:tides");
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngleType.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+
+        // Create perfect range measurements, and co-timed perfect azimuth-elevation measurements
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> ranges =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new TwoWayRangeMeasurementCreator(context),
+                                                               1.0, 4.0, 60.0);
+        propagator.clearStepHandlers();
+        final List<List<ObservedMeasurement<?>>> batches = new ArrayList<>();
+        for (final ObservedMeasurement<?> measurement : ranges) {
+            final Range range = (Range) measurement;
+            final AngularAzEl zero = new AngularAzEl(range.getStation(), range.getDate(),
+                                                     new double[2], new double[] { 1.0e-3, 1.0e-3 },
+                                                     new double[] { 1.0, 1.0 }, range.getSatellites().get(0));
+            final double[] azEl = zero.estimateWithoutDerivatives(0, 0,
+                                                                  new SpacecraftState[] {
+                                                                      propagator.propagate(range.getDate())
+                                                                  }).getEstimatedValue();
+            final AngularAzEl perfect = new AngularAzEl(range.getStation(), range.getDate(), azEl,
+                                                        new double[] { 1.0e-3, 1.0e-3 },
+                                                        new double[] { 1.0, 1.0 }, range.getSatellites().get(0));
+            batches.add(Arrays.asList(range, perfect));
+        }
+
+        // Reference position at last measurement date
+        final Orbit refOrbit = propagatorBuilder.
+                        buildPropagator(propagatorBuilder.getSelectedNormalizedParameters()).
+                        propagate(ranges.get(ranges.size() - 1).getDate()).getOrbit();
+
+        // Change semi-major axis of 1.2m as in the batch test
+        ParameterDriver aDriver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+
+        final RealMatrix initialP = MatrixUtils.createRealDiagonalMatrix(new double [] {
+            1.0e4, 1.0e-4, 1.0e-4, 1.0e-4, 1.0e-4, 1.0e-4
+        });
+        final KalmanEstimator kalman = new KalmanEstimatorBuilder().
+                        addPropagationConfiguration(propagatorBuilder,
+                                                    new ConstantProcessNoise(initialP, MatrixUtils.createRealMatrix(6, 6))).
+                        build();
+
+        // each batch is processed in one filter update
+        Propagator[] estimated = null;
+        for (final List<ObservedMeasurement<?>> batch : batches) {
+            estimated = kalman.estimationStep(batch);
+        }
+        Assertions.assertEquals(batches.size(), kalman.getCurrentMeasurementNumber());
+        Assertions.assertEquals(0.0,
+                                Vector3D.distance(refOrbit.getPosition(),
+                                                  estimated[0].getInitialState().getPosition()),
+                                1.0);
+
+        // wrong batches
+        try {
+            kalman.estimationStep(new ArrayList<>());
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            kalman.estimationStep(Arrays.asList(batches.get(0).get(0), batches.get(1).get(0)));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(OrekitMessages.NON_SIMULTANEOUS_MEASUREMENTS, oiae.getSpecifier());
+            Assertions.assertEquals(batches.get(0).get(0).getDate(), oiae.getParts()[0]);
+            Assertions.assertEquals(batches.get(1).get(0).getDate(), oiae.getParts()[1]);
+        }
+
+    }
+
     /**
      * Test of a wrapped exception in a Kalman observer
      */
@@ -0,0 +1,204 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.general;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.EphemerisArchive.ArchivedSegment;
+import org.orekit.files.general.OrekitEphemerisFile.OrekitEphemerisSegment;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.Transform;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class EphemerisArchiveTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+
+        final Path file = writeArchive();
+        final EphemerisArchive archive = new EphemerisArchive(file);
+        Assertions.assertEquals(2, archive.getSegments().size());
+
+        for (final OrekitEphemerisSegment original : new OrekitEphemerisSegment[] { segmentA, segmentB }) {
+            final ArchivedSegment archived = archive.getSegments().get(original == segmentA ? "A" : "B");
+            Assertions.assertEquals(original == segmentA ? "A" : "B", archived.getId());
+            Assertions.assertSame(original.getFrame(), archived.getFrame());
+            Assertions.assertEquals(original.getMu(), archived.getMu(), 0.0);
+            Assertions.assertEquals(original.getInterpolationSamples(), archived.getInterpolationSamples());
+            Assertions.assertEquals(CartesianDerivativesFilter.USE_PV, archived.getAvailableDerivatives());
+            Assertions.assertEquals(original.getStart(), archived.getStart());
+            Assertions.assertEquals(original.getStop(), archived.getStop());
+            Assertions.assertEquals(original.getCoordinates().size(), archived.getSize());
+            final List<TimeStampedPVCoordinates> copied = archived.getCoordinates();
+            for (int i = 0; i < copied.size(); ++i) {
+                final TimeStampedPVCoordinates expected = original.getCoordinates().get(i);
+                Assertions.assertEquals(expected.getDate(), copied.get(i).getDate());
+                Assertions.assertEquals(0.0, Vector3D.distance(expected.getPosition(), copied.get(i).getPosition()), 0.0);
+                Assertions.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), copied.get(i).getVelocity()), 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testInterpolation() throws IOException {
+
+        final EphemerisArchive  archive   = new EphemerisArchive(writeArchive());
+        final BoundedPropagator reference = segmentA.getPropagator();
+        final BoundedPropagator mapped    = archive.getSegments().get("A").getPropagator();
+        Assertions.assertEquals(reference.getMinDate(), mapped.getMinDate());
+        Assertions.assertEquals(reference.getMaxDate(), mapped.getMaxDate());
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        for (double dt = 0; dt <= 86400.0; dt += 97.3) {
+            final AbsoluteDate date = reference.getMinDate().shiftedBy(dt);
+            final TimeStampedPVCoordinates expected = reference.getPVCoordinates(date, itrf);
+            final TimeStampedPVCoordinates actual   = mapped.getPVCoordinates(date, itrf);
+            Assertions.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-7);
+            Assertions.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), actual.getVelocity()), 1.0e-10);
+            Assertions.assertEquals(0.0,
+                                    Vector3D.distance(reference.propagate(date).getPVCoordinates().getPosition(),
+                                                      mapped.propagate(date).getPVCoordinates().getPosition()),
+                                    1.0e-7);
+        }
+
+        try {
+            mapped.getPVCoordinates(mapped.getMaxDate().shiftedBy(0.001), itrf);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER, oe.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testConcurrentReaders() throws IOException {
+        final EphemerisArchive archive = new EphemerisArchive(writeArchive());
+        final ArchivedSegment  segment = archive.getSegments().get("B");
+        final double maxError = IntStream.range(0, 2000).parallel().mapToDouble(i -> {
+            final AbsoluteDate date = segment.getStart().shiftedBy(43.1 * i);
+            final Frame        eme  = FramesFactory.getEME2000();
+            return Vector3D.distance(segmentB.getPropagator().getPVCoordinates(date, eme).getPosition(),
+                                     segment.getPropagator().getPVCoordinates(date, eme).getPosition());
+        }).max().getAsDouble();
+        Assertions.assertEquals(0.0, maxError, 1.0e-7);
+    }
+
+    @Test
+    public void testNotAnArchive() throws IOException {
+        final Path file = temporaryFolderPath.resolve("not-an-archive.bin");
+        Files.write(file, "this is not an archive".getBytes(StandardCharsets.UTF_8));
+        try {
+            new EphemerisArchive(file);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.UNSUPPORTED_FILE_FORMAT, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testTruncatedArchive() throws IOException {
+        final Path   file  = writeArchive();
+        final byte[] bytes = Files.readAllBytes(file);
+        final Path truncated = temporaryFolderPath.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+        try {
+            new EphemerisArchive(truncated);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.CORRUPTED_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNonPredefinedFrame() {
+        final Frame custom = new Frame(FramesFactory.getEME2000(), Transform.IDENTITY, "custom", true);
+        final OrekitEphemerisSegment segment =
+                        new OrekitEphemerisSegment(segmentA.getCoordinates(), custom, segmentA.getMu(), 5);
+        try {
+            new EphemerisArchiveWriter().addSegment("C", segment);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(OrekitMessages.FRAME_NOT_ATTACHED, oiae.getSpecifier());
+            Assertions.assertEquals("custom", oiae.getParts()[0]);
+        }
+    }
+
+    private Path writeArchive() throws IOException {
+        final EphemerisArchiveWriter writer = new EphemerisArchiveWriter();
+        writer.addSegment("A", segmentA);
+        writer.addSegment("B", segmentB);
+        final Path file = temporaryFolderPath.resolve("archive.bin");
+        writer.write(file);
+        return file;
+    }
+
+    private OrekitEphemerisSegment createSegment(final double raan) {
+        final AbsoluteDate date = new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final KeplerianOrbit orbit = new KeplerianOrbit(7200000.0, 0.01, FastMath.toRadians(98.0),
+                                                        FastMath.toRadians(90.0), FastMath.toRadians(raan), 0.0,
+                                                        PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                                        date, Constants.EIGEN5C_EARTH_MU);
+        final KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+        final List<TimeStampedPVCoordinates> coordinates = new ArrayList<>();
+        for (double dt = 0; dt <= 86400.0; dt += 60.0) {
+            coordinates.add(propagator.getPVCoordinates(date.shiftedBy(dt), orbit.getFrame()));
+        }
+        return new OrekitEphemerisSegment(coordinates, orbit.getFrame(), orbit.getMu(), 5);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        segmentA = createSegment(45.0);
+        segmentB = createSegment(135.0);
+    }
+
+    @TempDir
+    public Path temporaryFolderPath;
+
+    private OrekitEphemerisSegment segmentA;
+    private OrekitEphemerisSegment segmentB;
+
+}
@@ -0,0 +1,152 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+
+public class GridCachedAttractionModelTest {
+
+    @Test
+    public void testFormation() {
+        final GridCachedAttractionModel cached = new GridCachedAttractionModel(model, 1000.0, 1.0e-7);
+        Assertions.assertSame(model, cached.getModel());
+        Assertions.assertTrue(cached.dependsOnPositionOnly());
+        Assertions.assertEquals(model.getParametersDrivers(), cached.getParametersDrivers());
+
+        final RandomGenerator random = new Well19937a(0x5b1a7c2e94f1d3a6L);
+        double maxError = 0;
+        for (int i = 0; i < 1000; ++i) {
+            final SpacecraftState state = shifted(date, 400.0, random);
+            final Vector3D direct = model.acceleration(state, model.getParameters(date));
+            final Vector3D approx = cached.acceleration(state, cached.getParameters(date));
+            maxError = FastMath.max(maxError, Vector3D.distance(direct, approx));
+        }
+        Assertions.assertTrue(maxError < 1.0e-7);
+        Assertions.assertEquals(1000L, cached.getHits());
+        Assertions.assertEquals(0L, cached.getMisses());
+        Assertions.assertTrue(cached.getCreatedCells() <= 27L);
+
+        cached.clearCache();
+        Assertions.assertEquals(0L, cached.getHits());
+        Assertions.assertEquals(0L, cached.getMisses());
+        Assertions.assertEquals(0L, cached.getCreatedCells());
+    }
+
+    @Test
+    public void testZeroTolerance() {
+        final GridCachedAttractionModel cached = new GridCachedAttractionModel(model, 1000.0, 0.0);
+        final RandomGenerator random = new Well19937a(0x2c6a4f8b1e03d957L);
+        for (int i = 0; i < 50; ++i) {
+            final SpacecraftState state = shifted(date, 400.0, random);
+            final Vector3D direct = model.acceleration(state, model.getParameters(date));
+            final Vector3D approx = cached.acceleration(state, cached.getParameters(date));
+            Assertions.assertEquals(0.0, Vector3D.distance(direct, approx), 1.0e-15 * direct.getNorm());
+        }
+        Assertions.assertEquals(0L, cached.getHits());
+        Assertions.assertEquals(50L, cached.getMisses());
+    }
+
+    @Test
+    public void testTimeShift() {
+        final RandomGenerator random = new Well19937a(0x7d3e15a9c0b2468fL);
+        final SpacecraftState s0 = shifted(date, 0.0, random);
+        final SpacecraftState s1 = shifted(date.shiftedBy(1.0e-6), 0.0, random);
+
+        // with zero time shift, cells are reused at the same date only
+        final GridCachedAttractionModel strict = new GridCachedAttractionModel(model, 1000.0, 1.0e-7);
+        strict.acceleration(s0, strict.getParameters(date));
+        strict.acceleration(s0, strict.getParameters(date));
+        strict.acceleration(s1, strict.getParameters(date));
+        Assertions.assertEquals(3L, strict.getHits());
+        Assertions.assertEquals(2L, strict.getCreatedCells());
+
+        // with a non-zero time shift, the field is considered static in body frame
+        final GridCachedAttractionModel relaxed =
+                        new GridCachedAttractionModel(model, 1000.0, 1.0e-7, 3600.0, 10);
+        relaxed.acceleration(s0, relaxed.getParameters(date));
+        final Vector3D a1 = relaxed.acceleration(s1, relaxed.getParameters(date));
+        Assertions.assertEquals(1L, relaxed.getCreatedCells());
+        Assertions.assertEquals(0.0,
+                                Vector3D.distance(model.acceleration(s1, model.getParameters(date)), a1),
+                                1.0e-7);
+    }
+
+    @Test
+    public void testWrongParameters() {
+        checkError(() -> new GridCachedAttractionModel(model, 0.0, 1.0e-7),
+                   LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED);
+        checkError(() -> new GridCachedAttractionModel(model, 1000.0, -1.0),
+                   LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkError(() -> new GridCachedAttractionModel(model, 1000.0, 1.0e-7, -1.0, 10),
+                   LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkError(() -> new GridCachedAttractionModel(model, 1000.0, 1.0e-7, 0.0, 0),
+                   LocalizedCoreFormats.NUMBER_TOO_SMALL);
+    }
+
+    private void checkError(final Runnable r, final LocalizedCoreFormats expected) {
+        try {
+            r.run();
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(expected, oiae.getSpecifier());
+        }
+    }
+
+    private SpacecraftState shifted(final AbsoluteDate stateDate, final double maxOffset,
+                                    final RandomGenerator random) {
+        final Vector3D offset = new Vector3D(maxOffset * (2 * random.nextDouble() - 1),
+                                             maxOffset * (2 * random.nextDouble() - 1),
+                                             maxOffset * (2 * random.nextDouble() - 1));
+        return new SpacecraftState(new CartesianOrbit(new PVCoordinates(position.add(offset), velocity),
+                                                      FramesFactory.getGCRF(), stateDate, model.getMu()));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        model    = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                         GravityFieldFactory.getNormalizedProvider(30, 30));
+        date     = new AbsoluteDate(2005, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI());
+        position = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        velocity = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+    }
+
+    private HolmesFeatherstoneAttractionModel model;
+    private AbsoluteDate date;
+    private Vector3D position;
+    private Vector3D velocity;
+
+}
@@ -18,6 +18,12 @@ package org.orekit.forces.gravity;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hipparchus.Field;
 import org.hipparchus.analysis.differentiation.DSFactory;
@@ -201,10 +207,10 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
         providerField.setAccessible(true);
         NormalizedSphericalHarmonicsProvider provider = (NormalizedSphericalHarmonicsProvider) providerField.get(hfModel);
         java.lang.reflect.Method createDistancePowersArrayMethod =
-                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("createDistancePowersArray", Double.TYPE);
+                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("fillDistancePowersArray", Double.TYPE, double[].class);
         createDistancePowersArrayMethod.setAccessible(true);
         java.lang.reflect.Method createCosSinArraysMethod =
-                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("createCosSinArrays", Double.TYPE, Double.TYPE);
+                        HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("fillCosSinArrays", Double.TYPE, Double.TYPE, double[][].class);
         createCosSinArraysMethod.setAccessible(true);
         java.lang.reflect.Method computeTesseralMethod =
                         HolmesFeatherstoneAttractionModel.class.getDeclaredMethod("computeTesseral",
@@ -242,10 +248,12 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = (double[]) createDistancePowersArrayMethod.invoke(hfModel, provider.getAe() / r);
+        final double[] aOrN = (double[]) createDistancePowersArrayMethod.invoke(hfModel, provider.getAe() / r,
+                                                                                     new double[degree + 1]);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = (double[][]) createCosSinArraysMethod.invoke(hfModel, position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = (double[][]) createCosSinArraysMethod.invoke(hfModel, position.getX() / rho, position.getY() / rho,
+                                                                                   new double[2][order + 1]);
 
         // outer summation over order
         int    index = 0;
@@ -628,6 +636,60 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractLegacyForceMo
 
     }
 
+    @Test
+    public void testGradientBufferMultiThreaded() throws InterruptedException, ExecutionException {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        final HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        // reference values, computed sequentially
+        final List<Vector3D> positions = new ArrayList<>();
+        final List<double[]> references = new ArrayList<>();
+        double r = 1.25;
+        for (double lambda = 0; lambda < 2 * FastMath.PI; lambda += 0.5) {
+            for (double theta = 0.05; theta < 3.11; theta += 0.03) {
+                Vector3D position = new Vector3D(r * FastMath.sin(theta) * FastMath.cos(lambda),
+                                                 r * FastMath.sin(theta) * FastMath.sin(lambda),
+                                                 r * FastMath.cos(theta));
+                positions.add(position);
+                references.add(model.gradient(null, position, model.getMu()));
+            }
+        }
+
+        // recompute concurrently, interleaving value and Hessian computations
+        // that share the same thread-confined workspaces
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                final int shift = t;
+                futures.add(executor.submit(() -> {
+                    final double[] buffer = new double[3];
+                    int count = 0;
+                    for (int k = 0; k < positions.size(); ++k) {
+                        final int i = (k + 31 * shift) % positions.size();
+                        model.value(null, positions.get(i), model.getMu());
+                        gradientHessian(model, null, positions.get(i));
+                        model.gradient(null, positions.get(i), model.getMu(), buffer);
+                        Assertions.assertEquals(references.get(i)[0], buffer[0], 0.0);
+                        Assertions.assertEquals(references.get(i)[1], buffer[1], 0.0);
+                        Assertions.assertEquals(references.get(i)[2], buffer[2], 0.0);
+                        ++count;
+                    }
+                    return count;
+                }));
+            }
+            for (final Future<Integer> future : futures) {
+                Assertions.assertEquals(positions.size(), future.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
     @Test
     public void testHessian() {
 
@@ -0,0 +1,171 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.Binary64;
+import org.hipparchus.util.Binary64Field;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class TabulatedTransformProviderTest {
+
+    @Test
+    public void testITRF() {
+        final TabulatedTransformProvider provider =
+                        new TabulatedTransformProvider(gcrf, itrf, start, start.shiftedBy(Constants.DAY), 60.0);
+        Assertions.assertEquals(1441, provider.getPoints());
+        Assertions.assertEquals(60.0, provider.getStep(), 1.0e-15);
+        checkAccuracy(provider, itrf, 4.0e-12, 1.0e-13);
+    }
+
+    @Test
+    public void testTEME() {
+        final Frame teme = FramesFactory.getTEME();
+        final TabulatedTransformProvider provider =
+                        new TabulatedTransformProvider(gcrf, teme, start, start.shiftedBy(Constants.DAY), 3600.0);
+        checkAccuracy(provider, teme, 1.0e-12, 1.0e-16);
+    }
+
+    @Test
+    public void testWithAccuracy() {
+        final AbsoluteDate end = start.shiftedBy(7 * Constants.DAY);
+        final TabulatedTransformProvider provider =
+                        TabulatedTransformProvider.withAccuracy(gcrf, itrf, start, end, 1.0e-9);
+        Assertions.assertTrue(provider.getStep() > 100.0);
+        Assertions.assertTrue(provider.getEnd().durationFrom(end) >= 0);
+        for (double dt = 0; dt < 7 * Constants.DAY; dt += 3571.0) {
+            final AbsoluteDate date = start.shiftedBy(dt);
+            Assertions.assertEquals(0.0,
+                                    Rotation.distance(gcrf.getTransformTo(itrf, date).getRotation(),
+                                                      provider.getTransform(date).getRotation()),
+                                    1.0e-9);
+        }
+    }
+
+    @Test
+    public void testStaticAndField() {
+        final TabulatedTransformProvider provider =
+                        new TabulatedTransformProvider(gcrf, itrf, start, start.shiftedBy(Constants.DAY), 60.0);
+        final Vector3D p = new Vector3D(7.0e6, -2.0e6, 1.0e6);
+        for (double dt = 0; dt < Constants.DAY; dt += 997.0) {
+            final AbsoluteDate date = start.shiftedBy(dt);
+            final Transform    t    = provider.getTransform(date);
+            Assertions.assertEquals(0.0,
+                                    Vector3D.distance(t.transformPosition(p),
+                                                      provider.getStaticTransform(date).transformPosition(p)),
+                                    1.0e-8);
+            final FieldTransform<Binary64> ft =
+                            provider.getTransform(new FieldAbsoluteDate<>(Binary64Field.getInstance(), date));
+            Assertions.assertEquals(0.0,
+                                    Rotation.distance(t.getRotation(), ft.getRotation().toRotation()),
+                                    1.0e-15);
+            Assertions.assertEquals(0.0,
+                                    Vector3D.distance(t.getRotationRate(), ft.getRotationRate().toVector3D()),
+                                    1.0e-18);
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final TabulatedTransformProvider provider =
+                        new TabulatedTransformProvider(gcrf, itrf, start, start.shiftedBy(3600.0), 60.0);
+        try {
+            provider.getTransform(start.shiftedBy(-1.0));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE, oe.getSpecifier());
+        }
+        try {
+            provider.getStaticTransform(provider.getEnd().shiftedBy(1.0));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER, oe.getSpecifier());
+        }
+        // bounds are included
+        provider.getTransform(start);
+        provider.getTransform(provider.getEnd());
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final TabulatedTransformProvider provider =
+                        new TabulatedTransformProvider(gcrf, itrf, start, start.shiftedBy(3600.0), 60.0);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(provider);
+        }
+        Assertions.assertTrue(bos.size() > 61 * 20 * 8);
+
+        final ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        final TabulatedTransformProvider deserialized;
+        try (ObjectInputStream ois = new ObjectInputStream(bis)) {
+            deserialized = (TabulatedTransformProvider) ois.readObject();
+        }
+        final AbsoluteDate date = start.shiftedBy(1234.5);
+        Assertions.assertEquals(0.0,
+                                Rotation.distance(provider.getTransform(date).getRotation(),
+                                                  deserialized.getTransform(date).getRotation()),
+                                1.0e-15);
+    }
+
+    private void checkAccuracy(final TabulatedTransformProvider provider, final Frame to,
+                               final double angularTolerance, final double rateTolerance) {
+        final Frame tabulated = new Frame(gcrf, provider, "tabulated");
+        for (double dt = 17.0; dt < Constants.DAY; dt += 311.0) {
+            final AbsoluteDate date     = start.shiftedBy(dt);
+            final Transform    expected = gcrf.getTransformTo(to, date);
+            final Transform    actual   = gcrf.getTransformTo(tabulated, date);
+            Assertions.assertEquals(0.0,
+                                    Rotation.distance(expected.getRotation(), actual.getRotation()),
+                                    angularTolerance);
+            Assertions.assertEquals(0.0,
+                                    Vector3D.distance(expected.getRotationRate(), actual.getRotationRate()),
+                                    rateTolerance);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf  = FramesFactory.getGCRF();
+        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        start = new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+    private Frame gcrf;
+    private Frame itrf;
+    private AbsoluteDate start;
+
+}
@@ -0,0 +1,142 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.analysis.differentiation.Gradient;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.Binary64;
+import org.hipparchus.util.Binary64Field;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class TransformMemoizerTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        TransformMemoizer.setEnabled(false);
+        Assertions.assertFalse(TransformMemoizer.isEnabled());
+        gcrf.getTransformTo(itrf, date);
+        gcrf.getTransformTo(itrf, date);
+        Assertions.assertEquals(0L, TransformMemoizer.getHits());
+        Assertions.assertEquals(0L, TransformMemoizer.getMisses());
+    }
+
+    @Test
+    public void testTransform() {
+        final Transform t1 = gcrf.getTransformTo(itrf, date);
+        final Transform t2 = gcrf.getTransformTo(itrf, new AbsoluteDate(date, 0.0));
+        Assertions.assertSame(t1, t2);
+        Assertions.assertEquals(1L, TransformMemoizer.getHits());
+        Assertions.assertEquals(1L, TransformMemoizer.getMisses());
+
+        // other date, other direction and static transforms are memoized separately
+        gcrf.getTransformTo(itrf, date.shiftedBy(1.0e-3));
+        itrf.getTransformTo(gcrf, date);
+        gcrf.getStaticTransformTo(itrf, date);
+        Assertions.assertEquals(1L, TransformMemoizer.getHits());
+        Assertions.assertEquals(4L, TransformMemoizer.getMisses());
+
+        // memoized transforms are identical to computed ones
+        TransformMemoizer.setEnabled(false);
+        final Transform reference = gcrf.getTransformTo(itrf, date);
+        final Vector3D p = new Vector3D(7.0e6, -2.0e6, 1.0e6);
+        Assertions.assertEquals(0.0,
+                                Vector3D.distance(reference.transformPosition(p), t1.transformPosition(p)),
+                                1.0e-15);
+    }
+
+    @Test
+    public void testStaticTransform() {
+        final StaticTransform t1 = gcrf.getStaticTransformTo(itrf, date);
+        final StaticTransform t2 = gcrf.getStaticTransformTo(itrf, date);
+        Assertions.assertSame(t1, t2);
+        Assertions.assertEquals(1L, TransformMemoizer.getHits());
+        Assertions.assertEquals(1L, TransformMemoizer.getMisses());
+    }
+
+    @Test
+    public void testFieldDatesComparedByIdentity() {
+        final FieldAbsoluteDate<Gradient> d1 = new FieldAbsoluteDate<>(date, Gradient.variable(1, 0, 0.0));
+        final FieldAbsoluteDate<Gradient> d2 = new FieldAbsoluteDate<>(date, Gradient.variable(1, 0, 0.0));
+        final FieldTransform<Gradient> t1 = gcrf.getTransformTo(itrf, d1);
+        Assertions.assertSame(t1, gcrf.getTransformTo(itrf, d1));
+        Assertions.assertNotSame(t1, gcrf.getTransformTo(itrf, d2));
+        Assertions.assertEquals(1L, TransformMemoizer.getHits());
+        Assertions.assertEquals(2L, TransformMemoizer.getMisses());
+    }
+
+    @Test
+    public void testFieldStaticTransform() {
+        final FieldAbsoluteDate<Binary64> d = new FieldAbsoluteDate<>(Binary64Field.getInstance(), date);
+        final FieldStaticTransform<Binary64> t1 = gcrf.getStaticTransformTo(itrf, d);
+        final FieldStaticTransform<Binary64> t2 = gcrf.getStaticTransformTo(itrf, d);
+        Assertions.assertSame(t1, t2);
+        Assertions.assertEquals(1L, TransformMemoizer.getHits());
+        Assertions.assertEquals(1L, TransformMemoizer.getMisses());
+    }
+
+    @Test
+    public void testCapacity() {
+        TransformMemoizer.setCapacity(2);
+        Assertions.assertEquals(2, TransformMemoizer.getCapacity());
+        for (int i = 0; i < 3; ++i) {
+            gcrf.getTransformTo(itrf, date.shiftedBy(i));
+        }
+        // the first transform has been evicted
+        gcrf.getTransformTo(itrf, date);
+        gcrf.getTransformTo(itrf, date.shiftedBy(2));
+        Assertions.assertEquals(1L, TransformMemoizer.getHits());
+        Assertions.assertEquals(4L, TransformMemoizer.getMisses());
+    }
+
+    @Test
+    public void testWrongCapacity() {
+        Assertions.assertThrows(OrekitIllegalArgumentException.class,
+                                () -> TransformMemoizer.setCapacity(0));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf = FramesFactory.getGCRF();
+        itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        date = new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        TransformMemoizer.setEnabled(true);
+        TransformMemoizer.clearThreadCache();
+        TransformMemoizer.resetCounters();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransformMemoizer.setEnabled(false);
+        TransformMemoizer.setCapacity(TransformMemoizer.DEFAULT_CAPACITY);
+        TransformMemoizer.resetCounters();
+    }
+
+    private Frame gcrf;
+    private Frame itrf;
+    private AbsoluteDate date;
+
+}
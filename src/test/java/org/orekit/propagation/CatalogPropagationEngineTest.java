@@ -0,0 +1,159 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class CatalogPropagationEngineTest {
+
+    @Test
+    public void testTLECatalog() {
+
+        // catalog with the same TLE shifted in mean anomaly
+        final List<TLE> tles = new ArrayList<>();
+        for (int i = 0; i < 40; ++i) {
+            tles.add(new TLE(tle.getSatelliteNumber(), tle.getClassification(),
+                             tle.getLaunchYear(), tle.getLaunchNumber(), tle.getLaunchPiece(),
+                             tle.getEphemerisType(), tle.getElementNumber(), tle.getDate(),
+                             tle.getMeanMotion(), tle.getMeanMotionFirstDerivative(),
+                             tle.getMeanMotionSecondDerivative(), tle.getE(), tle.getI(),
+                             tle.getPerigeeArgument(), tle.getRaan(),
+                             tle.getMeanAnomaly() + 0.01 * i,
+                             tle.getRevolutionNumberAtEpoch(), tle.getBStar()));
+        }
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        for (int k = 0; k < 10; ++k) {
+            dates.add(tle.getDate().shiftedBy(600.0 * k));
+        }
+
+        final ConcurrentHashMap<Integer, List<TimeStampedPVCoordinates>> results = new ConcurrentHashMap<>();
+        final AtomicInteger completed = new AtomicInteger();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final int failures;
+        try {
+            final CatalogPropagationEngine engine = new CatalogPropagationEngine(pool, gcrf, 3);
+            Assertions.assertSame(gcrf, engine.getOutputFrame());
+            failures = engine.propagate(CatalogPropagationEngine.fromTLEs(tles, teme), dates,
+                                        new CatalogPropagationHandler() {
+                                            public void handleState(final int index, final TimeStampedPVCoordinates pv) {
+                                                results.computeIfAbsent(index, i -> Collections.synchronizedList(new ArrayList<>())).add(pv);
+                                            }
+                                            public void objectCompleted(final int index, final boolean success) {
+                                                Assertions.assertTrue(success);
+                                                completed.incrementAndGet();
+                                            }
+                                        });
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertEquals(0, failures);
+        Assertions.assertEquals(tles.size(), completed.get());
+        Assertions.assertEquals(tles.size(), results.size());
+        for (int i = 0; i < tles.size(); ++i) {
+            final TLEPropagator reference = TLEPropagator.selectExtrapolator(tles.get(i), teme);
+            final List<TimeStampedPVCoordinates> states = results.get(i);
+            Assertions.assertEquals(dates.size(), states.size());
+            for (int k = 0; k < dates.size(); ++k) {
+                Assertions.assertEquals(0.0, states.get(k).getDate().durationFrom(dates.get(k)), 1.0e-15);
+                Assertions.assertEquals(0.0,
+                                        Vector3D.distance(reference.getPVCoordinates(dates.get(k), gcrf).getPosition(),
+                                                          states.get(k).getPosition()),
+                                        1.0e-8);
+            }
+        }
+
+    }
+
+    @Test
+    public void testFailureIsolation() {
+        final List<Supplier<? extends Propagator>> objects =
+                        new ArrayList<>(CatalogPropagationEngine.fromTLEs(Collections.nCopies(5, tle), teme));
+        objects.set(2, () -> {
+            throw new OrekitException(LocalizedCoreFormats.SIMPLE_MESSAGE, "boo!");
+        });
+        final List<AbsoluteDate> dates = Collections.singletonList(tle.getDate().shiftedBy(60.0));
+
+        final AtomicInteger states  = new AtomicInteger();
+        final AtomicInteger failed  = new AtomicInteger(-1);
+        final AtomicInteger success = new AtomicInteger();
+        final int failures = new CatalogPropagationEngine(gcrf).propagate(objects, dates,
+                                                                          new CatalogPropagationHandler() {
+                                                                              public void handleState(final int index, final TimeStampedPVCoordinates pv) {
+                                                                                  states.incrementAndGet();
+                                                                              }
+                                                                              public void handleFailure(final int index, final RuntimeException failure) {
+                                                                                  Assertions.assertEquals("boo!", ((OrekitException) failure).getParts()[0]);
+                                                                                  failed.set(index);
+                                                                              }
+                                                                              public void objectCompleted(final int index, final boolean ok) {
+                                                                                  if (ok) {
+                                                                                      success.incrementAndGet();
+                                                                                  }
+                                                                              }
+                                                                          });
+        Assertions.assertEquals(1, failures);
+        Assertions.assertEquals(2, failed.get());
+        Assertions.assertEquals(4, states.get());
+        Assertions.assertEquals(4, success.get());
+    }
+
+    @Test
+    public void testWrongGranularity() {
+        try {
+            new CatalogPropagationEngine(ForkJoinPool.commonPool(), gcrf, 0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf = FramesFactory.getGCRF();
+        teme = FramesFactory.getTEME();
+        tle  = new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                       "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153");
+    }
+
+    private Frame gcrf;
+    private Frame teme;
+    private TLE tle;
+
+}
@@ -19,6 +19,8 @@ package org.orekit.propagation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -37,6 +39,7 @@ import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.attitudes.BodyCenterPointing;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.ForceModel;
 import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
@@ -404,6 +407,61 @@ public class PropagatorsParallelizerTest {
         Assertions.assertEquals(expected1, results.get(1).getAdditionalState(name)[0], 5.0e-8 * expected1);
     }
 
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    public void testProvidedExecutorService() {
+        final AbsoluteDate startDate =  orbit.getDate();
+        final AbsoluteDate endDate   = startDate.shiftedBy(3600.0);
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+        try {
+            final List<Propagator> propagators = new ArrayList<>();
+            for (int i = 0; i < 50; ++i) {
+                propagators.add(buildEcksteinHechler());
+            }
+            propagators.add(buildNumerical());
+            final AtomicInteger counter = new AtomicInteger();
+            final PropagatorsParallelizer parallelizer =
+                            new PropagatorsParallelizer(propagators, 60.0,
+                                                        states -> {
+                                                            Assertions.assertEquals(51, states.size());
+                                                            counter.incrementAndGet();
+                                                        },
+                                                        executorService);
+
+            // the executor service is not shut down and can be reused
+            for (int k = 0; k < 2; ++k) {
+                counter.set(0);
+                final List<SpacecraftState> results = parallelizer.propagate(startDate, endDate);
+                Assertions.assertEquals(51, results.size());
+                for (final SpacecraftState state : results) {
+                    Assertions.assertEquals(0.0, state.getDate().durationFrom(endDate), 1.0e-15);
+                }
+                Assertions.assertEquals(61, counter.get());
+                Assertions.assertFalse(executorService.isShutdown());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTooSmallThreadPool() {
+        final AbsoluteDate startDate =  orbit.getDate();
+        final ExecutorService executorService = Executors.newFixedThreadPool(1);
+        try {
+            new PropagatorsParallelizer(Arrays.asList(buildEcksteinHechler(), buildEcksteinHechler()),
+                                        interpolators -> {}, executorService).
+            propagate(startDate, startDate.shiftedBy(3600.0));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+            Assertions.assertEquals(1, ((Integer) oiae.getParts()[0]).intValue());
+            Assertions.assertEquals(2, ((Integer) oiae.getParts()[1]).intValue());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     private static class Exponential implements AdditionalDerivativesProvider {
         final String name;
         final double base;
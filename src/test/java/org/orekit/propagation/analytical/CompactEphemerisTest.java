@@ -0,0 +1,189 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.attitudes.Attitude;
+import org.orekit.attitudes.LofOffset;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.files.general.OrekitEphemerisFile;
+import org.orekit.files.general.OrekitEphemerisFile.OrekitEphemerisSegment;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.LOFType;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class CompactEphemerisTest {
+
+    @Test
+    public void testInterpolationAccuracy() {
+        final CompactEphemeris ephemeris = new CompactEphemeris(states, 6);
+        Assertions.assertEquals(states.size(), ephemeris.getSize());
+        Assertions.assertEquals(6, ephemeris.getInterpolationPoints());
+        Assertions.assertEquals(CartesianDerivativesFilter.USE_PVA, ephemeris.getAvailableDerivatives());
+        Assertions.assertEquals(states.get(0).getDate(), ephemeris.getMinDate());
+        Assertions.assertEquals(states.get(states.size() - 1).getDate(), ephemeris.getMaxDate());
+        Assertions.assertSame(FramesFactory.getEME2000(), ephemeris.getFrame());
+
+        double maxP = 0;
+        double maxV = 0;
+        double maxA = 0;
+        for (double dt = 0; dt <= 86400.0; dt += 7.3) {
+            final AbsoluteDate    date     = ephemeris.getMinDate().shiftedBy(dt);
+            final SpacecraftState expected = reference.propagate(date);
+            final SpacecraftState actual   = ephemeris.propagate(date);
+            maxP = FastMath.max(maxP, Vector3D.distance(expected.getPVCoordinates().getPosition(),
+                                                        actual.getPVCoordinates().getPosition()));
+            maxV = FastMath.max(maxV, Vector3D.distance(expected.getPVCoordinates().getVelocity(),
+                                                        actual.getPVCoordinates().getVelocity()));
+            maxA = FastMath.max(maxA, Rotation.distance(expected.getAttitude().getRotation(),
+                                                        actual.getAttitude().getRotation()));
+            Assertions.assertEquals(1234.5, actual.getMass(), 1.0e-10);
+        }
+        Assertions.assertTrue(maxP < 1.0e-6, "position error " + maxP);
+        Assertions.assertTrue(maxV < 1.0e-9, "velocity error " + maxV);
+        Assertions.assertTrue(maxA < 1.0e-9, "attitude error " + maxA);
+    }
+
+    @Test
+    public void testPositionOnly() {
+        final CompactEphemeris ephemeris =
+                        new CompactEphemeris(states, 8, CartesianDerivativesFilter.USE_P, reference.getAttitudeProvider());
+        double maxP = 0;
+        for (double dt = 0; dt <= 86400.0; dt += 7.3) {
+            final AbsoluteDate date = ephemeris.getMinDate().shiftedBy(dt);
+            maxP = FastMath.max(maxP, Vector3D.distance(reference.getPVCoordinates(date, FramesFactory.getGCRF()).getPosition(),
+                                                        ephemeris.getPVCoordinates(date, FramesFactory.getGCRF()).getPosition()));
+        }
+        Assertions.assertTrue(maxP < 1.0e-3, "position error " + maxP);
+    }
+
+    @Test
+    public void testFromEphemeris() {
+        final Ephemeris        ephemeris = new Ephemeris(states, 6);
+        final CompactEphemeris compact   = new CompactEphemeris(ephemeris);
+        Assertions.assertEquals(states.size(), ephemeris.getStates().size());
+        for (double dt = 0; dt <= 86400.0; dt += 113.0) {
+            final AbsoluteDate date = compact.getMinDate().shiftedBy(dt);
+            Assertions.assertEquals(0.0,
+                                    Vector3D.distance(ephemeris.propagate(date).getPVCoordinates().getPosition(),
+                                                      compact.propagate(date).getPVCoordinates().getPosition()),
+                                    1.0e-6);
+        }
+    }
+
+    @Test
+    public void testFromEphemerisFileSegment() {
+        final OrekitEphemerisFile file = new OrekitEphemerisFile();
+        final OrekitEphemerisSegment segment = file.addSatellite("sat").addNewSegment(states, 5);
+        final BoundedPropagator reference = segment.getPropagator();
+        final CompactEphemeris  compact   = new CompactEphemeris(segment);
+        for (double dt = 0; dt <= 86400.0; dt += 113.0) {
+            final AbsoluteDate date = compact.getMinDate().shiftedBy(dt);
+            final TimeStampedPVCoordinates expected =
+                            reference.getPVCoordinates(date, FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+            final TimeStampedPVCoordinates actual =
+                            compact.getPVCoordinates(date, FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+            Assertions.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-7);
+            Assertions.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), actual.getVelocity()), 1.0e-10);
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final CompactEphemeris ephemeris = new CompactEphemeris(states, 6);
+        try {
+            ephemeris.propagate(ephemeris.getMinDate().shiftedBy(-1.0));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_BEFORE, oe.getSpecifier());
+        }
+        try {
+            ephemeris.getPVCoordinates(ephemeris.getMaxDate().shiftedBy(1.0), FramesFactory.getEME2000());
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE_AFTER, oe.getSpecifier());
+        }
+        try {
+            ephemeris.resetInitialState(states.get(0));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assertions.assertEquals(OrekitMessages.NON_RESETABLE_STATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongSample() {
+        try {
+            new CompactEphemeris(states.subList(0, 3), 6);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(OrekitMessages.NOT_ENOUGH_DATA, oiae.getSpecifier());
+        }
+        final List<SpacecraftState> unsorted = new ArrayList<>(states.subList(0, 10));
+        unsorted.set(4, states.get(2));
+        try {
+            new CompactEphemeris(unsorted, 6);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES, oiae.getSpecifier());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        final AbsoluteDate date = new AbsoluteDate(2004, 1, 1, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final KeplerianOrbit orbit = new KeplerianOrbit(7200000.0, 0.01, FastMath.toRadians(98.0),
+                                                        FastMath.toRadians(90.0), FastMath.toRadians(45.0), 0.0,
+                                                        PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                                        date, Constants.EIGEN5C_EARTH_MU);
+        reference = new KeplerianPropagator(orbit, new LofOffset(FramesFactory.getEME2000(), LOFType.LVLH_CCSDS),
+                                            orbit.getMu(), 1234.5);
+        states = new ArrayList<>();
+        for (double dt = 0; dt <= 86400.0; dt += 60.0) {
+            final SpacecraftState s = reference.propagate(date.shiftedBy(dt));
+            states.add(new SpacecraftState(s.getOrbit(),
+                                           new Attitude(s.getDate(), s.getAttitude().getReferenceFrame(),
+                                                        s.getAttitude().getOrientation()),
+                                           s.getMass()));
+        }
+    }
+
+    private KeplerianPropagator   reference;
+    private List<SpacecraftState> states;
+
+}
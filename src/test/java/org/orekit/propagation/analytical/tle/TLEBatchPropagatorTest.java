@@ -0,0 +1,109 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+public class TLEBatchPropagatorTest {
+
+    @Test
+    public void testAllObjectsOneDate() {
+        final TLEBatchPropagator batch = new TLEBatchPropagator(tles, teme);
+        Assertions.assertEquals(tles.size(), batch.getSize());
+        Assertions.assertFalse(batch.isDelegated(0));
+        Assertions.assertFalse(batch.isDelegated(1));
+        Assertions.assertFalse(batch.isDelegated(2));
+        Assertions.assertTrue(batch.isDelegated(3));
+
+        final double[] positions  = new double[3 * batch.getSize()];
+        final double[] velocities = new double[3 * batch.getSize()];
+        for (int j = 0; j < 20; ++j) {
+            final AbsoluteDate date = tles.get(0).getDate().shiftedBy(j * 1234.5);
+            Assertions.assertEquals(0, batch.propagate(date, positions, velocities));
+            for (int k = 0; k < tles.size(); ++k) {
+                checkPV(TLEPropagator.selectExtrapolator(tles.get(k), teme).getPVCoordinates(date),
+                        positions, velocities, 3 * k);
+            }
+        }
+    }
+
+    @Test
+    public void testOneObjectManyDates() {
+        final TLEBatchPropagator batch = new TLEBatchPropagator(tles, teme);
+        final AbsoluteDate[] dates = new AbsoluteDate[50];
+        for (int j = 0; j < dates.length; ++j) {
+            dates[j] = tles.get(1).getDate().shiftedBy(j * 600.0 - 3600.0);
+        }
+        final double[] positions  = new double[3 * dates.length];
+        final double[] velocities = new double[3 * dates.length];
+        Assertions.assertEquals(0, batch.propagate(1, dates, positions, velocities));
+        final TLEPropagator reference = TLEPropagator.selectExtrapolator(tles.get(1), teme);
+        for (int j = 0; j < dates.length; ++j) {
+            checkPV(reference.getPVCoordinates(dates[j]), positions, velocities, 3 * j);
+        }
+    }
+
+    private void checkPV(final PVCoordinates expected,
+                         final double[] positions, final double[] velocities, final int offset) {
+        Assertions.assertEquals(expected.getPosition().getX(), positions[offset],      1.0e-8);
+        Assertions.assertEquals(expected.getPosition().getY(), positions[offset + 1],  1.0e-8);
+        Assertions.assertEquals(expected.getPosition().getZ(), positions[offset + 2],  1.0e-8);
+        Assertions.assertEquals(expected.getVelocity().getX(), velocities[offset],     1.0e-11);
+        Assertions.assertEquals(expected.getVelocity().getY(), velocities[offset + 1], 1.0e-11);
+        Assertions.assertEquals(expected.getVelocity().getZ(), velocities[offset + 2], 1.0e-11);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        teme = FramesFactory.getTEME();
+
+        final TLE iss = new TLE("1 25544U 98067A   21035.14486477  .00001026  00000-0  26816-4 0  9998",
+                                "2 25544  51.6455 280.7636 0002243 335.6496 186.1723 15.48938788267977");
+
+        // objects sharing the same epoch as ISS
+        final TLE eccentric = buildTLE(iss, 14.0, 0.05, 1.0e-5);
+        final TLE low       = buildTLE(iss, 16.3, 0.001, 5.0e-5);   // perigee below 220 km
+        final TLE deep      = buildTLE(iss, 2.0056, 0.0005, 0.0);   // deep space object
+
+        tles = new ArrayList<>(Arrays.asList(iss, eccentric, low, deep));
+    }
+
+    private TLE buildTLE(final TLE reference, final double revolutionsPerDay,
+                         final double e, final double bStar) {
+        return new TLE(99999, 'U', 2021, 1, "A", 0, 1, reference.getDate(),
+                       revolutionsPerDay * 2 * FastMath.PI / 86400.0, 0.0, 0.0,
+                       e, reference.getI(), reference.getPerigeeArgument(), reference.getRaan(),
+                       reference.getMeanAnomaly(), 1, bStar);
+    }
+
+    private Frame teme;
+    private List<TLE> tles;
+
+}
@@ -0,0 +1,188 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.frames.Transform;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class EvaluationContextTest {
+
+    @Test
+    public void testMemoization() {
+        final Frame             eme2000 = FramesFactory.getEME2000();
+        final EvaluationContext context = new EvaluationContext(2);
+        final AbsoluteDate      date    = orbit.getDate();
+
+        final Transform t1 = context.getTransform(eme2000, itrf, date);
+        Assertions.assertSame(t1, context.getTransform(eme2000, itrf, date));
+        Assertions.assertSame(context.getStaticTransform(eme2000, itrf, date),
+                              context.getStaticTransform(eme2000, itrf, date));
+        Assertions.assertSame(context.getPosition(CelestialBodyFactory.getSun(), itrf, date),
+                              context.getPosition(CelestialBodyFactory.getSun(), itrf, date));
+        Assertions.assertEquals(3L, context.getHits());
+        Assertions.assertEquals(3L, context.getMisses());
+
+        // dates are dropped when capacity is exceeded
+        context.getTransform(eme2000, itrf, date.shiftedBy(1.0));
+        context.getTransform(eme2000, itrf, date.shiftedBy(2.0));
+        Assertions.assertNotSame(t1, context.getTransform(eme2000, itrf, date));
+        Assertions.assertEquals(6L, context.getMisses());
+
+        // clearing drops everything
+        context.getTransform(eme2000, itrf, date);
+        context.clear();
+        context.getTransform(eme2000, itrf, date);
+        Assertions.assertEquals(4L, context.getHits());
+        Assertions.assertEquals(7L, context.getMisses());
+
+    }
+
+    @Test
+    public void testWrongCapacity() {
+        try {
+            new EvaluationContext(0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testSameEvents() {
+
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            itrf);
+        final TopocentricFrame topo  = new TopocentricFrame(earth,
+                                                            new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                              FastMath.toRadians(1.44),
+                                                                              150.0),
+                                                            "Toulouse");
+        final EventDetector[] detectors = new EventDetector[] {
+            new ElevationDetector(60.0, 1.0e-6, topo).
+                withConstantElevation(FastMath.toRadians(5.0)).
+                withHandler(new ContinueOnEvent()),
+            new EclipseDetector(CelestialBodyFactory.getSun(), Constants.SUN_RADIUS, earth).
+                withMaxCheck(60.0).
+                withThreshold(1.0e-6).
+                withHandler(new ContinueOnEvent()),
+            new GroundAtNightDetector(topo, CelestialBodyFactory.getSun(),
+                                      GroundAtNightDetector.CIVIL_DAWN_DUSK_ELEVATION, null).
+                withMaxCheck(60.0).
+                withThreshold(1.0e-6).
+                withHandler(new ContinueOnEvent())
+        };
+
+        // detectors using the shared context
+        final Propagator   shared       = new KeplerianPropagator(orbit);
+        final EventsLogger sharedLogger = new EventsLogger();
+        for (final EventDetector detector : detectors) {
+            shared.addEventDetector(sharedLogger.monitorDetector(detector));
+        }
+        shared.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+
+        // adapted detectors ignore the context
+        final Propagator   direct       = new KeplerianPropagator(orbit);
+        final EventsLogger directLogger = new EventsLogger();
+        for (final EventDetector detector : detectors) {
+            direct.addEventDetector(directLogger.monitorDetector(new AdapterDetector(detector)));
+        }
+        direct.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+
+        final List<LoggedEvent> sharedEvents = sharedLogger.getLoggedEvents();
+        final List<LoggedEvent> directEvents = directLogger.getLoggedEvents();
+        Assertions.assertTrue(sharedEvents.size() > 30);
+        Assertions.assertEquals(directEvents.size(), sharedEvents.size());
+        for (int i = 0; i < sharedEvents.size(); ++i) {
+            Assertions.assertEquals(directEvents.get(i).isIncreasing(), sharedEvents.get(i).isIncreasing());
+            Assertions.assertEquals(0.0,
+                                    sharedEvents.get(i).getDate().durationFrom(directEvents.get(i).getDate()),
+                                    1.0e-5);
+        }
+
+    }
+
+    @Test
+    public void testOverriddenG() {
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            itrf);
+        final TopocentricFrame topo  = new TopocentricFrame(earth,
+                                                            new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                              FastMath.toRadians(1.44),
+                                                                              150.0),
+                                                            "Toulouse");
+        final EventDetector elevation = new ElevationDetector(topo) {
+            @Override
+            public double g(final SpacecraftState s) {
+                return 42.0;
+            }
+        };
+        final EventDetector eclipse = new EclipseDetector(CelestialBodyFactory.getSun(), Constants.SUN_RADIUS, earth) {
+            @Override
+            public double g(final SpacecraftState s) {
+                return 43.0;
+            }
+        };
+        final SpacecraftState   state   = new SpacecraftState(orbit);
+        final EvaluationContext context = new EvaluationContext(2);
+        Assertions.assertEquals(42.0, elevation.g(state, context), 1.0e-15);
+        Assertions.assertEquals(43.0, eclipse.g(state, context), 1.0e-15);
+        Assertions.assertEquals(0L, context.getMisses());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        orbit = new KeplerianOrbit(7.2e6, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(90.0), FastMath.toRadians(30.0), 0.0,
+                                   PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2023, 11, 23, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+    private Frame itrf;
+    private Orbit orbit;
+
+}
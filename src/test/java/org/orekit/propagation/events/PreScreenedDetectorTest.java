@@ -0,0 +1,175 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class PreScreenedDetectorTest {
+
+    @Test
+    public void testSameEventsFewerEvaluations() {
+
+        final EventPreScreener     never    = (sa, ga, sb) -> true;
+        final ElevationPreScreener bounded  = new ElevationPreScreener(7.0e6, Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                                       minElevation, Constants.EIGEN5C_EARTH_MU,
+                                                                       Constants.WGS84_EARTH_ANGULAR_VELOCITY);
+        final PreScreenedDetector<ElevationDetector> reference = new PreScreenedDetector<>(detector, never);
+        final PreScreenedDetector<ElevationDetector> screened  = new PreScreenedDetector<>(detector, bounded);
+        Assertions.assertSame(detector, screened.getDetector());
+
+        final List<LoggedEvent> referenceEvents = propagate(reference);
+        final List<LoggedEvent> screenedEvents  = propagate(screened);
+
+        Assertions.assertTrue(referenceEvents.size() > 4);
+        Assertions.assertEquals(referenceEvents.size(), screenedEvents.size());
+        for (int i = 0; i < referenceEvents.size(); ++i) {
+            Assertions.assertEquals(referenceEvents.get(i).isIncreasing(), screenedEvents.get(i).isIncreasing());
+            Assertions.assertEquals(0.0,
+                                    screenedEvents.get(i).getDate().durationFrom(referenceEvents.get(i).getDate()),
+                                    detector.getThreshold());
+        }
+
+        Assertions.assertEquals(0L, reference.getScreenedIntervals());
+        Assertions.assertTrue(screened.getScreenedIntervals() > 0L);
+        Assertions.assertTrue(screened.getEvaluations() < reference.getEvaluations() / 2);
+
+    }
+
+    @Test
+    public void testForwardedThroughWrappers() {
+
+        final EventPreScreener     never    = (sa, ga, sb) -> true;
+        final ElevationPreScreener bounded  = new ElevationPreScreener(7.0e6, Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                                       minElevation, Constants.EIGEN5C_EARTH_MU,
+                                                                       Constants.WGS84_EARTH_ANGULAR_VELOCITY);
+
+        // negated detector
+        final PreScreenedDetector<ElevationDetector> negatedReference = new PreScreenedDetector<>(detector, never);
+        final PreScreenedDetector<ElevationDetector> negatedScreened  = new PreScreenedDetector<>(detector, bounded);
+        checkSameEvents(propagate(BooleanDetector.notCombine(negatedReference)),
+                        propagate(BooleanDetector.notCombine(negatedScreened)));
+        Assertions.assertTrue(negatedScreened.getScreenedIntervals() > 0L);
+
+        // slope filter
+        final PreScreenedDetector<ElevationDetector> filteredReference = new PreScreenedDetector<>(detector, never);
+        final PreScreenedDetector<ElevationDetector> filteredScreened  = new PreScreenedDetector<>(detector, bounded);
+        checkSameEvents(propagate(new EventSlopeFilter<>(filteredReference, FilterType.TRIGGER_ONLY_INCREASING_EVENTS)),
+                        propagate(new EventSlopeFilter<>(filteredScreened, FilterType.TRIGGER_ONLY_INCREASING_EVENTS)));
+        Assertions.assertTrue(filteredScreened.getScreenedIntervals() > 0L);
+
+        // detector without pre-screener
+        Assertions.assertNull(BooleanDetector.notCombine(detector).getPreScreener());
+
+    }
+
+    @Test
+    public void testMaxRate() {
+        final ElevationPreScreener screener = new ElevationPreScreener(7.0e6, Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                                       0.0, Constants.EIGEN5C_EARTH_MU,
+                                                                       Constants.WGS84_EARTH_ANGULAR_VELOCITY);
+        final double minRange = FastMath.sqrt(7.0e6 * 7.0e6 -
+                                              Constants.WGS84_EARTH_EQUATORIAL_RADIUS *
+                                              Constants.WGS84_EARTH_EQUATORIAL_RADIUS);
+        final double maxVelocity = FastMath.sqrt(2 * Constants.EIGEN5C_EARTH_MU / 7.0e6) +
+                                   Constants.WGS84_EARTH_ANGULAR_VELOCITY * Constants.WGS84_EARTH_EQUATORIAL_RADIUS;
+        Assertions.assertEquals(maxVelocity / minRange + Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                screener.getMaxRate(), 1.0e-15);
+    }
+
+    @Test
+    public void testSatelliteBelowStation() {
+        try {
+            new ElevationPreScreener(6.0e6, Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     0.0, Constants.EIGEN5C_EARTH_MU,
+                                     Constants.WGS84_EARTH_ANGULAR_VELOCITY);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    private void checkSameEvents(final List<LoggedEvent> referenceEvents, final List<LoggedEvent> screenedEvents) {
+        Assertions.assertTrue(referenceEvents.size() > 2);
+        Assertions.assertEquals(referenceEvents.size(), screenedEvents.size());
+        for (int i = 0; i < referenceEvents.size(); ++i) {
+            Assertions.assertEquals(referenceEvents.get(i).isIncreasing(), screenedEvents.get(i).isIncreasing());
+            Assertions.assertEquals(0.0,
+                                    screenedEvents.get(i).getDate().durationFrom(referenceEvents.get(i).getDate()),
+                                    detector.getThreshold());
+        }
+    }
+
+        private List<LoggedEvent> propagate(final EventDetector monitored) {
+        final Propagator   propagator = new KeplerianPropagator(orbit);
+        final EventsLogger logger     = new EventsLogger();
+        propagator.addEventDetector(logger.monitorDetector(monitored));
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final TopocentricFrame topo = new TopocentricFrame(earth,
+                                                           new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                             FastMath.toRadians(1.44),
+                                                                             0.0),
+                                                           "Toulouse");
+        minElevation = FastMath.toRadians(5.0);
+        detector = new ElevationDetector(topo).
+                   withConstantElevation(minElevation).
+                   withMaxCheck(10.0).
+                   withThreshold(1.0e-6).
+                   withHandler(new ContinueOnEvent());
+        orbit = new KeplerianOrbit(7.2e6, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(90.0), FastMath.toRadians(30.0), 0.0,
+                                   PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2023, 11, 15, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+    private double minElevation;
+    private ElevationDetector detector;
+    private Orbit orbit;
+
+}
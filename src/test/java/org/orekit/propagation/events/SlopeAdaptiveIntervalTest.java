@@ -0,0 +1,218 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class SlopeAdaptiveIntervalTest {
+
+    @Test
+    public void testAnalyticalPropagator() {
+        doTestSameEventsFewerEvaluations(() -> new KeplerianPropagator(orbit));
+    }
+
+    @Test
+    public void testNumericalPropagator() {
+        doTestSameEventsFewerEvaluations(() -> {
+            final double[][] tol = NumericalPropagator.tolerances(0.001, orbit, OrbitType.CARTESIAN);
+            final NumericalPropagator propagator =
+                            new NumericalPropagator(new DormandPrince853Integrator(0.001, 300.0, tol[0], tol[1]));
+            propagator.setOrbitType(OrbitType.CARTESIAN);
+            propagator.setInitialState(new SpacecraftState(orbit));
+            return propagator;
+        });
+    }
+
+    private void doTestSameEventsFewerEvaluations(final Supplier<Propagator> builder) {
+
+        final EventPreScreener never = (sa, ga, sb) -> true;
+        final PreScreenedDetector<ElevationDetector> reference =
+                        new PreScreenedDetector<>(detector, never);
+        final PreScreenedDetector<ElevationDetector> adaptive =
+                        new PreScreenedDetector<>(detector.withSlopeAdaptiveMaxCheck(10.0, 600.0), never);
+        Assertions.assertTrue(adaptive.getMaxCheckInterval() instanceof SlopeAdaptiveInterval);
+
+        final List<LoggedEvent> referenceEvents = propagate(builder.get(), reference);
+        final List<LoggedEvent> adaptiveEvents  = propagate(builder.get(), adaptive);
+
+        Assertions.assertTrue(referenceEvents.size() > 4);
+        Assertions.assertEquals(referenceEvents.size(), adaptiveEvents.size());
+        for (int i = 0; i < referenceEvents.size(); ++i) {
+            Assertions.assertEquals(referenceEvents.get(i).isIncreasing(), adaptiveEvents.get(i).isIncreasing());
+            Assertions.assertEquals(0.0,
+                                    adaptiveEvents.get(i).getDate().durationFrom(referenceEvents.get(i).getDate()),
+                                    detector.getThreshold());
+        }
+        Assertions.assertTrue(adaptive.getEvaluations() < reference.getEvaluations() / 2);
+
+    }
+
+    @Test
+    public void testWithoutHistory() {
+        final SlopeAdaptiveInterval interval = new SlopeAdaptiveInterval(10.0, 600.0);
+        Assertions.assertEquals(10.0, interval.getMinCheck(), 0.0);
+        Assertions.assertEquals(600.0, interval.getMaxCheck(), 0.0);
+        Assertions.assertEquals(SlopeAdaptiveInterval.DEFAULT_SAFETY, interval.getSafety(), 0.0);
+        final SpacecraftState state = new SpacecraftState(orbit);
+        Assertions.assertEquals(10.0, interval.currentInterval(state), 0.0);
+        final GFunctionHistory history = new GFunctionHistory();
+        history.add(orbit.getDate().shiftedBy(-20.0), 100.0);
+        history.add(orbit.getDate().shiftedBy(-10.0), 90.0);
+        Assertions.assertEquals(10.0, interval.currentInterval(state, history), 0.0);
+    }
+
+    @Test
+    public void testLinearHistory() {
+        final SlopeAdaptiveInterval interval = new SlopeAdaptiveInterval(1.0, 600.0, 0.5);
+        final GFunctionHistory history = new GFunctionHistory();
+        final AbsoluteDate t0 = orbit.getDate();
+        history.add(t0.shiftedBy(-20.0), 120.0);
+        history.add(t0.shiftedBy(-10.0), 110.0);
+        history.add(t0, 100.0);
+
+        // zero is predicted 100s ahead, with 0.5 safety factor
+        Assertions.assertEquals(50.0, interval.currentInterval(new SpacecraftState(orbit), history), 1.0e-12);
+
+        // time already elapsed since last sample is taken into account
+        Assertions.assertEquals(30.0, interval.currentInterval(new SpacecraftState(orbit.shiftedBy(20.0)), history),
+                                1.0e-12);
+
+        // interval is clipped
+        Assertions.assertEquals(1.0, interval.currentInterval(new SpacecraftState(orbit.shiftedBy(60.0)), history),
+                                1.0e-12);
+        history.add(t0.shiftedBy(10.0), 99.999);
+        history.add(t0.shiftedBy(20.0), 99.998);
+        Assertions.assertEquals(600.0, interval.currentInterval(new SpacecraftState(orbit.shiftedBy(20.0)), history),
+                                1.0e-12);
+
+    }
+
+    @Test
+    public void testHistoryDerivatives() {
+        final AbsoluteDate t0 = orbit.getDate();
+        final GFunctionHistory history = new GFunctionHistory();
+        Assertions.assertEquals(0, history.size());
+        Assertions.assertNull(history.getLastDate());
+        Assertions.assertTrue(Double.isNaN(history.getLastValue()));
+        Assertions.assertTrue(Double.isNaN(history.getFirstDerivative()));
+        Assertions.assertTrue(Double.isNaN(history.getSecondDerivative()));
+
+        // g(t) = 3 - 2 t + 0.25 t^2, with irregular sampling
+        final double[] times = { -7.0, -3.0, 1.0, 2.5, 6.0 };
+        for (final double t : times) {
+            history.add(t0.shiftedBy(t), 3 - 2 * t + 0.25 * t * t);
+        }
+        Assertions.assertEquals(3, history.size());
+        Assertions.assertEquals(t0.shiftedBy(6.0), history.getLastDate());
+        Assertions.assertEquals(0.0, history.getLastValue(), 1.0e-15);
+        Assertions.assertEquals(1.0, history.getFirstDerivative(), 1.0e-14);
+        Assertions.assertEquals(0.5, history.getSecondDerivative(), 1.0e-14);
+
+        // non-finite values and duplicated dates are ignored
+        history.add(t0.shiftedBy(7.0), Double.NaN);
+        history.add(t0.shiftedBy(7.0), Double.POSITIVE_INFINITY);
+        history.add(t0.shiftedBy(6.0), 12.0);
+        Assertions.assertEquals(t0.shiftedBy(6.0), history.getLastDate());
+        Assertions.assertEquals(0.0, history.getLastValue(), 1.0e-15);
+
+        history.clear();
+        Assertions.assertEquals(0, history.size());
+    }
+
+    @Test
+    public void testWrongParameters() {
+        checkError(() -> new SlopeAdaptiveInterval(0.0, 600.0),
+                   LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED);
+        checkError(() -> new SlopeAdaptiveInterval(10.0, 5.0),
+                   LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkError(() -> new SlopeAdaptiveInterval(10.0, 600.0, 0.0),
+                   LocalizedCoreFormats.OUT_OF_RANGE_LEFT);
+        checkError(() -> new SlopeAdaptiveInterval(10.0, 600.0, 1.5),
+                   LocalizedCoreFormats.OUT_OF_RANGE_LEFT);
+    }
+
+    private void checkError(final Runnable r, final LocalizedCoreFormats expected) {
+        try {
+            r.run();
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(expected, oiae.getSpecifier());
+        }
+    }
+
+    private List<LoggedEvent> propagate(final Propagator propagator, final EventDetector monitored) {
+        final EventsLogger logger = new EventsLogger();
+        propagator.addEventDetector(logger.monitorDetector(monitored));
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final TopocentricFrame topo = new TopocentricFrame(earth,
+                                                           new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                             FastMath.toRadians(1.44),
+                                                                             0.0),
+                                                           "Toulouse");
+        detector = new ElevationDetector(topo).
+                   withConstantElevation(FastMath.toRadians(5.0)).
+                   withMaxCheck(10.0).
+                   withThreshold(1.0e-6).
+                   withHandler(new ContinueOnEvent());
+        orbit = new KeplerianOrbit(7.2e6, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(90.0), FastMath.toRadians(30.0), 0.0,
+                                   PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2023, 11, 15, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+    private ElevationDetector detector;
+    private Orbit orbit;
+
+}
@@ -0,0 +1,172 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.EphemerisGenerator;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class VisibilityPredictorTest {
+
+    @Test
+    public void testSameAsElevationDetectors() {
+
+        final double              minElevation = FastMath.toRadians(5.0);
+        final VisibilityPredictor predictor    = new VisibilityPredictor(minElevation, 10.0);
+        Assertions.assertEquals(minElevation, predictor.getMinElevation(), 1.0e-15);
+        Assertions.assertEquals(10.0, predictor.getStep(), 1.0e-15);
+        Assertions.assertEquals(AbstractDetector.DEFAULT_THRESHOLD, predictor.getThreshold(), 1.0e-15);
+
+        final List<VisibilityWindow> windows = predictor.predict(stations, satellites, start, end);
+        final List<LoggedEvent>      events  = VisibilityPredictor.toLoggedEvents(windows);
+
+        // reference: one elevation detector per pair
+        int nbReference = 0;
+        for (final BoundedPropagator satellite : satellites) {
+            for (final TopocentricFrame station : stations) {
+                final EventsLogger logger = new EventsLogger();
+                satellite.clearEventsDetectors();
+                final ElevationDetector detector =
+                                new ElevationDetector(10.0, AbstractDetector.DEFAULT_THRESHOLD, station).
+                                withConstantElevation(minElevation).
+                                withHandler(new ContinueOnEvent());
+                satellite.addEventDetector(logger.monitorDetector(detector));
+                satellite.propagate(start, end);
+                for (final LoggedEvent reference : logger.getLoggedEvents()) {
+                    ++nbReference;
+                    final LoggedEvent found = find(events, satellite, station, reference);
+                    Assertions.assertNotNull(found);
+                    Assertions.assertEquals(0.0, found.getDate().durationFrom(reference.getDate()), 1.0e-5);
+                }
+                satellite.clearEventsDetectors();
+            }
+        }
+        Assertions.assertTrue(nbReference > 20);
+        Assertions.assertEquals(nbReference, events.size());
+
+        // windows consistency
+        for (final VisibilityWindow window : windows) {
+            Assertions.assertTrue(window.getEnd().durationFrom(window.getStart()) > 0);
+            if (window.getAOS() != null) {
+                Assertions.assertTrue(window.getAOS().isIncreasing());
+                Assertions.assertEquals(window.getStart(), window.getAOS().getDate());
+            } else {
+                Assertions.assertEquals(start, window.getStart());
+            }
+            if (window.getLOS() != null) {
+                Assertions.assertFalse(window.getLOS().isIncreasing());
+                Assertions.assertEquals(window.getEnd(), window.getLOS().getDate());
+            } else {
+                Assertions.assertEquals(end, window.getEnd());
+            }
+        }
+        for (int i = 1; i < windows.size(); ++i) {
+            Assertions.assertTrue(windows.get(i).getStart().compareTo(windows.get(i - 1).getStart()) >= 0);
+        }
+
+    }
+
+    @Test
+    public void testWrongStep() {
+        try {
+            new VisibilityPredictor(0.0, -1.0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    private LoggedEvent find(final List<LoggedEvent> events, final BoundedPropagator satellite,
+                             final TopocentricFrame station, final LoggedEvent reference) {
+        LoggedEvent best = null;
+        for (final LoggedEvent event : events) {
+            if (((ElevationDetector) event.getEventDetector()).getTopocentricFrame() == station &&
+                event.isIncreasing() == reference.isIncreasing() &&
+                FastMath.abs(event.getDate().durationFrom(reference.getDate())) < 1.0 &&
+                event.getState().getPosition().distance(satellite.getPosition(event.getDate(), event.getState().getFrame())) < 1.0e-3) {
+                best = event;
+            }
+        }
+        return best;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        stations = Arrays.asList(station(earth, 43.6, 1.44, 150.0, "Toulouse"),
+                                 station(earth, 5.25, -52.8, 20.0, "Kourou"),
+                                 station(earth, 67.86, 20.96, 400.0, "Kiruna"),
+                                 station(earth, -33.9, 18.4, 0.0, "Cape Town"));
+        start = new AbsoluteDate(2023, 11, 22, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        end   = start.shiftedBy(Constants.JULIAN_DAY);
+        satellites = new ArrayList<>();
+        satellites.add(ephemeris(7.0e6, 0.001, 98.0, 0.0));
+        satellites.add(ephemeris(7.4e6, 0.01, 51.6, 120.0));
+        satellites.add(ephemeris(2.66e7, 0.7, 63.4, 240.0));
+    }
+
+    private TopocentricFrame station(final OneAxisEllipsoid earth, final double latitude, final double longitude,
+                                     final double altitude, final String name) {
+        return new TopocentricFrame(earth,
+                                    new GeodeticPoint(FastMath.toRadians(latitude), FastMath.toRadians(longitude), altitude),
+                                    name);
+    }
+
+    private BoundedPropagator ephemeris(final double a, final double e, final double i, final double raan) {
+        final Propagator propagator =
+                        new KeplerianPropagator(new KeplerianOrbit(a, e, FastMath.toRadians(i),
+                                                                   FastMath.toRadians(30.0), FastMath.toRadians(raan), 0.0,
+                                                                   PositionAngleType.MEAN, FramesFactory.getEME2000(),
+                                                                   start, Constants.EIGEN5C_EARTH_MU));
+        final EphemerisGenerator generator = propagator.getEphemerisGenerator();
+        propagator.propagate(start, end);
+        return generator.getGeneratedEphemeris();
+    }
+
+    private List<TopocentricFrame> stations;
+    private List<BoundedPropagator> satellites;
+    private AbsoluteDate start;
+    private AbsoluteDate end;
+
+}
@@ -0,0 +1,282 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.screening;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.LOFType;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngleType;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.EphemerisGenerator;
+import org.orekit.propagation.StateCovariance;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.ssa.collision.shorttermencounter.probability.twod.Patera2005;
+import org.orekit.ssa.collision.shorttermencounter.probability.twod.ShortTermEncounter2DPOCMethod;
+import org.orekit.ssa.metrics.ProbabilityOfCollision;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+public class ConjunctionScreenerTest {
+
+    @Test
+    public void testSingleEncounter() {
+
+        final List<ScreeningObject> objects = catalog(null);
+        final ConjunctionScreener screener = new ConjunctionScreener(gcrf, 5000.0, 60.0);
+        Assertions.assertSame(gcrf, screener.getFrame());
+        Assertions.assertEquals(5000.0, screener.getScreeningDistance(), 0.0);
+        Assertions.assertEquals(60.0, screener.getStep(), 0.0);
+        Assertions.assertNull(screener.getPOCMethod());
+
+        final List<Conjunction> conjunctions = screener.screen(objects, start, end);
+        Assertions.assertEquals(1, conjunctions.size());
+        final Conjunction conjunction = conjunctions.get(0);
+        Assertions.assertSame(objects.get(0), conjunction.getPrimary());
+        Assertions.assertSame(objects.get(1), conjunction.getSecondary());
+        Assertions.assertEquals(0.0, conjunction.getDate().durationFrom(tca), 1.0e-6);
+        Assertions.assertEquals(100.0, conjunction.getMissDistance(), 1.0e-6);
+        Assertions.assertEquals(2 * speed * FastMath.cos(FastMath.toRadians(30.0)),
+                                conjunction.getRelativeSpeed(), 1.0e-6);
+        Assertions.assertNull(conjunction.getProbabilityOfCollision());
+
+    }
+
+    @Test
+    public void testScreeningDistance() {
+        // the encounter miss distance is 100m
+        final List<ScreeningObject> objects = catalog(null);
+        Assertions.assertTrue(new ConjunctionScreener(gcrf, 99.0, 60.0).screen(objects, start, end).isEmpty());
+        Assertions.assertEquals(1, new ConjunctionScreener(gcrf, 101.0, 60.0).screen(objects, start, end).size());
+    }
+
+    @Test
+    public void testSameResultsWithOneThread() {
+
+        // random catalog in low Earth orbit
+        final List<ScreeningObject> objects = new ArrayList<>(catalog(null));
+        final RandomGenerator random = new Well19937a(0x3a81f65d2c0e9b47L);
+        for (int i = 0; i < 20; ++i) {
+            final Orbit orbit = new KeplerianOrbit(6900.0e3 + 200.0e3 * random.nextDouble(), 0.001 * random.nextDouble(),
+                                                   FastMath.PI * random.nextDouble(), MathUtils.TWO_PI * random.nextDouble(),
+                                                   MathUtils.TWO_PI * random.nextDouble(), MathUtils.TWO_PI * random.nextDouble(),
+                                                   PositionAngleType.MEAN, gcrf, tca, mu);
+            objects.add(new ScreeningObject("random-" + i, ephemeris(orbit), 1.0, null));
+        }
+
+        final List<Conjunction> parallel =
+                        new ConjunctionScreener(ForkJoinPool.commonPool(), gcrf, 2.0e6, 120.0, null).screen(objects, start, end);
+        final ForkJoinPool single = new ForkJoinPool(1);
+        final List<Conjunction> sequential;
+        try {
+            sequential = new ConjunctionScreener(single, gcrf, 2.0e6, 120.0, null).screen(objects, start, end);
+        } finally {
+            single.shutdown();
+        }
+
+        Assertions.assertTrue(parallel.size() > 1);
+        Assertions.assertEquals(parallel.size(), sequential.size());
+        for (int i = 0; i < parallel.size(); ++i) {
+            final Conjunction conjunction = parallel.get(i);
+            Assertions.assertEquals(conjunction.getDate(), sequential.get(i).getDate());
+            Assertions.assertEquals(conjunction.getMissDistance(), sequential.get(i).getMissDistance(), 0.0);
+            Assertions.assertTrue(conjunction.getMissDistance() <= 2.0e6);
+            if (i > 0) {
+                Assertions.assertTrue(conjunction.getDate().compareTo(parallel.get(i - 1).getDate()) >= 0);
+            }
+
+            // check it really is a closest approach
+            final double before = distance(conjunction, -1.0);
+            final double after  = distance(conjunction, +1.0);
+            Assertions.assertTrue(before > conjunction.getMissDistance());
+            Assertions.assertTrue(after  > conjunction.getMissDistance());
+
+        }
+    }
+
+    private double distance(final Conjunction conjunction, final double dt) {
+        final AbsoluteDate date = conjunction.getDate().shiftedBy(dt);
+        return Vector3D.distance(conjunction.getPrimary().getPropagator().getPosition(date, gcrf),
+                                 conjunction.getSecondary().getPropagator().getPosition(date, gcrf));
+    }
+
+    @Test
+    public void testProbabilityOfCollision() {
+
+        final ShortTermEncounter2DPOCMethod patera = new Patera2005();
+        final StateCovariance covariance =
+                        new StateCovariance(MatrixUtils.createRealDiagonalMatrix(new double[] {
+                            100.0, 2500.0, 100.0, 1.0e-4, 1.0e-4, 1.0e-4
+                        }), tca, LOFType.QSW_INERTIAL);
+        final List<ScreeningObject> objects = catalog(covariance);
+        final ConjunctionScreener screener =
+                        new ConjunctionScreener(ForkJoinPool.commonPool(), gcrf, 5000.0, 60.0, Patera2005::new);
+        Assertions.assertTrue(screener.getPOCMethod() instanceof Patera2005);
+        Assertions.assertSame(screener.getPOCMethod(), screener.getPOCMethod());
+
+        final List<Conjunction> conjunctions = screener.screen(objects, start, end);
+        Assertions.assertEquals(1, conjunctions.size());
+        final ProbabilityOfCollision poc = conjunctions.get(0).getProbabilityOfCollision();
+        Assertions.assertNotNull(poc);
+        Assertions.assertTrue(poc.getValue() > 0.0);
+        Assertions.assertTrue(poc.getValue() < 1.0);
+
+        // compare with direct computation
+        final Orbit primary   = objects.get(0).getPropagator().propagate(conjunctions.get(0).getDate()).getOrbit();
+        final Orbit secondary = objects.get(1).getPropagator().propagate(conjunctions.get(0).getDate()).getOrbit();
+        final ProbabilityOfCollision reference = patera.compute(primary, covariance, 10.0, secondary, covariance, 5.0);
+        Assertions.assertEquals(reference.getValue(), poc.getValue(), 1.0e-6 * reference.getValue());
+
+    }
+
+    @Test
+    public void testProbabilityOfCollisionSeveralThreads() {
+
+        // random catalog in low Earth orbit, with large covariances so most probabilities are non-zero
+        final StateCovariance covariance =
+                        new StateCovariance(MatrixUtils.createRealDiagonalMatrix(new double[] {
+                            1.0e10, 1.0e10, 1.0e10, 1.0e2, 1.0e2, 1.0e2
+                        }), tca, LOFType.QSW_INERTIAL);
+        final List<ScreeningObject> objects = new ArrayList<>();
+        final RandomGenerator random = new Well19937a(0x5d17e2a0c48b93f6L);
+        for (int i = 0; i < 20; ++i) {
+            final Orbit orbit = new KeplerianOrbit(6900.0e3 + 200.0e3 * random.nextDouble(), 0.001 * random.nextDouble(),
+                                                   FastMath.PI * random.nextDouble(), MathUtils.TWO_PI * random.nextDouble(),
+                                                   MathUtils.TWO_PI * random.nextDouble(), MathUtils.TWO_PI * random.nextDouble(),
+                                                   PositionAngleType.MEAN, gcrf, tca, mu);
+            objects.add(new ScreeningObject("random-" + i, ephemeris(orbit), 1.0, covariance));
+        }
+
+        final ForkJoinPool several = new ForkJoinPool(4);
+        final ForkJoinPool single  = new ForkJoinPool(1);
+        final List<Conjunction> parallel;
+        final List<Conjunction> sequential;
+        try {
+            parallel   = new ConjunctionScreener(several, gcrf, 1.0e6, 120.0, Patera2005::new).screen(objects, start, end);
+            sequential = new ConjunctionScreener(single,  gcrf, 1.0e6, 120.0, Patera2005::new).screen(objects, start, end);
+        } finally {
+            several.shutdown();
+            single.shutdown();
+        }
+
+        Assertions.assertTrue(parallel.size() > 10);
+        Assertions.assertEquals(sequential.size(), parallel.size());
+        int nonZero = 0;
+        for (int i = 0; i < parallel.size(); ++i) {
+            final double p = parallel.get(i).getProbabilityOfCollision().getValue();
+            Assertions.assertEquals(sequential.get(i).getDate(), parallel.get(i).getDate());
+            Assertions.assertEquals(sequential.get(i).getProbabilityOfCollision().getValue(), p, 0.0);
+            if (p > 0) {
+                ++nonZero;
+            }
+        }
+        Assertions.assertTrue(nonZero > 10);
+
+    }
+
+    @Test
+    public void testWrongParameters() {
+        checkError(() -> new ConjunctionScreener(gcrf, 0.0, 60.0));
+        checkError(() -> new ConjunctionScreener(gcrf, 5000.0, -1.0));
+        checkError(() -> new ConjunctionScreener(gcrf, 5000.0, 60.0).screen(catalog(null), end, start));
+    }
+
+    private void checkError(final Runnable r) {
+        try {
+            r.run();
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    /** Build a small catalog with one encounter at tca.
+     * <p>
+     * The two first objects are on circular orbits inclined at 30° and 150°, they
+     * cross each other at tca with a 100m radial-free offset. The other objects
+     * never come close to them within the screening window.
+     * </p>
+     */
+    private List<ScreeningObject> catalog(final StateCovariance covariance) {
+        final double   i1 = FastMath.toRadians(30.0);
+        final double   i2 = FastMath.toRadians(150.0);
+        final Vector3D p  = new Vector3D(radius, 0, 0);
+        final Orbit primary   = new CartesianOrbit(new PVCoordinates(p,
+                                                                     new Vector3D(0, speed * FastMath.cos(i1), speed * FastMath.sin(i1))),
+                                                   gcrf, tca, mu);
+        final Orbit secondary = new CartesianOrbit(new PVCoordinates(p.add(new Vector3D(0, 0, 100.0)),
+                                                                     new Vector3D(0, speed * FastMath.cos(i2), speed * FastMath.sin(i2))),
+                                                   gcrf, tca, mu);
+        final Orbit geo       = new KeplerianOrbit(42164.0e3, 0.0, 0.0, 0.0, 0.0, 0.0,
+                                                   PositionAngleType.MEAN, gcrf, tca, mu);
+        final Orbit phased    = new KeplerianOrbit(radius, 0.0, i1, 0.0, 0.0, FastMath.PI / 2,
+                                                   PositionAngleType.MEAN, gcrf, tca, mu);
+        return Arrays.asList(new ScreeningObject("primary",   ephemeris(primary),   10.0, covariance),
+                             new ScreeningObject("secondary", ephemeris(secondary),  5.0, covariance),
+                             new ScreeningObject("geo",       ephemeris(geo),        5.0, covariance),
+                             new ScreeningObject("phased",    ephemeris(phased),     5.0, null));
+    }
+
+    private BoundedPropagator ephemeris(final Orbit orbit) {
+        final KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+        final EphemerisGenerator  generator  = propagator.getEphemerisGenerator();
+        propagator.propagate(start.shiftedBy(-60.0), end.shiftedBy(60.0));
+        return generator.getGeneratedEphemeris();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        gcrf   = FramesFactory.getGCRF();
+        mu     = Constants.EIGEN5C_EARTH_MU;
+        radius = 7000.0e3;
+        speed  = FastMath.sqrt(mu / radius);
+        tca    = new AbsoluteDate(2023, 11, 20, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        start  = tca.shiftedBy(-2000.0);
+        end    = tca.shiftedBy(2000.0);
+    }
+
+    private Frame        gcrf;
+    private double       mu;
+    private double       radius;
+    private double       speed;
+    private AbsoluteDate tca;
+    private AbsoluteDate start;
+    private AbsoluteDate end;
+
+}
@@ -0,0 +1,120 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.ssa.collision.shorttermencounter.probability.twod;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+class ShortTermEncounter2DPOCBatchEvaluatorTest {
+
+    @Test
+    void testAllMethods() {
+        for (final ShortTermEncounter2DPOCMethodType type : ShortTermEncounter2DPOCMethodType.values()) {
+            final ShortTermEncounter2DPOCMethod method = type.getMethod();
+            final double[] probabilities =
+                    new ShortTermEncounter2DPOCBatchEvaluator(type).compute(xm, ym, sigmaX, sigmaY, radius);
+            Assertions.assertEquals(xm.length, probabilities.length);
+            for (int i = 0; i < xm.length; ++i) {
+                Assertions.assertEquals(method.compute(xm[i], ym[i], sigmaX[i], sigmaY[i], radius[i]).getValue(),
+                                        probabilities[i], 0.0, type.name());
+            }
+        }
+    }
+
+    @Test
+    void testCustomPool() {
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final double[] probabilities = new double[xm.length];
+        try {
+            final ShortTermEncounter2DPOCBatchEvaluator evaluator =
+                    new ShortTermEncounter2DPOCBatchEvaluator(Patera2005::new, pool, 7);
+            evaluator.compute(xm, ym, sigmaX, sigmaY, radius, probabilities);
+        } finally {
+            pool.shutdown();
+        }
+
+        final ShortTermEncounter2DPOCMethod patera = new Patera2005();
+        for (int i = 0; i < xm.length; ++i) {
+            Assertions.assertEquals(patera.compute(xm[i], ym[i], sigmaX[i], sigmaY[i], radius[i]).getValue(),
+                                    probabilities[i], 0.0);
+        }
+    }
+
+    @Test
+    void testEmptyBatch() {
+        final double[] empty = new double[0];
+        Assertions.assertEquals(0,
+                                new ShortTermEncounter2DPOCBatchEvaluator(ShortTermEncounter2DPOCMethodType.CHAN_1997).
+                                compute(empty, empty, empty, empty, empty).length);
+    }
+
+    @Test
+    void testDimensionMismatch() {
+        final ShortTermEncounter2DPOCBatchEvaluator evaluator =
+                new ShortTermEncounter2DPOCBatchEvaluator(ShortTermEncounter2DPOCMethodType.ALFANO_2005);
+        try {
+            evaluator.compute(xm, ym, sigmaX, new double[xm.length - 1], radius);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assertions.assertEquals(xm.length - 1, oiae.getParts()[0]);
+            Assertions.assertEquals(xm.length, oiae.getParts()[1]);
+        }
+    }
+
+    @Test
+    void testWrongGranularity() {
+        try {
+            new ShortTermEncounter2DPOCBatchEvaluator(Chan1997::new, ForkJoinPool.commonPool(), 0);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        final RandomGenerator random = new Well19937a(0x6e2d94c1b38a05f7L);
+        final int n = 300;
+        xm     = new double[n];
+        ym     = new double[n];
+        sigmaX = new double[n];
+        sigmaY = new double[n];
+        radius = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xm[i]     = 1000.0 * (2 * random.nextDouble() - 1);
+            ym[i]     = 1000.0 * (2 * random.nextDouble() - 1);
+            sigmaX[i] = 10.0 + 500.0 * random.nextDouble();
+            sigmaY[i] = 10.0 + 100.0 * random.nextDouble();
+            radius[i] = 5.0 + 15.0 * random.nextDouble();
+        }
+    }
+
+    private double[] xm;
+    private double[] ym;
+    private double[] sigmaX;
+    private double[] sigmaY;
+    private double[] radius;
+
+}
@@ -0,0 +1,176 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+
+public class BulkDateConverterTest {
+
+    @Test
+    public void testParseCalendar() {
+        final String text = "2016-12-31T23:59:59.5 2016-12-31T23:59:60.25Z,2017-01-01T00:00:00\n" +
+                            "1970-06-15T12:34:56.789;2023-11-15T01:02:03.123456789012345678";
+        final PackedDateArray dates = new PackedDateArray();
+        Assertions.assertEquals(5, new BulkDateConverter(utc).parse(text, 0, text.length(), dates));
+        Assertions.assertEquals(5, dates.size());
+        checkParsed(text, dates);
+    }
+
+    @Test
+    public void testParseDayOfYear() {
+        final String text = "  2016-366T23:59:60.5  2020-060T06:00:00.125 ";
+        final PackedDateArray dates = new PackedDateArray();
+        Assertions.assertEquals(2, new BulkDateConverter(utc).parse(text, 0, text.length(), dates));
+        Assertions.assertEquals(new AbsoluteDate(2016, 12, 31, 23, 59, 60.5, utc), dates.get(0));
+        Assertions.assertEquals(new AbsoluteDate(2020, 2, 29, 6, 0, 0.125, utc), dates.get(1));
+    }
+
+    @Test
+    public void testParseByteBuffer() {
+        final String text = "xx2005-03-05T00:24:00.000001 2005-03-05T00:24:01.5yy";
+        final ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        final PackedDateArray dates = new PackedDateArray();
+        Assertions.assertEquals(2, new BulkDateConverter(utc).parse(buffer, 2, text.length() - 2, dates));
+        Assertions.assertEquals(0, buffer.position());
+        checkParsed(text.substring(2, text.length() - 2), dates);
+    }
+
+    @Test
+    public void testParseRandom() {
+        final RandomGenerator random = new Well19937a(0x61d9a4c7e23b058fL);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2000; ++i) {
+            final AbsoluteDate date = AbsoluteDate.J2000_EPOCH.shiftedBy(1.5e9 * (2 * random.nextDouble() - 1));
+            builder.append(date.getComponents(utc).toStringWithoutUtcOffset(utc.minuteDuration(date), 6));
+            builder.append(' ');
+        }
+        final PackedDateArray dates = new PackedDateArray();
+        Assertions.assertEquals(2000, new BulkDateConverter(utc).parse(builder, 0, builder.length(), dates));
+        checkParsed(builder.toString(), dates);
+    }
+
+    @Test
+    public void testParseErrors() {
+        final BulkDateConverter converter = new BulkDateConverter(utc);
+        checkParseError(converter, "2016-12-31 23:59:59", OrekitMessages.NON_EXISTENT_DATE);
+        checkParseError(converter, "2016-12-31T23:59:5", OrekitMessages.NON_EXISTENT_DATE);
+        checkParseError(converter, "16-12-31T23:59:59", OrekitMessages.NON_EXISTENT_DATE);
+        checkParseError(converter, "2016-12-31T23:59:59+01:00", OrekitMessages.NON_EXISTENT_DATE);
+        checkParseError(converter, "2016-12-31T24:00:00", OrekitMessages.NON_EXISTENT_HMS_TIME);
+        checkParseError(converter, "2016-12-31T23:60:00", OrekitMessages.NON_EXISTENT_HMS_TIME);
+        checkParseError(converter, "2016-12-31T23:59:61", OrekitMessages.NON_EXISTENT_HMS_TIME);
+    }
+
+    @Test
+    public void testFormatRoundTrip() {
+        final RandomGenerator random = new Well19937a(0x0b8e5d2f41c7a396L);
+        final PackedDateArray dates = new PackedDateArray();
+        AbsoluteDate date = new AbsoluteDate(1965, 1, 1, 0, 0, 0.0, utc);
+        while (date.compareTo(new AbsoluteDate(2024, 1, 1, 0, 0, 0.0, utc)) < 0) {
+            dates.add(date);
+            date = date.shiftedBy(86400.0 * random.nextDouble());
+        }
+        // add dates around a leap second
+        final AbsoluteDate leap = new AbsoluteDate(2016, 12, 31, 23, 59, 59.0, utc);
+        for (double dt = -0.9996; dt < 2.0; dt += 0.0625) {
+            dates.add(leap.shiftedBy(dt));
+        }
+        dates.add(leap.shiftedBy(1.9998));
+
+        final BulkDateConverter converter = new BulkDateConverter(utc);
+        final StringBuilder     out       = new StringBuilder();
+        for (int digits = 0; digits <= BulkDateConverter.MAX_FRACTION_DIGITS; digits += 3) {
+            for (int i = 0; i < dates.size(); ++i) {
+                final AbsoluteDate d = dates.get(i);
+                out.setLength(0);
+                converter.format(dates, i, digits, out);
+                Assertions.assertEquals(d.getComponents(utc).toStringWithoutUtcOffset(utc.minuteDuration(d), digits),
+                                        out.toString());
+            }
+        }
+
+    }
+
+    @Test
+    public void testFormatDayOfYear() {
+        final BulkDateConverter converter = new BulkDateConverter(utc);
+        final PackedDateArray   dates     = new PackedDateArray();
+        converter.parse("2016-12-31T23:59:60.5 2020-03-01T00:00:01.25", 0, 44, dates);
+        final StringBuilder out = new StringBuilder();
+        converter.formatDayOfYear(dates, 0, 1, out);
+        out.append(' ');
+        converter.formatDayOfYear(dates, 1, 3, out);
+        out.append(' ');
+        converter.format(dates.get(1), 0, out);
+        Assertions.assertEquals("2016-366T23:59:60.5 2020-061T00:00:01.250 2020-03-01T00:00:01", out.toString());
+    }
+
+    @Test
+    public void testFormatTAI() {
+        final TimeScale         tai       = TimeScalesFactory.getTAI();
+        final BulkDateConverter converter = new BulkDateConverter(tai);
+        Assertions.assertSame(tai, converter.getTimeScale());
+        final AbsoluteDate  date = new AbsoluteDate(2023, 12, 31, 23, 59, 59.9996, tai);
+        final StringBuilder out  = new StringBuilder();
+        converter.format(date, 3, out);
+        Assertions.assertEquals("2024-01-01T00:00:00.000", out.toString());
+        try {
+            converter.format(date, 10, out);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oiae.getSpecifier());
+        }
+    }
+
+    private void checkParsed(final String text, final PackedDateArray dates) {
+        final String[] fields = text.trim().split("[\\s,;]+");
+        Assertions.assertEquals(fields.length, dates.size());
+        for (int i = 0; i < fields.length; ++i) {
+            Assertions.assertEquals(new AbsoluteDate(fields[i], utc), dates.get(i), fields[i]);
+        }
+    }
+
+    private void checkParseError(final BulkDateConverter converter, final String text,
+                                 final OrekitMessages expected) {
+        try {
+            converter.parse(text, 0, text.length(), new PackedDateArray());
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(expected, oiae.getSpecifier());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        utc = TimeScalesFactory.getUTC();
+    }
+
+    private TimeScale utc;
+
+}
@@ -0,0 +1,110 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+public class PackedDateArrayTest {
+
+    @Test
+    public void testGrowAndGet() {
+        final PackedDateArray array = new PackedDateArray(1);
+        final RandomGenerator random = new Well19937a(0x3e1f6b0a7c92d548L);
+        final AbsoluteDate[] dates = new AbsoluteDate[100];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = AbsoluteDate.J2000_EPOCH.shiftedBy(1.0e8 * (2 * random.nextDouble() - 1));
+            array.add(dates[i]);
+        }
+        Assertions.assertEquals(dates.length, array.size());
+        for (int i = 0; i < dates.length; ++i) {
+            Assertions.assertEquals(dates[i], array.get(i));
+            Assertions.assertEquals(dates[i].durationFrom(AbsoluteDate.J2000_EPOCH),
+                                    array.durationFrom(i, AbsoluteDate.J2000_EPOCH),
+                                    0.0);
+        }
+        array.clear();
+        Assertions.assertEquals(0, array.size());
+    }
+
+    @Test
+    public void testDurations() {
+        final PackedDateArray array = new PackedDateArray();
+        final AbsoluteDate reference = new AbsoluteDate(2016, 12, 31, 23, 59, 60.25, utc);
+        for (int i = 0; i < 50; ++i) {
+            array.add(reference.shiftedBy(0.1 * i - 2.0));
+        }
+        final double[] durations = new double[array.size()];
+        array.durationsFrom(reference, durations);
+        for (int i = 0; i < durations.length; ++i) {
+            Assertions.assertEquals(array.get(i).durationFrom(reference), durations[i], 0.0);
+        }
+        try {
+            array.durationsFrom(reference, new double[3]);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testBinarySearch() {
+        final PackedDateArray array = new PackedDateArray();
+        final AbsoluteDate start = new AbsoluteDate(2023, 6, 1, 0, 0, 0.0, utc);
+        for (int i = 0; i < 20; ++i) {
+            array.add(start.shiftedBy(10.0 * i));
+        }
+        for (int i = 0; i < 20; ++i) {
+            Assertions.assertEquals(i, array.binarySearch(start.shiftedBy(10.0 * i)));
+            Assertions.assertEquals(-(i + 2), array.binarySearch(start.shiftedBy(10.0 * i + 1.0e-9)));
+        }
+        Assertions.assertEquals(-1, array.binarySearch(start.shiftedBy(-1.0e-9)));
+    }
+
+    @Test
+    public void testWrongIndex() {
+        final PackedDateArray array = new PackedDateArray();
+        array.add(AbsoluteDate.J2000_EPOCH);
+        try {
+            array.get(1);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oiae.getSpecifier());
+        }
+        try {
+            new PackedDateArray(-1);
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        utc = TimeScalesFactory.getUTC();
+    }
+
+    private TimeScale utc;
+
+}
@@ -20,6 +20,7 @@ import org.hamcrest.MatcherAssert;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well1024a;
 import org.hipparchus.util.Binary64Field;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -460,6 +461,66 @@ public class UTCScaleTest {
         Assertions.assertEquals(57754, lastOffset.getMJD()); // 2017-01-01
     }
 
+    @Test
+    public void testCachedSegmentLookup() {
+        final TimeScale          tai     = TimeScalesFactory.getTAI();
+        final List<UTCTAIOffset> offsets = utc.getUTCTAIOffsets();
+
+        // dates around each leap, in chronological order then in reverse order,
+        // so cached segments are hit, then missed at each leap boundary
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        dates.add(AbsoluteDate.PAST_INFINITY);
+        for (final UTCTAIOffset offset : offsets) {
+            for (double dt = -2.0; dt <= 2.0; dt += 0.125) {
+                dates.add(offset.getDate().shiftedBy(dt));
+            }
+            dates.add(offset.getDate().shiftedBy(-FastMath.ulp(1.0)));
+            dates.add(offset.getDate());
+        }
+        dates.add(AbsoluteDate.FUTURE_INFINITY);
+        final List<AbsoluteDate> reversed = new ArrayList<>(dates);
+        Collections.reverse(reversed);
+        dates.addAll(reversed);
+
+        // random dates, alternating between distant eras
+        final RandomGenerator random = new Well1024a(0x8d2c5e71a49b036fL);
+        for (int i = 0; i < 1000; ++i) {
+            dates.add(new AbsoluteDate(1955 + random.nextInt(70), 1, 1, tai).
+                      shiftedBy(366 * Constants.JULIAN_DAY * random.nextDouble()));
+        }
+
+        for (final AbsoluteDate date : dates) {
+
+            // reference lookup, by linear search
+            UTCTAIOffset reference = null;
+            for (final UTCTAIOffset offset : offsets) {
+                if (date.compareTo(offset.getDate()) >= 0) {
+                    reference = offset;
+                }
+            }
+
+            if (reference == null) {
+                Assertions.assertEquals(0.0, utc.offsetFromTAI(date), 0.0);
+                Assertions.assertEquals(0.0, utc.getLeap(date), 0.0);
+                Assertions.assertFalse(utc.insideLeap(date));
+            } else if (Double.isFinite(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH))) {
+                Assertions.assertEquals(-reference.getOffset(date), utc.offsetFromTAI(date), 0.0);
+                Assertions.assertEquals(reference.getLeap(), utc.getLeap(date), 0.0);
+                Assertions.assertEquals(date.compareTo(reference.getValidityStart()) < 0, utc.insideLeap(date));
+            }
+
+        }
+
+        // parsing/formatting also relies on MJD-based lookups
+        for (final AbsoluteDate date : dates) {
+            if (Double.isFinite(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH)) && !utc.insideLeap(date)) {
+                final DateTimeComponents components = date.getComponents(utc);
+                Assertions.assertEquals(0.0, new AbsoluteDate(components, utc).durationFrom(date), 1.0e-9);
+            }
+        }
+
+    }
+
     @BeforeEach
     public void setUp() {
         Utils.setDataRoot("regular-data");
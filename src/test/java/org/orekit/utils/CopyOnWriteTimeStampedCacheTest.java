@@ -0,0 +1,357 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.Utils;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+
+public class CopyOnWriteTimeStampedCacheTest {
+
+    @Test
+    public void testSingleCall() throws TimeStampedCacheException {
+        CopyOnWriteTimeStampedCache<AbsoluteDate> cache = createCache(10, 3600.0, 13);
+        List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        list.add(AbsoluteDate.GALILEO_EPOCH);
+        Assertions.assertEquals(1, checkDatesSingleThread(list, cache));
+        Assertions.assertEquals(1, cache.getGetNeighborsCalls());
+        Assertions.assertEquals(4, cache.getGenerateCalls());
+        Assertions.assertEquals(0, cache.getSlotsEvictions());
+        Assertions.assertEquals(10, cache.getMaxSlots());
+        Assertions.assertEquals(Constants.JULIAN_DAY, cache.getNewSlotQuantumGap(), 1.0e-10);
+        Assertions.assertEquals(Constants.JULIAN_YEAR, cache.getMaxSpan(), 1.0e-10);
+    }
+
+    @Test
+    public void testRegularCalls() throws TimeStampedCacheException {
+        CopyOnWriteTimeStampedCache<AbsoluteDate> cache = createCache(2, 3600, 13);
+        Assertions.assertEquals(2000, checkDatesSingleThread(sequentialDates(cache, 2), cache));
+        Assertions.assertEquals(2000, cache.getGetNeighborsCalls());
+        Assertions.assertEquals(56, cache.getGenerateCalls());
+        Assertions.assertEquals(0, cache.getSlotsEvictions());
+    }
+
+    @Test
+    public void testAlternateCallsBadConfiguration() throws TimeStampedCacheException {
+        CopyOnWriteTimeStampedCache<AbsoluteDate> cache = createCache(1, 3600, 13);
+        Assertions.assertEquals(2000, checkDatesSingleThread(alternateDates(cache, 2), cache));
+        Assertions.assertEquals(2000, cache.getGetNeighborsCalls());
+        Assertions.assertEquals(8000, cache.getGenerateCalls());
+        Assertions.assertEquals(1999, cache.getSlotsEvictions());
+    }
+
+    @Test
+    public void testMultithreadedGoodConfiguration() throws TimeStampedCacheException {
+        CopyOnWriteTimeStampedCache<AbsoluteDate> cache = createCache(50, 3600, 13);
+        int n = checkDatesMultiThread(alternateDates(cache, 50), cache, 30);
+        Assertions.assertEquals(n, cache.getGetNeighborsCalls());
+        Assertions.assertTrue(cache.getGenerateCalls() < n / 20,
+                "this test may fail randomly due to multi-threading non-determinism" +
+                " (n = " + n + ", calls = " + cache.getGenerateCalls() + ")");
+        Assertions.assertTrue(cache.getSlotsEvictions() < n / 1000,
+                "this test may fail randomly due to multi-threading non-determinism" +
+                " (n = " + n + ", evictions = " + cache.getSlotsEvictions() + ")");
+    }
+
+    @Test
+    public void testSmallShift() throws TimeStampedCacheException {
+        double hour = 3600;
+        CopyOnWriteTimeStampedCache<AbsoluteDate> cache = createCache(10, hour, 13);
+        Assertions.assertEquals(0, cache.getSlots());
+        Assertions.assertEquals(0, cache.getEntries());
+        final AbsoluteDate start = AbsoluteDate.GALILEO_EPOCH;
+        cache.getNeighbors(start);
+        Assertions.assertEquals(1, cache.getGetNeighborsCalls());
+        Assertions.assertEquals(1, cache.getSlots());
+        Assertions.assertEquals(18, cache.getEntries());
+        Assertions.assertEquals(4, cache.getGenerateCalls());
+        Assertions.assertEquals(-11 * hour, cache.getEarliest().durationFrom(start), 1.0e-10);
+        Assertions.assertEquals( +6 * hour, cache.getLatest().durationFrom(start), 1.0e-10);
+        cache.getNeighbors(start.shiftedBy(-3 * 3600));
+        Assertions.assertEquals(2, cache.getGetNeighborsCalls());
+        Assertions.assertEquals(1, cache.getSlots());
+        Assertions.assertEquals(18, cache.getEntries());
+        Assertions.assertEquals(4, cache.getGenerateCalls());
+        cache.getNeighbors(start.shiftedBy(7 * 3600));
+        Assertions.assertEquals(3, cache.getGetNeighborsCalls());
+        Assertions.assertEquals(1, cache.getSlots());
+        Assertions.assertEquals(25, cache.getEntries());
+        Assertions.assertEquals(5, cache.getGenerateCalls());
+        Assertions.assertEquals(-11 * hour, cache.getEarliest().durationFrom(start), 1.0e-10);
+        Assertions.assertEquals(+13 * hour, cache.getLatest().durationFrom(start), 1.0e-10);
+    }
+
+    @Test
+    public void testExhaustedGenerator() throws TimeStampedCacheException {
+        final double step = 10.0;
+        final CopyOnWriteTimeStampedCache<AbsoluteDate> cache =
+                new CopyOnWriteTimeStampedCache<>(4, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY,
+                                                  new Generator(AbsoluteDate.J2000_EPOCH,
+                                                                AbsoluteDate.J2000_EPOCH.shiftedBy(100 * step),
+                                                                step));
+
+        // first call creates the slot, second call near the end of the generator range extends it
+        cache.getNeighbors(AbsoluteDate.J2000_EPOCH.shiftedBy(95 * step));
+        final AbsoluteDate central = AbsoluteDate.J2000_EPOCH.shiftedBy(99.5 * step);
+        final List<AbsoluteDate> first = cache.getNeighbors(central).collect(Collectors.toList());
+        Assertions.assertEquals(4, first.size());
+        Assertions.assertEquals(100 * step, first.get(3).durationFrom(AbsoluteDate.J2000_EPOCH), 1.0e-10);
+        final int generateCalls = cache.getGenerateCalls();
+
+        // subsequent calls are served from the unbalanced slot without trying to generate again
+        for (int i = 0; i < 100; ++i) {
+            final List<AbsoluteDate> neighbors = cache.getNeighbors(central.shiftedBy(0.001 * i)).collect(Collectors.toList());
+            Assertions.assertEquals(first, neighbors);
+        }
+        Assertions.assertEquals(generateCalls, cache.getGenerateCalls());
+
+    }
+
+    @Test
+    public void testNotEnoughSlots() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            createCache(0, 3600.0, 13);
+        });
+    }
+
+    @Test
+    public void testNotEnoughNeighbors() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            createCache(10, 3600.0, 1);
+        });
+    }
+
+    @Test
+    public void testNoEarliestEntry() {
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            createCache(10, 3600.0, 3).getEarliest();
+        });
+    }
+
+    @Test
+    public void testNoLatestEntry() {
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            createCache(10, 3600.0, 3).getLatest();
+        });
+    }
+
+    @Test
+    public void testNoDataBefore() throws TimeStampedCacheException {
+        TimeStampedGenerator<AbsoluteDate> nullGenerator =
+                (existingDate, date) -> Collections.singletonList(AbsoluteDate.J2000_EPOCH);
+        AbsoluteDate central = AbsoluteDate.J2000_EPOCH.shiftedBy(-10);
+        CopyOnWriteTimeStampedCache<AbsoluteDate> cache = new CopyOnWriteTimeStampedCache<>(
+                2, 10, Constants.JULIAN_YEAR, Constants.JULIAN_DAY, nullGenerator);
+        try {
+            cache.getNeighbors(central);
+            Assertions.fail("Expected Exception");
+        } catch (TimeStampedCacheException e) {
+            MatcherAssert.assertThat(e.getMessage(),
+                    CoreMatchers.containsString(central.toString()));
+        }
+        Assertions.assertEquals(0, cache.getSlots());
+    }
+
+    @Test
+    public void testCacheType() {
+        final Generator generator = new Generator(AbsoluteDate.PAST_INFINITY, AbsoluteDate.FUTURE_INFINITY, 60.0);
+        Assertions.assertTrue(TimeStampedCacheType.READ_WRITE_LOCK.createCache(4, 10, Constants.JULIAN_DAY,
+                                                                               Constants.JULIAN_DAY, generator)
+                              instanceof GenericTimeStampedCache);
+        Assertions.assertTrue(TimeStampedCacheType.COPY_ON_WRITE.createCache(4, 10, Constants.JULIAN_DAY,
+                                                                             Constants.JULIAN_DAY, generator)
+                              instanceof CopyOnWriteTimeStampedCache);
+        Assertions.assertEquals(TimeStampedCacheType.READ_WRITE_LOCK, OrekitConfiguration.getTimeStampedCacheType());
+        try {
+            OrekitConfiguration.setTimeStampedCacheType(TimeStampedCacheType.COPY_ON_WRITE);
+            Assertions.assertEquals(TimeStampedCacheType.COPY_ON_WRITE, OrekitConfiguration.getTimeStampedCacheType());
+        } finally {
+            OrekitConfiguration.setTimeStampedCacheType(TimeStampedCacheType.READ_WRITE_LOCK);
+        }
+    }
+
+    private List<AbsoluteDate> sequentialDates(final CopyOnWriteTimeStampedCache<AbsoluteDate> cache, final int slots) {
+        final double step = ((Generator) cache.getGenerator()).getStep();
+        final List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        for (final AbsoluteDate initial : base(slots)) {
+            for (double dt = 0; dt < 25 * step; dt += 0.025 * step) {
+                list.add(initial.shiftedBy(dt));
+            }
+        }
+        return list;
+    }
+
+    private List<AbsoluteDate> alternateDates(final CopyOnWriteTimeStampedCache<AbsoluteDate> cache, final int slots) {
+        final double step = ((Generator) cache.getGenerator()).getStep();
+        final List<AbsoluteDate> list = new ArrayList<AbsoluteDate>();
+        final AbsoluteDate[] base = base(slots);
+        for (double dt = 0; dt < 25 * step; dt += 0.025 * step) {
+            for (final AbsoluteDate initial : base) {
+                list.add(initial.shiftedBy(dt));
+            }
+        }
+        return list;
+    }
+
+    private AbsoluteDate[] base(final int slots) {
+        AbsoluteDate[] base = new AbsoluteDate[slots];
+        base[0] = AbsoluteDate.GALILEO_EPOCH;
+        for (int i = 1; i < base.length; ++i) {
+            base[i] = base[i - 1].shiftedBy(10 * Constants.JULIAN_DAY);
+        }
+        return base;
+    }
+
+    private CopyOnWriteTimeStampedCache<AbsoluteDate> createCache(int maxSlots, double step, int neighborsSize) {
+        Generator generator =
+                new Generator(AbsoluteDate.J2000_EPOCH.shiftedBy(-Constants.JULIAN_CENTURY),
+                              AbsoluteDate.J2000_EPOCH.shiftedBy(+Constants.JULIAN_CENTURY),
+                              step);
+        return new CopyOnWriteTimeStampedCache<AbsoluteDate>(neighborsSize, maxSlots, Constants.JULIAN_YEAR,
+                                                             Constants.JULIAN_DAY, generator);
+    }
+
+    private int checkDatesSingleThread(final List<AbsoluteDate> centralDates,
+                                       final CopyOnWriteTimeStampedCache<AbsoluteDate> cache)
+        throws TimeStampedCacheException {
+
+        final int n = cache.getMaxNeighborsSize();
+        final double step = ((Generator) cache.getGenerator()).getStep();
+
+        for (final AbsoluteDate central : centralDates) {
+            final List<AbsoluteDate> neighbors = cache.getNeighbors(central).collect(Collectors.toList());
+            Assertions.assertEquals(n, neighbors.size());
+            for (final AbsoluteDate date : neighbors) {
+                Assertions.assertTrue(date.durationFrom(central) >= -(n + 1) * step);
+                Assertions.assertTrue(date.durationFrom(central) <= n * step);
+            }
+        }
+
+        return centralDates.size();
+
+    }
+
+    private int checkDatesMultiThread(final List<AbsoluteDate> centralDates,
+                                      final CopyOnWriteTimeStampedCache<AbsoluteDate> cache,
+                                      final int threadPoolSize)
+        throws TimeStampedCacheException {
+
+        final int n = cache.getMaxNeighborsSize();
+        final double step = ((Generator) cache.getGenerator()).getStep();
+        final AtomicReference<AbsoluteDate> failedDate = new AtomicReference<AbsoluteDate>();
+        final AtomicReference<TimeStampedCacheException> caught = new AtomicReference<TimeStampedCacheException>();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
+
+        for (final AbsoluteDate central : centralDates) {
+            executorService.execute(() -> {
+                try {
+                    final List<AbsoluteDate> neighbors = cache.getNeighbors(central).collect(Collectors.toList());
+                    if (neighbors.size() != n) {
+                        failedDate.set(central);
+                    }
+                    for (final AbsoluteDate date : neighbors) {
+                        if (date.durationFrom(central) < -(n + 1) * step ||
+                            date.durationFrom(central) > n * step) {
+                            failedDate.set(central);
+                        }
+                    }
+                } catch (TimeStampedCacheException tce) {
+                    caught.set(tce);
+                }
+            });
+        }
+
+        try {
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.MINUTES),
+                    "Not enough time for all threads to complete, try increasing the timeout");
+        } catch (InterruptedException ie) {
+            Assertions.fail(ie.getLocalizedMessage());
+        }
+
+        if (caught.get() != null) {
+            throw caught.get();
+        }
+
+        Assertions.assertNull(failedDate.get());
+
+        return centralDates.size();
+
+    }
+
+    private static class Generator implements TimeStampedGenerator<AbsoluteDate> {
+
+        private final AbsoluteDate earliest;
+        private final AbsoluteDate latest;
+        private final double step;
+
+        public Generator(final AbsoluteDate earliest, final AbsoluteDate latest, final double step) {
+            this.earliest = earliest;
+            this.latest   = latest;
+            this.step     = step;
+        }
+
+        public double getStep() {
+            return step;
+        }
+
+        public List<AbsoluteDate> generate(AbsoluteDate existingDate, AbsoluteDate date) {
+            List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+            if (existingDate == null) {
+                dates.add(date);
+            } else if (date.compareTo(existingDate) >= 0) {
+                AbsoluteDate previous = existingDate;
+                while (date.compareTo(previous) > 0) {
+                    previous = previous.shiftedBy(step);
+                    if (previous.compareTo(earliest) >= 0 && previous.compareTo(latest) <= 0) {
+                        dates.add(dates.size(), previous);
+                    }
+                }
+            } else {
+                AbsoluteDate previous = existingDate;
+                while (date.compareTo(previous) < 0) {
+                    previous = previous.shiftedBy(-step);
+                    if (previous.compareTo(earliest) >= 0 && previous.compareTo(latest) <= 0) {
+                        dates.add(0, previous);
+                    }
+                }
+            }
+            return dates;
+        }
+
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+}
@@ -0,0 +1,78 @@
+/* Copyright 2002-2023 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+public class RangeActionTest {
+
+    @Test
+    public void testSingleIndices() {
+        final AtomicIntegerArray counts = new AtomicIntegerArray(1000);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.invoke(new RangeAction(0, counts.length(), i -> counts.incrementAndGet(i)));
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < counts.length(); ++i) {
+            Assertions.assertEquals(1, counts.get(i));
+        }
+    }
+
+    @Test
+    public void testChunks() {
+        final AtomicIntegerArray counts = new AtomicIntegerArray(1000);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.invoke(new RangeAction(10, 990, 7, (from, to) -> {
+                Assertions.assertTrue(to > from);
+                Assertions.assertTrue(to - from <= 7);
+                for (int i = from; i < to; ++i) {
+                    counts.incrementAndGet(i);
+                }
+            }));
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < counts.length(); ++i) {
+            Assertions.assertEquals(i < 10 || i >= 990 ? 0 : 1, counts.get(i));
+        }
+    }
+
+    @Test
+    public void testEmptyRange() {
+        new RangeAction(5, 5, i -> Assertions.fail("no index should be processed")).invoke();
+    }
+
+    @Test
+    public void testWrongGranularity() {
+        try {
+            new RangeAction(0, 10, 0, (from, to) -> Assertions.fail("never called"));
+            Assertions.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assertions.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+}